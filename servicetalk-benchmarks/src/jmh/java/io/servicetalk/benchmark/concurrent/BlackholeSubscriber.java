@@ -0,0 +1,124 @@
+/*
+ * Copyright © 2019 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.benchmark.concurrent;
+
+import io.servicetalk.concurrent.Cancellable;
+import io.servicetalk.concurrent.PublisherSource;
+import io.servicetalk.concurrent.PublisherSource.Subscription;
+import io.servicetalk.concurrent.SingleSource;
+import io.servicetalk.concurrent.api.Publisher;
+import io.servicetalk.concurrent.api.Single;
+
+import org.openjdk.jmh.infra.Blackhole;
+
+import javax.annotation.Nullable;
+
+import static io.servicetalk.concurrent.api.SourceAdapters.toSource;
+
+/**
+ * A subscriber which requests everything and consumes all signals into a {@link Blackhole}. Sources used with it are
+ * expected to terminate synchronously, see {@link #subscribeTo(PublisherSource)}.
+ *
+ * @param <T> Type of items.
+ */
+class BlackholeSubscriber<T> implements PublisherSource.Subscriber<T>, SingleSource.Subscriber<T> {
+    private final Blackhole blackhole;
+    private boolean terminated;
+
+    BlackholeSubscriber(final Blackhole blackhole) {
+        this.blackhole = blackhole;
+    }
+
+    /**
+     * Subscribes to the passed source and verifies that it terminated synchronously.
+     *
+     * @param source the {@link PublisherSource} to subscribe to.
+     */
+    final void subscribeTo(final PublisherSource<T> source) {
+        source.subscribe(this);
+        verifyTerminated();
+    }
+
+    /**
+     * Subscribes to the passed source and verifies that it terminated synchronously.
+     *
+     * @param source the {@link SingleSource} to subscribe to.
+     */
+    final void subscribeTo(final SingleSource<T> source) {
+        source.subscribe(this);
+        verifyTerminated();
+    }
+
+    /**
+     * Consumes all signals of the passed {@link Publisher}, which must terminate synchronously.
+     *
+     * @param publisher the {@link Publisher} to consume.
+     * @param blackhole the {@link Blackhole} to consume signals into.
+     * @param <T> Type of items.
+     */
+    static <T> void consume(final Publisher<T> publisher, final Blackhole blackhole) {
+        new BlackholeSubscriber<T>(blackhole).subscribeTo(toSource(publisher));
+    }
+
+    /**
+     * Consumes the result of the passed {@link Single}, which must terminate synchronously.
+     *
+     * @param single the {@link Single} to consume.
+     * @param blackhole the {@link Blackhole} to consume signals into.
+     * @param <T> Type of the result.
+     */
+    static <T> void consume(final Single<T> single, final Blackhole blackhole) {
+        new BlackholeSubscriber<T>(blackhole).subscribeTo(toSource(single));
+    }
+
+    @Override
+    public void onSubscribe(final Subscription s) {
+        s.request(Long.MAX_VALUE);
+    }
+
+    @Override
+    public void onSubscribe(final Cancellable cancellable) {
+        blackhole.consume(cancellable);
+    }
+
+    @Override
+    public void onNext(final T t) {
+        blackhole.consume(t);
+    }
+
+    @Override
+    public void onSuccess(@Nullable final T result) {
+        blackhole.consume(result);
+        terminated = true;
+    }
+
+    @Override
+    public void onError(final Throwable t) {
+        blackhole.consume(t);
+        terminated = true;
+    }
+
+    @Override
+    public void onComplete() {
+        terminated = true;
+    }
+
+    private void verifyTerminated() {
+        if (!terminated) {
+            throw new IllegalStateException("Source did not terminate synchronously.");
+        }
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright © 2019 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.benchmark.concurrent;
+
+import io.servicetalk.concurrent.api.Executor;
+import io.servicetalk.concurrent.api.Publisher;
+import io.servicetalk.concurrent.api.Single;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.servicetalk.concurrent.api.Executors.newCachedThreadExecutor;
+
+/**
+ * Benchmark of the {@code publishOn} and {@code subscribeOn} offloading paths. Each operation waits for the source to
+ * terminate on the offloading thread, hence the results include the thread hand-off. Run with {@code -prof gc} to also
+ * measure the allocation rate.
+ */
+@Fork(value = 1)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.Throughput)
+public class OffloadingBenchmark {
+
+    @Param({"1", "64"})
+    public int count;
+
+    private Executor executor;
+    private Single<Integer> single;
+    private Publisher<Integer> publisher;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        executor = newCachedThreadExecutor();
+        final List<Integer> items = new ArrayList<>(count);
+        for (int i = 0; i < count; ++i) {
+            items.add(i);
+        }
+        single = Single.succeeded(count);
+        publisher = Publisher.fromIterable(items);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        executor.closeAsync().toFuture().get();
+    }
+
+    @Benchmark
+    public Integer singlePublishOn() throws Exception {
+        return single.publishOn(executor).toFuture().get();
+    }
+
+    @Benchmark
+    public Integer singleSubscribeOn() throws Exception {
+        return single.subscribeOn(executor).toFuture().get();
+    }
+
+    @Benchmark
+    public Void publisherPublishOn() throws Exception {
+        return publisher.publishOn(executor).ignoreElements().toFuture().get();
+    }
+
+    @Benchmark
+    public Void publisherSubscribeOn() throws Exception {
+        return publisher.subscribeOn(executor).ignoreElements().toFuture().get();
+    }
+}
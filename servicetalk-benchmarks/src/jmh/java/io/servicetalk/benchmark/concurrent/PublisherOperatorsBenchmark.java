@@ -0,0 +1,117 @@
+/*
+ * Copyright © 2019 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.benchmark.concurrent;
+
+import io.servicetalk.concurrent.api.GroupedPublisher;
+import io.servicetalk.concurrent.api.Publisher;
+import io.servicetalk.concurrent.api.Single;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.servicetalk.benchmark.concurrent.BlackholeSubscriber.consume;
+import static io.servicetalk.concurrent.api.SourceAdapters.toSource;
+import static java.util.function.Function.identity;
+
+/**
+ * Single-threaded benchmark of the {@link Publisher} operators which are on the hot path of most requests. All sources
+ * emit synchronously so the results reflect the cost of the operators themselves. Run with {@code -prof gc} to also
+ * measure the allocation rate.
+ */
+@Fork(value = 1)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.Throughput)
+public class PublisherOperatorsBenchmark {
+    private static final int GROUPS = 8;
+    private static final int REPEATS = 3;
+    private static final IllegalStateException RETRY_EXCEPTION = new IllegalStateException("retry");
+
+    @Param({"1", "64", "1024"})
+    public int count;
+
+    private Publisher<Integer> source;
+    private Publisher<Integer> failingSource;
+    private Publisher<List<Integer>> iterableSource;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        final List<Integer> items = new ArrayList<>(count);
+        for (int i = 0; i < count; ++i) {
+            items.add(i);
+        }
+        source = Publisher.fromIterable(items);
+        failingSource = source.concat(Publisher.failed(RETRY_EXCEPTION));
+        iterableSource = Publisher.from(items);
+    }
+
+    @Benchmark
+    public void baseline(Blackhole bh) {
+        consume(source, bh);
+    }
+
+    @Benchmark
+    public void flatMapMergeSingle(Blackhole bh) {
+        consume(source.flatMapMergeSingle(Single::succeeded), bh);
+    }
+
+    @Benchmark
+    public void groupBy(Blackhole bh) {
+        new BlackholeSubscriber<GroupedPublisher<Integer, Integer>>(bh) {
+            @Override
+            public void onNext(final GroupedPublisher<Integer, Integer> group) {
+                toSource(group).subscribe(new BlackholeSubscriber<>(bh));
+            }
+        }.subscribeTo(toSource(source.groupBy(i -> i % GROUPS, count)));
+    }
+
+    @Benchmark
+    public void multicastToExactly(Blackhole bh) {
+        final Publisher<Integer> multicast = source.multicastToExactly(2);
+        // The source is subscribed to when the second subscriber arrives, only that one terminates synchronously.
+        toSource(multicast).subscribe(new BlackholeSubscriber<>(bh));
+        consume(multicast, bh);
+    }
+
+    @Benchmark
+    public void flatMapConcatIterable(Blackhole bh) {
+        consume(iterableSource.flatMapConcatIterable(identity()), bh);
+    }
+
+    @Benchmark
+    public void repeat(Blackhole bh) {
+        consume(source.repeat(i -> i < REPEATS), bh);
+    }
+
+    @Benchmark
+    public void retry(Blackhole bh) {
+        consume(failingSource.retry((i, cause) -> i < REPEATS), bh);
+    }
+}
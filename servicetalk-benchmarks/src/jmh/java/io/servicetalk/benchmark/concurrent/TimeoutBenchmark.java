@@ -0,0 +1,87 @@
+/*
+ * Copyright © 2019 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.benchmark.concurrent;
+
+import io.servicetalk.concurrent.api.Executor;
+import io.servicetalk.concurrent.api.Publisher;
+import io.servicetalk.concurrent.api.Single;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.servicetalk.benchmark.concurrent.BlackholeSubscriber.consume;
+import static io.servicetalk.concurrent.api.Executors.newCachedThreadExecutor;
+import static java.util.concurrent.TimeUnit.MINUTES;
+
+/**
+ * Benchmark of the timeout operators for sources which complete before the timeout fires, which is the common case.
+ * The cost is dominated by scheduling and cancelling the timer. Run with {@code -prof gc} to also measure the
+ * allocation rate.
+ */
+@Fork(value = 1)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.Throughput)
+public class TimeoutBenchmark {
+
+    @Param({"1", "64"})
+    public int count;
+
+    private Executor executor;
+    private Single<Integer> single;
+    private Publisher<Integer> publisher;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        executor = newCachedThreadExecutor();
+        final List<Integer> items = new ArrayList<>(count);
+        for (int i = 0; i < count; ++i) {
+            items.add(i);
+        }
+        single = Single.succeeded(count);
+        publisher = Publisher.fromIterable(items);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        executor.closeAsync().toFuture().get();
+    }
+
+    @Benchmark
+    public void singleIdleTimeout(Blackhole bh) {
+        consume(single.idleTimeout(1, MINUTES, executor), bh);
+    }
+
+    @Benchmark
+    public void publisherIdleTimeout(Blackhole bh) {
+        consume(publisher.idleTimeout(1, MINUTES, executor), bh);
+    }
+}
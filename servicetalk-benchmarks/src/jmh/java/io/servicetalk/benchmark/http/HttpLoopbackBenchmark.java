@@ -0,0 +1,171 @@
+/*
+ * Copyright © 2019 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.benchmark.http;
+
+import io.servicetalk.buffer.api.Buffer;
+import io.servicetalk.http.api.BlockingHttpClient;
+import io.servicetalk.http.api.HttpClient;
+import io.servicetalk.http.api.HttpExecutionStrategy;
+import io.servicetalk.http.api.HttpProtocolConfig;
+import io.servicetalk.http.api.HttpServerBuilder;
+import io.servicetalk.http.api.StreamingHttpClient;
+import io.servicetalk.http.api.StreamingHttpResponse;
+import io.servicetalk.http.netty.HttpClients;
+import io.servicetalk.http.netty.HttpServers;
+import io.servicetalk.transport.api.HostAndPort;
+import io.servicetalk.transport.api.ServerContext;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.net.InetSocketAddress;
+
+import static io.servicetalk.buffer.netty.BufferAllocators.DEFAULT_ALLOCATOR;
+import static io.servicetalk.concurrent.api.Publisher.from;
+import static io.servicetalk.concurrent.api.Single.succeeded;
+import static io.servicetalk.http.api.HttpExecutionStrategies.defaultStrategy;
+import static io.servicetalk.http.api.HttpExecutionStrategies.noOffloadsStrategy;
+import static io.servicetalk.http.netty.HttpProtocolConfigs.h1;
+import static io.servicetalk.http.netty.HttpProtocolConfigs.h2Default;
+import static java.net.InetAddress.getLoopbackAddress;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * End-to-end benchmark of a ServiceTalk HTTP client and server over loopback. Every request carries a payload which
+ * is echoed back by the server. Throughput is reported in requests per millisecond and the sample mode reports the
+ * latency percentiles.
+ * <p>
+ * The server and the client use the same programming model, selected by {@link #api}. {@link Protocol#H1} limits
+ * every connection to one in-flight request, hence the load balancer opens a connection per concurrent benchmark
+ * thread, while {@link Protocol#H1_PIPELINED} allows requests to be pipelined and {@link Protocol#H2} multiplexes them
+ * using HTTP/2 with prior knowledge. Concurrency is controlled by the number of benchmark threads ({@code -t}).
+ */
+@Fork(value = 1)
+@State(Scope.Benchmark)
+@Threads(4)
+@Warmup(iterations = 5, time = 3)
+@Measurement(iterations = 5, time = 3)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(MILLISECONDS)
+public class HttpLoopbackBenchmark {
+    private static final int MAX_PIPELINED_REQUESTS = 16;
+
+    public enum Protocol {
+        H1, H1_PIPELINED, H2
+    }
+
+    public enum Api {
+        AGGREGATED, STREAMING, BLOCKING
+    }
+
+    @Param({"H1", "H1_PIPELINED", "H2"})
+    public Protocol protocol;
+
+    @Param({"AGGREGATED", "STREAMING", "BLOCKING"})
+    public Api api;
+
+    @Param({"true", "false"})
+    public boolean offload;
+
+    @Param({"256", "1048576"})
+    public int payloadSize;
+
+    private ServerContext serverContext;
+    private StreamingHttpClient streamingClient;
+    private HttpClient client;
+    private BlockingHttpClient blockingClient;
+    private Buffer payload;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        final HttpExecutionStrategy strategy = offload ? defaultStrategy() : noOffloadsStrategy();
+        final HttpProtocolConfig protocolConfig = protocol == Protocol.H2 ? h2Default() :
+                h1().maxPipelinedRequests(protocol == Protocol.H1_PIPELINED ? MAX_PIPELINED_REQUESTS : 1).build();
+        final byte[] bytes = new byte[payloadSize];
+        for (int i = 0; i < bytes.length; ++i) {
+            bytes[i] = (byte) ('a' + i % 26);
+        }
+        payload = DEFAULT_ALLOCATOR.wrap(bytes);
+
+        final HttpServerBuilder serverBuilder = HttpServers.forAddress(new InetSocketAddress(getLoopbackAddress(), 0))
+                .protocols(protocolConfig)
+                .executionStrategy(strategy);
+        switch (api) {
+            case AGGREGATED:
+                serverContext = serverBuilder.listenAndAwait((ctx, request, responseFactory) ->
+                        succeeded(responseFactory.ok().payloadBody(request.payloadBody())));
+                break;
+            case STREAMING:
+                serverContext = serverBuilder.listenStreamingAndAwait((ctx, request, responseFactory) ->
+                        succeeded(responseFactory.ok().payloadBody(request.payloadBody())));
+                break;
+            case BLOCKING:
+                serverContext = serverBuilder.listenBlockingAndAwait((ctx, request, responseFactory) ->
+                        responseFactory.ok().payloadBody(request.payloadBody()));
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown api: " + api);
+        }
+
+        streamingClient = HttpClients.forSingleAddress(
+                HostAndPort.of((InetSocketAddress) serverContext.listenAddress()))
+                .protocols(protocolConfig)
+                .executionStrategy(strategy)
+                .buildStreaming();
+        client = streamingClient.asClient();
+        blockingClient = streamingClient.asBlockingClient();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        try {
+            streamingClient.closeAsync().toFuture().get();
+        } finally {
+            serverContext.closeAsync().toFuture().get();
+        }
+    }
+
+    @Benchmark
+    public int request() throws Exception {
+        switch (api) {
+            case AGGREGATED:
+                return client.request(client.post("/").payloadBody(payload.duplicate())).toFuture().get()
+                        .payloadBody().readableBytes();
+            case STREAMING:
+                final StreamingHttpResponse response = streamingClient.request(streamingClient.post("/")
+                        .payloadBody(from(payload.duplicate()))).toFuture().get();
+                response.payloadBody().ignoreElements().toFuture().get();
+                return response.status().code();
+            case BLOCKING:
+                return blockingClient.request(blockingClient.post("/").payloadBody(payload.duplicate()))
+                        .payloadBody().readableBytes();
+            default:
+                throw new IllegalArgumentException("Unknown api: " + api);
+        }
+    }
+}
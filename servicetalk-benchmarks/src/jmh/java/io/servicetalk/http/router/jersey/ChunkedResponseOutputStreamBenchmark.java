@@ -0,0 +1,128 @@
+/*
+ * Copyright © 2019 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.http.router.jersey;
+
+import io.servicetalk.buffer.api.Buffer;
+import io.servicetalk.buffer.api.BufferAllocator;
+import io.servicetalk.concurrent.PublisherSource.Subscriber;
+import io.servicetalk.concurrent.PublisherSource.Subscription;
+import io.servicetalk.concurrent.api.internal.ConnectableBufferOutputStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+
+import static io.servicetalk.buffer.netty.BufferAllocators.DEFAULT_ALLOCATOR;
+import static io.servicetalk.buffer.netty.BufferAllocators.PREFER_HEAP_ALLOCATOR;
+import static io.servicetalk.concurrent.api.SourceAdapters.toSource;
+import static java.lang.Math.min;
+import static java.lang.System.arraycopy;
+
+/*
+ * This benchmark writes a streaming response of unknown length the way Jersey does, reusing a single byte[] for all
+ * writes, and compares the previous copying path (copy to a new byte[] then wrap it) with ChunkedResponseOutputStream.
+ * ChunkedResponseOutputStream either hands over every write as is (chunkSize 0, the default) or coalesces writes.
+ * Run it with the GC profiler to compare allocation per response (gc.alloc.rate.norm):
+ *
+ * ./gradlew :servicetalk-benchmarks:jmh -PjmhProfilers=gc
+ */
+@Fork(value = 1)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5, time = 3)
+@Measurement(iterations = 5, time = 3)
+@BenchmarkMode(Mode.AverageTime)
+public class ChunkedResponseOutputStreamBenchmark {
+
+    @Param({"1048576"})
+    public int responseSize;
+
+    @Param({"64", "8192"})
+    public int writeSize;
+
+    @Param({"heap", "direct"})
+    public String allocatorType;
+
+    @Param({"0", "8192"})
+    public int chunkSize;
+
+    private BufferAllocator allocator;
+    private byte[] data;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        allocator = "heap".equals(allocatorType) ? PREFER_HEAP_ALLOCATOR : DEFAULT_ALLOCATOR;
+        data = new byte[writeSize];
+    }
+
+    @Benchmark
+    public long copying() throws IOException {
+        final ConnectableBufferOutputStream os = new ConnectableBufferOutputStream(allocator);
+        final DrainingSubscriber subscriber = new DrainingSubscriber();
+        toSource(os.connect()).subscribe(subscriber);
+        for (int written = 0; written < responseSize; written += writeSize) {
+            final int len = min(writeSize, responseSize - written);
+            final byte[] copy = new byte[len];
+            arraycopy(data, 0, copy, 0, len);
+            os.write(copy);
+        }
+        os.close();
+        return subscriber.consumedBytes;
+    }
+
+    @Benchmark
+    public long chunked() throws IOException {
+        final ChunkedResponseOutputStream os = new ChunkedResponseOutputStream(allocator, chunkSize);
+        final DrainingSubscriber subscriber = new DrainingSubscriber();
+        toSource(os.connect()).subscribe(subscriber);
+        for (int written = 0; written < responseSize; written += writeSize) {
+            os.write(data, 0, min(writeSize, responseSize - written));
+        }
+        os.close();
+        return subscriber.consumedBytes;
+    }
+
+    private static final class DrainingSubscriber implements Subscriber<Buffer> {
+        long consumedBytes;
+
+        @Override
+        public void onSubscribe(final Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(final Buffer buffer) {
+            consumedBytes += buffer.readableBytes();
+        }
+
+        @Override
+        public void onError(final Throwable t) {
+        }
+
+        @Override
+        public void onComplete() {
+        }
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright © 2019 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.http.router.jersey;
+
+import io.servicetalk.buffer.api.Buffer;
+import io.servicetalk.concurrent.api.Publisher;
+import io.servicetalk.http.api.BlockingHttpClient;
+import io.servicetalk.http.netty.HttpClients;
+import io.servicetalk.http.netty.HttpServers;
+import io.servicetalk.transport.api.HostAndPort;
+import io.servicetalk.transport.api.ServerContext;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.util.Set;
+import javax.ws.rs.Consumes;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.Application;
+import javax.ws.rs.core.StreamingOutput;
+
+import static io.servicetalk.buffer.netty.BufferAllocators.DEFAULT_ALLOCATOR;
+import static io.servicetalk.http.api.HttpHeaderNames.CONTENT_TYPE;
+import static io.servicetalk.http.api.HttpHeaderNames.HOST;
+import static io.servicetalk.http.api.HttpHeaderValues.TEXT_PLAIN;
+import static java.net.InetAddress.getLoopbackAddress;
+import static java.util.Collections.singleton;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/*
+ * This benchmark echoes a payload over loopback through the Jersey router. The BUFFER and PUBLISHER endpoints consume
+ * and produce ServiceTalk-native entities, their readers take the payload Publisher from BufferPublisherInputStream
+ * without ever creating the InputStream adapter. The INPUT_STREAM endpoint reads the payload through the adapter and
+ * writes the response with a StreamingOutput, so comparing them shows the cost of the adaptation.
+ *
+ * The hosts parameter spreads requests over several host headers, hence over several base URIs, which the router
+ * parses once per base URI instead of once per request.
+ */
+@Fork(value = 1)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5, time = 3)
+@Measurement(iterations = 5, time = 3)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(MILLISECONDS)
+public class JerseyRouterBenchmark {
+
+    public enum Endpoint {
+        BUFFER("/echo/buffer"), PUBLISHER("/echo/publisher"), INPUT_STREAM("/echo/input-stream");
+
+        final String path;
+
+        Endpoint(final String path) {
+            this.path = path;
+        }
+    }
+
+    @Param({"BUFFER", "PUBLISHER", "INPUT_STREAM"})
+    public Endpoint endpoint;
+
+    @Param({"1", "4"})
+    public int hosts;
+
+    @Param({"256", "16384"})
+    public int payloadSize;
+
+    private ServerContext serverContext;
+    private BlockingHttpClient client;
+    private Buffer payload;
+    private String[] hostHeaders;
+    private int nextHost;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        final byte[] bytes = new byte[payloadSize];
+        for (int i = 0; i < bytes.length; ++i) {
+            bytes[i] = (byte) ('a' + i % 26);
+        }
+        payload = DEFAULT_ALLOCATOR.wrap(bytes);
+
+        serverContext = HttpServers.forAddress(new InetSocketAddress(getLoopbackAddress(), 0))
+                .listenStreamingAndAwait(new HttpJerseyRouterBuilder().buildStreaming(new Application() {
+                    @Override
+                    public Set<Class<?>> getClasses() {
+                        return singleton(EchoResource.class);
+                    }
+                }));
+        final HostAndPort serverAddress = HostAndPort.of((InetSocketAddress) serverContext.listenAddress());
+        client = HttpClients.forSingleAddress(serverAddress).buildBlocking();
+
+        hostHeaders = new String[hosts];
+        for (int i = 0; i < hosts; ++i) {
+            hostHeaders[i] = "host" + i + ':' + serverAddress.port();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        try {
+            client.close();
+        } finally {
+            serverContext.closeAsync().toFuture().get();
+        }
+    }
+
+    @Benchmark
+    public int echo() throws Exception {
+        final String host = hostHeaders[nextHost];
+        nextHost = (nextHost + 1) % hostHeaders.length;
+        return client.request(client.post(endpoint.path)
+                .setHeader(HOST, host)
+                .setHeader(CONTENT_TYPE, TEXT_PLAIN)
+                .payloadBody(payload.duplicate()))
+                .payloadBody().readableBytes();
+    }
+
+    @Path("/echo")
+    public static final class EchoResource {
+        @Consumes("text/plain")
+        @Produces("text/plain")
+        @Path("buffer")
+        @POST
+        public Buffer buffer(final Buffer requestContent) {
+            return requestContent;
+        }
+
+        @Consumes("text/plain")
+        @Produces("text/plain")
+        @Path("publisher")
+        @POST
+        public Publisher<Buffer> publisher(final Publisher<Buffer> requestContent) {
+            return requestContent;
+        }
+
+        @Consumes("text/plain")
+        @Produces("text/plain")
+        @Path("input-stream")
+        @POST
+        public StreamingOutput inputStream(final InputStream requestContent) {
+            return output -> {
+                final byte[] chunk = new byte[1024];
+                int read;
+                while ((read = requestContent.read(chunk)) > 0) {
+                    output.write(chunk, 0, read);
+                }
+            };
+        }
+    }
+}
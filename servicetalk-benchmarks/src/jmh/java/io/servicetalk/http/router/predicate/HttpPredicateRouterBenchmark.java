@@ -0,0 +1,133 @@
+/*
+ * Copyright © 2019 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.http.router.predicate;
+
+import io.servicetalk.concurrent.api.Single;
+import io.servicetalk.http.api.DefaultHttpHeadersFactory;
+import io.servicetalk.http.api.DefaultStreamingHttpRequestResponseFactory;
+import io.servicetalk.http.api.StreamingHttpRequest;
+import io.servicetalk.http.api.StreamingHttpRequestResponseFactory;
+import io.servicetalk.http.api.StreamingHttpResponse;
+import io.servicetalk.http.api.StreamingHttpService;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.servicetalk.buffer.api.ReadOnlyBufferAllocators.DEFAULT_RO_ALLOCATOR;
+import static io.servicetalk.concurrent.api.Single.succeeded;
+import static io.servicetalk.http.api.HttpProtocolVersion.HTTP_1_1;
+import static io.servicetalk.http.api.HttpRequestMethod.GET;
+import static io.servicetalk.http.api.HttpRequestMethod.POST;
+import static io.servicetalk.http.router.predicate.Predicates.method;
+import static io.servicetalk.http.router.predicate.Predicates.pathEquals;
+import static io.servicetalk.http.router.predicate.Predicates.pathStartsWith;
+import static java.util.Collections.singletonList;
+
+/*
+ * This benchmark compares routing with InOrderRouter and CompiledRouter. Routes are a mix of path equals, path
+ * starts with and method routes, requests match the last route of each kind.
+ */
+@Fork(value = 1)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5, time = 3)
+@Measurement(iterations = 5, time = 3)
+@BenchmarkMode(Mode.Throughput)
+public class HttpPredicateRouterBenchmark {
+
+    private static final StreamingHttpRequestResponseFactory REQ_RESP_FACTORY =
+            new DefaultStreamingHttpRequestResponseFactory(DEFAULT_RO_ALLOCATOR, DefaultHttpHeadersFactory.INSTANCE,
+                    HTTP_1_1);
+
+    @Param({"10", "100", "1000"})
+    public int routes;
+
+    private StreamingHttpService inOrderRouter;
+    private StreamingHttpService compiledRouter;
+    private StreamingHttpRequest pathEqualsRequest;
+    private StreamingHttpRequest pathStartsWithRequest;
+    private StreamingHttpRequest methodRequest;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        final Single<StreamingHttpResponse> response = succeeded(REQ_RESP_FACTORY.ok());
+        final StreamingHttpService service = (ctx, request, factory) -> response;
+        final List<Route> routeList = new ArrayList<>(routes);
+        int lastEquals = 0;
+        int lastStartsWith = 0;
+        for (int i = 0; i < routes - 1; ++i) {
+            if (i % 2 == 0) {
+                final String path = "/api/resource" + i;
+                routeList.add(new Route(pathEquals(path).and(method(GET)), service, null, singletonList(path),
+                        null, singletonList(GET), null));
+                lastEquals = i;
+            } else {
+                final String prefix = "/api/collection" + i + '/';
+                routeList.add(new Route(pathStartsWith(prefix), service, null, null, prefix, null, null));
+                lastStartsWith = i;
+            }
+        }
+        routeList.add(new Route(method(POST), service, null, null, null, singletonList(POST), null));
+
+        final StreamingHttpService fallback = DefaultFallbackServiceStreaming.instance();
+        inOrderRouter = new InOrderRouter(fallback, routeList);
+        compiledRouter = new CompiledRouter(fallback, routeList);
+        pathEqualsRequest = REQ_RESP_FACTORY.get("/api/resource" + lastEquals);
+        pathStartsWithRequest = REQ_RESP_FACTORY.get("/api/collection" + lastStartsWith + "/item");
+        methodRequest = REQ_RESP_FACTORY.post("/api/unknown");
+    }
+
+    @Benchmark
+    public Single<StreamingHttpResponse> inOrderPathEquals() {
+        return inOrderRouter.handle(null, pathEqualsRequest, REQ_RESP_FACTORY);
+    }
+
+    @Benchmark
+    public Single<StreamingHttpResponse> compiledPathEquals() {
+        return compiledRouter.handle(null, pathEqualsRequest, REQ_RESP_FACTORY);
+    }
+
+    @Benchmark
+    public Single<StreamingHttpResponse> inOrderPathStartsWith() {
+        return inOrderRouter.handle(null, pathStartsWithRequest, REQ_RESP_FACTORY);
+    }
+
+    @Benchmark
+    public Single<StreamingHttpResponse> compiledPathStartsWith() {
+        return compiledRouter.handle(null, pathStartsWithRequest, REQ_RESP_FACTORY);
+    }
+
+    @Benchmark
+    public Single<StreamingHttpResponse> inOrderMethod() {
+        return inOrderRouter.handle(null, methodRequest, REQ_RESP_FACTORY);
+    }
+
+    @Benchmark
+    public Single<StreamingHttpResponse> compiledMethod() {
+        return compiledRouter.handle(null, methodRequest, REQ_RESP_FACTORY);
+    }
+}
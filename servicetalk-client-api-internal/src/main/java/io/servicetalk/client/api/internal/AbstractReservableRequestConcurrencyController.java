@@ -110,7 +110,13 @@ abstract class AbstractReservableRequestConcurrencyController implements Reserva
         return maxConcurrencyHolder.lastSeenValue(defaultValue);
     }
 
-    final int pendingRequests() {
+    @Override
+    public final int pendingRequests() {
+        final int currentPending = pendingRequests;
+        return currentPending < 0 ? 0 : currentPending;
+    }
+
+    final int state() {
         return pendingRequests;
     }
 
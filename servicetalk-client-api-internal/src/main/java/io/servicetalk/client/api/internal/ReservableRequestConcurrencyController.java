@@ -33,4 +33,19 @@ public interface ReservableRequestConcurrencyController extends RequestConcurren
      * @return a {@link Completable} for the release.
      */
     Completable releaseAsync();
+
+    /**
+     * Returns the number of additional requests {@link #tryRequest()} would currently accept.
+     * @return the number of additional requests {@link #tryRequest()} would currently accept, {@code 0} if this
+     * connection is reserved or closing.
+     */
+    int availableRequests();
+
+    /**
+     * Returns the number of requests accepted by {@link #tryRequest()} which are not yet
+     * {@link #requestFinished() finished}.
+     * @return the number of requests accepted by {@link #tryRequest()} which are not yet
+     * {@link #requestFinished() finished}, {@code 0} if this connection is reserved or closing.
+     */
+    int pendingRequests();
 }
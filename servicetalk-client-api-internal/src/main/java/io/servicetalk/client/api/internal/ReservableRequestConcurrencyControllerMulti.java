@@ -22,6 +22,7 @@ import io.servicetalk.concurrent.api.Publisher;
 import static io.servicetalk.client.api.internal.RequestConcurrencyController.Result.Accepted;
 import static io.servicetalk.client.api.internal.RequestConcurrencyController.Result.RejectedPermanently;
 import static io.servicetalk.client.api.internal.RequestConcurrencyController.Result.RejectedTemporary;
+import static java.lang.Math.max;
 
 final class ReservableRequestConcurrencyControllerMulti extends AbstractReservableRequestConcurrencyController {
     private final int maxRequests;
@@ -37,7 +38,7 @@ final class ReservableRequestConcurrencyControllerMulti extends AbstractReservab
     public Result tryRequest() {
         final int maxConcurrency = lastSeenMaxValue(maxRequests);
         for (;;) {
-            final int currentPending = pendingRequests();
+            final int currentPending = state();
             if (currentPending < 0) {
                 return RejectedPermanently;
             }
@@ -49,4 +50,10 @@ final class ReservableRequestConcurrencyControllerMulti extends AbstractReservab
             }
         }
     }
+
+    @Override
+    public int availableRequests() {
+        final int currentPending = state();
+        return currentPending < 0 ? 0 : max(0, lastSeenMaxValue(maxRequests) - currentPending);
+    }
 }
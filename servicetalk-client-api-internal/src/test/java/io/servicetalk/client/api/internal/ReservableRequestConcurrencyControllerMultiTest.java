@@ -21,6 +21,7 @@ import io.servicetalk.concurrent.api.Publisher;
 import org.junit.Test;
 
 import static io.servicetalk.client.api.internal.RequestConcurrencyController.Result.Accepted;
+import static io.servicetalk.concurrent.api.Completable.completed;
 import static io.servicetalk.concurrent.api.Completable.never;
 import static io.servicetalk.concurrent.api.Publisher.from;
 import static org.hamcrest.Matchers.is;
@@ -59,4 +60,46 @@ public class ReservableRequestConcurrencyControllerMultiTest extends AbstractReq
         assertThat(controller.tryRequest(), is(Accepted));
         assertFalse(controller.tryReserve());
     }
+
+    @Test
+    public void availableRequests() throws Exception {
+        ReservableRequestConcurrencyController controller = newController(from(2), never(), 10);
+        assertThat(controller.availableRequests(), is(2));
+        assertThat(controller.tryRequest(), is(Accepted));
+        assertThat(controller.availableRequests(), is(1));
+        assertThat(controller.tryRequest(), is(Accepted));
+        assertThat(controller.availableRequests(), is(0));
+        controller.requestFinished();
+        controller.requestFinished();
+        assertThat(controller.availableRequests(), is(2));
+
+        assertTrue(controller.tryReserve());
+        assertThat(controller.availableRequests(), is(0));
+        controller.releaseAsync().toFuture().get();
+        assertThat(controller.availableRequests(), is(2));
+    }
+
+    @Test
+    public void pendingRequests() throws Exception {
+        ReservableRequestConcurrencyController controller = newController(from(2), never(), 10);
+        assertThat(controller.pendingRequests(), is(0));
+        assertThat(controller.tryRequest(), is(Accepted));
+        assertThat(controller.tryRequest(), is(Accepted));
+        assertThat(controller.pendingRequests(), is(2));
+        controller.requestFinished();
+        assertThat(controller.pendingRequests(), is(1));
+        controller.requestFinished();
+        assertThat(controller.pendingRequests(), is(0));
+
+        assertTrue(controller.tryReserve());
+        assertThat(controller.pendingRequests(), is(0));
+        controller.releaseAsync().toFuture().get();
+        assertThat(controller.pendingRequests(), is(0));
+    }
+
+    @Test
+    public void noPendingRequestsAfterClose() {
+        ReservableRequestConcurrencyController controller = newController(from(2), completed(), 10);
+        assertThat(controller.pendingRequests(), is(0));
+    }
 }
@@ -0,0 +1,35 @@
+/*
+ * Copyright © 2019 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.client.api;
+
+/**
+ * Enables {@link LoadBalancedConnection}s which multiplex concurrent requests over a single transport (e.g. HTTP/2
+ * streams) to expose how many more requests they can currently accept.
+ * <p>
+ * {@link LoadBalancer}s use this to fill existing multiplexed connections before opening new ones.
+ */
+@FunctionalInterface
+public interface AvailableConcurrencySupplier {
+
+    /**
+     * Returns the number of additional requests which can be started concurrently right now, e.g. the peer's
+     * {@code SETTINGS_MAX_CONCURRENT_STREAMS} minus the number of active streams for HTTP/2.
+     *
+     * @return the number of additional requests which can be started concurrently right now, or a negative value if
+     * requests are not multiplexed and {@link LoadBalancer}s should use their default connection selection.
+     */
+    int availableConcurrency();
+}
@@ -0,0 +1,33 @@
+/*
+ * Copyright © 2019 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.client.api;
+
+/**
+ * Enables components to expose the number of requests they are currently processing.
+ * <p>
+ * {@link LoadBalancedConnection}s that implement this interface allow load aware {@link LoadBalancer}s to prefer hosts
+ * with fewer outstanding requests.
+ */
+@FunctionalInterface
+public interface PendingRequestsSupplier {
+
+    /**
+     * Returns the number of requests that have been started but not yet finished.
+     *
+     * @return the number of requests that have been started but not yet finished.
+     */
+    int pendingRequests();
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright © 2019 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.client.api;
+
+/**
+ * Notified of the outcome of the requests sent over a {@link LoadBalancedConnection} which implements
+ * {@link RequestOutcomeReporter}.
+ */
+public interface RequestOutcomeListener {
+
+    /**
+     * Invoked when a request completed successfully.
+     */
+    void onRequestSucceeded();
+
+    /**
+     * Invoked when a request failed, either with an error or with a response which indicates that the peer failed to
+     * process it (e.g. a {@code 5xx} HTTP response).
+     */
+    void onRequestFailed();
+}
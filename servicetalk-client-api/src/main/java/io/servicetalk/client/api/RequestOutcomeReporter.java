@@ -0,0 +1,33 @@
+/*
+ * Copyright © 2019 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.client.api;
+
+/**
+ * Enables {@link LoadBalancedConnection}s to report the outcome of the requests sent over them.
+ * <p>
+ * {@link LoadBalancer}s use this to detect hosts which accept connections but fail to process requests.
+ */
+@FunctionalInterface
+public interface RequestOutcomeReporter {
+
+    /**
+     * Sets the {@link RequestOutcomeListener} notified of the outcome of every subsequent request, replacing any
+     * previously set listener.
+     *
+     * @param listener {@link RequestOutcomeListener} notified of the outcome of every subsequent request.
+     */
+    void requestOutcomeListener(RequestOutcomeListener listener);
+}
@@ -37,6 +37,7 @@ import static io.servicetalk.concurrent.Cancellable.IGNORE_CANCEL;
 import static io.servicetalk.concurrent.internal.SignalOffloaders.defaultOffloaderFactory;
 import static java.lang.Thread.NORM_PRIORITY;
 import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
 
 /**
@@ -85,6 +86,20 @@ final class DefaultExecutor extends AbstractOffloaderAwareExecutor implements Co
         this(jdkExecutor, newScheduler(scheduler, interruptOnCancel), interruptOnCancel);
     }
 
+    /**
+     * Create a new instance that schedules delayed tasks on the passed {@link HashedWheelTimer}.
+     *
+     * @param jdkExecutor {@link java.util.concurrent.Executor} to execute tasks, including expired delayed tasks.
+     * @param timer {@link HashedWheelTimer} to schedule delayed tasks. If {@code null} a global timer is used,
+     * otherwise the lifetime of the {@code timer} is transferred to the returned {@link DefaultExecutor}.
+     * @param interruptOnCancel If set to {@code true}, when a task is cancelled, thread running the task will be
+     * interrupted.
+     */
+    DefaultExecutor(java.util.concurrent.Executor jdkExecutor, @Nullable HashedWheelTimer timer,
+                    boolean interruptOnCancel) {
+        this(jdkExecutor, new WheelTimerScheduler(jdkExecutor, timer), interruptOnCancel);
+    }
+
     private DefaultExecutor(@Nullable java.util.concurrent.Executor jdkExecutor, @Nullable InternalScheduler scheduler,
                             boolean interruptOnCancel) {
         if (jdkExecutor == null) {
@@ -208,6 +223,53 @@ final class DefaultExecutor extends AbstractOffloaderAwareExecutor implements Co
         };
     }
 
+    private static final class WheelTimerScheduler implements InternalScheduler {
+
+        private final java.util.concurrent.Executor offloadExecutor;
+        private final HashedWheelTimer timer;
+        private final boolean ownsTimer;
+
+        WheelTimerScheduler(final java.util.concurrent.Executor offloadExecutor,
+                            @Nullable final HashedWheelTimer timer) {
+            this.offloadExecutor = offloadExecutor;
+            if (timer == null) {
+                this.timer = GlobalWheelTimerHolder.TIMER;
+                ownsTimer = false;
+            } else {
+                this.timer = timer;
+                ownsTimer = true;
+            }
+        }
+
+        @Override
+        public void run() {
+            // The global timer uses a daemon thread and has no clear lifetime, so only stop timers that we own.
+            if (ownsTimer) {
+                timer.stop();
+            }
+        }
+
+        @Override
+        public Cancellable apply(final Runnable task, final long delay, final TimeUnit unit) {
+            // Same as SingleThreadedScheduler, the timer thread only generates the tick and user code is offloaded.
+            return timer.schedule(() -> offloadExecutor.execute(task), delay, unit);
+        }
+    }
+
+    private static final class GlobalWheelTimerHolder {
+        /**
+         * Timeouts are typically in the order of seconds, so a 10ms tick is precise enough while keeping the timer
+         * thread mostly idle. 512 buckets cover ~5 seconds per round of the wheel.
+         */
+        static final HashedWheelTimer TIMER = new HashedWheelTimer(
+                new DefaultThreadFactory("servicetalk-global-wheel-timer-", true, NORM_PRIORITY),
+                10, MILLISECONDS, 512);
+
+        private GlobalWheelTimerHolder() {
+            // no instances
+        }
+    }
+
     private static final class SingleThreadedScheduler implements InternalScheduler {
 
         private final java.util.concurrent.Executor offloadExecutor;
@@ -15,12 +15,15 @@
  */
 package io.servicetalk.concurrent.api;
 
+import java.time.Duration;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 
 import static io.servicetalk.concurrent.api.ImmediateExecutor.IMMEDIATE_EXECUTOR;
+import static java.lang.Thread.NORM_PRIORITY;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 
 /**
  * Utility methods to create various {@link Executor}s.
@@ -242,4 +245,61 @@ public final class Executors {
         return EXECUTOR_PLUGINS.wrapExecutor(
                 new DefaultExecutor(jdkExecutor, scheduledExecutorService, mayInterruptOnCancel));
     }
+
+    /**
+     * Creates a new {@link Executor} from the provided {@code jdkExecutor} which schedules delayed tasks on a global
+     * hashed wheel timer.
+     * <p>
+     * Compared to a {@link ScheduledExecutorService} the timer approximates expiration to a tick granularity of
+     * {@code 10ms} but scheduling and cancelling tasks is {@code O(1)} and does not contend on a lock. This is a good
+     * fit for timeouts which are scheduled in large volumes and are typically cancelled before they fire.
+     * Expired tasks are executed on {@code jdkExecutor}.<p>
+     * Task execution will not honor cancellations unless passed {@link java.util.concurrent.Executor}
+     * is an instance of {@link ExecutorService}.
+     * <h2>Long running tasks</h2>
+     * {@link java.util.concurrent.Executor} implementations are expected to run long running (blocking) tasks which may
+     * depend on other tasks submitted to the same {@link java.util.concurrent.Executor} instance.
+     * In order to avoid deadlocks, it is generally a good idea to not allow task queuing in the
+     * {@link java.util.concurrent.Executor}.
+     *
+     * @param jdkExecutor {@link java.util.concurrent.Executor} to use for executing tasks.
+     * The lifetime of this object is transferred to the return value. In other words {@link Executor#closeAsync()} will
+     * call {@link ExecutorService#shutdown()} (if possible).
+     * @return {@link Executor} that wraps the passed {@code jdkExecutor}.
+     */
+    public static Executor fromWithHashedWheelTimer(java.util.concurrent.Executor jdkExecutor) {
+        return EXECUTOR_PLUGINS.wrapExecutor(new DefaultExecutor(jdkExecutor, (HashedWheelTimer) null, true));
+    }
+
+    /**
+     * Creates a new {@link Executor} from the provided {@code jdkExecutor} which schedules delayed tasks on a dedicated
+     * hashed wheel timer.
+     * <p>
+     * Compared to a {@link ScheduledExecutorService} the timer approximates expiration to {@code tickDuration} but
+     * scheduling and cancelling tasks is {@code O(1)} and does not contend on a lock. Expired tasks are executed on
+     * {@code jdkExecutor}.<p>
+     * Task execution will not honor cancellations unless passed {@link java.util.concurrent.Executor}
+     * is an instance of {@link ExecutorService}.
+     * <h2>Long running tasks</h2>
+     * {@link java.util.concurrent.Executor} implementations are expected to run long running (blocking) tasks which may
+     * depend on other tasks submitted to the same {@link java.util.concurrent.Executor} instance.
+     * In order to avoid deadlocks, it is generally a good idea to not allow task queuing in the
+     * {@link java.util.concurrent.Executor}.
+     *
+     * @param jdkExecutor {@link java.util.concurrent.Executor} to use for executing tasks.
+     * The lifetime of this object is transferred to the return value. In other words {@link Executor#closeAsync()} will
+     * call {@link ExecutorService#shutdown()} (if possible).
+     * @param tickDuration Granularity of the timer.
+     * @param ticksPerWheel Number of buckets in the timer wheel, rounded up to a power of two. Delays longer than
+     * {@code tickDuration * ticksPerWheel} are supported but are inspected on every round of the wheel.
+     * @return {@link Executor} that wraps the passed {@code jdkExecutor}. {@link Executor#closeAsync()} also stops the
+     * timer thread.
+     */
+    public static Executor fromWithHashedWheelTimer(java.util.concurrent.Executor jdkExecutor, Duration tickDuration,
+                                                    int ticksPerWheel) {
+        final HashedWheelTimer timer = new HashedWheelTimer(
+                new DefaultThreadFactory("servicetalk-wheel-timer-", true, NORM_PRIORITY),
+                tickDuration.toNanos(), NANOSECONDS, ticksPerWheel);
+        return EXECUTOR_PLUGINS.wrapExecutor(new DefaultExecutor(jdkExecutor, timer, true));
+    }
 }
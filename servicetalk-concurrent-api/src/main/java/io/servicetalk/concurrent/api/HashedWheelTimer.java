@@ -0,0 +1,305 @@
+/*
+ * Copyright © 2019 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.concurrent.api;
+
+import io.servicetalk.concurrent.Cancellable;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Queue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import javax.annotation.Nullable;
+
+import static io.servicetalk.concurrent.internal.PlatformDependent.newUnboundedMpscQueue;
+import static java.lang.Math.max;
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.locks.LockSupport.parkNanos;
+
+/**
+ * A timer which approximates expiration of tasks to a fixed tick granularity and stores them in a circular array of
+ * buckets (a "hashed wheel"). Compared to a {@link java.util.concurrent.ScheduledExecutorService} which maintains a
+ * heap, scheduling and cancelling a task are both {@code O(1)} and do not contend on a shared lock:
+ * <ul>
+ *     <li>Scheduling offers the task to an MPSC queue which is drained by the single timer thread on each tick.</li>
+ *     <li>Cancelling is a single CAS. Tasks cancelled before the timer thread has picked them up are dropped when
+ *     drained, otherwise they are queued for the timer thread to unlink from their bucket.</li>
+ * </ul>
+ * Tasks are executed on the timer thread and hence must not block.
+ */
+final class HashedWheelTimer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(HashedWheelTimer.class);
+    /**
+     * Upper bound on the number of tasks moved from the pending queue to the wheel on each tick, so that a burst of
+     * scheduling can not delay expiration of tasks that are already due.
+     */
+    private static final int MAX_TRANSFERS_PER_TICK = 100_000;
+
+    private static final int WORKER_INIT = 0;
+    private static final int WORKER_STARTED = 1;
+    private static final int WORKER_STOPPED = 2;
+    private static final AtomicIntegerFieldUpdater<HashedWheelTimer> workerStateUpdater =
+            AtomicIntegerFieldUpdater.newUpdater(HashedWheelTimer.class, "workerState");
+
+    private final long tickNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final Queue<Timeout> pendingTimeouts = newUnboundedMpscQueue();
+    private final Queue<Timeout> cancelledTimeouts = newUnboundedMpscQueue();
+    private final Thread workerThread;
+    private final long startTime;
+    private volatile int workerState;
+
+    /**
+     * Create a new instance.
+     *
+     * @param threadFactory {@link ThreadFactory} used to create the timer thread.
+     * @param tickDuration Granularity of the timer.
+     * @param unit {@link TimeUnit} for {@code tickDuration}.
+     * @param ticksPerWheel Number of buckets in the wheel, rounded up to a power of two.
+     */
+    HashedWheelTimer(ThreadFactory threadFactory, long tickDuration, TimeUnit unit, int ticksPerWheel) {
+        if (tickDuration <= 0) {
+            throw new IllegalArgumentException("tickDuration: " + tickDuration + " (expected >0)");
+        }
+        if (ticksPerWheel <= 0 || ticksPerWheel > (1 << 30)) {
+            throw new IllegalArgumentException("ticksPerWheel: " + ticksPerWheel + " (expected >0 and <=2^30)");
+        }
+        tickNanos = unit.toNanos(tickDuration);
+        final int wheelSize = ticksPerWheel == 1 ? 1 : Integer.highestOneBit(ticksPerWheel - 1) << 1;
+        wheel = new Bucket[wheelSize];
+        for (int i = 0; i < wheel.length; i++) {
+            wheel[i] = new Bucket();
+        }
+        mask = wheel.length - 1;
+        startTime = System.nanoTime();
+        workerThread = requireNonNull(threadFactory).newThread(this::runWorker);
+    }
+
+    /**
+     * Schedule {@code task} to run on the timer thread after {@code delay}.
+     *
+     * @param task to run.
+     * @param delay after which the {@code task} is run.
+     * @param unit {@link TimeUnit} for {@code delay}.
+     * @return {@link Cancellable} that cancels the {@code task} if it has not yet run.
+     * @throws RejectedExecutionException if this timer is stopped.
+     */
+    Cancellable schedule(Runnable task, long delay, TimeUnit unit) {
+        requireNonNull(task);
+        startWorkerIfRequired();
+        // Guard against overflow for very large delays, such tasks will effectively never run.
+        final long delayNanos = max(0, unit.toNanos(delay));
+        final long now = System.nanoTime() - startTime;
+        final long deadline = delayNanos > Long.MAX_VALUE - now ? Long.MAX_VALUE : now + delayNanos;
+        final Timeout timeout = new Timeout(this, task, deadline);
+        pendingTimeouts.offer(timeout);
+        return timeout;
+    }
+
+    /**
+     * Stop the timer thread. Tasks which have not yet run, including those scheduled concurrently with this call, will
+     * never run.
+     */
+    void stop() {
+        if (workerStateUpdater.getAndSet(this, WORKER_STOPPED) == WORKER_STARTED) {
+            workerThread.interrupt();
+        }
+    }
+
+    private void startWorkerIfRequired() {
+        final int state = workerState;
+        if (state == WORKER_INIT) {
+            if (workerStateUpdater.compareAndSet(this, WORKER_INIT, WORKER_STARTED)) {
+                workerThread.start();
+            }
+        } else if (state == WORKER_STOPPED) {
+            throw new RejectedExecutionException("Timer is stopped");
+        }
+    }
+
+    private void runWorker() {
+        long tick = 0;
+        while (workerState != WORKER_STOPPED) {
+            final long deadline = waitForNextTick(tick);
+            if (deadline < 0) {
+                break;
+            }
+            unlinkCancelledTimeouts();
+            transferPendingTimeouts(tick);
+            wheel[(int) (tick & mask)].expireTimeouts(deadline);
+            ++tick;
+        }
+        pendingTimeouts.clear();
+        cancelledTimeouts.clear();
+    }
+
+    /**
+     * Wait until the end of {@code tick}.
+     *
+     * @return The time relative to {@link #startTime} at the end of the tick, or {@code -1} if the timer is stopped.
+     */
+    private long waitForNextTick(long tick) {
+        final long deadline = tickNanos * (tick + 1);
+        for (;;) {
+            final long current = System.nanoTime() - startTime;
+            final long sleepNanos = deadline - current;
+            if (sleepNanos <= 0) {
+                return current;
+            }
+            parkNanos(this, sleepNanos);
+            if (workerState == WORKER_STOPPED) {
+                return -1;
+            }
+        }
+    }
+
+    private void unlinkCancelledTimeouts() {
+        Timeout timeout;
+        while ((timeout = cancelledTimeouts.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    private void transferPendingTimeouts(long tick) {
+        for (int i = 0; i < MAX_TRANSFERS_PER_TICK; ++i) {
+            final Timeout timeout = pendingTimeouts.poll();
+            if (timeout == null) {
+                break;
+            }
+            if (timeout.state == Timeout.CANCELLED) {
+                // Cancelled before it reached the wheel, nothing to unlink.
+                continue;
+            }
+            final long expirationTick = timeout.deadline / tickNanos;
+            timeout.remainingRounds = (expirationTick - tick) / wheel.length;
+            // Deadlines that have already passed are expired on the current tick.
+            final long ticks = max(expirationTick, tick);
+            wheel[(int) (ticks & mask)].add(timeout);
+        }
+    }
+
+    private static final class Timeout implements Cancellable {
+        private static final int INIT = 0;
+        private static final int CANCELLED = 1;
+        private static final int EXPIRED = 2;
+        private static final AtomicIntegerFieldUpdater<Timeout> stateUpdater =
+                AtomicIntegerFieldUpdater.newUpdater(Timeout.class, "state");
+
+        private final HashedWheelTimer timer;
+        private final Runnable task;
+        private final long deadline;
+        private volatile int state;
+
+        // Following fields are only accessed from the timer thread.
+        long remainingRounds;
+        @Nullable
+        Bucket bucket;
+        @Nullable
+        Timeout next;
+        @Nullable
+        Timeout prev;
+
+        Timeout(final HashedWheelTimer timer, final Runnable task, final long deadline) {
+            this.timer = timer;
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public void cancel() {
+            if (stateUpdater.compareAndSet(this, INIT, CANCELLED)) {
+                timer.cancelledTimeouts.offer(this);
+            }
+        }
+
+        void expire() {
+            if (stateUpdater.compareAndSet(this, INIT, EXPIRED)) {
+                try {
+                    task.run();
+                } catch (Throwable cause) {
+                    LOGGER.warn("Unexpected exception from timer task {}.", task, cause);
+                }
+            }
+        }
+    }
+
+    /**
+     * A doubly linked list of {@link Timeout}s, only accessed from the timer thread.
+     */
+    private static final class Bucket {
+        @Nullable
+        private Timeout head;
+        @Nullable
+        private Timeout tail;
+
+        void add(Timeout timeout) {
+            timeout.bucket = this;
+            if (tail == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        void expireTimeouts(long deadline) {
+            Timeout timeout = head;
+            while (timeout != null) {
+                final Timeout next = timeout.next;
+                if (timeout.state == Timeout.CANCELLED) {
+                    remove(timeout);
+                } else if (timeout.remainingRounds <= 0 && timeout.deadline <= deadline) {
+                    remove(timeout);
+                    timeout.expire();
+                } else {
+                    --timeout.remainingRounds;
+                }
+                timeout = next;
+            }
+        }
+
+        void remove(Timeout timeout) {
+            if (timeout.bucket != this) {
+                // Already removed when the bucket was last expired.
+                return;
+            }
+            final Timeout next = timeout.next;
+            if (timeout.prev != null) {
+                timeout.prev.next = next;
+            }
+            if (next != null) {
+                next.prev = timeout.prev;
+            }
+            if (timeout == head) {
+                head = next;
+            }
+            if (timeout == tail) {
+                tail = timeout.prev;
+            }
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright © 2019 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.concurrent.api;
+
+import io.servicetalk.concurrent.Cancellable;
+import io.servicetalk.concurrent.internal.ServiceTalkTestTimeout;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+public class HashedWheelTimerTest {
+
+    @Rule
+    public final Timeout timeout = new ServiceTalkTestTimeout();
+
+    // A small wheel so that tests exercise multiple rounds.
+    private final HashedWheelTimer timer = new HashedWheelTimer(
+            new DefaultThreadFactory("wheel-timer-test-", true, Thread.NORM_PRIORITY), 1, MILLISECONDS, 4);
+
+    @After
+    public void tearDown() {
+        timer.stop();
+    }
+
+    @Test
+    public void immediateTaskFires() throws Exception {
+        CountDownLatch latch = new CountDownLatch(1);
+        timer.schedule(latch::countDown, 0, NANOSECONDS);
+        latch.await();
+    }
+
+    @Test
+    public void taskFiresAfterDelay() throws Exception {
+        CountDownLatch latch = new CountDownLatch(1);
+        final long start = System.nanoTime();
+        // Longer than a single round of the wheel.
+        timer.schedule(latch::countDown, 20, MILLISECONDS);
+        latch.await();
+        assertThat(System.nanoTime() - start, greaterThanOrEqualTo(MILLISECONDS.toNanos(20)));
+    }
+
+    @Test
+    public void cancelledTasksDoNotFire() throws Exception {
+        AtomicInteger fired = new AtomicInteger();
+        List<Cancellable> cancellables = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            cancellables.add(timer.schedule(fired::incrementAndGet, 100 + i % 10, MILLISECONDS));
+        }
+        // Cancel some before and some after they have been moved into the wheel.
+        for (int i = 0; i < cancellables.size(); i += 2) {
+            cancellables.get(i).cancel();
+        }
+        Thread.sleep(5);
+        for (int i = 1; i < cancellables.size(); i += 2) {
+            cancellables.get(i).cancel();
+        }
+        // The marker is scheduled after all other tasks, if it has fired so would any non-cancelled task.
+        CountDownLatch marker = new CountDownLatch(1);
+        timer.schedule(marker::countDown, 150, MILLISECONDS);
+        marker.await();
+        assertThat(fired.get(), is(0));
+    }
+
+    @Test
+    public void cancelAfterFireIsNoop() throws Exception {
+        AtomicInteger fired = new AtomicInteger();
+        CountDownLatch latch = new CountDownLatch(1);
+        Cancellable cancellable = timer.schedule(() -> {
+            fired.incrementAndGet();
+            latch.countDown();
+        }, 1, MILLISECONDS);
+        latch.await();
+        cancellable.cancel();
+        assertThat(fired.get(), is(1));
+    }
+
+    @Test
+    public void taskThrowingDoesNotStopTimer() throws Exception {
+        timer.schedule(() -> {
+            throw new IllegalStateException("deliberate");
+        }, 0, MILLISECONDS);
+        CountDownLatch latch = new CountDownLatch(1);
+        timer.schedule(latch::countDown, 2, MILLISECONDS);
+        latch.await();
+    }
+
+    @Test(expected = RejectedExecutionException.class)
+    public void scheduleAfterStopIsRejected() {
+        timer.schedule(() -> { }, 1, SECONDS);
+        timer.stop();
+        timer.schedule(() -> { }, 1, SECONDS);
+    }
+}
@@ -25,6 +25,8 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.BooleanNode;
+import com.fasterxml.jackson.databind.node.DoubleNode;
+import com.fasterxml.jackson.databind.node.LongNode;
 import com.fasterxml.jackson.databind.node.NullNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.databind.node.TextNode;
@@ -142,9 +144,17 @@ abstract class AbstractJacksonDeserializer<T> implements StreamingDeserializer<T
                 // However, to achieve that we need to maintain state between two deserialize calls. Jackson does not
                 // support deserializing a single primitive number as yet when used with non-blocking parser. Hence,
                 // we avoid doing that state management yet.
+                // A top-level number is only emitted once it is terminated by whitespace, which is the case for
+                // whitespace separated documents, e.g. the elements of a streamed JSON array.
+                if (nodeStack.isEmpty()) {
+                    return LongNode.valueOf(parser.getLongValue());
+                }
                 addValue(peekNonNull(), parser.getLongValue());
                 return null;
             case VALUE_NUMBER_FLOAT:
+                if (nodeStack.isEmpty()) {
+                    return DoubleNode.valueOf(parser.getDoubleValue());
+                }
                 addValue(peekNonNull(), parser.getDoubleValue());
                 return null;
             case VALUE_TRUE:
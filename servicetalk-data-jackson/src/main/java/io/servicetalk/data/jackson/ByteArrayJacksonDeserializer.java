@@ -22,6 +22,7 @@ import com.fasterxml.jackson.core.async.ByteArrayFeeder;
 import com.fasterxml.jackson.databind.ObjectReader;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.List;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -29,7 +30,15 @@ import javax.annotation.Nullable;
 import static java.util.Collections.emptyList;
 
 final class ByteArrayJacksonDeserializer<T> extends AbstractJacksonDeserializer<T> {
+    /**
+     * Upper bound on the size of the copy buffer which is retained between calls, to avoid holding on to large
+     * arrays after an unusually large read.
+     */
+    private static final int MAX_RETAINED_COPY_BUFFER_SIZE = 64 * 1024;
+
     private final ByteArrayFeeder feeder;
+    @Nullable
+    private byte[] copyBuffer;
 
     ByteArrayJacksonDeserializer(ObjectReader reader, JsonParser parser, ByteArrayFeeder feeder) {
         super(reader, parser);
@@ -39,18 +48,55 @@ final class ByteArrayJacksonDeserializer<T> extends AbstractJacksonDeserializer<
     @Nonnull
     Iterable<T> doDeserialize(final Buffer buffer, @Nullable List<T> resultHolder) throws IOException {
         if (buffer.hasArray()) {
-            feeder.feedInput(buffer.array(), buffer.arrayOffset(),
-                    buffer.arrayOffset() + buffer.readableBytes());
-        } else {
-            int readableBytes = buffer.readableBytes();
-            if (readableBytes != 0) {
-                byte[] copy = new byte[readableBytes];
-                buffer.readBytes(copy);
-                feeder.feedInput(copy, 0, copy.length);
+            final int start = buffer.arrayOffset() + buffer.readerIndex();
+            return feed(buffer.array(), start, start + buffer.readableBytes(), resultHolder);
+        }
+        if (buffer.readableBytes() == 0) {
+            return resultHolder == null ? emptyList() : resultHolder;
+        }
+        // Feed each NIO component separately, so array backed components (e.g. of a CompositeBuffer) are passed to
+        // jackson as is, and direct components are copied into a reused array instead of a new one per Buffer.
+        for (ByteBuffer nioBuffer : buffer.toNioBuffers()) {
+            final int length = nioBuffer.remaining();
+            if (length == 0) {
+                continue;
+            }
+            final List<T> result;
+            if (nioBuffer.hasArray()) {
+                final int start = nioBuffer.arrayOffset() + nioBuffer.position();
+                result = feed(nioBuffer.array(), start, start + length, resultHolder);
+            } else {
+                final byte[] copy = copyBuffer(length);
+                nioBuffer.get(copy, 0, length);
+                result = feed(copy, 0, length, resultHolder);
+            }
+            if (!result.isEmpty()) {
+                resultHolder = result;
             }
         }
+        return resultHolder == null ? emptyList() : resultHolder;
+    }
 
-        return !feeder.needMoreInput() ? consumeParserTokens(resultHolder) : emptyList();
+    private List<T> feed(final byte[] array, final int start, final int end, @Nullable final List<T> resultHolder)
+            throws IOException {
+        // The parser consumes all fed input before returning NOT_AVAILABLE, and copies partial tokens internally, so
+        // the array is no longer referenced when this method returns and can be reused.
+        feeder.feedInput(array, start, end);
+        if (!feeder.needMoreInput()) {
+            return consumeParserTokens(resultHolder);
+        }
+        return resultHolder == null ? emptyList() : resultHolder;
+    }
+
+    private byte[] copyBuffer(final int minLength) {
+        byte[] copy = copyBuffer;
+        if (copy == null || copy.length < minLength) {
+            copy = new byte[minLength];
+            if (minLength <= MAX_RETAINED_COPY_BUFFER_SIZE) {
+                copyBuffer = copy;
+            }
+        }
+        return copy;
     }
 
     @Override
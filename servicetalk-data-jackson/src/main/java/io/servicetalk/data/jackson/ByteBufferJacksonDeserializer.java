@@ -22,6 +22,7 @@ import com.fasterxml.jackson.core.async.ByteBufferFeeder;
 import com.fasterxml.jackson.databind.ObjectReader;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.List;
 import javax.annotation.Nullable;
 
@@ -36,9 +37,22 @@ final class ByteBufferJacksonDeserializer<T> extends AbstractJacksonDeserializer
     }
 
     @Override
-    Iterable<T> doDeserialize(final Buffer buffer, @Nullable final List<T> resultHolder) throws IOException {
-        feeder.feedInput(buffer.toNioBuffer());
-        return !feeder.needMoreInput() ? consumeParserTokens(resultHolder) : emptyList();
+    Iterable<T> doDeserialize(final Buffer buffer, @Nullable List<T> resultHolder) throws IOException {
+        // Feed each NIO component separately, toNioBuffer() would merge the components of a CompositeBuffer into a
+        // new ByteBuffer.
+        for (ByteBuffer nioBuffer : buffer.toNioBuffers()) {
+            if (!nioBuffer.hasRemaining()) {
+                continue;
+            }
+            feeder.feedInput(nioBuffer);
+            if (!feeder.needMoreInput()) {
+                final List<T> result = consumeParserTokens(resultHolder);
+                if (!result.isEmpty()) {
+                    resultHolder = result;
+                }
+            }
+        }
+        return resultHolder == null ? emptyList() : resultHolder;
     }
 
     @Override
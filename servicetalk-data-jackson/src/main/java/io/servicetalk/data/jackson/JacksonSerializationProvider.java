@@ -34,6 +34,7 @@ import java.io.IOException;
 
 import static io.servicetalk.buffer.api.Buffer.asOutputStream;
 import static io.servicetalk.concurrent.internal.PlatformDependent.throwException;
+import static io.servicetalk.data.jackson.ReusableJsonGenerator.newGenerator;
 import static java.util.Objects.requireNonNull;
 
 /**
@@ -42,6 +43,13 @@ import static java.util.Objects.requireNonNull;
 public final class JacksonSerializationProvider implements SerializationProvider {
 
     private final ObjectMapper mapper;
+    private final ThreadLocal<ReusableJsonGenerator> generators = new ThreadLocal<>();
+    private final ClassValue<ObjectWriter> writers = new ClassValue<ObjectWriter>() {
+        @Override
+        protected ObjectWriter computeValue(final Class<?> type) {
+            return mapper.writerFor(type);
+        }
+    };
 
     /**
      * New instances which will use the default {@link ObjectMapper}.
@@ -61,7 +69,7 @@ public final class JacksonSerializationProvider implements SerializationProvider
 
     @Override
     public <T> StreamingSerializer getSerializer(final Class<T> classToSerialize) {
-        final ObjectWriter writer = mapper.writerFor(classToSerialize);
+        final ObjectWriter writer = writers.get(classToSerialize);
         return (toSerialize, destination) -> serialize0(writer, toSerialize, destination);
     }
 
@@ -83,12 +91,29 @@ public final class JacksonSerializationProvider implements SerializationProvider
 
     @Override
     public <T> void serialize(final T toSerialize, final Buffer destination) {
-        serialize0(mapper.writerFor(toSerialize.getClass()), toSerialize, destination);
+        serialize0(writers.get(toSerialize.getClass()), toSerialize, destination);
     }
 
-    private static void serialize0(final ObjectWriter writer, final Object toSerialize, final Buffer destination) {
+    private void serialize0(final ObjectWriter writer, final Object toSerialize, final Buffer destination) {
         try {
-            writer.writeValue(asOutputStream(destination), toSerialize);
+            ReusableJsonGenerator generator = generators.get();
+            if (generator == null) {
+                generator = newGenerator(writer.getFactory());
+                generators.set(generator);
+            } else if (!generator.isIdle()) {
+                // Re-entrant serialization on this thread (e.g. from a custom serializer), the cached generator is
+                // busy so fallback to a one-off generator.
+                writer.writeValue(asOutputStream(destination), toSerialize);
+                return;
+            }
+            boolean reusable = false;
+            try {
+                reusable = generator.serialize(writer, toSerialize, destination);
+            } finally {
+                if (!reusable) {
+                    generators.remove();
+                }
+            }
         } catch (IOException e) {
             throwException(e);
         }
@@ -0,0 +1,122 @@
+/*
+ * Copyright © 2019 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.data.jackson;
+
+import io.servicetalk.buffer.api.Buffer;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import javax.annotation.Nullable;
+
+import static com.fasterxml.jackson.core.JsonEncoding.UTF8;
+
+/**
+ * A {@link JsonGenerator} that is kept around per thread and re-targeted to a new {@link Buffer} for every value
+ * written. This avoids creating a new {@link JsonGenerator} (and the associated encoding state) for every serialized
+ * object.
+ * <p>
+ * A reused generator stays in the root context between values, so it must only be used with {@link ObjectWriter}s
+ * which do not emit a root value separator (see {@link ObjectWriter#withRootValueSeparator(String)}). If the
+ * {@link ObjectWriter} installs a pretty printer, the generator is discarded after the write because pretty printers
+ * emit their own root separator.
+ */
+final class ReusableJsonGenerator extends OutputStream {
+    private final JsonGenerator generator;
+    @Nullable
+    private Buffer destination;
+    private boolean reusable = true;
+
+    private ReusableJsonGenerator(final JsonFactory factory) throws IOException {
+        generator = factory.createGenerator(this, UTF8);
+        generator.setRootValueSeparator(null);
+    }
+
+    /**
+     * Create a new {@link ReusableJsonGenerator}.
+     *
+     * @param factory {@link JsonFactory} to create the underlying {@link JsonGenerator}.
+     * @return a new {@link ReusableJsonGenerator}.
+     * @throws IOException if the {@link JsonGenerator} can not be created.
+     */
+    static ReusableJsonGenerator newGenerator(final JsonFactory factory) throws IOException {
+        return new ReusableJsonGenerator(factory);
+    }
+
+    /**
+     * Serialize {@code toSerialize} into {@code destination}.
+     *
+     * @param writer {@link ObjectWriter} to use for serialization.
+     * @param toSerialize {@link Object} to serialize.
+     * @param destination {@link Buffer} to write to.
+     * @return {@code true} if this generator can be used for another value, {@code false} if it must be discarded.
+     * @throws IOException if serialization fails. This generator must be discarded in this case.
+     */
+    boolean serialize(final ObjectWriter writer, final Object toSerialize, final Buffer destination)
+            throws IOException {
+        assert this.destination == null;
+        this.destination = destination;
+        try {
+            writer.writeValue(generator, toSerialize);
+            // Move whatever is left in the generator's internal buffer to the destination.
+            generator.flush();
+        } catch (Throwable cause) {
+            reusable = false;
+            throw cause;
+        } finally {
+            this.destination = null;
+        }
+        if (generator.getPrettyPrinter() != null) {
+            reusable = false;
+        }
+        return reusable;
+    }
+
+    /**
+     * Returns {@code true} if this generator is not currently serializing a value.
+     *
+     * @return {@code true} if this generator is not currently serializing a value.
+     */
+    boolean isIdle() {
+        return destination == null;
+    }
+
+    @Override
+    public void write(final int b) {
+        destination().writeByte(b);
+    }
+
+    @Override
+    public void write(final byte[] b) {
+        destination().writeBytes(b);
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) {
+        destination().writeBytes(b, off, len);
+    }
+
+    private Buffer destination() {
+        final Buffer destination = this.destination;
+        if (destination == null) {
+            throw new IllegalStateException("No destination buffer, generator is not serializing a value");
+        }
+        return destination;
+    }
+}
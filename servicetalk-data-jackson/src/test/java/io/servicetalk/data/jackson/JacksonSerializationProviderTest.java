@@ -20,9 +20,13 @@ import io.servicetalk.buffer.api.EmptyBuffer;
 import io.servicetalk.concurrent.internal.ServiceTalkTestTimeout;
 import io.servicetalk.serialization.api.SerializationException;
 import io.servicetalk.serialization.api.StreamingDeserializer;
+import io.servicetalk.serialization.api.StreamingSerializer;
 import io.servicetalk.serialization.api.TypeHolder;
 
 import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import org.junit.Ignore;
 import org.junit.Rule;
 import org.junit.Test;
@@ -33,6 +37,7 @@ import java.util.List;
 import javax.annotation.Nonnull;
 
 import static io.servicetalk.buffer.netty.BufferAllocators.DEFAULT_ALLOCATOR;
+import static java.nio.charset.StandardCharsets.US_ASCII;
 import static java.util.Collections.singletonList;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.core.Is.is;
@@ -164,6 +169,103 @@ public class JacksonSerializationProviderTest {
         assertThat("Unexpected data remaining in deserializer", deserializer.hasData(), is(false));
     }
 
+    @Test
+    public void serializeMultipleValuesWithReusedGenerator() {
+        TestPojo expected = new TestPojo(true, (byte) -2, (short) -3, 'a', 2, 5, 3.2f, -8.5, null, new String[] {"bar"},
+                null);
+        final Buffer first = serializePojo(expected);
+        final Buffer second = serializePojo(expected);
+        // A reused generator must not prefix subsequent root values with a separator.
+        assertEquals(first, second);
+        assertThat(first.getByte(first.readerIndex()), is((byte) '{'));
+    }
+
+    @Test
+    public void serializeWithPrettyPrinter() {
+        final JacksonSerializationProvider provider =
+                new JacksonSerializationProvider(new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT));
+        final StreamingSerializer serializer = provider.getSerializer(String.class);
+        final Buffer first = DEFAULT_ALLOCATOR.newBuffer();
+        serializer.serialize("foo", first);
+        final Buffer second = DEFAULT_ALLOCATOR.newBuffer();
+        serializer.serialize("foo", second);
+        assertEquals(first, second);
+        assertEquals("\"foo\"", second.toString(US_ASCII));
+    }
+
+    @Test
+    public void serializeAfterFailure() {
+        final StreamingSerializer serializer = serializationProvider.getSerializer(Object.class);
+        try {
+            serializer.serialize(new Object(), DEFAULT_ALLOCATOR.newBuffer());
+            fail();
+        } catch (Exception e) {
+            assertThat(e, instanceOf(JsonMappingException.class));
+        }
+        final Buffer buffer = DEFAULT_ALLOCATOR.newBuffer();
+        serializer.serialize("foo", buffer);
+        assertEquals("\"foo\"", buffer.toString(US_ASCII));
+    }
+
+    @Test
+    public void deserializeFromDirectBuffer() {
+        TestPojo expected = new TestPojo(true, (byte) -2, (short) -3, 'a', 2, 5, 3.2f, -8.5, null, new String[] {"bar"},
+                null);
+        final Buffer serialized = serializePojo(expected);
+        final Buffer direct = DEFAULT_ALLOCATOR.newBuffer(serialized.readableBytes(), true).writeBytes(serialized);
+
+        final StreamingDeserializer<TestPojo> deserializer = serializationProvider.getDeserializer(TestPojo.class);
+        Iterator<TestPojo> iter = deserializer.deserialize(direct).iterator();
+        assertTrue(iter.hasNext());
+        assertEquals(expected, iter.next());
+        assertFalse(iter.hasNext());
+        assertThat("Unexpected data remaining in deserializer", deserializer.hasData(), is(false));
+    }
+
+    @Test
+    public void deserializeFromCompositeBufferComponents() {
+        TestPojo expected1 = new TestPojo(true, (byte) -2, (short) -3, 'a', 2, 5, 3.2f, -8.5, null,
+                new String[] {"bar", "baz"}, null);
+        TestPojo expected2 = new TestPojo(false, (byte) 500, (short) 353, 'r', 100, 534, 33.25f, 888.5, null,
+                new String[] {"foo"}, expected1);
+
+        final Buffer buffer1 = serializePojo(expected1);
+        final Buffer buffer2 = serializePojo(expected2);
+        // Split the second item across a direct and a heap component, with a reader index offset on the heap one.
+        final int split = buffer2.readableBytes() / 2;
+        final Buffer direct = DEFAULT_ALLOCATOR.newBuffer(split, true).writeBytes(buffer2, split);
+        final Buffer heap = DEFAULT_ALLOCATOR.newBuffer(buffer2.readableBytes() + 3, false)
+                .writeBytes(new byte[3]).writeBytes(buffer2);
+        heap.skipBytes(3);
+        Buffer composite = DEFAULT_ALLOCATOR.newCompositeBuffer().addBuffer(buffer1).addBuffer(direct)
+                .addBuffer(heap);
+
+        final StreamingDeserializer<TestPojo> deserializer = serializationProvider.getDeserializer(TestPojo.class);
+        Iterator<TestPojo> iter = deserializer.deserialize(composite).iterator();
+        assertTrue(iter.hasNext());
+        assertEquals(expected1, iter.next());
+        assertTrue(iter.hasNext());
+        assertEquals(expected2, iter.next());
+        assertFalse(iter.hasNext());
+        assertThat("Unexpected data remaining in deserializer", deserializer.hasData(), is(false));
+    }
+
+    @Test
+    public void deserializeFromArrayBufferWithReaderIndex() {
+        TestPojo expected = new TestPojo(true, (byte) -2, (short) -3, 'a', 2, 5, 3.2f, -8.5, null, new String[] {"bar"},
+                null);
+        final Buffer serialized = serializePojo(expected);
+        final Buffer buffer = DEFAULT_ALLOCATOR.newBuffer(serialized.readableBytes() + 2, false)
+                .writeBytes(new byte[] {'[', '['}).writeBytes(serialized);
+        buffer.skipBytes(2);
+
+        final StreamingDeserializer<TestPojo> deserializer = serializationProvider.getDeserializer(TestPojo.class);
+        Iterator<TestPojo> iter = deserializer.deserialize(buffer).iterator();
+        assertTrue(iter.hasNext());
+        assertEquals(expected, iter.next());
+        assertFalse(iter.hasNext());
+    }
+
     @Test
     public void deserializeSplitAcrossMultipleBuffers() {
         TestPojo expected1 = new TestPojo(true, (byte) -2, (short) -3, 'a', 2, 5, 3.2f, -8.5, null,
@@ -31,14 +31,19 @@ import io.servicetalk.concurrent.internal.RejectedSubscribeError;
 import io.servicetalk.transport.api.IoExecutor;
 import io.servicetalk.transport.netty.internal.EventLoopAwareNettyIoExecutor;
 
+import io.netty.buffer.ByteBuf;
 import io.netty.channel.EventLoop;
 import io.netty.channel.socket.SocketChannel;
+import io.netty.handler.codec.dns.DefaultDnsQuestion;
+import io.netty.handler.codec.dns.DnsRawRecord;
+import io.netty.handler.codec.dns.DnsRecord;
 import io.netty.resolver.ResolvedAddressTypes;
 import io.netty.resolver.dns.DefaultDnsCache;
 import io.netty.resolver.dns.DnsNameResolver;
 import io.netty.resolver.dns.DnsNameResolverBuilder;
 import io.netty.util.concurrent.Future;
 import io.netty.util.concurrent.FutureListener;
+import io.netty.util.concurrent.Promise;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -54,6 +59,9 @@ import java.util.RandomAccess;
 import java.util.function.Predicate;
 import javax.annotation.Nullable;
 
+import static io.netty.handler.codec.dns.DefaultDnsRecordDecoder.decodeName;
+import static io.netty.handler.codec.dns.DnsRecordType.SRV;
+import static io.netty.util.ReferenceCountUtil.release;
 import static io.servicetalk.client.api.internal.ServiceDiscovererUtils.calculateDifference;
 import static io.servicetalk.concurrent.api.Processors.newCompletableProcessor;
 import static io.servicetalk.concurrent.api.Publisher.failed;
@@ -64,6 +72,7 @@ import static io.servicetalk.concurrent.internal.SubscriberUtils.newExceptionFor
 import static io.servicetalk.transport.netty.internal.BuilderUtils.datagramChannel;
 import static io.servicetalk.transport.netty.internal.BuilderUtils.socketChannel;
 import static io.servicetalk.transport.netty.internal.EventLoopAwareNettyIoExecutors.toEventLoopAwareNettyIoExecutor;
+import static java.lang.Math.min;
 import static java.lang.System.nanoTime;
 import static java.nio.ByteBuffer.wrap;
 import static java.util.Collections.emptyList;
@@ -73,17 +82,22 @@ import static java.util.concurrent.TimeUnit.SECONDS;
 import static java.util.function.Function.identity;
 
 /**
- * Default load balancer which will attempt to resolve A, AAAA, and CNAME type queries.
+ * Default load balancer which will attempt to resolve A, AAAA, and CNAME type queries, and SRV type queries via
+ * {@link #discoverSrv(String)}.
  */
 final class DefaultDnsServiceDiscoverer
         implements ServiceDiscoverer<String, InetAddress, ServiceDiscovererEvent<InetAddress>> {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(DefaultDnsServiceDiscoverer.class);
     private static final Comparator<InetAddress> INET_ADDRESS_COMPARATOR = comparing(o -> wrap(o.getAddress()));
+    private static final Comparator<InetSocketAddress> INET_SOCKET_ADDRESS_COMPARATOR =
+            Comparator.<InetSocketAddress, InetAddress>comparing(InetSocketAddress::getAddress, INET_ADDRESS_COMPARATOR)
+                    .thenComparingInt(InetSocketAddress::getPort);
+    private static final String ROOT_DOMAIN = ".";
     private static final Cancellable TERMINATED = () -> { };
 
     private final Processor closeCompletable = newCompletableProcessor();
-    private final Map<String, List<DiscoverEntry>> registerMap = new HashMap<>(8);
+    private final Map<String, List<DiscoverEntry<?>>> registerMap = new HashMap<>(8);
     private final EventLoopAwareNettyIoExecutor nettyIoExecutor;
     private final DnsNameResolver resolver;
     private final MinTtlCache ttlCache;
@@ -136,16 +150,28 @@ final class DefaultDnsServiceDiscoverer
 
     @Override
     public Publisher<ServiceDiscovererEvent<InetAddress>> discover(final String address) {
-        final DiscoverEntry entry;
+        return discover0(new AddressDiscoverEntry(address));
+    }
+
+    /**
+     * Discovers the targets of the SRV records for {@code serviceName}. Targets are resolved to A/AAAA records and
+     * every resolved address is emitted with the port of the SRV record that referenced it.
+     *
+     * @param serviceName the name of the SRV records to resolve, e.g. {@code _http._tcp.example.com}.
+     * @return {@link Publisher} of {@link ServiceDiscovererEvent}s for the SRV targets.
+     */
+    Publisher<ServiceDiscovererEvent<InetSocketAddress>> discoverSrv(final String serviceName) {
+        return discover0(new SrvDiscoverEntry(serviceName));
+    }
+
+    private <T> Publisher<ServiceDiscovererEvent<T>> discover0(final DiscoverEntry<T> entry) {
         if (nettyIoExecutor.isCurrentThreadEventLoop()) {
             if (closed) {
                 return failed(new IllegalStateException(DefaultDnsServiceDiscoverer.class.getSimpleName() +
                         " closed!"));
             }
-            entry = new DiscoverEntry(address);
             addEntry0(entry);
         } else {
-            entry = new DiscoverEntry(address);
             nettyIoExecutor.asExecutor().execute(() -> {
                 if (closed) {
                     entry.close0();
@@ -157,18 +183,18 @@ final class DefaultDnsServiceDiscoverer
         return entry.publisher;
     }
 
-    private void addEntry0(final DiscoverEntry entry) {
+    private void addEntry0(final DiscoverEntry<?> entry) {
         assertInEventloop();
 
         registerMap.computeIfAbsent(entry.inetHost, k -> new ArrayList<>(2)).add(entry);
     }
 
-    private void removeEntry0(final DiscoverEntry entry) {
+    private void removeEntry0(final DiscoverEntry<?> entry) {
         assertInEventloop();
 
         LOGGER.debug("DNS discoverer {}, cancelled DNS resolution for {}.", DefaultDnsServiceDiscoverer.this,
                 entry.inetHost);
-        final List<DiscoverEntry> entries = registerMap.get(entry.inetHost);
+        final List<DiscoverEntry<?>> entries = registerMap.get(entry.inetHost);
         if (entries == null) {
             return;
         }
@@ -207,8 +233,8 @@ final class DefaultDnsServiceDiscoverer
         closed = true;
         resolver.close();
         RuntimeException aggregateCause = null;
-        for (final Map.Entry<String, List<DiscoverEntry>> mapEntry : registerMap.entrySet()) {
-            for (final DiscoverEntry entry : mapEntry.getValue()) {
+        for (final Map.Entry<String, List<DiscoverEntry<?>>> mapEntry : registerMap.entrySet()) {
+            for (final DiscoverEntry<?> entry : mapEntry.getValue()) {
                 try {
                     entry.close0();
                 } catch (final Throwable cause) {
@@ -235,10 +261,10 @@ final class DefaultDnsServiceDiscoverer
         assert nettyIoExecutor.isCurrentThreadEventLoop() : "Must be called from the associated eventloop.";
     }
 
-    private final class DiscoverEntry {
-        private final String inetHost;
+    private abstract class DiscoverEntry<T> {
+        final String inetHost;
         private final EntriesPublisher entriesPublisher = new EntriesPublisher();
-        private final Publisher<ServiceDiscovererEvent<InetAddress>> publisher;
+        private final Publisher<ServiceDiscovererEvent<T>> publisher;
 
         DiscoverEntry(final String inetHost) {
             this.inetHost = inetHost;
@@ -249,17 +275,35 @@ final class DefaultDnsServiceDiscoverer
             entriesPublisher.close0();
         }
 
+        /**
+         * Starts a new resolution for {@link #inetHost}. Always called from the event loop.
+         *
+         * @return {@link Future} for the resolved addresses.
+         */
+        abstract Future<List<T>> doResolve0();
+
+        abstract Comparator<T> comparator();
+
+        /**
+         * Minimum TTL (in seconds) of the records observed during the last resolution.
+         *
+         * @return minimum TTL (in seconds) of the records observed during the last resolution.
+         */
+        long minTtl() {
+            return ttlCache.minTtl(inetHost);
+        }
+
         private final class EntriesPublisher
-                extends SubscribablePublisher<Iterable<ServiceDiscovererEvent<InetAddress>>> {
+                extends SubscribablePublisher<Iterable<ServiceDiscovererEvent<T>>> {
 
             @Nullable
-            private Subscriber<? super Iterable<ServiceDiscovererEvent<InetAddress>>> discoverySubscriber;
+            private Subscriber<? super Iterable<ServiceDiscovererEvent<T>>> discoverySubscriber;
             @Nullable
             private EntriesPublisherSubscription subscription;
 
             @Override
             protected void handleSubscribe(
-                    final Subscriber<? super Iterable<ServiceDiscovererEvent<InetAddress>>> subscriber) {
+                    final Subscriber<? super Iterable<ServiceDiscovererEvent<T>>> subscriber) {
 
                 if (nettyIoExecutor.isCurrentThreadEventLoop()) {
                     handleSubscribe0(subscriber);
@@ -269,7 +313,7 @@ final class DefaultDnsServiceDiscoverer
             }
 
             private void handleSubscribe0(
-                    final Subscriber<? super Iterable<ServiceDiscovererEvent<InetAddress>>> subscriber) {
+                    final Subscriber<? super Iterable<ServiceDiscovererEvent<T>>> subscriber) {
                 assertInEventloop();
 
                 if (discoverySubscriber != null) {
@@ -291,7 +335,7 @@ final class DefaultDnsServiceDiscoverer
             void close0() {
                 assertInEventloop();
 
-                final Subscriber<? super Iterable<ServiceDiscovererEvent<InetAddress>>> oldSubscriber =
+                final Subscriber<? super Iterable<ServiceDiscovererEvent<T>>> oldSubscriber =
                         discoverySubscriber;
                 discoverySubscriber = null;
                 if (oldSubscriber != null) {
@@ -304,16 +348,16 @@ final class DefaultDnsServiceDiscoverer
 
             private final class EntriesPublisherSubscription implements Subscription {
 
-                private final Subscriber<? super Iterable<ServiceDiscovererEvent<InetAddress>>> subscriber;
+                private final Subscriber<? super Iterable<ServiceDiscovererEvent<T>>> subscriber;
                 private long pendingRequests;
-                private List<InetAddress> activeAddresses;
+                private List<T> activeAddresses;
                 private long resolveDoneNoScheduleTime;
                 @Nullable
                 private Cancellable cancellableForQuery;
                 private long ttlNanos;
 
                 EntriesPublisherSubscription(
-                        final Subscriber<? super Iterable<ServiceDiscovererEvent<InetAddress>>> subscriber) {
+                        final Subscriber<? super Iterable<ServiceDiscovererEvent<T>>> subscriber) {
                     this.subscriber = subscriber;
                     activeAddresses = emptyList();
                     ttlNanos = -1;
@@ -366,13 +410,12 @@ final class DefaultDnsServiceDiscoverer
                     LOGGER.trace("DNS discoverer {}, querying DNS for {}.", DefaultDnsServiceDiscoverer.this,
                             inetHost);
 
-                    ttlCache.prepareForResolution(inetHost);
-                    final Future<List<InetAddress>> addressFuture = resolver.resolveAll(inetHost);
+                    final Future<List<T>> addressFuture = doResolve0();
                     cancellableForQuery = () -> addressFuture.cancel(true);
                     if (addressFuture.isDone()) {
                         handleResolveDone0(addressFuture);
                     } else {
-                        addressFuture.addListener((FutureListener<List<InetAddress>>) this::handleResolveDone0);
+                        addressFuture.addListener((FutureListener<List<T>>) this::handleResolveDone0);
                     }
                 }
 
@@ -403,7 +446,7 @@ final class DefaultDnsServiceDiscoverer
                             this::doQuery0, nanos, NANOSECONDS);
                 }
 
-                private void handleResolveDone0(final Future<List<InetAddress>> addressFuture) {
+                private void handleResolveDone0(final Future<List<T>> addressFuture) {
                     assertInEventloop();
 
                     // If `discoverySubscriber` is null, then this publisher has terminated, so we can't send any more
@@ -413,11 +456,11 @@ final class DefaultDnsServiceDiscoverer
                         if (cause != null) {
                             handleError0(cause, invalidateHostsOnDnsFailure);
                         } else {
-                            // DNS lookup can return duplicate InetAddress
-                            final List<InetAddress> addresses = addressFuture.getNow();
-                            final List<ServiceDiscovererEvent<InetAddress>> events =
-                                    calculateDifference(activeAddresses, addresses, INET_ADDRESS_COMPARATOR);
-                            ttlNanos = SECONDS.toNanos(ttlCache.minTtl(inetHost));
+                            // DNS lookup can return duplicate addresses
+                            final List<T> addresses = addressFuture.getNow();
+                            final List<ServiceDiscovererEvent<T>> events =
+                                    calculateDifference(activeAddresses, addresses, comparator());
+                            ttlNanos = SECONDS.toNanos(minTtl());
                             if (events != null) {
                                 --pendingRequests;
                                 if (pendingRequests > 0) {
@@ -459,14 +502,14 @@ final class DefaultDnsServiceDiscoverer
                     }
 
                     if (invalidateHostsOnDnsFailure.test(cause)) {
-                        final List<InetAddress> addresses = activeAddresses;
-                        final List<ServiceDiscovererEvent<InetAddress>> events = new ArrayList<>(addresses.size());
+                        final List<T> addresses = activeAddresses;
+                        final List<ServiceDiscovererEvent<T>> events = new ArrayList<>(addresses.size());
                         if (addresses instanceof RandomAccess) {
                             for (int i = 0; i < addresses.size(); ++i) {
                                 events.add(new DefaultServiceDiscovererEvent<>(addresses.get(i), false));
                             }
                         } else {
-                            for (final InetAddress address : addresses) {
+                            for (final T address : addresses) {
                                 events.add(new DefaultServiceDiscovererEvent<>(address, false));
                             }
                         }
@@ -482,6 +525,185 @@ final class DefaultDnsServiceDiscoverer
         }
     }
 
+    private final class AddressDiscoverEntry extends DiscoverEntry<InetAddress> {
+        AddressDiscoverEntry(final String inetHost) {
+            super(inetHost);
+        }
+
+        @Override
+        Future<List<InetAddress>> doResolve0() {
+            ttlCache.prepareForResolution(inetHost);
+            return resolver.resolveAll(inetHost);
+        }
+
+        @Override
+        Comparator<InetAddress> comparator() {
+            return INET_ADDRESS_COMPARATOR;
+        }
+    }
+
+    private final class SrvDiscoverEntry extends DiscoverEntry<InetSocketAddress> {
+        private List<String> targets = emptyList();
+
+        SrvDiscoverEntry(final String serviceName) {
+            super(serviceName);
+        }
+
+        @Override
+        Future<List<InetSocketAddress>> doResolve0() {
+            ttlCache.prepareForResolution(inetHost);
+            final Promise<List<InetSocketAddress>> promise = resolver.executor().newPromise();
+            final Future<List<DnsRecord>> srvFuture = resolver.resolveAll(new DefaultDnsQuestion(inetHost, SRV));
+            promise.addListener(future -> {
+                if (future.isCancelled()) {
+                    srvFuture.cancel(true);
+                }
+            });
+            if (srvFuture.isDone()) {
+                handleSrvResolveDone0(srvFuture, promise);
+            } else {
+                srvFuture.addListener((FutureListener<List<DnsRecord>>) f -> handleSrvResolveDone0(f, promise));
+            }
+            return promise;
+        }
+
+        @Override
+        Comparator<InetSocketAddress> comparator() {
+            return INET_SOCKET_ADDRESS_COMPARATOR;
+        }
+
+        @Override
+        long minTtl() {
+            long minTtl = ttlCache.minTtl(inetHost);
+            for (final String target : targets) {
+                minTtl = min(minTtl, ttlCache.minTtl(target));
+            }
+            return minTtl;
+        }
+
+        private void handleSrvResolveDone0(final Future<List<DnsRecord>> srvFuture,
+                                           final Promise<List<InetSocketAddress>> promise) {
+            assertInEventloop();
+
+            final Throwable cause = srvFuture.cause();
+            if (cause != null) {
+                promise.tryFailure(cause);
+                return;
+            }
+            final List<DnsRecord> records = srvFuture.getNow();
+            final Map<String, List<Integer>> portsByTarget = new HashMap<>(records.size() * 2);
+            try {
+                for (final DnsRecord record : records) {
+                    if (record.type() != SRV || !(record instanceof DnsRawRecord)) {
+                        continue;
+                    }
+                    // SRV RDATA is priority (16 bits), weight (16 bits), port (16 bits) and target.
+                    // https://tools.ietf.org/html/rfc2782
+                    // The content is a view of the whole DNS message, so compression pointers in target resolve.
+                    final ByteBuf content = ((DnsRawRecord) record).content();
+                    final int port = content.getUnsignedShort(content.readerIndex() + 4);
+                    final String target = decodeName(content.duplicate().skipBytes(6));
+                    ttlCache.updateMinTtl(inetHost, record.timeToLive());
+                    // A target of "." means the service is decidedly not available at this domain.
+                    if (!ROOT_DOMAIN.equals(target)) {
+                        portsByTarget.computeIfAbsent(target, k -> new ArrayList<>(2)).add(port);
+                    }
+                }
+            } catch (final Throwable t) {
+                promise.tryFailure(t);
+                return;
+            } finally {
+                for (final DnsRecord record : records) {
+                    release(record);
+                }
+            }
+
+            if (promise.isDone()) {
+                return;
+            }
+            targets = new ArrayList<>(portsByTarget.keySet());
+            if (portsByTarget.isEmpty()) {
+                promise.trySuccess(new ArrayList<>(0));
+                return;
+            }
+            final SrvTargetsResolution resolution = new SrvTargetsResolution(promise, portsByTarget.size());
+            // Resolve all targets concurrently, the promise completes once every target is done.
+            for (final Map.Entry<String, List<Integer>> entry : portsByTarget.entrySet()) {
+                resolution.resolve0(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    private final class SrvTargetsResolution {
+        private final Promise<List<InetSocketAddress>> promise;
+        private final List<InetSocketAddress> addresses;
+        private final List<Future<List<InetAddress>>> targetFutures;
+        private int pendingTargets;
+        @Nullable
+        private Throwable firstCause;
+
+        SrvTargetsResolution(final Promise<List<InetSocketAddress>> promise, final int pendingTargets) {
+            this.promise = promise;
+            this.pendingTargets = pendingTargets;
+            addresses = new ArrayList<>(pendingTargets);
+            targetFutures = new ArrayList<>(pendingTargets);
+            promise.addListener(future -> {
+                if (future.isCancelled()) {
+                    for (final Future<List<InetAddress>> targetFuture : targetFutures) {
+                        targetFuture.cancel(true);
+                    }
+                }
+            });
+        }
+
+        void resolve0(final String target, final List<Integer> ports) {
+            assertInEventloop();
+
+            ttlCache.prepareForResolution(target);
+            final Future<List<InetAddress>> addressFuture = resolver.resolveAll(target);
+            if (promise.isCancelled()) {
+                addressFuture.cancel(true);
+                return;
+            }
+            targetFutures.add(addressFuture);
+            if (addressFuture.isDone()) {
+                handleTargetResolveDone0(target, ports, addressFuture);
+            } else {
+                addressFuture.addListener((FutureListener<List<InetAddress>>) f ->
+                        handleTargetResolveDone0(target, ports, f));
+            }
+        }
+
+        private void handleTargetResolveDone0(final String target, final List<Integer> ports,
+                                              final Future<List<InetAddress>> addressFuture) {
+            assertInEventloop();
+
+            final Throwable cause = addressFuture.cause();
+            if (cause != null) {
+                LOGGER.debug("DNS discoverer {}, DNS lookup failed for SRV target {}.",
+                        DefaultDnsServiceDiscoverer.this, target, cause);
+                if (firstCause == null) {
+                    firstCause = cause;
+                }
+            } else {
+                for (final InetAddress address : addressFuture.getNow()) {
+                    for (final Integer port : ports) {
+                        addresses.add(new InetSocketAddress(address, port));
+                    }
+                }
+            }
+            if (--pendingTargets == 0) {
+                // Only fail if none of the targets could be resolved, otherwise use what we have and retry the failed
+                // targets on the next TTL scheduled lookup.
+                if (addresses.isEmpty() && firstCause != null) {
+                    promise.tryFailure(firstCause);
+                } else {
+                    promise.trySuccess(addresses);
+                }
+            }
+        }
+    }
+
     private static ResolvedAddressTypes toNettyType(final DnsResolverAddressTypes dnsResolverAddressTypes) {
         switch (dnsResolverAddressTypes) {
             case IPV4_ONLY:
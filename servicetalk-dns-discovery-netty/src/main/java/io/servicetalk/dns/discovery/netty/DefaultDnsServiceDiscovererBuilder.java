@@ -19,8 +19,10 @@ import io.servicetalk.client.api.DefaultServiceDiscovererEvent;
 import io.servicetalk.client.api.ServiceDiscoverer;
 import io.servicetalk.client.api.ServiceDiscovererEvent;
 import io.servicetalk.client.api.ServiceDiscovererFilterFactory;
+import io.servicetalk.concurrent.api.BiIntFunction;
 import io.servicetalk.concurrent.api.Completable;
 import io.servicetalk.concurrent.api.Publisher;
+import io.servicetalk.concurrent.internal.RejectedSubscribeError;
 import io.servicetalk.transport.api.HostAndPort;
 import io.servicetalk.transport.api.IoExecutor;
 
@@ -226,6 +228,27 @@ public final class DefaultDnsServiceDiscovererBuilder {
         return toHostAndPortDiscoverer(newDefaultDnsServiceDiscoverer());
     }
 
+    /**
+     * Build a new instance of {@link ServiceDiscoverer ServiceDiscoverer&lt;String, InetSocketAddress&gt;} which
+     * resolves DNS SRV records.
+     * <p>
+     * The address passed to {@link ServiceDiscoverer#discover(Object)} is the name of the SRV records, e.g.
+     * {@code _http._tcp.example.com}. The targets of the SRV records are resolved to A/AAAA records concurrently and
+     * each resolved address is emitted with the port of the SRV record that referenced it. Re-resolution honors the
+     * minimum TTL of both the SRV records and the records of their targets. The priority and weight of SRV records are
+     * not reflected in the emitted {@link ServiceDiscovererEvent}s.
+     * <p>
+     * Note that filters added via {@link #appendFilter(ServiceDiscovererFilterFactory)} are not applied to the returned
+     * {@link ServiceDiscoverer}.
+     *
+     * @return a new instance of {@link ServiceDiscoverer ServiceDiscoverer&lt;String, InetSocketAddress&gt;} which
+     * resolves DNS SRV records.
+     */
+    public ServiceDiscoverer<String, InetSocketAddress, ServiceDiscovererEvent<InetSocketAddress>>
+            buildSrvDiscoverer() {
+        return toSrvDiscoverer(newDnsServiceDiscoverer(), applyRetryFilter);
+    }
+
     private ServiceDiscoverer<String, InetAddress,
             ServiceDiscovererEvent<InetAddress>> newDefaultDnsServiceDiscoverer() {
         ServiceDiscovererFilterFactory<String, InetAddress, ServiceDiscovererEvent<InetAddress>> factory =
@@ -238,10 +261,14 @@ public final class DefaultDnsServiceDiscovererBuilder {
                     Integer.MAX_VALUE, t -> true, Duration.ofSeconds(60), immediate()));
             factory = defaultFilterFactory.append(factory);
         }
-        return factory.create(new DefaultDnsServiceDiscoverer(
+        return factory.create(newDnsServiceDiscoverer());
+    }
+
+    private DefaultDnsServiceDiscoverer newDnsServiceDiscoverer() {
+        return new DefaultDnsServiceDiscoverer(
                 ioExecutor == null ? globalExecutionContext().ioExecutor() : ioExecutor, minTTLSeconds, ndots,
                 invalidateHostsOnDnsFailure, optResourceEnabled, queryTimeout, dnsResolverAddressTypes,
-                dnsServerAddressStreamProvider));
+                dnsServerAddressStreamProvider);
     }
 
     /**
@@ -279,4 +306,41 @@ public final class DefaultDnsServiceDiscovererBuilder {
             }
         };
     }
+
+    /**
+     * Exposes SRV resolution of a {@link DefaultDnsServiceDiscoverer} as a {@link ServiceDiscoverer} of
+     * {@link String} SRV record names to {@link InetSocketAddress} targets.
+     *
+     * @return a resolver which will convert from {@link String} SRV record names to {@link InetSocketAddress} targets.
+     */
+    private static ServiceDiscoverer<String, InetSocketAddress,
+            ServiceDiscovererEvent<InetSocketAddress>> toSrvDiscoverer(
+            final DefaultDnsServiceDiscoverer serviceDiscoverer, final boolean applyRetryFilter) {
+        // Same strategy as the default for A/AAAA discovery, a closed discoverer will never accept a new subscribe.
+        final BiIntFunction<Throwable, Completable> retryStrategy = retryWithConstantBackoffAndJitter(
+                Integer.MAX_VALUE, t -> !(t instanceof RejectedSubscribeError), Duration.ofSeconds(60), immediate());
+        return new ServiceDiscoverer<String, InetSocketAddress, ServiceDiscovererEvent<InetSocketAddress>>() {
+            @Override
+            public Completable closeAsync() {
+                return serviceDiscoverer.closeAsync();
+            }
+
+            @Override
+            public Completable closeAsyncGracefully() {
+                return serviceDiscoverer.closeAsyncGracefully();
+            }
+
+            @Override
+            public Completable onClose() {
+                return serviceDiscoverer.onClose();
+            }
+
+            @Override
+            public Publisher<ServiceDiscovererEvent<InetSocketAddress>> discover(final String serviceName) {
+                final Publisher<ServiceDiscovererEvent<InetSocketAddress>> events =
+                        serviceDiscoverer.discoverSrv(serviceName);
+                return applyRetryFilter ? events.retryWhen(retryStrategy) : events;
+            }
+        };
+    }
 }
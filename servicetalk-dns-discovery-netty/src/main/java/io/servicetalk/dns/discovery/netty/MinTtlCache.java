@@ -54,6 +54,11 @@ final class MinTtlCache implements DnsCache {
         minExpiryMap.remove(hostname);
     }
 
+    void updateMinTtl(final String hostname, final long originalTtl) {
+        final long currentTime = NANOSECONDS.toSeconds(System.nanoTime());
+        minExpiryMap.merge(hostname, currentTime + max(initialTtl, originalTtl), Math::min);
+    }
+
     long minTtl(final String hostname) {
         final Long minExpiry = minExpiryMap.get(hostname);
         if (minExpiry == null) {
@@ -92,8 +97,7 @@ final class MinTtlCache implements DnsCache {
     @Override
     public DnsCacheEntry cache(final String hostname, final DnsRecord[] additionals, final InetAddress address,
                                final long originalTtl, final EventLoop loop) {
-        final long currentTime = NANOSECONDS.toSeconds(System.nanoTime());
-        minExpiryMap.merge(hostname, currentTime + max(initialTtl, originalTtl), Math::min);
+        updateMinTtl(hostname, originalTtl);
         return cache.cache(hostname, additionals, address, originalTtl, loop);
     }
 
@@ -34,11 +34,14 @@ import org.junit.Test;
 import org.junit.rules.Timeout;
 
 import java.net.InetAddress;
+import java.net.InetSocketAddress;
 import java.net.UnknownHostException;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.atomic.AtomicLong;
@@ -49,7 +52,9 @@ import static io.servicetalk.concurrent.api.SourceAdapters.toSource;
 import static io.servicetalk.concurrent.internal.DeliberateException.DELIBERATE_EXCEPTION;
 import static io.servicetalk.dns.discovery.netty.DnsTestUtils.nextIp;
 import static io.servicetalk.dns.discovery.netty.DnsTestUtils.nextIp6;
+import static io.servicetalk.dns.discovery.netty.TestRecordStore.DEFAULT_TTL;
 import static io.servicetalk.dns.discovery.netty.TestRecordStore.createRecord;
+import static io.servicetalk.dns.discovery.netty.TestRecordStore.createSrvRecord;
 import static io.servicetalk.transport.netty.NettyIoExecutors.createIoExecutor;
 import static io.servicetalk.transport.netty.internal.EventLoopAwareNettyIoExecutors.toEventLoopAwareNettyIoExecutor;
 import static io.servicetalk.transport.netty.internal.GlobalExecutionContext.globalExecutionContext;
@@ -58,11 +63,14 @@ import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
 import static org.apache.directory.server.dns.messages.RecordType.A;
 import static org.apache.directory.server.dns.messages.RecordType.AAAA;
+import static org.apache.directory.server.dns.messages.RecordType.SRV;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.lessThan;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.fail;
@@ -146,6 +154,88 @@ public class DefaultDnsServiceDiscovererTest {
         assertThat(subscriber.inactiveCount(), equalTo(expectedInactiveCount));
     }
 
+    @Test
+    public void srvDiscover() throws Exception {
+        final String ip1 = nextIp();
+        final String ip2 = nextIp();
+        recordStore.addResponse("_http._tcp.apple.com", SRV, () -> asList(
+                createSrvRecord("_http._tcp.apple.com", "one.apple.com", 8080, DEFAULT_TTL),
+                createSrvRecord("_http._tcp.apple.com", "one.apple.com", 8081, DEFAULT_TTL),
+                createSrvRecord("_http._tcp.apple.com", "two.apple.com", 9090, DEFAULT_TTL)));
+        recordStore.addResponse("one.apple.com", A, ip1);
+        recordStore.addResponse("two.apple.com", A, ip2);
+
+        ServiceDiscoverer<String, InetSocketAddress, ServiceDiscovererEvent<InetSocketAddress>> srvDiscoverer =
+                serviceDiscovererBuilderWithoutRetry().buildSrvDiscoverer();
+        try {
+            Collection<ServiceDiscovererEvent<InetSocketAddress>> events =
+                    srvDiscoverer.discover("_http._tcp.apple.com").takeAtMost(3).toFuture().get();
+            Set<InetSocketAddress> available = new HashSet<>();
+            for (ServiceDiscovererEvent<InetSocketAddress> event : events) {
+                assertThat(event.isAvailable(), is(true));
+                available.add(event.address());
+            }
+            assertThat(available, containsInAnyOrder(
+                    new InetSocketAddress(ip1, 8080), new InetSocketAddress(ip1, 8081),
+                    new InetSocketAddress(ip2, 9090)));
+        } finally {
+            srvDiscoverer.closeAsync().toFuture().get();
+        }
+    }
+
+    @Test
+    public void srvDiscoverSkipsUnresolvedTargets() throws Exception {
+        final String ip = nextIp();
+        recordStore.addResponse("_http._tcp.apple.com", SRV, () -> asList(
+                createSrvRecord("_http._tcp.apple.com", "one.apple.com", 8080, DEFAULT_TTL),
+                createSrvRecord("_http._tcp.apple.com", "unknown.apple.com", 9090, DEFAULT_TTL)));
+        recordStore.addResponse("one.apple.com", A, ip);
+
+        ServiceDiscoverer<String, InetSocketAddress, ServiceDiscovererEvent<InetSocketAddress>> srvDiscoverer =
+                serviceDiscovererBuilderWithoutRetry().buildSrvDiscoverer();
+        try {
+            ServiceDiscovererEvent<InetSocketAddress> event =
+                    srvDiscoverer.discover("_http._tcp.apple.com").firstOrError().toFuture().get();
+            assertThat(event.isAvailable(), is(true));
+            assertThat(event.address(), equalTo(new InetSocketAddress(ip, 8080)));
+        } finally {
+            srvDiscoverer.closeAsync().toFuture().get();
+        }
+    }
+
+    @Test
+    public void srvDiscoverRemovesTargetAfterTtl() throws Exception {
+        final String ip1 = nextIp();
+        final String ip2 = nextIp();
+        recordStore.addResponse("_http._tcp.apple.com", SRV, () -> asList(
+                createSrvRecord("_http._tcp.apple.com", "one.apple.com", 8080, DEFAULT_TTL),
+                createSrvRecord("_http._tcp.apple.com", "two.apple.com", 9090, DEFAULT_TTL)))
+                .defaultResponse("_http._tcp.apple.com", SRV, () -> singletonList(
+                        createSrvRecord("_http._tcp.apple.com", "one.apple.com", 8080, DEFAULT_TTL)))
+                .defaultResponse("one.apple.com", A, ip1)
+                .defaultResponse("two.apple.com", A, ip2);
+
+        ServiceDiscoverer<String, InetSocketAddress, ServiceDiscovererEvent<InetSocketAddress>> srvDiscoverer =
+                serviceDiscovererBuilderWithoutRetry().buildSrvDiscoverer();
+        try {
+            // The SRV records expire after DEFAULT_TTL, the next resolution no longer contains the second target.
+            List<ServiceDiscovererEvent<InetSocketAddress>> events = new ArrayList<>(
+                    srvDiscoverer.discover("_http._tcp.apple.com").takeAtMost(3).toFuture().get());
+            Set<InetSocketAddress> available = new HashSet<>();
+            for (ServiceDiscovererEvent<InetSocketAddress> event : events.subList(0, 2)) {
+                assertThat(event.isAvailable(), is(true));
+                available.add(event.address());
+            }
+            assertThat(available, containsInAnyOrder(
+                    new InetSocketAddress(ip1, 8080), new InetSocketAddress(ip2, 9090)));
+            ServiceDiscovererEvent<InetSocketAddress> removal = events.get(2);
+            assertThat(removal.isAvailable(), is(false));
+            assertThat(removal.address(), equalTo(new InetSocketAddress(ip2, 9090)));
+        } finally {
+            srvDiscoverer.closeAsync().toFuture().get();
+        }
+    }
+
     @Test
     public void singleDiscoverMultipleRecords() throws InterruptedException {
         recordStore.addResponse("apple.com", A, nextIp(), nextIp(), nextIp(), nextIp(), nextIp());
@@ -127,6 +127,15 @@ final class TestRecordStore implements RecordStore {
         return new TestResourceRecord(domain, recordType, RecordClass.IN, ttl, attributes);
     }
 
+    static ResourceRecord createSrvRecord(final String domain, final String target, final int port, final int ttl) {
+        final Map<String, Object> attributes = new HashMap<>();
+        attributes.put(DnsAttribute.SERVICE_PRIORITY, 10);
+        attributes.put(DnsAttribute.SERVICE_WEIGHT, 10);
+        attributes.put(DnsAttribute.SERVICE_PORT, port);
+        attributes.put(DnsAttribute.DOMAIN_NAME, target);
+        return new TestResourceRecord(domain, RecordType.SRV, RecordClass.IN, ttl, attributes);
+    }
+
     // `ResourceRecordImpl`'s hashCode/equals don't include `attributes`, so it's impossible to include multiple
     // `ResourceRecordImpl`s, with different IPs, in a `Set`.
     private static class TestResourceRecord implements ResourceRecord {
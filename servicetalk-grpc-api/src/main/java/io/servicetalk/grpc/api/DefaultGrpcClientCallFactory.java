@@ -32,8 +32,9 @@ import io.servicetalk.http.api.StreamingHttpRequest;
 import javax.annotation.Nullable;
 
 import static io.servicetalk.concurrent.internal.BlockingIterables.singletonBlockingIterable;
-import static io.servicetalk.grpc.api.GrpcMessageEncoding.None;
+import static io.servicetalk.grpc.api.GrpcUtils.acceptedEncodingsHeader;
 import static io.servicetalk.grpc.api.GrpcUtils.initRequest;
+import static io.servicetalk.grpc.api.GrpcUtils.readGrpcMessageEncoding;
 import static io.servicetalk.grpc.api.GrpcUtils.uncheckedCast;
 import static io.servicetalk.grpc.api.GrpcUtils.validateResponseAndGetPayload;
 import static java.util.Objects.requireNonNull;
@@ -55,14 +56,17 @@ final class DefaultGrpcClientCallFactory implements GrpcClientCallFactory {
         requireNonNull(requestClass);
         requireNonNull(responseClass);
         HttpClient client = streamingHttpClient.asClient();
+        @Nullable
+        final CharSequence acceptedEncodings = acceptedEncodingsHeader(
+                serializationProvider.supportedMessageEncodings());
         return (metadata, request) -> {
             final HttpRequest httpRequest = newAggregatedRequest(metadata, request, client,
-                    serializationProvider, requestClass);
+                    serializationProvider, acceptedEncodings, requestClass);
             @Nullable
             final GrpcExecutionStrategy strategy = metadata.strategy();
             return (strategy == null ? client.request(httpRequest) : client.request(strategy, httpRequest))
                     .map(response -> validateResponseAndGetPayload(response,
-                            serializationProvider.deserializerFor(getMessageEncoding(metadata), responseClass)));
+                            serializationProvider.deserializerFor(readGrpcMessageEncoding(response), responseClass)));
         };
     }
 
@@ -73,9 +77,12 @@ final class DefaultGrpcClientCallFactory implements GrpcClientCallFactory {
         requireNonNull(serializationProvider);
         requireNonNull(requestClass);
         requireNonNull(responseClass);
+        @Nullable
+        final CharSequence acceptedEncodings = acceptedEncodingsHeader(
+                serializationProvider.supportedMessageEncodings());
         return (metadata, request) -> {
             final StreamingHttpRequest httpRequest = streamingHttpClient.post(metadata.path());
-            initRequest(httpRequest);
+            initRequest(httpRequest, acceptedEncodings);
             httpRequest.payloadBody(request.map(GrpcUtils::uncheckedCast),
                     serializationProvider.serializerFor(metadata, requestClass));
             @Nullable
@@ -83,7 +90,8 @@ final class DefaultGrpcClientCallFactory implements GrpcClientCallFactory {
             return (strategy == null ? streamingHttpClient.request(httpRequest) :
                     streamingHttpClient.request(strategy, httpRequest))
                     .flatMapPublisher(response -> validateResponseAndGetPayload(response,
-                            serializationProvider.deserializerFor(getMessageEncoding(metadata), responseClass)));
+                            serializationProvider.deserializerFor(readGrpcMessageEncoding(response),
+                                    responseClass)));
         };
     }
 
@@ -113,15 +121,18 @@ final class DefaultGrpcClientCallFactory implements GrpcClientCallFactory {
         requireNonNull(requestClass);
         requireNonNull(responseClass);
         BlockingHttpClient client = streamingHttpClient.asBlockingClient();
+        @Nullable
+        final CharSequence acceptedEncodings = acceptedEncodingsHeader(
+                serializationProvider.supportedMessageEncodings());
         return (metadata, request) -> {
             final HttpRequest httpRequest = newAggregatedRequest(metadata, request, client,
-                    serializationProvider, requestClass);
+                    serializationProvider, acceptedEncodings, requestClass);
             @Nullable
             final GrpcExecutionStrategy strategy = metadata.strategy();
             final HttpResponse response = strategy == null ? client.request(httpRequest) :
                     client.request(strategy, httpRequest);
             return validateResponseAndGetPayload(response,
-                    serializationProvider.deserializerFor(getMessageEncoding(metadata), responseClass));
+                    serializationProvider.deserializerFor(readGrpcMessageEncoding(response), responseClass));
         };
     }
 
@@ -133,16 +144,19 @@ final class DefaultGrpcClientCallFactory implements GrpcClientCallFactory {
         requireNonNull(requestClass);
         requireNonNull(responseClass);
         BlockingStreamingHttpClient client = streamingHttpClient.asBlockingStreamingClient();
+        @Nullable
+        final CharSequence acceptedEncodings = acceptedEncodingsHeader(
+                serializationProvider.supportedMessageEncodings());
         return (metadata, request) -> {
             final BlockingStreamingHttpRequest httpRequest = client.post(metadata.path());
-            initRequest(httpRequest);
+            initRequest(httpRequest, acceptedEncodings);
             httpRequest.payloadBody(request, serializationProvider.serializerFor(metadata, requestClass));
             @Nullable
             final GrpcExecutionStrategy strategy = metadata.strategy();
             final BlockingStreamingHttpResponse response = strategy == null ? client.request(httpRequest) :
                     client.request(strategy, httpRequest);
             return validateResponseAndGetPayload(response.toStreamingResponse(),
-                    serializationProvider.deserializerFor(getMessageEncoding(metadata), responseClass))
+                    serializationProvider.deserializerFor(readGrpcMessageEncoding(response), responseClass))
                     .toIterable();
         };
     }
@@ -193,17 +207,13 @@ final class DefaultGrpcClientCallFactory implements GrpcClientCallFactory {
         return streamingHttpClient.onClose();
     }
 
-    private GrpcMessageEncoding getMessageEncoding(final GrpcClientMetadata metadata) {
-        // compression not yet supported.
-        return None;
-    }
-
     private <Req> HttpRequest newAggregatedRequest(final GrpcClientMetadata metadata, final Req rawReq,
                                                    final HttpRequestFactory requestFactory,
                                                    final GrpcSerializationProvider serializationProvider,
+                                                   @Nullable final CharSequence acceptedEncodings,
                                                    final Class<Req> requestClass) {
         final HttpRequest httpRequest = requestFactory.post(metadata.path());
-        initRequest(httpRequest);
+        initRequest(httpRequest, acceptedEncodings);
         return httpRequest.payloadBody(uncheckedCast(rawReq),
                 serializationProvider.serializerFor(metadata, requestClass));
     }
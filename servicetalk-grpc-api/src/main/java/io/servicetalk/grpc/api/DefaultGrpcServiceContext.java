@@ -30,8 +30,9 @@ final class DefaultGrpcServiceContext extends DefaultGrpcMetadata implements Grp
     private final ConnectionContext connectionContext;
     private final GrpcExecutionContext executionContext;
 
-    DefaultGrpcServiceContext(final String path, final HttpServiceContext httpServiceContext) {
-        super(path);
+    DefaultGrpcServiceContext(final String path, final GrpcMessageEncoding messageEncoding,
+                              final HttpServiceContext httpServiceContext) {
+        super(path, messageEncoding);
         connectionContext = requireNonNull(httpServiceContext);
         executionContext = new DefaultGrpcExecutionContext(httpServiceContext.executionContext());
     }
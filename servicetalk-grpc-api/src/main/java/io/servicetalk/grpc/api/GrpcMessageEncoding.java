@@ -21,7 +21,9 @@ package io.servicetalk.grpc.api;
  */
 public enum GrpcMessageEncoding {
 
-    None("identity");
+    None("identity"),
+    Gzip("gzip"),
+    Deflate("deflate");
 
     private final String encoding;
 
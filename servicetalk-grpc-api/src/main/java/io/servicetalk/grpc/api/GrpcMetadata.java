@@ -15,6 +15,8 @@
  */
 package io.servicetalk.grpc.api;
 
+import static io.servicetalk.grpc.api.GrpcMessageEncoding.None;
+
 /**
  * Metadata for a <a href="https://www.grpc.io">gRPC</a> call.
  */
@@ -26,4 +28,15 @@ public interface GrpcMetadata {
      * @return The path for the associated <a href="https://www.grpc.io">gRPC</a> method.
      */
     String path();
+
+    /**
+     * Returns the {@link GrpcMessageEncoding} used to encode outgoing messages for the associated
+     * <a href="https://www.grpc.io">gRPC</a> method.
+     *
+     * @return The {@link GrpcMessageEncoding} used to encode outgoing messages for the associated
+     * <a href="https://www.grpc.io">gRPC</a> method.
+     */
+    default GrpcMessageEncoding messageEncoding() {
+        return None;
+    }
 }
@@ -58,6 +58,7 @@ import static io.servicetalk.grpc.api.GrpcRouteConversions.toRequestStreamingRou
 import static io.servicetalk.grpc.api.GrpcRouteConversions.toResponseStreamingRoute;
 import static io.servicetalk.grpc.api.GrpcRouteConversions.toRoute;
 import static io.servicetalk.grpc.api.GrpcRouteConversions.toStreaming;
+import static io.servicetalk.grpc.api.GrpcUtils.negotiateResponseEncoding;
 import static io.servicetalk.grpc.api.GrpcUtils.newErrorResponse;
 import static io.servicetalk.grpc.api.GrpcUtils.newResponse;
 import static io.servicetalk.grpc.api.GrpcUtils.readGrpcMessageEncoding;
@@ -186,11 +187,11 @@ final class GrpcRouter {
             routes.put(path, new RouteProvider(executionContext -> toStreamingHttpService(
                     (HttpService) (ctx, request, responseFactory) -> {
                         try {
-                            final GrpcServiceContext serviceContext =
-                                    new DefaultGrpcServiceContext(request.path(), ctx);
+                            final GrpcMessageEncoding requestEncoding = readGrpcMessageEncoding(request);
+                            final GrpcServiceContext serviceContext = new DefaultGrpcServiceContext(request.path(),
+                                    negotiateResponseEncoding(request, requestEncoding, serializationProvider), ctx);
                             final HttpDeserializer<Req> deserializer =
-                                    serializationProvider.deserializerFor(readGrpcMessageEncoding(request),
-                                            requestClass);
+                                    serializationProvider.deserializerFor(requestEncoding, requestClass);
                             return route.handle(serviceContext, request.payloadBody(deserializer))
                                     .map(rawResp -> newResponse(responseFactory,
                                             ctx.executionContext().bufferAllocator())
@@ -216,9 +217,11 @@ final class GrpcRouter {
             streamingRoutes.put(path, new RouteProvider(executionContext -> {
                 StreamingHttpService service = (ctx, request, responseFactory) -> {
                     try {
-                        final GrpcServiceContext serviceContext = new DefaultGrpcServiceContext(request.path(), ctx);
+                        final GrpcMessageEncoding requestEncoding = readGrpcMessageEncoding(request);
+                        final GrpcServiceContext serviceContext = new DefaultGrpcServiceContext(request.path(),
+                                negotiateResponseEncoding(request, requestEncoding, serializationProvider), ctx);
                         final HttpDeserializer<Req> deserializer =
-                                serializationProvider.deserializerFor(readGrpcMessageEncoding(request), requestClass);
+                                serializationProvider.deserializerFor(requestEncoding, requestClass);
                         final Publisher<Resp> response = route.handle(serviceContext, request.payloadBody(deserializer))
                                 .map(GrpcUtils::uncheckedCast);
                         return succeeded(newResponse(responseFactory, response,
@@ -294,11 +297,11 @@ final class GrpcRouter {
             blockingRoutes.put(path, new RouteProvider(executionContext ->
                     toStreamingHttpService((BlockingHttpService) (ctx, request, responseFactory) -> {
                         try {
-                            final GrpcServiceContext serviceContext =
-                                    new DefaultGrpcServiceContext(request.path(), ctx);
+                            final GrpcMessageEncoding requestEncoding = readGrpcMessageEncoding(request);
+                            final GrpcServiceContext serviceContext = new DefaultGrpcServiceContext(request.path(),
+                                    negotiateResponseEncoding(request, requestEncoding, serializationProvider), ctx);
                             final HttpDeserializer<Req> deserializer =
-                                    serializationProvider.deserializerFor(readGrpcMessageEncoding(request),
-                                            requestClass);
+                                    serializationProvider.deserializerFor(requestEncoding, requestClass);
                             final Resp response = route.handle(serviceContext, request.payloadBody(deserializer));
                             return newResponse(responseFactory, ctx.executionContext().bufferAllocator())
                                     .payloadBody(response,
@@ -330,9 +333,11 @@ final class GrpcRouter {
                 final Class<Resp> responseClass, final GrpcSerializationProvider serializationProvider) {
             blockingRoutes.put(path, new RouteProvider(executionContext ->
                     toStreamingHttpService((ctx, request, response) -> {
-                        final GrpcServiceContext serviceContext = new DefaultGrpcServiceContext(request.path(), ctx);
+                        final GrpcMessageEncoding requestEncoding = readGrpcMessageEncoding(request);
+                        final GrpcServiceContext serviceContext = new DefaultGrpcServiceContext(request.path(),
+                                negotiateResponseEncoding(request, requestEncoding, serializationProvider), ctx);
                         final HttpDeserializer<Req> deserializer =
-                                serializationProvider.deserializerFor(readGrpcMessageEncoding(request), requestClass);
+                                serializationProvider.deserializerFor(requestEncoding, requestClass);
                         final HttpSerializer<Resp> serializer =
                                 serializationProvider.serializerFor(serviceContext, responseClass);
                         final DefaultGrpcPayloadWriter<Resp> grpcPayloadWriter =
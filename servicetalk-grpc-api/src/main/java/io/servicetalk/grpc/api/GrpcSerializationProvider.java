@@ -18,13 +18,19 @@ package io.servicetalk.grpc.api;
 import io.servicetalk.http.api.HttpDeserializer;
 import io.servicetalk.http.api.HttpSerializer;
 
+import java.util.Set;
+
+import static io.servicetalk.grpc.api.GrpcMessageEncoding.None;
+import static java.util.Collections.singleton;
+
 /**
  * A provider for <a href="https://www.grpc.io">gRPC</a> serialization/deserialization.
  */
 public interface GrpcSerializationProvider {
 
     /**
-     * Get a {@link HttpSerializer} for a {@link Class} of type {@link T}.
+     * Get a {@link HttpSerializer} for a {@link Class} of type {@link T}. The returned {@link HttpSerializer} encodes
+     * messages using {@link GrpcMetadata#messageEncoding()}.
      *
      * @param metadata {@link GrpcMetadata} for the serializer.
      * @param type The {@link Class} type that the returned {@link HttpSerializer} can serialize.
@@ -43,4 +49,14 @@ public interface GrpcSerializationProvider {
      * @return a {@link HttpDeserializer} for a {@link Class} of type {@link T}.
      */
     <T> HttpDeserializer<T> deserializerFor(GrpcMessageEncoding messageEncoding, Class<T> type);
+
+    /**
+     * Returns the {@link GrpcMessageEncoding}s for which this provider can return serializers and deserializers. These
+     * are advertised to the peer via {@code grpc-accept-encoding}.
+     *
+     * @return the {@link GrpcMessageEncoding}s supported by this provider.
+     */
+    default Set<GrpcMessageEncoding> supportedMessageEncodings() {
+        return singleton(None);
+    }
 }
@@ -35,6 +35,7 @@ import com.google.protobuf.InvalidProtocolBufferException;
 import com.google.rpc.Status;
 
 import java.util.Base64;
+import java.util.Set;
 import java.util.function.Supplier;
 import javax.annotation.Nullable;
 
@@ -56,20 +57,48 @@ final class GrpcUtils {
     private static final CharSequence GRPC_STATUS_MESSAGE_TRAILER = newAsciiString("grpc-message");
     // TODO (nkant): add project version
     private static final CharSequence GRPC_USER_AGENT = newAsciiString("grpc-service-talk/");
-    private static final CharSequence IDENTITY = newAsciiString(None.encoding());
     private static final CharSequence GRPC_MESSAGE_ENCODING_KEY = newAsciiString("grpc-encoding");
+    private static final CharSequence GRPC_MESSAGE_ACCEPT_ENCODING_KEY = newAsciiString("grpc-accept-encoding");
+    private static final GrpcMessageEncoding[] MESSAGE_ENCODINGS = GrpcMessageEncoding.values();
     private static final GrpcStatus STATUS_OK = GrpcStatus.fromCodeValue(GrpcStatusCode.OK.value());
 
     private GrpcUtils() {
         // No instances.
     }
 
-    static void initRequest(final HttpRequestMetaData request) {
+    static void initRequest(final HttpRequestMetaData request, @Nullable final CharSequence acceptedEncodings) {
         assert request.method() == POST;
         final HttpHeaders headers = request.headers();
         headers.set(USER_AGENT, GRPC_USER_AGENT);
         headers.set(TE, TRAILERS);
         headers.set(CONTENT_TYPE, GRPC_CONTENT_TYPE);
+        if (acceptedEncodings != null) {
+            headers.set(GRPC_MESSAGE_ACCEPT_ENCODING_KEY, acceptedEncodings);
+        }
+    }
+
+    /**
+     * Builds the value for the {@code grpc-accept-encoding} header from the passed {@link GrpcMessageEncoding}s.
+     *
+     * @param supportedEncodings {@link GrpcMessageEncoding}s that can be decoded.
+     * @return the header value or {@code null} if only {@link GrpcMessageEncoding#None} is supported, which needs no
+     * advertising.
+     */
+    @Nullable
+    static CharSequence acceptedEncodingsHeader(final Set<GrpcMessageEncoding> supportedEncodings) {
+        StringBuilder sb = null;
+        for (GrpcMessageEncoding encoding : supportedEncodings) {
+            if (encoding == None) {
+                continue;
+            }
+            if (sb == null) {
+                sb = new StringBuilder(16);
+            } else {
+                sb.append(',');
+            }
+            sb.append(encoding.encoding());
+        }
+        return sb == null ? null : newAsciiString(sb.toString());
     }
 
     static <T> StreamingHttpResponse newResponse(final StreamingHttpResponseFactory responseFactory,
@@ -180,12 +209,70 @@ final class GrpcUtils {
     static GrpcMessageEncoding readGrpcMessageEncoding(final HttpMetaData httpMetaData) {
         final CharSequence encoding = httpMetaData.headers().get(GRPC_MESSAGE_ENCODING_KEY);
         // identity is a special header for no compression
-        if (encoding != null && !contentEqualsIgnoreCase(encoding, IDENTITY)) {
+        if (encoding == null) {
+            return None;
+        }
+        final GrpcMessageEncoding messageEncoding = messageEncodingFor(encoding);
+        if (messageEncoding == null) {
             final String lowercaseEncoding = encoding.toString().toLowerCase();
             throw new SerializationException("Compression " + lowercaseEncoding + " not supported");
-        } else {
+        }
+        return messageEncoding;
+    }
+
+    /**
+     * Selects the {@link GrpcMessageEncoding} for the response messages of a call. The request encoding is reused if
+     * the client advertised it via {@code grpc-accept-encoding} and the {@link GrpcSerializationProvider} supports it,
+     * otherwise messages are sent uncompressed.
+     *
+     * @param request {@link HttpRequestMetaData} for the call.
+     * @param requestEncoding {@link GrpcMessageEncoding} of the request messages.
+     * @param serializationProvider {@link GrpcSerializationProvider} for the response messages.
+     * @return {@link GrpcMessageEncoding} for the response messages.
+     */
+    static GrpcMessageEncoding negotiateResponseEncoding(final HttpRequestMetaData request,
+                                                         final GrpcMessageEncoding requestEncoding,
+                                                         final GrpcSerializationProvider serializationProvider) {
+        if (requestEncoding == None || !serializationProvider.supportedMessageEncodings().contains(requestEncoding)) {
+            return None;
+        }
+        final CharSequence acceptedEncodings = request.headers().get(GRPC_MESSAGE_ACCEPT_ENCODING_KEY);
+        if (acceptedEncodings == null) {
             return None;
         }
+        int start = 0;
+        final int length = acceptedEncodings.length();
+        while (start < length) {
+            int end = start;
+            while (end < length && acceptedEncodings.charAt(end) != ',') {
+                ++end;
+            }
+            if (contentEqualsIgnoreCase(trim(acceptedEncodings, start, end), requestEncoding.encoding())) {
+                return requestEncoding;
+            }
+            start = end + 1;
+        }
+        return None;
+    }
+
+    @Nullable
+    private static GrpcMessageEncoding messageEncodingFor(final CharSequence encoding) {
+        for (GrpcMessageEncoding messageEncoding : MESSAGE_ENCODINGS) {
+            if (contentEqualsIgnoreCase(encoding, messageEncoding.encoding())) {
+                return messageEncoding;
+            }
+        }
+        return null;
+    }
+
+    private static CharSequence trim(final CharSequence value, int start, int end) {
+        while (start < end && value.charAt(start) == ' ') {
+            ++start;
+        }
+        while (end > start && value.charAt(end - 1) == ' ') {
+            --end;
+        }
+        return value.subSequence(start, end);
     }
 
     private static void initResponse(final HttpResponseMetaData response) {
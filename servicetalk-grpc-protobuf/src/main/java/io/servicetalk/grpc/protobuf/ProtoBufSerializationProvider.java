@@ -29,18 +29,25 @@ import com.google.protobuf.MessageLite;
 import com.google.protobuf.Parser;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.InflaterInputStream;
 import javax.annotation.Nullable;
 
 import static io.servicetalk.buffer.netty.BufferAllocators.DEFAULT_ALLOCATOR;
+import static io.servicetalk.grpc.api.GrpcMessageEncoding.None;
 import static java.lang.Math.max;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
 
 final class ProtoBufSerializationProvider<T extends MessageLite> implements SerializationProvider {
     private static final int LENGTH_PREFIXED_MESSAGE_HEADER_BYTES = 5;
+    private static final int LENGTH_PREFIXED_MESSAGE_LENGTH_BYTES = 4;
     private final Class<T> targetClass;
     private final GrpcMessageEncoding messageEncoding;
     private final ProtoSerializer serializer;
@@ -48,9 +55,14 @@ final class ProtoBufSerializationProvider<T extends MessageLite> implements Seri
 
     ProtoBufSerializationProvider(final Class<T> targetClass, final GrpcMessageEncoding messageEncoding,
                                   final Parser<T> parser) {
+        this(targetClass, messageEncoding, 0, parser);
+    }
+
+    ProtoBufSerializationProvider(final Class<T> targetClass, final GrpcMessageEncoding messageEncoding,
+                                  final int minCompressionSize, final Parser<T> parser) {
         this.targetClass = targetClass;
         this.messageEncoding = messageEncoding;
-        this.serializer = new ProtoSerializer(messageEncoding);
+        this.serializer = new ProtoSerializer(messageEncoding, minCompressionSize);
         this.parser = parser;
     }
 
@@ -94,8 +106,41 @@ final class ProtoBufSerializationProvider<T extends MessageLite> implements Seri
         throw new SerializationException("compression flag must be 0 or 1 but was:  " + compressionFlag);
     }
 
+    /**
+     * Wraps the passed {@link OutputStream} so that all data written is compressed using the passed
+     * {@link GrpcMessageEncoding}.
+     */
+    private static OutputStream compressingStream(final GrpcMessageEncoding encoding, final OutputStream out)
+            throws IOException {
+        switch (encoding) {
+            case Gzip:
+                return new GZIPOutputStream(out);
+            case Deflate:
+                return new DeflaterOutputStream(out);
+            default:
+                throw new SerializationException("Compression " + encoding.encoding() + " not supported");
+        }
+    }
+
+    /**
+     * Wraps the passed {@link InputStream} so that all data read is decompressed using the passed
+     * {@link GrpcMessageEncoding}.
+     */
+    private static InputStream decompressingStream(final GrpcMessageEncoding encoding, final InputStream in)
+            throws IOException {
+        switch (encoding) {
+            case Gzip:
+                return new GZIPInputStream(in);
+            case Deflate:
+                return new InflaterInputStream(in);
+            default:
+                throw new SerializationException("Compression " + encoding.encoding() + " not supported");
+        }
+    }
+
     private static final class ProtoDeserializer<T> implements StreamingDeserializer<T> {
         private final Parser<T> parser;
+        private final GrpcMessageEncoding grpcMessageEncoding;
         private final CompositeBuffer accumulate;
 
         private boolean compressed;
@@ -108,9 +153,9 @@ final class ProtoBufSerializationProvider<T extends MessageLite> implements Seri
          */
         private boolean stateReadHeader = true;
 
-        ProtoDeserializer(final Parser<T> parser,
-                          @SuppressWarnings("unused") final GrpcMessageEncoding grpcMessageEncoding) {
+        ProtoDeserializer(final Parser<T> parser, final GrpcMessageEncoding grpcMessageEncoding) {
             this.parser = parser;
+            this.grpcMessageEncoding = grpcMessageEncoding;
             accumulate = DEFAULT_ALLOCATOR.newCompositeBuffer(Integer.MAX_VALUE);
         }
 
@@ -131,8 +176,10 @@ final class ProtoBufSerializationProvider<T extends MessageLite> implements Seri
                     }
 
                     compressed = isCompressed(toDeserialize);
-                    // TODO (nkant) : handle compression
-                    assert !compressed;
+                    if (compressed && grpcMessageEncoding == None) {
+                        throw new SerializationException("Compressed message received for " +
+                                grpcMessageEncoding.encoding() + " encoding");
+                    }
 
                     // https://github.com/grpc/grpc/blob/master/doc/PROTOCOL-HTTP2.md specifies size as 4 bytes
                     // unsigned int However netty buffers only support up to Integer.MAX_VALUE, and even
@@ -151,12 +198,7 @@ final class ProtoBufSerializationProvider<T extends MessageLite> implements Seri
                         return addToAccumulateIfRequiredAndReturn(toDeserialize, parsedData);
                     }
 
-                    final T t;
-                    try {
-                        t = parser.parseFrom(toDeserialize.toNioBuffer(toDeserialize.readerIndex(), lengthOfData));
-                    } catch (InvalidProtocolBufferException e) {
-                        throw new SerializationException(e);
-                    }
+                    final T t = compressed ? parseCompressed(toDeserialize) : parse(toDeserialize);
 
                     // The NIO buffer indexes are not connected to the Buffer indexes, so we need to update
                     // our indexes and discard any bytes if necessary.
@@ -199,6 +241,25 @@ final class ProtoBufSerializationProvider<T extends MessageLite> implements Seri
             return accumulate.readableBytes() > 0;
         }
 
+        private T parse(final Buffer buffer) {
+            try {
+                return parser.parseFrom(buffer.toNioBuffer(buffer.readerIndex(), lengthOfData));
+            } catch (InvalidProtocolBufferException e) {
+                throw new SerializationException(e);
+            }
+        }
+
+        private T parseCompressed(final Buffer buffer) {
+            // Decompress straight from the received bytes, the slice shares content with the passed buffer so the
+            // indexes of the passed buffer are not modified.
+            try (InputStream in = decompressingStream(grpcMessageEncoding,
+                    Buffer.asInputStream(buffer.slice(buffer.readerIndex(), lengthOfData)))) {
+                return parser.parseFrom(in);
+            } catch (IOException e) {
+                throw new SerializationException(e);
+            }
+        }
+
         @Override
         public void close() {
             if (hasData()) {
@@ -224,8 +285,12 @@ final class ProtoBufSerializationProvider<T extends MessageLite> implements Seri
     }
 
     private static final class ProtoSerializer implements StreamingSerializer {
+        private final GrpcMessageEncoding encoding;
+        private final int minCompressionSize;
 
-        ProtoSerializer(@SuppressWarnings("unused") final GrpcMessageEncoding encoding) {
+        ProtoSerializer(final GrpcMessageEncoding encoding, final int minCompressionSize) {
+            this.encoding = encoding;
+            this.minCompressionSize = minCompressionSize;
         }
 
         @Override
@@ -236,14 +301,29 @@ final class ProtoBufSerializationProvider<T extends MessageLite> implements Seri
             }
             MessageLite msg = (MessageLite) toSerialize;
             int size = msg.getSerializedSize();
-            // TODO (nkant) : handle compression
-            destination.writeByte(0);
-            destination.writeInt(size);
-            try (OutputStream out = Buffer.asOutputStream(destination)) {
+            if (encoding == None || size < minCompressionSize) {
+                // Messages may be sent uncompressed irrespective of the grpc-encoding, the flag tells them apart.
+                destination.writeByte(0);
+                destination.writeInt(size);
+                try (OutputStream out = Buffer.asOutputStream(destination)) {
+                    msg.writeTo(out);
+                } catch (IOException e) {
+                    throw new SerializationException(e);
+                }
+                return;
+            }
+
+            destination.writeByte(1);
+            final int lengthIndex = destination.writerIndex();
+            // Compressed size is not known upfront, reserve the length and update it once the message is written.
+            destination.writeInt(0);
+            try (OutputStream out = compressingStream(encoding, Buffer.asOutputStream(destination))) {
                 msg.writeTo(out);
             } catch (IOException e) {
                 throw new SerializationException(e);
             }
+            destination.setInt(lengthIndex, destination.writerIndex() - lengthIndex -
+                    LENGTH_PREFIXED_MESSAGE_LENGTH_BYTES);
         }
     }
 }
@@ -35,13 +35,15 @@ import com.google.protobuf.Parser;
 
 import java.io.IOException;
 import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 
-import static io.servicetalk.grpc.api.GrpcMessageEncoding.None;
 import static io.servicetalk.http.api.CharSequences.newAsciiString;
 import static io.servicetalk.http.api.HttpHeaderNames.CONTENT_TYPE;
 import static java.util.Collections.unmodifiableMap;
+import static java.util.Collections.unmodifiableSet;
 
 /**
  * A builder for building a {@link GrpcSerializationProvider} that can serialize and deserialize
@@ -53,8 +55,8 @@ public final class ProtoBufSerializationProviderBuilder {
     private static final CharSequence GRPC_MESSAGE_ENCODING_KEY = newAsciiString("grpc-encoding");
     private static final CharSequence APPLICATION_GRPC_PROTO = newAsciiString("application/grpc+proto");
 
-    private final Map<Class, EnumMap<GrpcMessageEncoding, HttpSerializer>> serializers = new HashMap<>();
-    private final Map<Class, EnumMap<GrpcMessageEncoding, HttpDeserializer>> deserializers = new HashMap<>();
+    private final Map<Class, Parser> parsers = new HashMap<>();
+    private int minCompressionSize;
 
     /**
      * Register the passed {@code messageType} with the provided {@link Parser}.
@@ -66,11 +68,54 @@ public final class ProtoBufSerializationProviderBuilder {
      */
     public <T extends MessageLite> ProtoBufSerializationProviderBuilder
     registerMessageType(Class<T> messageType, Parser<T> parser) {
+        parsers.put(messageType, parser);
+        return this;
+    }
+
+    /**
+     * Sets the minimum serialized size (in bytes) of a message for it to be compressed. Messages smaller than this
+     * size are sent uncompressed even if a compressing {@link GrpcMessageEncoding} is used, as the compression
+     * overhead generally outweighs the savings for small messages.
+     *
+     * @param minCompressionSize minimum serialized size (in bytes) of a message for it to be compressed.
+     * @return {@code this}
+     */
+    public ProtoBufSerializationProviderBuilder minCompressionSize(final int minCompressionSize) {
+        if (minCompressionSize < 0) {
+            throw new IllegalArgumentException("minCompressionSize: " + minCompressionSize + " (expected >= 0)");
+        }
+        this.minCompressionSize = minCompressionSize;
+        return this;
+    }
+
+    /**
+     * Builds a new {@link GrpcSerializationProvider} containing all the message types registered with this builder.
+     *
+     * @return New {@link GrpcSerializationProvider} that will serialize and deserialize message types that were
+     * registered to this builder.
+     */
+    public GrpcSerializationProvider build() {
+        final Map<Class, EnumMap<GrpcMessageEncoding, HttpSerializer>> serializers = new HashMap<>();
+        final Map<Class, EnumMap<GrpcMessageEncoding, HttpDeserializer>> deserializers = new HashMap<>();
+        for (Map.Entry<Class, Parser> entry : parsers.entrySet()) {
+            @SuppressWarnings("unchecked")
+            final Class<MessageLite> messageType = entry.getKey();
+            @SuppressWarnings("unchecked")
+            final Parser<MessageLite> parser = entry.getValue();
+            addMessageType(messageType, parser, serializers, deserializers);
+        }
+        return new ProtoSerializationProvider(serializers, deserializers);
+    }
+
+    private <T extends MessageLite> void addMessageType(
+            final Class<T> messageType, final Parser<T> parser,
+            final Map<Class, EnumMap<GrpcMessageEncoding, HttpSerializer>> serializers,
+            final Map<Class, EnumMap<GrpcMessageEncoding, HttpDeserializer>> deserializers) {
         EnumMap<GrpcMessageEncoding, HttpSerializer> serializersForType = new EnumMap<>(GrpcMessageEncoding.class);
         EnumMap<GrpcMessageEncoding, HttpDeserializer> deserializersForType = new EnumMap<>(GrpcMessageEncoding.class);
         for (GrpcMessageEncoding grpcMessageEncoding : GrpcMessageEncoding.values()) {
-            DefaultSerializer serializer = new DefaultSerializer(
-                    new ProtoBufSerializationProvider<>(messageType, grpcMessageEncoding, parser));
+            DefaultSerializer serializer = new DefaultSerializer(new ProtoBufSerializationProvider<>(messageType,
+                    grpcMessageEncoding, minCompressionSize, parser));
             HttpSerializer<T> httpSerializer = new ProtoHttpSerializer<>(serializer, grpcMessageEncoding, messageType);
             serializersForType.put(grpcMessageEncoding, httpSerializer);
             deserializersForType.put(grpcMessageEncoding, new HttpDeserializer<T>() {
@@ -94,20 +139,12 @@ public final class ProtoBufSerializationProviderBuilder {
 
         serializers.put(messageType, serializersForType);
         deserializers.put(messageType, deserializersForType);
-        return this;
-    }
-
-    /**
-     * Builds a new {@link GrpcSerializationProvider} containing all the message types registered with this builder.
-     *
-     * @return New {@link GrpcSerializationProvider} that will serialize and deserialize message types that were
-     * registered to this builder.
-     */
-    public GrpcSerializationProvider build() {
-        return new ProtoSerializationProvider(serializers, deserializers);
     }
 
     private static class ProtoSerializationProvider implements GrpcSerializationProvider {
+        private static final Set<GrpcMessageEncoding> SUPPORTED_ENCODINGS =
+                unmodifiableSet(EnumSet.allOf(GrpcMessageEncoding.class));
+
         private final Map<Class, EnumMap<GrpcMessageEncoding, HttpSerializer>> serializers;
         private final Map<Class, EnumMap<GrpcMessageEncoding, HttpDeserializer>> deserializers;
 
@@ -124,7 +161,7 @@ public final class ProtoBufSerializationProviderBuilder {
                 throw new SerializationException("Unknown class to serialize: " + type.getName());
             }
             @SuppressWarnings("unchecked")
-            HttpSerializer<T> httpSerializer = serializersForType.get(None); // compression not yet supported.
+            HttpSerializer<T> httpSerializer = serializersForType.get(metadata.messageEncoding());
             return httpSerializer;
         }
 
@@ -138,6 +175,11 @@ public final class ProtoBufSerializationProviderBuilder {
             HttpDeserializer<T> httpSerializer = deserializersForType.get(messageEncoding);
             return httpSerializer;
         }
+
+        @Override
+        public Set<GrpcMessageEncoding> supportedMessageEncodings() {
+            return SUPPORTED_ENCODINGS;
+        }
     }
 
     private static final class ProtoHttpSerializer<T> implements HttpSerializer<T> {
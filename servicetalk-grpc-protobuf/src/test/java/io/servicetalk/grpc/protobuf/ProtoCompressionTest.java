@@ -0,0 +1,126 @@
+/*
+ * Copyright © 2019 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.grpc.protobuf;
+
+import io.servicetalk.buffer.api.Buffer;
+import io.servicetalk.grpc.api.GrpcMessageEncoding;
+import io.servicetalk.serialization.api.SerializationException;
+import io.servicetalk.serialization.api.StreamingDeserializer;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static io.servicetalk.buffer.netty.BufferAllocators.DEFAULT_ALLOCATOR;
+import static io.servicetalk.grpc.api.GrpcMessageEncoding.Deflate;
+import static io.servicetalk.grpc.api.GrpcMessageEncoding.Gzip;
+import static io.servicetalk.grpc.api.GrpcMessageEncoding.None;
+import static io.servicetalk.grpc.protobuf.test.TestProtos.DummyMessage;
+import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.StreamSupport.stream;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+
+@RunWith(Parameterized.class)
+public class ProtoCompressionTest {
+    private static final int MIN_COMPRESSION_SIZE = 64;
+
+    private final ProtoBufSerializationProvider<DummyMessage> serializationProvider;
+
+    public ProtoCompressionTest(final GrpcMessageEncoding encoding) {
+        serializationProvider = new ProtoBufSerializationProvider<>(DummyMessage.class, encoding,
+                MIN_COMPRESSION_SIZE, DummyMessage.parser());
+    }
+
+    @Parameterized.Parameters(name = "{index} - {0}")
+    public static Collection<GrpcMessageEncoding> params() {
+        return asList(Gzip, Deflate);
+    }
+
+    @Test
+    public void largeMessageIsCompressed() {
+        final String message = repeat('a', 1024);
+        Buffer buffer = serialize(message);
+        assertThat("Unexpected compressed flag.", buffer.getByte(buffer.readerIndex()), is((byte) 1));
+        assertThat("Message not compressed.", buffer.getInt(buffer.readerIndex() + 1), lessThan(message.length()));
+        assertThat("Unexpected messages deserialized.", deserialize(buffer), contains(message));
+    }
+
+    @Test
+    public void smallMessageIsNotCompressed() {
+        Buffer buffer = serialize("Hello");
+        assertThat("Unexpected compressed flag.", buffer.getByte(buffer.readerIndex()), is((byte) 0));
+        assertThat("Unexpected messages deserialized.", deserialize(buffer), contains("Hello"));
+    }
+
+    @Test
+    public void mixedMessagesInSingleBuffer() {
+        final String large = repeat('b', 512);
+        Buffer buffer = serialize("Hello1", large, "Hello2");
+        assertThat("Unexpected messages deserialized.", deserialize(buffer), contains("Hello1", large, "Hello2"));
+    }
+
+    @Test
+    public void compressedMessageSplitInBuffers() {
+        final String message = repeat('c', 256);
+        Buffer msg = serialize(message);
+        List<Buffer> buffers = new ArrayList<>();
+        while (msg.readableBytes() > 0) {
+            buffers.add(msg.readSlice(1));
+        }
+        StreamingDeserializer<DummyMessage> deserializer = serializationProvider.getDeserializer(DummyMessage.class);
+        List<String> deserialized = stream(deserializer.deserialize(buffers).spliterator(), false)
+                .map(DummyMessage::getMessage).collect(toList());
+        assertThat("Unexpected messages deserialized.", deserialized, contains(message));
+    }
+
+    @Test(expected = SerializationException.class)
+    public void compressedMessageWithIdentityEncodingFails() {
+        Buffer buffer = serialize(repeat('d', 1024));
+        new ProtoBufSerializationProvider<>(DummyMessage.class, None, DummyMessage.parser())
+                .getDeserializer(DummyMessage.class).deserialize(buffer);
+    }
+
+    private Buffer serialize(final String... messages) {
+        Buffer buffer = DEFAULT_ALLOCATOR.newBuffer();
+        for (String message : messages) {
+            serializationProvider.getSerializer(DummyMessage.class)
+                    .serialize(DummyMessage.newBuilder().setMessage(message).build(), buffer);
+        }
+        return buffer;
+    }
+
+    private List<String> deserialize(final Buffer buffer) {
+        StreamingDeserializer<DummyMessage> deserializer = serializationProvider.getDeserializer(DummyMessage.class);
+        return stream(deserializer.deserialize(buffer).spliterator(), false)
+                .map(DummyMessage::getMessage).collect(toList());
+    }
+
+    private static String repeat(final char c, final int count) {
+        StringBuilder sb = new StringBuilder(count);
+        for (int i = 0; i < count; ++i) {
+            sb.append(c);
+        }
+        return sb.toString();
+    }
+}
@@ -62,6 +62,7 @@ import static io.servicetalk.grpc.protoc.Types.GrpcClientFactory;
 import static io.servicetalk.grpc.protoc.Types.GrpcClientFilterFactory;
 import static io.servicetalk.grpc.protoc.Types.GrpcExecutionContext;
 import static io.servicetalk.grpc.protoc.Types.GrpcExecutionStrategy;
+import static io.servicetalk.grpc.protoc.Types.GrpcMessageEncoding;
 import static io.servicetalk.grpc.protoc.Types.GrpcPayloadWriter;
 import static io.servicetalk.grpc.protoc.Types.GrpcRoutes;
 import static io.servicetalk.grpc.protoc.Types.GrpcSerializationProvider;
@@ -103,6 +104,7 @@ import static io.servicetalk.grpc.protoc.Words.delegate;
 import static io.servicetalk.grpc.protoc.Words.executionContext;
 import static io.servicetalk.grpc.protoc.Words.existing;
 import static io.servicetalk.grpc.protoc.Words.factory;
+import static io.servicetalk.grpc.protoc.Words.messageEncoding;
 import static io.servicetalk.grpc.protoc.Words.metadata;
 import static io.servicetalk.grpc.protoc.Words.onClose;
 import static io.servicetalk.grpc.protoc.Words.path;
@@ -437,6 +439,19 @@ final class Generator {
                             .addStatement("super($T.$L.$L(), $L)", state.rpcPathsEnumClass, routeName(methodProto),
                                     path, strategy)
                             .build())
+                    .addMethod(constructorBuilder()
+                            .addModifiers(PUBLIC)
+                            .addParameter(GrpcMessageEncoding, messageEncoding, FINAL)
+                            .addStatement("super($T.$L.$L(), $L)", state.rpcPathsEnumClass, routeName(methodProto),
+                                    path, messageEncoding)
+                            .build())
+                    .addMethod(constructorBuilder()
+                            .addModifiers(PUBLIC)
+                            .addParameter(GrpcExecutionStrategy, strategy, FINAL)
+                            .addParameter(GrpcMessageEncoding, messageEncoding, FINAL)
+                            .addStatement("super($T.$L.$L(), $L, $L)", state.rpcPathsEnumClass,
+                                    routeName(methodProto), path, strategy, messageEncoding)
+                            .build())
                     .build();
 
             state.clientMetaDatas.add(new ClientMetaData(methodProto, metaDataClassName));
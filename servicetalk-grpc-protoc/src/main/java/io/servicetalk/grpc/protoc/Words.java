@@ -31,6 +31,7 @@ final class Words {
     static final String existing = "existing";
     static final String factory = "factory";
     static final String onClose = "onClose";
+    static final String messageEncoding = "messageEncoding";
     static final String metadata = "metadata";
     static final String path = "path";
     static final String request = "request";
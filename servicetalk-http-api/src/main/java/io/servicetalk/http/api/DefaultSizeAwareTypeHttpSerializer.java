@@ -40,6 +40,11 @@ final class DefaultSizeAwareTypeHttpSerializer<T> implements HttpSerializer<T> {
     private final Serializer serializer;
     private final TypeHolder<T> type;
     private final IntUnaryOperator bytesEstimator;
+    /**
+     * Size of the last aggregated value serialized, used as a hint for the next allocation. Racy updates from
+     * concurrent requests are acceptable because this is only an estimate.
+     */
+    private int lastSerializedSize;
 
     DefaultSizeAwareTypeHttpSerializer(final TypeHolder<T> type, final Serializer serializer,
                                        final Consumer<HttpHeaders> addContentType, IntUnaryOperator bytesEstimator) {
@@ -52,7 +57,9 @@ final class DefaultSizeAwareTypeHttpSerializer<T> implements HttpSerializer<T> {
     @Override
     public Buffer serialize(final HttpHeaders headers, final T value, final BufferAllocator allocator) {
         addContentType.accept(headers);
-        return serializer.serialize(value, allocator, bytesEstimator.applyAsInt(0));
+        final Buffer serialized = serializer.serialize(value, allocator, bytesEstimator.applyAsInt(lastSerializedSize));
+        lastSerializedSize = serialized.readableBytes();
+        return serialized;
     }
 
     @Override
@@ -74,9 +81,13 @@ final class DefaultSizeAwareTypeHttpSerializer<T> implements HttpSerializer<T> {
                                           final BufferAllocator allocator) {
         addContentType.accept(headers);
         return new DelegatingToBufferHttpPayloadWriter<T>(payloadWriter, allocator) {
+            private int lastSize;
+
             @Override
             public void write(final T object) throws IOException {
-                delegate.write(serializer.serialize(object, allocator, bytesEstimator.applyAsInt(0)));
+                final Buffer serialized = serializer.serialize(object, allocator, bytesEstimator.applyAsInt(lastSize));
+                lastSize = serialized.readableBytes();
+                delegate.write(serialized);
             }
         };
     }
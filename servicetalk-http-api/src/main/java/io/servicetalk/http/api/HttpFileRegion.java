@@ -0,0 +1,208 @@
+/*
+ * Copyright © 2019 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.http.api;
+
+import io.servicetalk.buffer.api.Buffer;
+import io.servicetalk.buffer.api.BufferAllocator;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import static java.lang.Math.min;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A region of a {@link FileChannel} used as an HTTP payload body, see
+ * {@link StreamingHttpResponse#payloadBody(FileChannel, long, long)}.
+ * <p>
+ * Transports that support it write the region directly from the file to the socket without copying it into user
+ * space. Otherwise, for example when the connection is encrypted, the region is read into {@link Buffer}s via
+ * {@link #toBuffers(BufferAllocator)}. In both cases the {@link FileChannel} is closed once the region has been
+ * written, the write fails or the payload body carrying the region is cancelled. If that payload body is never
+ * subscribed, for example because the response is dropped without being written, the {@link FileChannel} stays open
+ * and has to be closed by the caller, or via {@link #discard()}.
+ */
+public final class HttpFileRegion {
+    private static final Logger LOGGER = LoggerFactory.getLogger(HttpFileRegion.class);
+
+    /**
+     * Size of the {@link Buffer}s produced by {@link #toBuffers(BufferAllocator)}, matches the maximum TLS record size.
+     */
+    private static final int READ_CHUNK_SIZE = 16 * 1024;
+
+    private final FileChannel fileChannel;
+    private final long position;
+    private final long count;
+
+    /**
+     * Create a new instance.
+     *
+     * @param fileChannel The {@link FileChannel} to read from. The ownership is transferred to this region.
+     * @param position The position in {@code fileChannel} of the first byte of the region.
+     * @param count The number of bytes in the region.
+     */
+    public HttpFileRegion(final FileChannel fileChannel, final long position, final long count) {
+        if (position < 0) {
+            throw new IllegalArgumentException("position: " + position + " (expected >=0)");
+        }
+        if (count < 0) {
+            throw new IllegalArgumentException("count: " + count + " (expected >=0)");
+        }
+        this.fileChannel = requireNonNull(fileChannel);
+        this.position = position;
+        this.count = count;
+    }
+
+    /**
+     * Get the {@link FileChannel} to read from.
+     *
+     * @return the {@link FileChannel} to read from.
+     */
+    public FileChannel fileChannel() {
+        return fileChannel;
+    }
+
+    /**
+     * Get the position in {@link #fileChannel()} of the first byte of the region.
+     *
+     * @return the position in {@link #fileChannel()} of the first byte of the region.
+     */
+    public long position() {
+        return position;
+    }
+
+    /**
+     * Get the number of bytes in the region.
+     *
+     * @return the number of bytes in the region.
+     */
+    public long count() {
+        return count;
+    }
+
+    /**
+     * Read the region as a sequence of {@link Buffer}s.
+     * <p>
+     * The returned {@link Iterable} can only be iterated once. Each call to {@link Iterator#next()} reads the next
+     * chunk of the region, so the content is only read as fast as it is consumed. The {@link #fileChannel()} is closed
+     * when the last chunk has been read, when reading fails or when the {@link Iterator} is
+     * {@link AutoCloseable#close() closed}. Only read failures are thrown, failures to close the {@link #fileChannel()}
+     * are logged.
+     *
+     * @param allocator The {@link BufferAllocator} used to allocate the {@link Buffer}s.
+     * @return An {@link Iterable} of the {@link Buffer}s in this region.
+     */
+    public Iterable<Buffer> toBuffers(final BufferAllocator allocator) {
+        requireNonNull(allocator);
+        return () -> new BufferIterator(allocator);
+    }
+
+    /**
+     * Close the {@link #fileChannel()} without reading the region.
+     */
+    public void discard() {
+        try {
+            fileChannel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Close the {@link #fileChannel()} without reading the region, logging instead of throwing a failure to close it.
+     */
+    void discardQuietly() {
+        try {
+            fileChannel.close();
+        } catch (IOException e) {
+            LOGGER.warn("Failed to close {} of {}", fileChannel, this, e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{fileChannel=" + fileChannel + ", position=" + position + ", count=" +
+                count + '}';
+    }
+
+    private final class BufferIterator implements Iterator<Buffer>, AutoCloseable {
+        private final BufferAllocator allocator;
+        private long readPosition = position;
+        private long remaining = count;
+
+        BufferIterator(final BufferAllocator allocator) {
+            this.allocator = allocator;
+            if (remaining == 0) {
+                discardQuietly();
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return remaining > 0;
+        }
+
+        @Override
+        public Buffer next() {
+            if (remaining <= 0) {
+                throw new NoSuchElementException();
+            }
+            final ByteBuffer chunk = ByteBuffer.allocate((int) min(READ_CHUNK_SIZE, remaining));
+            try {
+                while (chunk.hasRemaining()) {
+                    final int read = fileChannel.read(chunk, readPosition + chunk.position());
+                    if (read < 0) {
+                        throw new IOException("Unexpected end of file at position " +
+                                (readPosition + chunk.position()) + ", expected " + remaining + " more bytes");
+                    }
+                }
+            } catch (IOException e) {
+                remaining = 0;
+                closeQuietly(e);
+                throw new UncheckedIOException(e);
+            }
+            chunk.flip();
+            readPosition += chunk.remaining();
+            remaining -= chunk.remaining();
+            if (remaining == 0) {
+                // Whatever has been read is valid, failing to close the file must not fail the payload.
+                discardQuietly();
+            }
+            return allocator.wrap(chunk);
+        }
+
+        @Override
+        public void close() {
+            remaining = 0;
+            discardQuietly();
+        }
+
+        private void closeQuietly(final IOException cause) {
+            try {
+                fileChannel.close();
+            } catch (IOException e) {
+                cause.addSuppressed(e);
+            }
+        }
+    }
+}
@@ -31,6 +31,7 @@ import static io.servicetalk.http.api.CharSequences.newAsciiString;
 import static io.servicetalk.http.api.HeaderUtils.hasContentType;
 import static io.servicetalk.http.api.HttpHeaderNames.CONTENT_TYPE;
 import static io.servicetalk.http.api.HttpHeaderValues.APPLICATION_JSON;
+import static io.servicetalk.http.api.HttpHeaderValues.APPLICATION_X_NDJSON;
 import static io.servicetalk.http.api.HttpHeaderValues.APPLICATION_X_WWW_FORM_URLENCODED;
 import static io.servicetalk.http.api.HttpHeaderValues.TEXT_PLAIN;
 import static io.servicetalk.http.api.HttpStringDeserializer.UTF_8_STRING_DESERIALIZER;
@@ -227,6 +228,71 @@ public final class HttpSerializationProviders {
         return jsonSerializer(new DefaultSerializer(serializationProvider));
     }
 
+    /**
+     * Creates a new {@link HttpSerializationProvider} that streams values to/from a single JSON array using the passed
+     * {@link Serializer}. Each streamed value is an element of the array, and elements are serialized and deserialized
+     * one at a time so the whole array is never aggregated in memory. For serialization, the returned
+     * {@link HttpSerializationProvider} adds a {@link HttpHeaderNames#CONTENT_TYPE} header with value
+     * {@link HttpHeaderValues#APPLICATION_JSON}. For deserialization, it expects a {@link HttpHeaderNames#CONTENT_TYPE}
+     * header with value {@link HttpHeaderValues#APPLICATION_JSON}. If the expected header is not present, then
+     * deserialization will fail with {@link SerializationException}.
+     * <p>
+     * The passed {@link Serializer} must support deserializing whitespace separated JSON documents.
+     *
+     * @param serializer {@link Serializer} that has the capability of serializing/deserializing to/from JSON.
+     * @return {@link HttpSerializationProvider} that streams values to/from a JSON array.
+     */
+    public static HttpSerializationProvider jsonArraySerializer(Serializer serializer) {
+        return new StreamingJsonHttpSerializationProvider(jsonSerializer(serializer), true);
+    }
+
+    /**
+     * Creates a new {@link HttpSerializationProvider} that streams values to/from a single JSON array using the passed
+     * {@link SerializationProvider}. See {@link #jsonArraySerializer(Serializer)}.
+     *
+     * @param serializationProvider {@link SerializationProvider} that has the capability of serializing/deserializing
+     * to/from JSON.
+     * @return {@link HttpSerializationProvider} that streams values to/from a JSON array.
+     */
+    public static HttpSerializationProvider jsonArraySerializer(SerializationProvider serializationProvider) {
+        return jsonArraySerializer(new DefaultSerializer(serializationProvider));
+    }
+
+    /**
+     * Creates a new {@link HttpSerializationProvider} that streams values to/from
+     * <a href="http://ndjson.org">newline delimited JSON</a> using the passed {@link Serializer}. Each value is
+     * serialized as a single line terminated by {@code '\n'}. For serialization, the returned
+     * {@link HttpSerializationProvider} adds a {@link HttpHeaderNames#CONTENT_TYPE} header with value
+     * {@link HttpHeaderValues#APPLICATION_X_NDJSON}. For deserialization, it expects a
+     * {@link HttpHeaderNames#CONTENT_TYPE} header with value {@link HttpHeaderValues#APPLICATION_X_NDJSON}. If the
+     * expected header is not present, then deserialization will fail with {@link SerializationException}.
+     * <p>
+     * The passed {@link Serializer} must not emit newlines within a value, and must support deserializing whitespace
+     * separated JSON documents.
+     *
+     * @param serializer {@link Serializer} that has the capability of serializing/deserializing to/from JSON.
+     * @return {@link HttpSerializationProvider} that streams values to/from newline delimited JSON.
+     */
+    public static HttpSerializationProvider jsonNewlineDelimitedSerializer(Serializer serializer) {
+        return new StreamingJsonHttpSerializationProvider(serializationProvider(serializer,
+                headers -> headers.set(CONTENT_TYPE, APPLICATION_X_NDJSON),
+                headers -> hasContentType(headers, APPLICATION_X_NDJSON, null)), false);
+    }
+
+    /**
+     * Creates a new {@link HttpSerializationProvider} that streams values to/from
+     * <a href="http://ndjson.org">newline delimited JSON</a> using the passed {@link SerializationProvider}. See
+     * {@link #jsonNewlineDelimitedSerializer(Serializer)}.
+     *
+     * @param serializationProvider {@link SerializationProvider} that has the capability of serializing/deserializing
+     * to/from JSON.
+     * @return {@link HttpSerializationProvider} that streams values to/from newline delimited JSON.
+     */
+    public static HttpSerializationProvider jsonNewlineDelimitedSerializer(
+            SerializationProvider serializationProvider) {
+        return jsonNewlineDelimitedSerializer(new DefaultSerializer(serializationProvider));
+    }
+
     /**
      * Creates a new {@link HttpSerializationProvider} that could serialize/deserialize to/from the desired content-type
      * using the passed {@link Serializer}.<p>
@@ -69,6 +69,18 @@ public abstract class HttpServerBuilder {
      */
     public abstract HttpServerBuilder backlog(int backlog);
 
+    /**
+     * Sets the number of listening sockets to bind to the same address using {@code SO_REUSEPORT}, one per IO thread,
+     * so the kernel spreads newly accepted connections across cores.
+     * <p>
+     * Only honored by transports which support {@code SO_REUSEPORT} load balancing, otherwise a single listening socket
+     * is bound.
+     *
+     * @param listenSockets the number of listening sockets to bind.
+     * @return {@code this}.
+     */
+    public abstract HttpServerBuilder listenSockets(int listenSockets);
+
     /**
      * Initiates security configuration for this server. Calling any {@code commit} method on the returned
      * {@link HttpServerSecurityConfigurator} will commit the configuration.
@@ -0,0 +1,146 @@
+/*
+ * Copyright © 2019 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.http.api;
+
+import io.servicetalk.buffer.api.Buffer;
+import io.servicetalk.concurrent.BlockingIterable;
+import io.servicetalk.concurrent.BlockingIterator;
+import io.servicetalk.concurrent.api.Publisher;
+import io.servicetalk.serialization.api.SerializationException;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static io.servicetalk.concurrent.api.Publisher.defer;
+import static io.servicetalk.concurrent.internal.BlockingIterables.from;
+
+/**
+ * An {@link HttpDeserializer} which deserializes the elements of a single top-level JSON array one by one, so large
+ * arrays are consumed without aggregation.
+ *
+ * @param <T> Type to deserialize
+ */
+final class JsonArrayHttpDeserializer<T> implements HttpDeserializer<T> {
+
+    private final HttpDeserializer<T> delegate;
+
+    JsonArrayHttpDeserializer(final HttpDeserializer<T> delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public T deserialize(final HttpHeaders headers, final Buffer payload) {
+        final JsonArrayUnwrapper unwrapper = new JsonArrayUnwrapper();
+        final BlockingIterable<Buffer> elements = from(unwrapper.unwrap(payload));
+        unwrapper.close();
+        final BlockingIterator<T> iterator = delegate.deserialize(headers, elements).iterator();
+        final T value;
+        try {
+            if (!iterator.hasNext()) {
+                throw new SerializationException("No value was deserialized from the JSON array.");
+            }
+            value = iterator.next();
+            if (iterator.hasNext()) {
+                throw new SerializationException("More than one value was deserialized from the JSON array.");
+            }
+        } catch (Throwable cause) {
+            try {
+                iterator.close();
+            } catch (Exception e) {
+                cause.addSuppressed(e);
+            }
+            throw cause;
+        }
+        try {
+            iterator.close();
+        } catch (Exception e) {
+            throw new SerializationException("Failed to close iterator", e);
+        }
+        return value;
+    }
+
+    @Override
+    public BlockingIterable<T> deserialize(final HttpHeaders headers, final BlockingIterable<Buffer> payload) {
+        return delegate.deserialize(headers, () -> new UnwrappingBlockingIterator(payload.iterator()));
+    }
+
+    @Override
+    public Publisher<T> deserialize(final HttpHeaders headers, final Publisher<Buffer> payload) {
+        return delegate.deserialize(headers, defer(() -> {
+            // The unwrapper is stateful, so each subscriber needs its own instance.
+            final JsonArrayUnwrapper unwrapper = new JsonArrayUnwrapper();
+            return payload.flatMapConcatIterable(unwrapper::unwrap).beforeOnComplete(unwrapper::close);
+        }));
+    }
+
+    private static final class UnwrappingBlockingIterator implements BlockingIterator<Buffer> {
+        private final JsonArrayUnwrapper unwrapper = new JsonArrayUnwrapper();
+        private final BlockingIterator<Buffer> iterator;
+        private Iterator<Buffer> current = Collections.emptyIterator();
+
+        UnwrappingBlockingIterator(final BlockingIterator<Buffer> iterator) {
+            this.iterator = iterator;
+        }
+
+        @Override
+        public boolean hasNext(final long timeout, final TimeUnit unit) throws TimeoutException {
+            while (!current.hasNext()) {
+                if (!iterator.hasNext(timeout, unit)) {
+                    unwrapper.close();
+                    return false;
+                }
+                current = unwrapper.unwrap(iterator.next(timeout, unit)).iterator();
+            }
+            return true;
+        }
+
+        @Override
+        public Buffer next(final long timeout, final TimeUnit unit) throws TimeoutException {
+            if (!hasNext(timeout, unit)) {
+                throw new NoSuchElementException();
+            }
+            return current.next();
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!current.hasNext()) {
+                if (!iterator.hasNext()) {
+                    unwrapper.close();
+                    return false;
+                }
+                current = unwrapper.unwrap(iterator.next()).iterator();
+            }
+            return true;
+        }
+
+        @Override
+        public Buffer next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return current.next();
+        }
+
+        @Override
+        public void close() throws Exception {
+            iterator.close();
+        }
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright © 2019 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.http.api;
+
+import io.servicetalk.buffer.api.Buffer;
+import io.servicetalk.buffer.api.ByteProcessor;
+import io.servicetalk.serialization.api.SerializationException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.servicetalk.buffer.api.ReadOnlyBufferAllocators.DEFAULT_RO_ALLOCATOR;
+
+/**
+ * Strips the framing of a top-level JSON array from a stream of {@link Buffer}s, so that its elements can be parsed
+ * as a sequence of whitespace separated JSON documents.
+ * <p>
+ * The outer brackets and the separators between elements are replaced by whitespace. Element bytes are sliced from
+ * the original {@link Buffer}s and are not copied. This class is stateful and not thread safe, a new instance is
+ * required for each stream.
+ */
+final class JsonArrayUnwrapper implements ByteProcessor {
+    private static final byte[] WHITESPACE = {' '};
+
+    private int depth;
+    private boolean started;
+    private boolean ended;
+    private boolean inString;
+    private boolean escaped;
+
+    /**
+     * Unwrap the next {@link Buffer} of the stream.
+     *
+     * @param buffer the next {@link Buffer}.
+     * @return the {@link Buffer}s to pass to a deserializer of whitespace separated JSON documents.
+     */
+    List<Buffer> unwrap(final Buffer buffer) {
+        final List<Buffer> result = new ArrayList<>(2);
+        final int end = buffer.writerIndex();
+        int sliceStart = buffer.readerIndex();
+        while (sliceStart < end) {
+            final int framingIndex = buffer.forEachByte(sliceStart, end - sliceStart, this);
+            if (framingIndex < 0) {
+                result.add(buffer.slice(sliceStart, end - sliceStart));
+                break;
+            }
+            if (framingIndex > sliceStart) {
+                result.add(buffer.slice(sliceStart, framingIndex - sliceStart));
+            }
+            // Whitespace terminates a trailing number and separates elements for the deserializer.
+            result.add(DEFAULT_RO_ALLOCATOR.wrap(WHITESPACE));
+            sliceStart = framingIndex + 1;
+        }
+        return result;
+    }
+
+    /**
+     * Verify that the stream terminated at the end of the JSON array.
+     *
+     * @throws SerializationException if the stream ended in the middle of the JSON array.
+     */
+    void close() {
+        if (started && !ended) {
+            throw new SerializationException("Incomplete JSON array, missing ']'");
+        }
+    }
+
+    @Override
+    public boolean process(final byte value) {
+        if (inString) {
+            if (escaped) {
+                escaped = false;
+            } else if (value == '\\') {
+                escaped = true;
+            } else if (value == '"') {
+                inString = false;
+            }
+            return true;
+        }
+        switch (value) {
+            case '"':
+                verifyInArray(value);
+                inString = true;
+                return true;
+            case '[':
+                if (depth++ == 0) {
+                    if (started) {
+                        throw new SerializationException("Unexpected data after the end of the JSON array");
+                    }
+                    started = true;
+                    return false;
+                }
+                return true;
+            case '{':
+                verifyInArray(value);
+                ++depth;
+                return true;
+            case ']':
+            case '}':
+                verifyInArray(value);
+                if (--depth == 0) {
+                    ended = true;
+                    return false;
+                }
+                return true;
+            case ',':
+                return depth != 1;
+            case ' ':
+            case '\t':
+            case '\r':
+            case '\n':
+                return true;
+            default:
+                verifyInArray(value);
+                return true;
+        }
+    }
+
+    private void verifyInArray(final byte value) {
+        if (depth == 0) {
+            throw new SerializationException(ended ? "Unexpected data after the end of the JSON array" :
+                    "Expected a JSON array, found: '" + (char) value + "'");
+        }
+    }
+}
@@ -46,7 +46,9 @@ import static io.servicetalk.concurrent.api.SourceAdapters.fromSource;
 import static io.servicetalk.http.api.HeaderUtils.addChunkedEncoding;
 import static io.servicetalk.http.api.HeaderUtils.isTransferEncodingChunked;
 import static io.servicetalk.http.api.HttpDataSourceTransformations.aggregatePayloadAndTrailers;
+import static io.servicetalk.http.api.HttpHeaderNames.CONTENT_LENGTH;
 import static io.servicetalk.http.api.HttpProtocolVersion.HTTP_1_0;
+import static java.util.Collections.singletonList;
 import static java.util.Objects.requireNonNull;
 
 /**
@@ -64,6 +66,7 @@ final class StreamingHttpPayloadHolder implements PayloadInfo {
     private Publisher<?> payloadBody;
     @Nullable
     private Single<HttpHeaders> trailersSingle;
+    private boolean mayHaveFileRegion;
 
     StreamingHttpPayloadHolder(final HttpHeaders headers, final BufferAllocator allocator,
                                @Nullable final Publisher<?> payloadBody, final DefaultPayloadInfo payloadInfo,
@@ -86,7 +89,7 @@ final class StreamingHttpPayloadHolder implements PayloadInfo {
         }
         splitTrailersIfRequired();
         return payloadInfo.onlyEmitsBuffer() ? bufferPayload() :
-                rawPayload().liftSync(HttpTransportBufferFilterOperator.INSTANCE);
+                readFileRegionsIfRequired(rawPayload()).liftSync(HttpTransportBufferFilterOperator.INSTANCE);
     }
 
     Publisher<Object> payloadBodyAndTrailers() {
@@ -107,6 +110,21 @@ final class StreamingHttpPayloadHolder implements PayloadInfo {
         updatePayloadBody(payloadBody, false);
     }
 
+    @SuppressWarnings("unchecked")
+    void payloadBody(final HttpFileRegion fileRegion) {
+        // Close the file if the payload body is cancelled before the region is emitted, after that the region is owned
+        // by the consumer which closes it when it is written or read.
+        final Publisher<?> newPayload = from(fileRegion).whenCancel(fileRegion::discardQuietly);
+        this.payloadBody = this.payloadBody == null ? newPayload :
+                // payloadBody() will split trailers if not yet split
+                ((Publisher<Buffer>) newPayload).liftSync(new BridgeFlowControlAndDiscardOperator(payloadBody()));
+        payloadInfo.setOnlyEmitsBuffer(false);
+        mayHaveFileRegion = true;
+        if (!isTransferEncodingChunked(headers)) {
+            headers.set(CONTENT_LENGTH, Long.toString(fileRegion.count()));
+        }
+    }
+
     public <T> void payloadBody(final Publisher<T> payloadBody, final HttpSerializer<T> serializer) {
         payloadBody(serializer.serialize(headers, payloadBody, allocator));
     }
@@ -137,7 +155,7 @@ final class StreamingHttpPayloadHolder implements PayloadInfo {
 
     Single<PayloadAndTrailers> aggregate() {
         payloadInfo.setSafeToAggregate(true);
-        return aggregatePayloadAndTrailers(payloadBodyAndTrailers(), allocator);
+        return aggregatePayloadAndTrailers(readFileRegionsIfRequired(payloadBodyAndTrailers()), allocator);
     }
 
     @Override
@@ -356,6 +374,11 @@ final class StreamingHttpPayloadHolder implements PayloadInfo {
         return (Publisher<Object>) payloadBody;
     }
 
+    private Publisher<Object> readFileRegionsIfRequired(final Publisher<Object> payload) {
+        return mayHaveFileRegion ? payload.flatMapConcatIterable(item -> item instanceof HttpFileRegion ?
+                ((HttpFileRegion) item).toBuffers(allocator) : singletonList(item)) : payload;
+    }
+
     private Publisher<Object> emptyOrRawPayload() {
         return payloadBody == null ? empty() : rawPayload();
     }
@@ -19,9 +19,15 @@ import io.servicetalk.buffer.api.Buffer;
 import io.servicetalk.concurrent.api.Publisher;
 import io.servicetalk.concurrent.api.Single;
 
+import java.nio.channels.FileChannel;
 import java.util.function.Function;
 import java.util.function.UnaryOperator;
 
+import static io.servicetalk.buffer.api.ReadOnlyBufferAllocators.DEFAULT_RO_ALLOCATOR;
+import static io.servicetalk.concurrent.api.Publisher.fromIterable;
+import static io.servicetalk.http.api.HeaderUtils.isTransferEncodingChunked;
+import static io.servicetalk.http.api.HttpHeaderNames.CONTENT_LENGTH;
+
 /**
  * The equivalent of {@link HttpResponse} but provides the payload as a {@link Publisher}.
  */
@@ -79,6 +85,34 @@ public interface StreamingHttpResponse extends HttpResponseMetaData {
      */
     <T> StreamingHttpResponse payloadBody(Publisher<T> payloadBody, HttpSerializer<T> serializer);
 
+    /**
+     * Returns a {@link StreamingHttpResponse} with its underlying payload set to {@code count} bytes of
+     * {@code fileChannel} starting at {@code position}.
+     * <p>
+     * Transports that support it write the region directly from the file to the socket without copying it into user
+     * space, otherwise the region is read into {@link Buffer}s (e.g. for encrypted connections). The
+     * {@code content-length} header is set to {@code count} unless the payload is
+     * {@link HttpHeaderValues#CHUNKED chunked}. {@code fileChannel} is closed once the region has been written or the
+     * write fails, see {@link HttpFileRegion} for details.
+     * <p>
+     * The existing {@link Publisher} payload body is discarded.
+     * <p>
+     * The default implementation reads the region into read-only {@link Buffer}s, implementations should override it to
+     * let transports write the region without copying.
+     * @param fileChannel The {@link FileChannel} to read from. The ownership is transferred to this response.
+     * @param position The position in {@code fileChannel} of the first byte of the payload body.
+     * @param count The number of bytes of the payload body.
+     * @return {@code this}
+     * @see HttpFileRegion
+     */
+    default StreamingHttpResponse payloadBody(FileChannel fileChannel, long position, long count) {
+        final HttpFileRegion fileRegion = new HttpFileRegion(fileChannel, position, count);
+        if (!isTransferEncodingChunked(headers())) {
+            headers().set(CONTENT_LENGTH, Long.toString(count));
+        }
+        return payloadBody(fromIterable(fileRegion.toBuffers(DEFAULT_RO_ALLOCATOR)));
+    }
+
     /**
      * Returns a {@link StreamingHttpResponse} with its underlying payload transformed to the result of serialization.
      * @param transformer A {@link Function} which take as a parameter the existing payload body {@link Publisher} and
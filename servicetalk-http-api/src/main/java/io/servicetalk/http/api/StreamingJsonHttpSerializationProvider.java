@@ -0,0 +1,75 @@
+/*
+ * Copyright © 2019 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.http.api;
+
+import io.servicetalk.serialization.api.TypeHolder;
+
+import java.util.function.IntUnaryOperator;
+
+/**
+ * An {@link HttpSerializationProvider} which streams values as the elements of a single JSON array, or as
+ * <a href="http://ndjson.org">newline delimited JSON</a>.
+ */
+final class StreamingJsonHttpSerializationProvider implements HttpSerializationProvider {
+
+    private final HttpSerializationProvider delegate;
+    private final boolean arrayFraming;
+
+    /**
+     * Create a new instance.
+     *
+     * @param delegate {@link HttpSerializationProvider} which serializes and deserializes whitespace separated JSON
+     * documents.
+     * @param arrayFraming {@code true} to frame values as a JSON array, {@code false} for newline delimited JSON.
+     */
+    StreamingJsonHttpSerializationProvider(final HttpSerializationProvider delegate, final boolean arrayFraming) {
+        this.delegate = delegate;
+        this.arrayFraming = arrayFraming;
+    }
+
+    @Override
+    public <T> HttpSerializer<T> serializerFor(final Class<T> type) {
+        return new StreamingJsonHttpSerializer<>(delegate.serializerFor(type), arrayFraming);
+    }
+
+    @Override
+    public <T> HttpSerializer<T> serializerFor(final Class<T> type, final IntUnaryOperator bytesEstimator) {
+        return new StreamingJsonHttpSerializer<>(delegate.serializerFor(type, bytesEstimator), arrayFraming);
+    }
+
+    @Override
+    public <T> HttpSerializer<T> serializerFor(final TypeHolder<T> type) {
+        return new StreamingJsonHttpSerializer<>(delegate.serializerFor(type), arrayFraming);
+    }
+
+    @Override
+    public <T> HttpSerializer<T> serializerFor(final TypeHolder<T> type, final IntUnaryOperator bytesEstimator) {
+        return new StreamingJsonHttpSerializer<>(delegate.serializerFor(type, bytesEstimator), arrayFraming);
+    }
+
+    @Override
+    public <T> HttpDeserializer<T> deserializerFor(final Class<T> type) {
+        // Newline delimited values are whitespace separated JSON documents, which the delegate already supports.
+        return arrayFraming ? new JsonArrayHttpDeserializer<>(delegate.deserializerFor(type)) :
+                delegate.deserializerFor(type);
+    }
+
+    @Override
+    public <T> HttpDeserializer<T> deserializerFor(final TypeHolder<T> type) {
+        return arrayFraming ? new JsonArrayHttpDeserializer<>(delegate.deserializerFor(type)) :
+                delegate.deserializerFor(type);
+    }
+}
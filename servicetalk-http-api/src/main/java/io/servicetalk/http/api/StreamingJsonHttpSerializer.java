@@ -0,0 +1,296 @@
+/*
+ * Copyright © 2019 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.http.api;
+
+import io.servicetalk.buffer.api.Buffer;
+import io.servicetalk.buffer.api.BufferAllocator;
+import io.servicetalk.concurrent.BlockingIterable;
+import io.servicetalk.concurrent.BlockingIterator;
+import io.servicetalk.concurrent.api.Publisher;
+
+import java.io.IOException;
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import javax.annotation.Nullable;
+
+import static io.servicetalk.buffer.api.ReadOnlyBufferAllocators.DEFAULT_RO_ALLOCATOR;
+import static io.servicetalk.concurrent.api.Publisher.defer;
+import static io.servicetalk.concurrent.api.Publisher.from;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+
+/**
+ * An {@link HttpSerializer} which frames each serialized JSON value, either as an element of a single JSON array, or
+ * as a line of <a href="http://ndjson.org">newline delimited JSON</a>. Values are framed as they are serialized, so
+ * streams of any size are written without aggregation.
+ *
+ * @param <T> Type to serialize
+ */
+final class StreamingJsonHttpSerializer<T> implements HttpSerializer<T> {
+    private static final byte[] ARRAY_START = {'['};
+    private static final byte[] ARRAY_END = {']'};
+    private static final byte[] ARRAY_SEPARATOR = {','};
+    private static final byte NEWLINE = '\n';
+
+    private final HttpSerializer<T> delegate;
+    private final boolean arrayFraming;
+
+    StreamingJsonHttpSerializer(final HttpSerializer<T> delegate, final boolean arrayFraming) {
+        this.delegate = delegate;
+        this.arrayFraming = arrayFraming;
+    }
+
+    @Override
+    public Buffer serialize(final HttpHeaders headers, final T value, final BufferAllocator allocator) {
+        final Buffer serialized = delegate.serialize(headers, value, allocator);
+        if (!arrayFraming) {
+            return serialized.writeByte(NEWLINE);
+        }
+        return allocator.newBuffer(serialized.readableBytes() + 2)
+                .writeBytes(ARRAY_START).writeBytes(serialized).writeBytes(ARRAY_END);
+    }
+
+    @Override
+    public BlockingIterable<Buffer> serialize(final HttpHeaders headers, final BlockingIterable<T> value,
+                                              final BufferAllocator allocator) {
+        final BlockingIterable<Buffer> serialized = delegate.serialize(headers, value, allocator);
+        if (!arrayFraming) {
+            return () -> new NewlineDelimitedBlockingIterator(serialized.iterator());
+        }
+        return () -> new JsonArrayBlockingIterator(serialized.iterator());
+    }
+
+    @Override
+    public Publisher<Buffer> serialize(final HttpHeaders headers, final Publisher<T> value,
+                                       final BufferAllocator allocator) {
+        final Publisher<Buffer> serialized = delegate.serialize(headers, value, allocator);
+        if (!arrayFraming) {
+            return serialized.map(buffer -> buffer.writeByte(NEWLINE));
+        }
+        return defer(() -> {
+            // State is per subscribe, so each subscriber gets a complete array.
+            final JsonArrayFramer framer = new JsonArrayFramer();
+            return from(newReadOnlyBuffer(ARRAY_START))
+                    .concat(serialized.flatMapConcatIterable(framer::frame))
+                    .concat(defer(() -> from(newReadOnlyBuffer(ARRAY_END))));
+        });
+    }
+
+    @Override
+    public HttpPayloadWriter<T> serialize(final HttpHeaders headers, final HttpPayloadWriter<Buffer> payloadWriter,
+                                          final BufferAllocator allocator) {
+        return delegate.serialize(headers, arrayFraming ? new JsonArrayPayloadWriter(payloadWriter) :
+                new NewlineDelimitedPayloadWriter(payloadWriter), allocator);
+    }
+
+    private static Buffer newReadOnlyBuffer(final byte[] bytes) {
+        // A new wrapper is required for each use because consumers may modify the reader index.
+        return DEFAULT_RO_ALLOCATOR.wrap(bytes);
+    }
+
+    private static final class JsonArrayFramer {
+        private boolean first = true;
+
+        Iterable<Buffer> frame(final Buffer element) {
+            if (first) {
+                first = false;
+                return singletonList(element);
+            }
+            return asList(newReadOnlyBuffer(ARRAY_SEPARATOR), element);
+        }
+    }
+
+    private static final class NewlineDelimitedBlockingIterator implements BlockingIterator<Buffer> {
+        private final BlockingIterator<Buffer> iterator;
+
+        NewlineDelimitedBlockingIterator(final BlockingIterator<Buffer> iterator) {
+            this.iterator = iterator;
+        }
+
+        @Override
+        public boolean hasNext(final long timeout, final TimeUnit unit) throws TimeoutException {
+            return iterator.hasNext(timeout, unit);
+        }
+
+        @Override
+        public Buffer next(final long timeout, final TimeUnit unit) throws TimeoutException {
+            return iterator.next(timeout, unit).writeByte(NEWLINE);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return iterator.hasNext();
+        }
+
+        @Override
+        public Buffer next() {
+            return iterator.next().writeByte(NEWLINE);
+        }
+
+        @Override
+        public void close() throws Exception {
+            iterator.close();
+        }
+    }
+
+    private static final class JsonArrayBlockingIterator implements BlockingIterator<Buffer> {
+        private final BlockingIterator<Buffer> iterator;
+        @Nullable
+        private Buffer nextElement;
+        private boolean started;
+        private boolean first = true;
+        private boolean ended;
+
+        JsonArrayBlockingIterator(final BlockingIterator<Buffer> iterator) {
+            this.iterator = iterator;
+        }
+
+        @Override
+        public boolean hasNext(final long timeout, final TimeUnit unit) {
+            // The closing bracket is always pending until it is returned.
+            return !ended;
+        }
+
+        @Override
+        public Buffer next(final long timeout, final TimeUnit unit) throws TimeoutException {
+            final Buffer next = nextFramingOrElement();
+            if (next != null) {
+                return next;
+            }
+            return iterator.hasNext(timeout, unit) ? frame(iterator.next(timeout, unit)) : end();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !ended;
+        }
+
+        @Override
+        public Buffer next() {
+            final Buffer next = nextFramingOrElement();
+            if (next != null) {
+                return next;
+            }
+            return iterator.hasNext() ? frame(iterator.next()) : end();
+        }
+
+        @Override
+        public void close() throws Exception {
+            iterator.close();
+        }
+
+        @Nullable
+        private Buffer nextFramingOrElement() {
+            if (ended) {
+                throw new NoSuchElementException();
+            }
+            if (!started) {
+                started = true;
+                return newReadOnlyBuffer(ARRAY_START);
+            }
+            final Buffer element = nextElement;
+            nextElement = null;
+            return element;
+        }
+
+        private Buffer frame(final Buffer element) {
+            if (first) {
+                first = false;
+                return element;
+            }
+            nextElement = element;
+            return newReadOnlyBuffer(ARRAY_SEPARATOR);
+        }
+
+        private Buffer end() {
+            ended = true;
+            return newReadOnlyBuffer(ARRAY_END);
+        }
+    }
+
+    private static final class NewlineDelimitedPayloadWriter implements HttpPayloadWriter<Buffer> {
+        private final HttpPayloadWriter<Buffer> delegate;
+
+        NewlineDelimitedPayloadWriter(final HttpPayloadWriter<Buffer> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(final Buffer buffer) throws IOException {
+            delegate.write(buffer.writeByte(NEWLINE));
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        @Override
+        public HttpHeaders trailers() {
+            return delegate.trailers();
+        }
+    }
+
+    private static final class JsonArrayPayloadWriter implements HttpPayloadWriter<Buffer> {
+        private final HttpPayloadWriter<Buffer> delegate;
+        private boolean started;
+        private boolean closed;
+
+        JsonArrayPayloadWriter(final HttpPayloadWriter<Buffer> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(final Buffer buffer) throws IOException {
+            delegate.write(newReadOnlyBuffer(started ? ARRAY_SEPARATOR : ARRAY_START));
+            started = true;
+            delegate.write(buffer);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                if (!started) {
+                    started = true;
+                    delegate.write(newReadOnlyBuffer(ARRAY_START));
+                }
+                delegate.write(newReadOnlyBuffer(ARRAY_END));
+            } finally {
+                delegate.close();
+            }
+        }
+
+        @Override
+        public HttpHeaders trailers() {
+            return delegate.trailers();
+        }
+    }
+}
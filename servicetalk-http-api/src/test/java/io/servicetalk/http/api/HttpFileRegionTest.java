@@ -0,0 +1,261 @@
+/*
+ * Copyright © 2019 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.http.api;
+
+import io.servicetalk.buffer.api.Buffer;
+import io.servicetalk.concurrent.PublisherSource.Subscriber;
+import io.servicetalk.concurrent.PublisherSource.Subscription;
+import io.servicetalk.concurrent.internal.ServiceTalkTestTimeout;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.rules.Timeout;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.util.Iterator;
+
+import static io.servicetalk.buffer.netty.BufferAllocators.DEFAULT_ALLOCATOR;
+import static io.servicetalk.concurrent.api.SourceAdapters.toSource;
+import static io.servicetalk.http.api.HttpHeaderNames.CONTENT_LENGTH;
+import static io.servicetalk.http.api.HttpProtocolVersion.HTTP_1_1;
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.nio.file.StandardOpenOption.READ;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class HttpFileRegionTest {
+
+    @Rule
+    public final Timeout timeout = new ServiceTalkTestTimeout();
+    @Rule
+    public final TemporaryFolder tmp = new TemporaryFolder();
+
+    private static final StreamingHttpRequestResponseFactory reqRespFactory =
+            new DefaultStreamingHttpRequestResponseFactory(DEFAULT_ALLOCATOR, DefaultHttpHeadersFactory.INSTANCE,
+                    HTTP_1_1);
+
+    private String content;
+    private FileChannel fileChannel;
+
+    @Before
+    public void setUp() throws Exception {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; sb.length() < 40_000; i++) {
+            sb.append(i).append(',');
+        }
+        content = sb.toString();
+        File file = tmp.newFile();
+        Files.write(file.toPath(), content.getBytes(US_ASCII));
+        fileChannel = FileChannel.open(file.toPath(), READ);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        fileChannel.close();
+    }
+
+    @Test
+    public void toBuffersReadsRegionAndCloses() {
+        HttpFileRegion region = new HttpFileRegion(fileChannel, 10, content.length() - 20);
+        assertThat(readAll(region.toBuffers(DEFAULT_ALLOCATOR)), is(content.substring(10, content.length() - 10)));
+        assertThat("FileChannel not closed.", fileChannel.isOpen(), is(false));
+    }
+
+    @Test
+    public void closingIteratorClosesFileChannel() throws Exception {
+        Iterator<Buffer> iterator = new HttpFileRegion(fileChannel, 0, content.length())
+                .toBuffers(DEFAULT_ALLOCATOR).iterator();
+        iterator.next();
+        ((AutoCloseable) iterator).close();
+        assertThat("FileChannel not closed.", fileChannel.isOpen(), is(false));
+        assertThat(iterator.hasNext(), is(false));
+    }
+
+    @Test
+    public void emptyRegionClosesFileChannel() {
+        assertThat(readAll(new HttpFileRegion(fileChannel, 0, 0).toBuffers(DEFAULT_ALLOCATOR)), is(""));
+        assertThat("FileChannel not closed.", fileChannel.isOpen(), is(false));
+    }
+
+    @Test
+    public void closeFailureAfterLastChunkIsNotThrown() {
+        CloseFailingFileChannel channel = new CloseFailingFileChannel(fileChannel);
+        HttpFileRegion region = new HttpFileRegion(channel, 0, content.length());
+        assertThat(readAll(region.toBuffers(DEFAULT_ALLOCATOR)), is(content));
+        assertThat("FileChannel not closed.", channel.isOpen(), is(false));
+    }
+
+    @Test
+    public void closeFailureOfEmptyRegionIsNotThrown() {
+        CloseFailingFileChannel channel = new CloseFailingFileChannel(fileChannel);
+        assertThat(readAll(new HttpFileRegion(channel, 0, 0).toBuffers(DEFAULT_ALLOCATOR)), is(""));
+        assertThat("FileChannel not closed.", channel.isOpen(), is(false));
+    }
+
+    @Test
+    public void responsePayloadBodyReadsRegion() throws Exception {
+        StreamingHttpResponse response = reqRespFactory.ok().payloadBody(fileChannel, 0, content.length());
+        assertThat(response.headers().get(CONTENT_LENGTH), is(Integer.toString(content.length())));
+        assertThat(response.payloadBody().collect(StringBuilder::new, (sb, buffer) -> sb.append(
+                buffer.toString(US_ASCII))).toFuture().get().toString(), is(content));
+    }
+
+    @Test
+    public void cancelledResponsePayloadBodyClosesFileChannel() {
+        StreamingHttpResponse response = reqRespFactory.ok().payloadBody(fileChannel, 0, content.length());
+        toSource(response.payloadBody()).subscribe(new Subscriber<Buffer>() {
+            @Override
+            public void onSubscribe(final Subscription subscription) {
+                subscription.cancel();
+            }
+
+            @Override
+            public void onNext(final Buffer buffer) {
+            }
+
+            @Override
+            public void onError(final Throwable t) {
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+        assertThat("FileChannel not closed.", fileChannel.isOpen(), is(false));
+    }
+
+    @Test
+    public void responseAggregationReadsRegion() throws Exception {
+        HttpResponse response = reqRespFactory.ok().payloadBody(fileChannel, 5, 100).toResponse().toFuture().get();
+        assertThat(response.payloadBody().toString(US_ASCII), is(content.substring(5, 105)));
+    }
+
+    private static String readAll(Iterable<Buffer> buffers) {
+        StringBuilder sb = new StringBuilder();
+        for (Buffer buffer : buffers) {
+            sb.append(buffer.toString(US_ASCII));
+        }
+        return sb.toString();
+    }
+
+    private static final class CloseFailingFileChannel extends FileChannel {
+        private final FileChannel delegate;
+
+        CloseFailingFileChannel(final FileChannel delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public int read(final ByteBuffer dst) throws IOException {
+            return delegate.read(dst);
+        }
+
+        @Override
+        public long read(final ByteBuffer[] dsts, final int offset, final int length) throws IOException {
+            return delegate.read(dsts, offset, length);
+        }
+
+        @Override
+        public int read(final ByteBuffer dst, final long position) throws IOException {
+            return delegate.read(dst, position);
+        }
+
+        @Override
+        public int write(final ByteBuffer src) throws IOException {
+            return delegate.write(src);
+        }
+
+        @Override
+        public long write(final ByteBuffer[] srcs, final int offset, final int length) throws IOException {
+            return delegate.write(srcs, offset, length);
+        }
+
+        @Override
+        public int write(final ByteBuffer src, final long position) throws IOException {
+            return delegate.write(src, position);
+        }
+
+        @Override
+        public long position() throws IOException {
+            return delegate.position();
+        }
+
+        @Override
+        public FileChannel position(final long newPosition) throws IOException {
+            delegate.position(newPosition);
+            return this;
+        }
+
+        @Override
+        public long size() throws IOException {
+            return delegate.size();
+        }
+
+        @Override
+        public FileChannel truncate(final long size) throws IOException {
+            delegate.truncate(size);
+            return this;
+        }
+
+        @Override
+        public void force(final boolean metaData) throws IOException {
+            delegate.force(metaData);
+        }
+
+        @Override
+        public long transferTo(final long position, final long count, final WritableByteChannel target)
+                throws IOException {
+            return delegate.transferTo(position, count, target);
+        }
+
+        @Override
+        public long transferFrom(final ReadableByteChannel src, final long position, final long count)
+                throws IOException {
+            return delegate.transferFrom(src, position, count);
+        }
+
+        @Override
+        public MappedByteBuffer map(final MapMode mode, final long position, final long size) throws IOException {
+            return delegate.map(mode, position, size);
+        }
+
+        @Override
+        public FileLock lock(final long position, final long size, final boolean shared) throws IOException {
+            return delegate.lock(position, size, shared);
+        }
+
+        @Override
+        public FileLock tryLock(final long position, final long size, final boolean shared) throws IOException {
+            return delegate.tryLock(position, size, shared);
+        }
+
+        @Override
+        protected void implCloseChannel() throws IOException {
+            throw new IOException("Close failure, the delegate is closed by the test");
+        }
+    }
+}
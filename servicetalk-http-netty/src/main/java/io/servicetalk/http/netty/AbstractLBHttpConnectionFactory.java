@@ -102,7 +102,9 @@ abstract class AbstractLBHttpConnectionFactory<ResolvedAddress>
                     }
                     return new LoadBalancedStreamingHttpConnection(protocolBinding.apply(filteredConnection),
                             newConcurrencyController(filteredConnection, onClosing),
-                            executionContext.executionStrategy(), strategyInfluencer);
+                            executionContext.executionStrategy(), strategyInfluencer,
+                            // HTTP/2 connections multiplex streams, this also covers h2 negotiated via ALPN.
+                            ctx instanceof H2ParentConnectionContext);
                 });
     }
 
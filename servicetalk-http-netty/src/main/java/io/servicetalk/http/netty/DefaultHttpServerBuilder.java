@@ -53,6 +53,12 @@ final class DefaultHttpServerBuilder extends HttpServerBuilder {
         return this;
     }
 
+    @Override
+    public HttpServerBuilder listenSockets(final int listenSockets) {
+        config.tcpConfig().listenSockets(listenSockets);
+        return this;
+    }
+
     @Override
     public HttpServerSecurityConfigurator secure() {
         return new DefaultHttpServerSecurityConfigurator(securityConfig -> {
@@ -42,6 +42,20 @@ public interface H1ProtocolConfig extends HttpProtocolConfig {
      */
     int maxPipelinedRequests();
 
+    /**
+     * Maximum number of pipelined HTTP requests a server processes concurrently on a single connection.
+     * <p>
+     * {@code 1} means requests are processed sequentially, the next request is only read after the response for the
+     * previous request has been written. Higher values read requests ahead and dispatch them to the service while
+     * earlier responses are still being processed. Responses are always written in request order, so responses which
+     * complete out of order are buffered in memory until all previous responses have been written.
+     * <p>
+     * <b>Note:</b> this setting only applies to servers.
+     *
+     * @return maximum number of pipelined HTTP requests a server processes concurrently on a single connection
+     */
+    int maxConcurrentPipelinedRequests();
+
     /**
      * Maximum length of the HTTP <a href="https://tools.ietf.org/html/rfc7230#section-3.1">start line</a> for an HTTP
      * message.
@@ -87,4 +101,15 @@ public interface H1ProtocolConfig extends HttpProtocolConfig {
      * <a href="https://tools.ietf.org/html/rfc7230#section-4.1.2trailers">trailer fields</a>
      */
     int trailersEncodedSizeEstimate();
+
+    /**
+     * Determines if well-known <a href="https://tools.ietf.org/html/rfc7230#section-3.2">header field</a> names are
+     * mapped to shared {@link io.servicetalk.http.api.HttpHeaderNames} constants while decoding.
+     * <p>
+     * Interned names don't allocate and have a precomputed hash code, but are always lower case regardless of the
+     * case used on the wire.
+     *
+     * @return {@code true} if well-known header field names are interned while decoding
+     */
+    boolean internKnownHeaderNames();
 }
@@ -30,11 +30,13 @@ import static java.util.Objects.requireNonNull;
 public final class H1ProtocolConfigBuilder {
 
     private int maxPipelinedRequests = 1;
+    private int maxConcurrentPipelinedRequests = 1;
     private int maxStartLineLength = 4096;
     private int maxHeaderFieldLength = 8192;
     private HttpHeadersFactory headersFactory = DefaultHttpHeadersFactory.INSTANCE;
     private int headersEncodedSizeEstimate = 256;
     private int trailersEncodedSizeEstimate = 256;
+    private boolean internKnownHeaderNames;
 
     H1ProtocolConfigBuilder() {
     }
@@ -67,6 +69,29 @@ public final class H1ProtocolConfigBuilder {
         return this;
     }
 
+    /**
+     * Sets the maximum number of pipelined HTTP requests a server processes concurrently on a single connection.
+     * <p>
+     * {@code 1} means requests are processed sequentially. Higher values dispatch pipelined requests to the service
+     * concurrently, responses are still written in request order and responses which complete out of order are
+     * buffered in memory, up to a limit per response, until all previous responses have been written. The response at
+     * the head of the line is always streamed.
+     * <p>
+     * <b>Note:</b> this setting only applies to servers.
+     *
+     * @param maxConcurrentPipelinedRequests maximum number of pipelined requests to process concurrently, must be
+     * {@code > 0}
+     * @return {@code this}
+     */
+    public H1ProtocolConfigBuilder maxConcurrentPipelinedRequests(final int maxConcurrentPipelinedRequests) {
+        if (maxConcurrentPipelinedRequests <= 0) {
+            throw new IllegalArgumentException("maxConcurrentPipelinedRequests: " + maxConcurrentPipelinedRequests +
+                    " (expected > 0)");
+        }
+        this.maxConcurrentPipelinedRequests = maxConcurrentPipelinedRequests;
+        return this;
+    }
+
     /**
      * Sets the maximum length of the HTTP <a href="https://tools.ietf.org/html/rfc7230#section-3.1">start line</a> for
      * an HTTP message.
@@ -130,34 +155,55 @@ public final class H1ProtocolConfigBuilder {
         return this;
     }
 
+    /**
+     * Sets if well-known <a href="https://tools.ietf.org/html/rfc7230#section-3.2">header field</a> names should be
+     * mapped to shared {@link io.servicetalk.http.api.HttpHeaderNames} constants while decoding.
+     * <p>
+     * Interned names don't allocate and have a precomputed hash code, but are always lower case regardless of the
+     * case used on the wire.
+     *
+     * @param internKnownHeaderNames {@code true} to intern well-known header field names while decoding
+     * @return {@code this}
+     */
+    public H1ProtocolConfigBuilder internKnownHeaderNames(final boolean internKnownHeaderNames) {
+        this.internKnownHeaderNames = internKnownHeaderNames;
+        return this;
+    }
+
     /**
      * Builds {@link H1ProtocolConfig}.
      *
      * @return a new {@link H1ProtocolConfig}
      */
     public H1ProtocolConfig build() {
-        return new DefaultH1ProtocolConfig(headersFactory, maxPipelinedRequests, maxStartLineLength,
-                maxHeaderFieldLength, headersEncodedSizeEstimate, trailersEncodedSizeEstimate);
+        return new DefaultH1ProtocolConfig(headersFactory, maxPipelinedRequests, maxConcurrentPipelinedRequests,
+                maxStartLineLength, maxHeaderFieldLength, headersEncodedSizeEstimate, trailersEncodedSizeEstimate,
+                internKnownHeaderNames);
     }
 
     private static final class DefaultH1ProtocolConfig implements H1ProtocolConfig {
 
         private final HttpHeadersFactory headersFactory;
         private final int maxPipelinedRequests;
+        private final int maxConcurrentPipelinedRequests;
         private final int maxStartLineLength;
         private final int maxHeaderFieldLength;
         private final int headersEncodedSizeEstimate;
         private final int trailersEncodedSizeEstimate;
+        private final boolean internKnownHeaderNames;
 
         DefaultH1ProtocolConfig(final HttpHeadersFactory headersFactory, final int maxPipelinedRequests,
-                                final int maxStartLineLength, final int maxHeaderFieldLength,
-                                final int headersEncodedSizeEstimate, final int trailersEncodedSizeEstimate) {
+                                final int maxConcurrentPipelinedRequests, final int maxStartLineLength,
+                                final int maxHeaderFieldLength, final int headersEncodedSizeEstimate,
+                                final int trailersEncodedSizeEstimate, final boolean internKnownHeaderNames) {
             this.headersFactory = headersFactory;
             this.maxPipelinedRequests = maxPipelinedRequests;
+            this.maxConcurrentPipelinedRequests = maxConcurrentPipelinedRequests;
             this.maxStartLineLength = maxStartLineLength;
             this.maxHeaderFieldLength = maxHeaderFieldLength;
             this.headersEncodedSizeEstimate = headersEncodedSizeEstimate;
             this.trailersEncodedSizeEstimate = trailersEncodedSizeEstimate;
+            this.internKnownHeaderNames = internKnownHeaderNames;
         }
 
         @Override
@@ -170,6 +216,11 @@ public final class H1ProtocolConfigBuilder {
             return maxPipelinedRequests;
         }
 
+        @Override
+        public int maxConcurrentPipelinedRequests() {
+            return maxConcurrentPipelinedRequests;
+        }
+
         @Override
         public int maxStartLineLength() {
             return maxStartLineLength;
@@ -189,5 +240,10 @@ public final class H1ProtocolConfigBuilder {
         public int trailersEncodedSizeEstimate() {
             return trailersEncodedSizeEstimate;
         }
+
+        @Override
+        public boolean internKnownHeaderNames() {
+            return internKnownHeaderNames;
+        }
     }
 }
@@ -58,8 +58,11 @@ final class H2ClientParentChannelInitializer implements ChannelInitializer {
 
         // TODO(scott): more configuration. header validation, settings stream, etc...
 
-        channel.pipeline().addLast(multiplexCodecBuilder.build(),
-                new Http2MultiplexHandler(H2PushStreamHandler.INSTANCE));
+        channel.pipeline().addLast(multiplexCodecBuilder.build());
+        if (config.maxFlowControlWindowSize() > 0) {
+            channel.pipeline().addLast(new H2FlowControlWindowAutoTuner(config.maxFlowControlWindowSize()));
+        }
+        channel.pipeline().addLast(new Http2MultiplexHandler(H2PushStreamHandler.INSTANCE));
     }
 
     @ChannelHandler.Sharable
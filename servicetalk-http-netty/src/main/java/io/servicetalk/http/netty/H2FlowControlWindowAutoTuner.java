@@ -0,0 +1,138 @@
+/*
+ * Copyright © 2019 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.http.netty;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.handler.codec.http2.DefaultHttp2PingFrame;
+import io.netty.handler.codec.http2.DefaultHttp2SettingsFrame;
+import io.netty.handler.codec.http2.DefaultHttp2WindowUpdateFrame;
+import io.netty.handler.codec.http2.Http2DataFrame;
+import io.netty.handler.codec.http2.Http2PingFrame;
+import io.netty.handler.codec.http2.Http2Settings;
+
+import static io.netty.handler.codec.http2.Http2CodecUtil.DEFAULT_WINDOW_SIZE;
+import static java.lang.Math.min;
+import static java.lang.System.nanoTime;
+
+/**
+ * Grows the HTTP/2 connection and stream flow-control windows based on an estimate of the bandwidth-delay product.
+ * <p>
+ * When DATA is received and no measurement is in progress a PING is sent, and all DATA received until the PING ACK
+ * arrives is counted. The PING round trip approximates the RTT, so the count approximates how much data the peer can
+ * have in flight. If the count gets close to the current window and the observed bandwidth is the highest seen so far,
+ * the peer is likely limited by flow-control and the windows are grown to twice the count, up to a maximum.
+ * <p>
+ * This handler must be placed between the {@link io.netty.handler.codec.http2.Http2FrameCodec} and the
+ * {@link io.netty.handler.codec.http2.Http2MultiplexHandler} so it observes DATA frames of all streams.
+ */
+final class H2FlowControlWindowAutoTuner extends ChannelInboundHandlerAdapter {
+    /**
+     * Opaque data of PING frames sent by this handler, ACKs with this content are not propagated.
+     */
+    static final long BDP_PING_CONTENT = 0x5354_4244_5050_494EL;
+    /**
+     * Number of RTT samples which are averaged before switching to an exponentially weighted moving average.
+     */
+    private static final int RTT_AVERAGE_SAMPLES = 10;
+    /**
+     * Weight of a new RTT sample in the exponentially weighted moving average.
+     */
+    private static final double RTT_SAMPLE_WEIGHT = 0.9;
+    /**
+     * Fraction of the current window a sample must reach for the window to be grown.
+     */
+    private static final double WINDOW_UTILIZATION_THRESHOLD = 0.66;
+
+    private final int maxWindowSize;
+    private int windowSize = DEFAULT_WINDOW_SIZE;
+    private boolean pingInProgress;
+    private long pingSentNanos;
+    private long sampleBytes;
+    private int rttSamples;
+    private double rttNanos;
+    private double maxBandwidth;
+
+    H2FlowControlWindowAutoTuner(final int maxWindowSize) {
+        this.maxWindowSize = maxWindowSize;
+    }
+
+    @Override
+    public void channelRead(final ChannelHandlerContext ctx, final Object msg) {
+        if (msg instanceof Http2DataFrame) {
+            dataRead(ctx, ((Http2DataFrame) msg).initialFlowControlledBytes());
+        } else if (msg instanceof Http2PingFrame) {
+            final Http2PingFrame ping = (Http2PingFrame) msg;
+            if (ping.ack() && ping.content() == BDP_PING_CONTENT) {
+                pingAckRead(ctx);
+                return;
+            }
+        }
+        ctx.fireChannelRead(msg);
+    }
+
+    private void dataRead(final ChannelHandlerContext ctx, final int bytes) {
+        if (windowSize >= maxWindowSize) {
+            return;
+        }
+        if (pingInProgress) {
+            sampleBytes += bytes;
+            return;
+        }
+        pingInProgress = true;
+        sampleBytes = bytes;
+        pingSentNanos = nanoTime();
+        ctx.writeAndFlush(new DefaultHttp2PingFrame(BDP_PING_CONTENT));
+    }
+
+    private void pingAckRead(final ChannelHandlerContext ctx) {
+        if (!pingInProgress) {
+            return;
+        }
+        pingInProgress = false;
+        final long rttSample = nanoTime() - pingSentNanos;
+        if (rttSamples < RTT_AVERAGE_SAMPLES) {
+            rttNanos += (rttSample - rttNanos) / ++rttSamples;
+        } else {
+            rttNanos += (rttSample - rttNanos) * RTT_SAMPLE_WEIGHT;
+        }
+        if (rttNanos <= 0) {
+            return;
+        }
+        // The sample includes data sent while the PING was in flight and data sent in response to WINDOW_UPDATE, so
+        // the bandwidth is computed over a bit more than one RTT to avoid overestimating.
+        final double bandwidth = sampleBytes / (rttNanos * 1.5);
+        if (bandwidth < maxBandwidth) {
+            return;
+        }
+        maxBandwidth = bandwidth;
+        if (sampleBytes >= windowSize * WINDOW_UTILIZATION_THRESHOLD) {
+            final int newWindowSize = (int) min(maxWindowSize, sampleBytes * 2);
+            if (newWindowSize > windowSize) {
+                growWindows(ctx, newWindowSize);
+            }
+        }
+    }
+
+    private void growWindows(final ChannelHandlerContext ctx, final int newWindowSize) {
+        final int delta = newWindowSize - windowSize;
+        windowSize = newWindowSize;
+        // A WINDOW_UPDATE frame without a stream increments the connection window.
+        ctx.write(new DefaultHttp2WindowUpdateFrame(delta));
+        // Stream windows (including active streams) are updated once the peer acknowledges the new settings.
+        ctx.writeAndFlush(new DefaultHttp2SettingsFrame(new Http2Settings().initialWindowSize(newWindowSize)));
+    }
+}
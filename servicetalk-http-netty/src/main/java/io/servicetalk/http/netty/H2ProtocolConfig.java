@@ -53,4 +53,18 @@ public interface H2ProtocolConfig extends HttpProtocolConfig {
      */
     @Nullable
     String frameLoggerName();
+
+    /**
+     * Maximum size the connection and stream
+     * <a href="https://tools.ietf.org/html/rfc7540#section-5.2">flow-control windows</a> are grown to by automatic
+     * window tuning.
+     * <p>
+     * When enabled, the round trip time is periodically measured using PING frames and the windows are grown when the
+     * amount of data received during a round trip (the bandwidth-delay product) approaches the current window, so
+     * that peers on high-latency links don't stall waiting for WINDOW_UPDATE frames.
+     *
+     * @return maximum size of the flow-control windows for automatic window tuning, or {@code 0} if automatic window
+     * tuning is disabled
+     */
+    int maxFlowControlWindowSize();
 }
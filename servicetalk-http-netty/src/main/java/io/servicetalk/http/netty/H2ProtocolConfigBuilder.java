@@ -23,6 +23,7 @@ import org.slf4j.event.Level;
 import java.util.function.BiPredicate;
 import javax.annotation.Nullable;
 
+import static io.netty.handler.codec.http2.Http2CodecUtil.DEFAULT_WINDOW_SIZE;
 import static io.servicetalk.http.netty.H2HeadersFactory.DEFAULT_SENSITIVITY_DETECTOR;
 import static java.util.Objects.requireNonNull;
 
@@ -37,6 +38,7 @@ public final class H2ProtocolConfigBuilder {
     private BiPredicate<CharSequence, CharSequence> headersSensitivityDetector = DEFAULT_SENSITIVITY_DETECTOR;
     @Nullable
     private String frameLoggerName;
+    private int maxFlowControlWindowSize;
 
     H2ProtocolConfigBuilder() {
     }
@@ -81,13 +83,33 @@ public final class H2ProtocolConfigBuilder {
         return this;
     }
 
+    /**
+     * Enables automatic tuning of the connection and stream
+     * <a href="https://tools.ietf.org/html/rfc7540#section-5.2">flow-control windows</a> based on the measured
+     * bandwidth-delay product.
+     * <p>
+     * Windows start at the protocol default and are only ever grown, up to {@code maxWindowSize}.
+     *
+     * @param maxWindowSize the maximum size of the connection and stream flow-control windows
+     * @return {@code this}
+     */
+    public H2ProtocolConfigBuilder enableFlowControlWindowAutoTuning(final int maxWindowSize) {
+        if (maxWindowSize <= DEFAULT_WINDOW_SIZE) {
+            throw new IllegalArgumentException("maxWindowSize: " + maxWindowSize + " (expected >" +
+                    DEFAULT_WINDOW_SIZE + ")");
+        }
+        this.maxFlowControlWindowSize = maxWindowSize;
+        return this;
+    }
+
     /**
      * Builds {@link H2ProtocolConfig}.
      *
      * @return {@link H2ProtocolConfig}
      */
     public H2ProtocolConfig build() {
-        return new DefaultH2ProtocolConfig(headersFactory, headersSensitivityDetector, frameLoggerName);
+        return new DefaultH2ProtocolConfig(headersFactory, headersSensitivityDetector, frameLoggerName,
+                maxFlowControlWindowSize);
     }
 
     private static final class DefaultH2ProtocolConfig implements H2ProtocolConfig {
@@ -96,13 +118,15 @@ public final class H2ProtocolConfigBuilder {
         private final BiPredicate<CharSequence, CharSequence> headersSensitivityDetector;
         @Nullable
         private final String frameLoggerName;
+        private final int maxFlowControlWindowSize;
 
         DefaultH2ProtocolConfig(final HttpHeadersFactory headersFactory,
                                 final BiPredicate<CharSequence, CharSequence> headersSensitivityDetector,
-                                @Nullable final String frameLogger) {
+                                @Nullable final String frameLogger, final int maxFlowControlWindowSize) {
             this.headersFactory = headersFactory;
             this.headersSensitivityDetector = headersSensitivityDetector;
             this.frameLoggerName = frameLogger;
+            this.maxFlowControlWindowSize = maxFlowControlWindowSize;
         }
 
         @Override
@@ -120,5 +144,10 @@ public final class H2ProtocolConfigBuilder {
         public String frameLoggerName() {
             return frameLoggerName;
         }
+
+        @Override
+        public int maxFlowControlWindowSize() {
+            return maxFlowControlWindowSize;
+        }
     }
 }
@@ -55,6 +55,10 @@ final class H2ServerParentChannelInitializer implements ChannelInitializer {
 
         // TODO(scott): more configuration. header validation, settings stream, etc...
 
-        channel.pipeline().addLast(multiplexCodecBuilder.build(), new Http2MultiplexHandler(streamChannelInitializer));
+        channel.pipeline().addLast(multiplexCodecBuilder.build());
+        if (config.maxFlowControlWindowSize() > 0) {
+            channel.pipeline().addLast(new H2FlowControlWindowAutoTuner(config.maxFlowControlWindowSize()));
+        }
+        channel.pipeline().addLast(new Http2MultiplexHandler(streamChannelInitializer));
     }
 }
@@ -47,7 +47,8 @@ final class HttpClientChannelInitializer implements ChannelInitializer {
         Queue<HttpRequestMethod> methodQueue = new ArrayDeque<>(min(8, config.maxPipelinedRequests()));
         final ChannelPipeline pipeline = channel.pipeline();
         pipeline.addLast(new HttpResponseDecoder(methodQueue, config.headersFactory(),
-                config.maxStartLineLength(), config.maxHeaderFieldLength(), closeHandler));
+                config.maxStartLineLength(), config.maxHeaderFieldLength(), closeHandler,
+                config.internKnownHeaderNames()));
         pipeline.addLast(new HttpRequestEncoder(methodQueue,
                 config.headersEncodedSizeEstimate(), config.trailersEncodedSizeEstimate(), closeHandler));
     }
@@ -97,6 +97,7 @@ abstract class HttpObjectDecoder<T extends HttpMetaData> extends ByteToMessageDe
 
     private final HttpHeadersFactory headersFactory;
     private final CloseHandler closeHandler;
+    private final boolean internKnownHeaderNames;
     @Nullable
     private T message;
     @Nullable
@@ -104,6 +105,9 @@ abstract class HttpObjectDecoder<T extends HttpMetaData> extends ByteToMessageDe
     private long chunkSize;
     private int cumulationIndex = -1;
     private long contentLength = Long.MIN_VALUE;
+    @Nullable
+    private ByteBuf headerBlock;
+    private int headerBlockIndex;
 
     /**
      * The internal state of {@link HttpObjectDecoder}.
@@ -127,8 +131,9 @@ abstract class HttpObjectDecoder<T extends HttpMetaData> extends ByteToMessageDe
      * Creates a new instance with the specified parameters.
      */
     protected HttpObjectDecoder(HttpHeadersFactory headersFactory, int maxStartLineLength, int maxHeaderFieldLength,
-                                final CloseHandler closeHandler) {
+                                final CloseHandler closeHandler, final boolean internKnownHeaderNames) {
         this.closeHandler = closeHandler;
+        this.internKnownHeaderNames = internKnownHeaderNames;
         if (maxStartLineLength <= 0) {
             throw new IllegalArgumentException("maxStartLineLength: " + maxStartLineLength + " (expected >0)");
         }
@@ -557,8 +562,11 @@ abstract class HttpObjectDecoder<T extends HttpMetaData> extends ByteToMessageDe
         }
 
         int valueStart = headerEnd + 1;
-        // We assume the allocator will not leak memory, and so we retain + slice to avoid copying data.
-        CharSequence name = newAsciiString(newBufferFrom(buffer.retainedSlice(headerStart, headerEnd - headerStart)));
+        CharSequence name = internKnownHeaderNames ?
+                KnownHeaderNames.find(buffer, headerStart, headerEnd - headerStart) : null;
+        if (name == null) {
+            name = newAsciiString(newBufferFrom(headerSlice(buffer, headerStart, headerEnd - headerStart)));
+        }
         if (buffer.getByte(headerEnd) != COLON_BYTE) {
             valueStart = buffer.forEachByte(headerEnd + 1, nonControlIndex - headerEnd, FIND_COLON) + 1;
             if (valueStart < 0) {
@@ -575,9 +583,8 @@ abstract class HttpObjectDecoder<T extends HttpMetaData> extends ByteToMessageDe
                     FIND_NON_LINEAR_WHITESPACE)) < 0) {
                 headers.add(name, emptyAsciiString());
             } else {
-                // We assume the allocator will not leak memory, and so we retain + slice to avoid copying data.
                 headers.add(name, newAsciiString(newBufferFrom(
-                        buffer.retainedSlice(valueStart, valueEnd - valueStart + 1))));
+                        headerSlice(buffer, valueStart, valueEnd - valueStart + 1))));
             }
         }
         // Consume the header line bytes from the buffer.
@@ -637,7 +644,33 @@ abstract class HttpObjectDecoder<T extends HttpMetaData> extends ByteToMessageDe
         return trailer != null ? trailer : headersFactory.newEmptyTrailers();
     }
 
+    /**
+     * Get a slice of a header name or value which shares the lifetime of the header block being parsed.
+     * <p>
+     * The readable bytes of {@code buffer} are retained once per {@link #parseAllHeaders} call, and each name and value
+     * is an unretained slice of that block. This avoids a reference count increment and a derived buffer per name and
+     * value, and the bytes are only decoded to {@link String} if accessed as such.
+     */
+    private ByteBuf headerSlice(ByteBuf buffer, int index, int length) {
+        ByteBuf block = headerBlock;
+        if (block == null) {
+            // We assume the allocator will not leak memory, and so we retain + slice to avoid copying data.
+            headerBlockIndex = buffer.readerIndex();
+            headerBlock = block = buffer.retainedSlice(headerBlockIndex, buffer.writerIndex() - headerBlockIndex);
+        }
+        return block.slice(index - headerBlockIndex, length);
+    }
+
     private boolean parseAllHeaders(ByteBuf buffer, HttpHeaders headers, int lfIndex, int maxHeaderFieldLength) {
+        try {
+            return parseAllHeaders0(buffer, headers, lfIndex, maxHeaderFieldLength);
+        } finally {
+            // The buffer may be reallocated between decode calls, so the next call retains a new block.
+            headerBlock = null;
+        }
+    }
+
+    private boolean parseAllHeaders0(ByteBuf buffer, HttpHeaders headers, int lfIndex, int maxHeaderFieldLength) {
         for (;;) {
             if (lfIndex - 1 == buffer.readerIndex()) {
                 consumeCRLF(buffer, lfIndex);
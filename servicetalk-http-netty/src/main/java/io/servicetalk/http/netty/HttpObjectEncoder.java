@@ -31,6 +31,7 @@
 package io.servicetalk.http.netty;
 
 import io.servicetalk.buffer.api.Buffer;
+import io.servicetalk.http.api.HttpFileRegion;
 import io.servicetalk.http.api.HttpHeaders;
 import io.servicetalk.http.api.HttpMetaData;
 import io.servicetalk.transport.netty.internal.CloseHandler;
@@ -40,6 +41,7 @@ import io.netty.buffer.ByteBufUtil;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelOutboundHandlerAdapter;
 import io.netty.channel.ChannelPromise;
+import io.netty.channel.DefaultFileRegion;
 import io.netty.util.concurrent.PromiseCombiner;
 
 import java.util.Map;
@@ -184,6 +186,33 @@ abstract class HttpObjectEncoder<T extends HttpMetaData> extends ChannelOutbound
                         throw new Error();
                 }
             }
+        } else if (msg instanceof HttpFileRegion) {
+            final HttpFileRegion fileRegion = (HttpFileRegion) msg;
+            if (fileRegion.count() == 0 || state == ST_CONTENT_ALWAYS_EMPTY) {
+                fileRegion.discard();
+                ctx.write(EMPTY_BUFFER, promise);
+            } else {
+                // DefaultFileRegion closes the FileChannel when it is released after the write.
+                final DefaultFileRegion nettyRegion = new DefaultFileRegion(fileRegion.fileChannel(),
+                        fileRegion.position(), fileRegion.count());
+                switch (state) {
+                    case ST_INIT:
+                        nettyRegion.release();
+                        throw new IllegalStateException("unexpected message type: " + simpleClassName(msg));
+                    case ST_CONTENT_NON_CHUNK:
+                        ctx.write(nettyRegion, promise);
+                        break;
+                    case ST_CONTENT_CHUNK:
+                        PromiseCombiner promiseCombiner = new PromiseCombiner();
+                        promiseCombiner.add(ctx.write(encodeChunkSize(fileRegion.count())));
+                        promiseCombiner.add(ctx.write(nettyRegion));
+                        promiseCombiner.add(ctx.write(CRLF_BUF.duplicate()));
+                        promiseCombiner.finish(promise);
+                        break;
+                    default:
+                        throw new Error();
+                }
+            }
         } else if (msg instanceof HttpHeaders) {
             promise.addListener(f -> {
                 if (f.isSuccess()) {
@@ -254,11 +283,7 @@ abstract class HttpObjectEncoder<T extends HttpMetaData> extends ChannelOutbound
     private static void encodeChunkedContent(ChannelHandlerContext ctx, Buffer msg, long contentLength,
                                              PromiseCombiner promiseCombiner) {
         if (contentLength > 0) {
-            String lengthHex = toHexString(contentLength);
-            ByteBuf buf = POOLED_ALLOCATOR.buffer(lengthHex.length() + 2);
-            buf.writeCharSequence(lengthHex, US_ASCII);
-            writeShortBE(buf, CRLF_SHORT);
-            promiseCombiner.add(ctx.write(buf));
+            promiseCombiner.add(ctx.write(encodeChunkSize(contentLength)));
             promiseCombiner.add(ctx.write(encodeAndRetain(msg)));
             promiseCombiner.add(ctx.write(CRLF_BUF.duplicate()));
         } else {
@@ -269,6 +294,14 @@ abstract class HttpObjectEncoder<T extends HttpMetaData> extends ChannelOutbound
         }
     }
 
+    private static ByteBuf encodeChunkSize(long contentLength) {
+        String lengthHex = toHexString(contentLength);
+        ByteBuf buf = POOLED_ALLOCATOR.buffer(lengthHex.length() + 2);
+        buf.writeCharSequence(lengthHex, US_ASCII);
+        writeShortBE(buf, CRLF_SHORT);
+        return buf;
+    }
+
     private void encodeAndWriteTrailers(ChannelHandlerContext ctx, HttpHeaders headers, ChannelPromise promise) {
         if (headers.isEmpty()) {
             ctx.write(ZERO_CRLF_CRLF_BUF.duplicate(), promise);
@@ -336,7 +369,6 @@ abstract class HttpObjectEncoder<T extends HttpMetaData> extends ChannelOutbound
     private static ByteBuf encodeAndRetain(Buffer msg) {
         // We still want to retain the objects we encode because otherwise folks may hold on to references of objects
         // with a 0 reference count and get an IllegalReferenceCountException.
-        // TODO(scott): add support for file region
         return toByteBuf(msg).retain();
     }
 
@@ -43,7 +43,13 @@ final class HttpRequestDecoder extends HttpObjectDecoder<HttpRequestMetaData> {
 
     HttpRequestDecoder(Queue<HttpRequestMethod> methodQueue, HttpHeadersFactory headersFactory,
                        int maxStartLineLength, int maxHeaderFieldLength, CloseHandler closeHandler) {
-        super(headersFactory, maxStartLineLength, maxHeaderFieldLength, closeHandler);
+        this(methodQueue, headersFactory, maxStartLineLength, maxHeaderFieldLength, closeHandler, false);
+    }
+
+    HttpRequestDecoder(Queue<HttpRequestMethod> methodQueue, HttpHeadersFactory headersFactory,
+                       int maxStartLineLength, int maxHeaderFieldLength, CloseHandler closeHandler,
+                       boolean internKnownHeaderNames) {
+        super(headersFactory, maxStartLineLength, maxHeaderFieldLength, closeHandler, internKnownHeaderNames);
         this.methodQueue = requireNonNull(methodQueue);
     }
 
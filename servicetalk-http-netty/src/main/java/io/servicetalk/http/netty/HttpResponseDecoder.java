@@ -54,7 +54,13 @@ final class HttpResponseDecoder extends HttpObjectDecoder<HttpResponseMetaData>
 
     HttpResponseDecoder(Queue<HttpRequestMethod> methodQueue, HttpHeadersFactory headersFactory,
                         int maxStartLineLength, int maxHeaderFieldLength, final CloseHandler closeHandler) {
-        super(headersFactory, maxStartLineLength, maxHeaderFieldLength, closeHandler);
+        this(methodQueue, headersFactory, maxStartLineLength, maxHeaderFieldLength, closeHandler, false);
+    }
+
+    HttpResponseDecoder(Queue<HttpRequestMethod> methodQueue, HttpHeadersFactory headersFactory,
+                        int maxStartLineLength, int maxHeaderFieldLength, final CloseHandler closeHandler,
+                        boolean internKnownHeaderNames) {
+        super(headersFactory, maxStartLineLength, maxHeaderFieldLength, closeHandler, internKnownHeaderNames);
         this.methodQueue = requireNonNull(methodQueue);
     }
 
@@ -0,0 +1,150 @@
+/*
+ * Copyright © 2019 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.http.netty;
+
+import io.netty.buffer.ByteBuf;
+
+import javax.annotation.Nullable;
+
+import static io.servicetalk.http.api.HttpHeaderNames.ACCEPT;
+import static io.servicetalk.http.api.HttpHeaderNames.ACCEPT_CHARSET;
+import static io.servicetalk.http.api.HttpHeaderNames.ACCEPT_ENCODING;
+import static io.servicetalk.http.api.HttpHeaderNames.ACCEPT_LANGUAGE;
+import static io.servicetalk.http.api.HttpHeaderNames.ACCEPT_RANGES;
+import static io.servicetalk.http.api.HttpHeaderNames.ACCESS_CONTROL_REQUEST_HEADERS;
+import static io.servicetalk.http.api.HttpHeaderNames.ACCESS_CONTROL_REQUEST_METHOD;
+import static io.servicetalk.http.api.HttpHeaderNames.AGE;
+import static io.servicetalk.http.api.HttpHeaderNames.ALLOW;
+import static io.servicetalk.http.api.HttpHeaderNames.AUTHORIZATION;
+import static io.servicetalk.http.api.HttpHeaderNames.CACHE_CONTROL;
+import static io.servicetalk.http.api.HttpHeaderNames.CONNECTION;
+import static io.servicetalk.http.api.HttpHeaderNames.CONTENT_DISPOSITION;
+import static io.servicetalk.http.api.HttpHeaderNames.CONTENT_ENCODING;
+import static io.servicetalk.http.api.HttpHeaderNames.CONTENT_LANGUAGE;
+import static io.servicetalk.http.api.HttpHeaderNames.CONTENT_LENGTH;
+import static io.servicetalk.http.api.HttpHeaderNames.CONTENT_LOCATION;
+import static io.servicetalk.http.api.HttpHeaderNames.CONTENT_RANGE;
+import static io.servicetalk.http.api.HttpHeaderNames.CONTENT_TYPE;
+import static io.servicetalk.http.api.HttpHeaderNames.COOKIE;
+import static io.servicetalk.http.api.HttpHeaderNames.DATE;
+import static io.servicetalk.http.api.HttpHeaderNames.ETAG;
+import static io.servicetalk.http.api.HttpHeaderNames.EXPECT;
+import static io.servicetalk.http.api.HttpHeaderNames.EXPIRES;
+import static io.servicetalk.http.api.HttpHeaderNames.FORWARDED;
+import static io.servicetalk.http.api.HttpHeaderNames.HOST;
+import static io.servicetalk.http.api.HttpHeaderNames.IF_MATCH;
+import static io.servicetalk.http.api.HttpHeaderNames.IF_MODIFIED_SINCE;
+import static io.servicetalk.http.api.HttpHeaderNames.IF_NONE_MATCH;
+import static io.servicetalk.http.api.HttpHeaderNames.IF_RANGE;
+import static io.servicetalk.http.api.HttpHeaderNames.IF_UNMODIFIED_SINCE;
+import static io.servicetalk.http.api.HttpHeaderNames.LAST_MODIFIED;
+import static io.servicetalk.http.api.HttpHeaderNames.LOCATION;
+import static io.servicetalk.http.api.HttpHeaderNames.ORIGIN;
+import static io.servicetalk.http.api.HttpHeaderNames.PRAGMA;
+import static io.servicetalk.http.api.HttpHeaderNames.PROXY_AUTHORIZATION;
+import static io.servicetalk.http.api.HttpHeaderNames.RANGE;
+import static io.servicetalk.http.api.HttpHeaderNames.REFERER;
+import static io.servicetalk.http.api.HttpHeaderNames.SERVER;
+import static io.servicetalk.http.api.HttpHeaderNames.SET_COOKIE;
+import static io.servicetalk.http.api.HttpHeaderNames.TE;
+import static io.servicetalk.http.api.HttpHeaderNames.TRAILER;
+import static io.servicetalk.http.api.HttpHeaderNames.TRANSFER_ENCODING;
+import static io.servicetalk.http.api.HttpHeaderNames.UPGRADE;
+import static io.servicetalk.http.api.HttpHeaderNames.USER_AGENT;
+import static io.servicetalk.http.api.HttpHeaderNames.VARY;
+import static io.servicetalk.http.api.HttpHeaderNames.VIA;
+import static io.servicetalk.http.api.HttpHeaderNames.WWW_AUTHENTICATE;
+import static io.servicetalk.http.api.HttpHeaderNames.X_FORWARDED_FOR;
+import static io.servicetalk.http.api.HttpHeaderNames.X_FORWARDED_HOST;
+import static io.servicetalk.http.api.HttpHeaderNames.X_FORWARDED_PROTO;
+import static io.servicetalk.http.api.HttpHeaderNames.X_REQUESTED_WITH;
+
+/**
+ * Maps header names from the wire to shared {@link io.servicetalk.http.api.HttpHeaderNames} constants, so frequently
+ * seen names don't allocate and their case-insensitive hash code is computed only once.
+ */
+final class KnownHeaderNames {
+    private static final CharSequence[] NAMES = {
+            ACCEPT, ACCEPT_CHARSET, ACCEPT_ENCODING, ACCEPT_LANGUAGE, ACCEPT_RANGES, ACCESS_CONTROL_REQUEST_HEADERS,
+            ACCESS_CONTROL_REQUEST_METHOD, AGE, ALLOW, AUTHORIZATION, CACHE_CONTROL, CONNECTION, CONTENT_DISPOSITION,
+            CONTENT_ENCODING, CONTENT_LANGUAGE, CONTENT_LENGTH, CONTENT_LOCATION, CONTENT_RANGE, CONTENT_TYPE, COOKIE,
+            DATE, ETAG, EXPECT, EXPIRES, FORWARDED, HOST, IF_MATCH, IF_MODIFIED_SINCE, IF_NONE_MATCH, IF_RANGE,
+            IF_UNMODIFIED_SINCE, LAST_MODIFIED, LOCATION, ORIGIN, PRAGMA, PROXY_AUTHORIZATION, RANGE, REFERER, SERVER,
+            SET_COOKIE, TE, TRAILER, TRANSFER_ENCODING, UPGRADE, USER_AGENT, VARY, VIA, WWW_AUTHENTICATE,
+            X_FORWARDED_FOR, X_FORWARDED_HOST, X_FORWARDED_PROTO, X_REQUESTED_WITH
+    };
+    private static final CharSequence[][] NAMES_BY_LENGTH;
+
+    static {
+        int maxLength = 0;
+        for (CharSequence name : NAMES) {
+            maxLength = Math.max(maxLength, name.length());
+            // Pre-compute the cached hash code, so lookups in HttpHeaders don't need to hash the interned names.
+            name.hashCode();
+        }
+        int[] counts = new int[maxLength + 1];
+        for (CharSequence name : NAMES) {
+            ++counts[name.length()];
+        }
+        NAMES_BY_LENGTH = new CharSequence[maxLength + 1][];
+        for (int i = 0; i < counts.length; ++i) {
+            NAMES_BY_LENGTH[i] = new CharSequence[counts[i]];
+            counts[i] = 0;
+        }
+        for (CharSequence name : NAMES) {
+            NAMES_BY_LENGTH[name.length()][counts[name.length()]++] = name;
+        }
+    }
+
+    private KnownHeaderNames() {
+        // no instances
+    }
+
+    /**
+     * Find a well-known header name which matches (ignoring case) the bytes in {@code buffer}.
+     *
+     * @param buffer the {@link ByteBuf} containing the header name.
+     * @param index the index of the first byte of the header name.
+     * @param length the number of bytes in the header name.
+     * @return the shared lower case header name constant, or {@code null} if the name is not well-known.
+     */
+    @Nullable
+    static CharSequence find(final ByteBuf buffer, final int index, final int length) {
+        if (length >= NAMES_BY_LENGTH.length) {
+            return null;
+        }
+        for (CharSequence candidate : NAMES_BY_LENGTH[length]) {
+            if (contentEqualsIgnoreCase(buffer, index, candidate)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    private static boolean contentEqualsIgnoreCase(final ByteBuf buffer, final int index,
+                                                   final CharSequence lowerCaseName) {
+        for (int i = 0; i < lowerCaseName.length(); ++i) {
+            if (toLowerCase(buffer.getByte(index + i)) != lowerCaseName.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int toLowerCase(final byte b) {
+        return b >= 'A' && b <= 'Z' ? b + 32 : b;
+    }
+}
@@ -15,7 +15,11 @@
  */
 package io.servicetalk.http.netty;
 
+import io.servicetalk.client.api.AvailableConcurrencySupplier;
 import io.servicetalk.client.api.LoadBalancer;
+import io.servicetalk.client.api.PendingRequestsSupplier;
+import io.servicetalk.client.api.RequestOutcomeListener;
+import io.servicetalk.client.api.RequestOutcomeReporter;
 import io.servicetalk.client.api.internal.ReservableRequestConcurrencyController;
 import io.servicetalk.concurrent.api.Completable;
 import io.servicetalk.concurrent.api.Publisher;
@@ -36,16 +40,20 @@ import io.servicetalk.http.api.StreamingHttpResponse;
 import io.servicetalk.http.api.StreamingHttpResponseFactory;
 import io.servicetalk.transport.api.ConnectionContext;
 
+import javax.annotation.Nullable;
+
 import static io.servicetalk.http.api.HttpApiConversions.toReservedBlockingConnection;
 import static io.servicetalk.http.api.HttpApiConversions.toReservedBlockingStreamingConnection;
 import static io.servicetalk.http.api.HttpApiConversions.toReservedConnection;
+import static io.servicetalk.http.api.HttpResponseStatus.StatusClass.SERVER_ERROR_5XX;
 import static java.util.Objects.requireNonNull;
 
 /**
  * Makes the wrapped {@link StreamingHttpConnection} aware of the {@link LoadBalancer}.
  */
 final class LoadBalancedStreamingHttpConnection implements FilterableStreamingHttpLoadBalancedConnection,
-                   ReservedStreamingHttpConnection, ReservableRequestConcurrencyController,
+                   ReservedStreamingHttpConnection, ReservableRequestConcurrencyController, PendingRequestsSupplier,
+                   AvailableConcurrencySupplier, RequestOutcomeReporter,
                    // Since we do not have filters for reserved connection, we rely on the original implementation to
                    // be an influencer hence we can try to correctly delegate when possible.
                    // Reserved connection given to the user will use the correct strategy and influencer chain since
@@ -55,15 +63,20 @@ final class LoadBalancedStreamingHttpConnection implements FilterableStreamingHt
     private final FilterableStreamingHttpLoadBalancedConnection filteredConnection;
     private final HttpExecutionStrategy streamingStrategy;
     private final HttpExecutionStrategyInfluencer strategyInfluencer;
+    private final boolean multiplexed;
+    @Nullable
+    private volatile RequestOutcomeListener outcomeListener;
 
     LoadBalancedStreamingHttpConnection(FilterableStreamingHttpLoadBalancedConnection filteredConnection,
                                         ReservableRequestConcurrencyController limiter,
                                         HttpExecutionStrategy streamingStrategy,
-                                        HttpExecutionStrategyInfluencer strategyInfluencer) {
+                                        HttpExecutionStrategyInfluencer strategyInfluencer,
+                                        boolean multiplexed) {
         this.filteredConnection = filteredConnection;
         this.limiter = requireNonNull(limiter);
         this.streamingStrategy = streamingStrategy;
         this.strategyInfluencer = strategyInfluencer;
+        this.multiplexed = multiplexed;
     }
 
     @Override
@@ -81,14 +94,34 @@ final class LoadBalancedStreamingHttpConnection implements FilterableStreamingHt
         limiter.requestFinished();
     }
 
+    @Override
+    public int pendingRequests() {
+        return limiter.pendingRequests();
+    }
+
+    @Override
+    public int availableRequests() {
+        return limiter.availableRequests();
+    }
+
+    @Override
+    public int availableConcurrency() {
+        return multiplexed ? limiter.availableRequests() : -1;
+    }
+
     @Override
     public Completable releaseAsync() {
         return limiter.releaseAsync();
     }
 
+    @Override
+    public void requestOutcomeListener(final RequestOutcomeListener listener) {
+        outcomeListener = requireNonNull(listener);
+    }
+
     @Override
     public Single<StreamingHttpResponse> request(final StreamingHttpRequest request) {
-        return filteredConnection.request(streamingStrategy, request);
+        return reportOutcome(filteredConnection.request(streamingStrategy, request));
     }
 
     @Override
@@ -104,7 +137,21 @@ final class LoadBalancedStreamingHttpConnection implements FilterableStreamingHt
     @Override
     public Single<StreamingHttpResponse> request(final HttpExecutionStrategy strategy,
                                                  final StreamingHttpRequest request) {
-        return filteredConnection.request(strategy, request);
+        return reportOutcome(filteredConnection.request(strategy, request));
+    }
+
+    private Single<StreamingHttpResponse> reportOutcome(final Single<StreamingHttpResponse> response) {
+        final RequestOutcomeListener listener = outcomeListener;
+        if (listener == null) {
+            return response;
+        }
+        return response.beforeOnSuccess(resp -> {
+            if (SERVER_ERROR_5XX.contains(resp.status())) {
+                listener.onRequestFailed();
+            } else {
+                listener.onRequestSucceeded();
+            }
+        }).beforeOnError(__ -> listener.onRequestFailed());
     }
 
     @Override
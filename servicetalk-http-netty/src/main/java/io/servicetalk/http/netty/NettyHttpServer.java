@@ -15,11 +15,13 @@
  */
 package io.servicetalk.http.netty;
 
+import io.servicetalk.buffer.api.Buffer;
 import io.servicetalk.concurrent.Cancellable;
 import io.servicetalk.concurrent.CompletableSource;
 import io.servicetalk.concurrent.CompletableSource.Processor;
 import io.servicetalk.concurrent.PublisherSource.Subscriber;
 import io.servicetalk.concurrent.PublisherSource.Subscription;
+import io.servicetalk.concurrent.SingleSource;
 import io.servicetalk.concurrent.api.Completable;
 import io.servicetalk.concurrent.api.Executor;
 import io.servicetalk.concurrent.api.ListenableAsyncCloseable;
@@ -27,6 +29,7 @@ import io.servicetalk.concurrent.api.Processors;
 import io.servicetalk.concurrent.api.Publisher;
 import io.servicetalk.concurrent.api.Single;
 import io.servicetalk.concurrent.api.internal.SubscribableCompletable;
+import io.servicetalk.concurrent.api.internal.SubscribablePublisher;
 import io.servicetalk.concurrent.internal.DuplicateSubscribeException;
 import io.servicetalk.concurrent.internal.RejectedSubscribeError;
 import io.servicetalk.concurrent.internal.TerminalNotification;
@@ -34,6 +37,7 @@ import io.servicetalk.http.api.DefaultHttpExecutionContext;
 import io.servicetalk.http.api.EmptyHttpHeaders;
 import io.servicetalk.http.api.HttpExecutionContext;
 import io.servicetalk.http.api.HttpExecutionStrategy;
+import io.servicetalk.http.api.HttpFileRegion;
 import io.servicetalk.http.api.HttpHeaders;
 import io.servicetalk.http.api.HttpHeadersFactory;
 import io.servicetalk.http.api.HttpProtocolVersion;
@@ -63,6 +67,7 @@ import io.servicetalk.transport.netty.internal.SplittingFlushStrategy;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelPipeline;
 import io.netty.handler.codec.DecoderException;
+import io.netty.handler.codec.http2.Http2StreamChannel;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -81,9 +86,16 @@ import static io.servicetalk.concurrent.api.AsyncCloseables.newCompositeCloseabl
 import static io.servicetalk.concurrent.api.AsyncCloseables.toListenableAsyncCloseable;
 import static io.servicetalk.concurrent.api.Completable.completed;
 import static io.servicetalk.concurrent.api.Completable.defer;
+import static io.servicetalk.concurrent.api.Processors.newCompletableProcessor;
+import static io.servicetalk.concurrent.api.Processors.newSingleProcessor;
 import static io.servicetalk.concurrent.api.Publisher.from;
 import static io.servicetalk.concurrent.api.Single.succeeded;
+import static io.servicetalk.concurrent.api.SourceAdapters.fromSource;
 import static io.servicetalk.concurrent.api.SourceAdapters.toSource;
+import static io.servicetalk.concurrent.internal.EmptySubscription.EMPTY_SUBSCRIPTION;
+import static io.servicetalk.concurrent.internal.FlowControlUtil.addWithOverflowProtection;
+import static io.servicetalk.concurrent.internal.SubscriberUtils.isRequestNValid;
+import static io.servicetalk.concurrent.internal.SubscriberUtils.newExceptionForInvalidRequestN;
 import static io.servicetalk.http.api.HttpApiConversions.mayHaveTrailers;
 import static io.servicetalk.http.api.HttpHeaderNames.CONTENT_LENGTH;
 import static io.servicetalk.http.api.HttpHeaderValues.ZERO;
@@ -96,13 +108,17 @@ import static io.servicetalk.http.netty.HeaderUtils.setResponseContentLength;
 import static io.servicetalk.http.netty.HttpDebugUtils.showPipeline;
 import static io.servicetalk.transport.netty.internal.CloseHandler.CloseEvent.CHANNEL_CLOSED_INBOUND;
 import static io.servicetalk.transport.netty.internal.CloseHandler.forPipelinedRequestResponse;
+import static io.servicetalk.transport.netty.internal.FlushStrategies.flushOnEnd;
 import static io.servicetalk.transport.netty.internal.SplittingFlushStrategy.FlushBoundaryProvider.FlushBoundary.End;
 import static io.servicetalk.transport.netty.internal.SplittingFlushStrategy.FlushBoundaryProvider.FlushBoundary.InProgress;
 import static io.servicetalk.transport.netty.internal.SplittingFlushStrategy.FlushBoundaryProvider.FlushBoundary.Start;
+import static java.util.Collections.singletonList;
 
 final class NettyHttpServer {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(NettyHttpServer.class);
+    // Payload bytes buffered per pipelined response which can not be written yet, before applying backpressure.
+    private static final long MAX_BUFFERED_PIPELINED_RESPONSE_BYTES = 64 * 1024;
 
     private NettyHttpServer() {
         // No instances
@@ -154,7 +170,8 @@ final class NettyHttpServer {
                 initializer.andThen(getChannelInitializer(h1Config, closeHandler)),
                 httpExecutionContext.executionStrategy())
                 .map(conn -> new NettyHttpServerConnection(conn, service, httpExecutionContext.executionStrategy(),
-                        h1Config.headersFactory(), drainRequestPayloadBody)), "HTTP/1.1", channel);
+                        h1Config.headersFactory(), drainRequestPayloadBody,
+                        h1Config.maxConcurrentPipelinedRequests())), "HTTP/1.1", channel);
     }
 
     private static ChannelInitializer getChannelInitializer(final H1ProtocolConfig config,
@@ -163,7 +180,8 @@ final class NettyHttpServer {
             Queue<HttpRequestMethod> methodQueue = new ArrayDeque<>(2);
             final ChannelPipeline pipeline = channel.pipeline();
             pipeline.addLast(new HttpRequestDecoder(methodQueue, config.headersFactory(),
-                    config.maxStartLineLength(), config.maxHeaderFieldLength(), closeHandler));
+                    config.maxStartLineLength(), config.maxHeaderFieldLength(), closeHandler,
+                    config.internKnownHeaderNames()));
             pipeline.addLast(new HttpResponseEncoder(methodQueue, config.headersEncodedSizeEstimate(),
                     config.trailersEncodedSizeEstimate(), closeHandler));
         };
@@ -219,12 +237,22 @@ final class NettyHttpServer {
         private final HttpExecutionContext executionContext;
         private final SplittingFlushStrategy splittingFlushStrategy;
         private final boolean drainRequestPayloadBody;
+        private final int maxConcurrentRequests;
 
         NettyHttpServerConnection(final NettyConnection<Object, Object> connection,
                                   final StreamingHttpService service,
                                   final HttpExecutionStrategy strategy,
                                   final HttpHeadersFactory headersFactory,
                                   final boolean drainRequestPayloadBody) {
+            this(connection, service, strategy, headersFactory, drainRequestPayloadBody, 1);
+        }
+
+        NettyHttpServerConnection(final NettyConnection<Object, Object> connection,
+                                  final StreamingHttpService service,
+                                  final HttpExecutionStrategy strategy,
+                                  final HttpHeadersFactory headersFactory,
+                                  final boolean drainRequestPayloadBody,
+                                  final int maxConcurrentRequests) {
             super(headersFactory,
                     new DefaultHttpResponseFactory(headersFactory, connection.executionContext().bufferAllocator()),
                     new DefaultStreamingHttpResponseFactory(headersFactory,
@@ -250,6 +278,7 @@ final class NettyHttpServer {
                     });
             connection.updateFlushStrategy((current, isCurrentOriginal) -> splittingFlushStrategy);
             this.drainRequestPayloadBody = drainRequestPayloadBody;
+            this.maxConcurrentRequests = maxConcurrentRequests;
         }
 
         void process(final boolean handleMultipleRequests) {
@@ -275,82 +304,232 @@ final class NettyHttpServer {
 
         private Completable handleRequestAndWriteResponse(final Single<StreamingHttpRequest> requestSingle,
                                                           final boolean handleMultipleRequests) {
+            if (handleMultipleRequests && maxConcurrentRequests > 1) {
+                return connection.write(new ConcurrentPipelinedResponses(requestSingle, maxConcurrentRequests)
+                        .responses());
+            }
             final Publisher<Object> responseObjectPublisher = requestSingle.flatMapPublisher(rawRequest -> {
                 // We transform the request and delay the completion of the result flattened stream to avoid
                 // resubscribing to the NettyChannelPublisher before the previous subscriber has terminated. Otherwise
                 // we may attempt to do duplicate subscribe on NettyChannelPublisher, which will result in a connection
                 // closure.
                 final SingleSubscriberProcessor requestCompletion = new SingleSubscriberProcessor();
-                final AtomicBoolean payloadSubscribed = drainRequestPayloadBody ? new AtomicBoolean() : null;
-                final StreamingHttpRequest request = rawRequest.transformRawPayloadBody(
-                        // Cancellation is assumed to close the connection, or be ignored if this Subscriber has already
-                        // terminated. That means we don't need to trigger the processor as completed because we don't
-                        // care about processing more requests.
-                        payload -> payload.afterSubscriber(() -> {
-                            if (drainRequestPayloadBody) {
-                                payloadSubscribed.set(true);
-                            }
-                            return new Subscriber<Object>() {
-                                @Override
-                                public void onSubscribe(final Subscription s) {
-                                }
+                return handleRequest(rawRequest, requestCompletion, true).concat(requestCompletion);
+            });
+            return connection.write(handleMultipleRequests ? responseObjectPublisher.repeat(val -> true) :
+                    responseObjectPublisher);
+        }
 
-                                @Override
-                                public void onNext(final Object obj) {
-                                }
+        /**
+         * Invokes the service for a request.
+         *
+         * @param rawRequest the request as read from the connection.
+         * @param requestCompletion notified when the request payload body has been consumed.
+         * @param updateFlushStrategy {@code true} to update the flush strategy based on the response. This is only
+         * safe when the returned response is written before the next request is processed.
+         * @return the flattened response to write.
+         */
+        private Publisher<Object> handleRequest(final StreamingHttpRequest rawRequest,
+                                                final SingleSubscriberProcessor requestCompletion,
+                                                final boolean updateFlushStrategy) {
+            final AtomicBoolean payloadSubscribed = drainRequestPayloadBody ? new AtomicBoolean() : null;
+            final StreamingHttpRequest request = rawRequest.transformRawPayloadBody(
+                    // Cancellation is assumed to close the connection, or be ignored if this Subscriber has already
+                    // terminated. That means we don't need to trigger the processor as completed because we don't
+                    // care about processing more requests.
+                    payload -> payload.afterSubscriber(() -> {
+                        if (drainRequestPayloadBody) {
+                            payloadSubscribed.set(true);
+                        }
+                        return new Subscriber<Object>() {
+                            @Override
+                            public void onSubscribe(final Subscription s) {
+                            }
 
-                                @Override
-                                public void onError(final Throwable t) {
-                                    // After the response payload has terminated, we may attempt to subscribe to the
-                                    // request payload and drain/discard the content (in case the user forgets to
-                                    // consume the stream). However this means we may introduce a duplicate subscribe
-                                    // and this doesn't mean the request content has not terminated.
-                                    if (!drainRequestPayloadBody || !(t instanceof RejectedSubscribeError)) {
-                                        requestCompletion.onComplete();
-                                    }
-                                }
+                            @Override
+                            public void onNext(final Object obj) {
+                            }
 
-                                @Override
-                                public void onComplete() {
+                            @Override
+                            public void onError(final Throwable t) {
+                                // After the response payload has terminated, we may attempt to subscribe to the
+                                // request payload and drain/discard the content (in case the user forgets to
+                                // consume the stream). However this means we may introduce a duplicate subscribe
+                                // and this doesn't mean the request content has not terminated.
+                                if (!drainRequestPayloadBody || !(t instanceof RejectedSubscribeError)) {
                                     requestCompletion.onComplete();
                                 }
-                            };
-                        }));
-
-                final HttpRequestMethod requestMethod = request.method();
-                final HttpKeepAlive keepAlive = HttpKeepAlive.responseKeepAlive(request);
-                Publisher<Object> responsePublisher = strategy
-                        .invokeService(executionContext().executor(), request,
-                                req -> service.handle(NettyHttpServerConnection.this, req, streamingResponseFactory())
-                                        .recoverWith(cause ->
-                                                succeeded(newErrorResponse(cause, executionContext.executor(),
-                                                        req.version(), keepAlive)))
-                                        .flatMapPublisher(response -> {
-                                            keepAlive.addConnectionHeaderIfNecessary(response);
-
-                                            final FlushStrategy flushStrategy = determineFlushStrategyForApi(response);
-                                            if (flushStrategy != null) {
-                                                splittingFlushStrategy.updateFlushStrategy(
-                                                        (prev, isOriginal) -> isOriginal ? flushStrategy : prev, 1);
-                                            }
-                                            return handleResponse(requestMethod, response);
-                                        }),
-                                (cause, executor) -> from(newErrorResponse(cause, executor,
-                                        request.version(), keepAlive)));
-
-                if (drainRequestPayloadBody) {
-                    responsePublisher = responsePublisher.concat(defer(() -> payloadSubscribed.get() ?
-                                    completed() : request.payloadBody().ignoreElements()
-                            // Discarding the request payload body is an operation which should not impact the state of
-                            // request/response processing. It's appropriate to recover from any error here.
-                            // ST may introduce RejectedSubscribeError if user already consumed the request payload body
-                            .onErrorResume(t -> completed())));
+                            }
+
+                            @Override
+                            public void onComplete() {
+                                requestCompletion.onComplete();
+                            }
+                        };
+                    }));
+
+            final HttpRequestMethod requestMethod = request.method();
+            final HttpKeepAlive keepAlive = HttpKeepAlive.responseKeepAlive(request);
+            Publisher<Object> responsePublisher = strategy
+                    .invokeService(executionContext().executor(), request,
+                            req -> service.handle(NettyHttpServerConnection.this, req, streamingResponseFactory())
+                                    .recoverWith(cause ->
+                                            succeeded(newErrorResponse(cause, executionContext.executor(),
+                                                    req.version(), keepAlive)))
+                                    .flatMapPublisher(response -> {
+                                        keepAlive.addConnectionHeaderIfNecessary(response);
+
+                                        final FlushStrategy flushStrategy = updateFlushStrategy ?
+                                                determineFlushStrategyForApi(response) : null;
+                                        if (flushStrategy != null) {
+                                            splittingFlushStrategy.updateFlushStrategy(
+                                                    (prev, isOriginal) -> isOriginal ? flushStrategy : prev, 1);
+                                        }
+                                        final Publisher<Object> flatResponse =
+                                                handleResponse(requestMethod, response);
+                                        return isFileRegionSupported() ? flatResponse :
+                                                readFileRegions(flatResponse);
+                                    }),
+                            (cause, executor) -> from(newErrorResponse(cause, executor,
+                                    request.version(), keepAlive)));
+
+            if (drainRequestPayloadBody) {
+                responsePublisher = responsePublisher.concat(defer(() -> payloadSubscribed.get() ?
+                                completed() : request.payloadBody().ignoreElements()
+                        // Discarding the request payload body is an operation which should not impact the state of
+                        // request/response processing. It's appropriate to recover from any error here.
+                        // ST may introduce RejectedSubscribeError if user already consumed the request payload body
+                        .onErrorResume(t -> completed())));
+            }
+            return responsePublisher;
+        }
+
+        /**
+         * Reads pipelined requests ahead of the responses being written and dispatches up to {@code maxConcurrency} of
+         * them to the service at the same time. Responses are always written in request order: the response at the
+         * head of the line is streamed to the connection, later responses are buffered until it is their turn, up to
+         * {@code MAX_BUFFERED_PIPELINED_RESPONSE_BYTES} of payload each, after which backpressure is applied.
+         */
+        private final class ConcurrentPipelinedResponses {
+            private final Single<StreamingHttpRequest> requestSingle;
+            private final int maxConcurrency;
+            // Responses for dispatched requests which the writer did not pick up yet, in request order.
+            private final Queue<PipelinedResponse> dispatched = new ArrayDeque<>(2);
+            // Response the writer is waiting for, before the corresponding request has been read.
+            @Nullable
+            private SingleSource.Processor<PipelinedResponse, PipelinedResponse> awaited;
+            @Nullable
+            private Processor capacityAvailable;
+            @Nullable
+            private Throwable readFailure;
+            private int inFlight;
+
+            ConcurrentPipelinedResponses(final Single<StreamingHttpRequest> requestSingle, final int maxConcurrency) {
+                this.requestSingle = requestSingle;
+                this.maxConcurrency = maxConcurrency;
+            }
+
+            Publisher<Object> responses() {
+                return Publisher.defer(() -> {
+                    final Cancellable reading = readRequests()
+                            .whenOnError(this::readFailed)
+                            // The failure is propagated to the writer, which is responsible for closing the connection.
+                            .onErrorResume(t -> completed())
+                            .subscribe();
+                    return Publisher.defer(this::nextResponse)
+                            .repeat(val -> true)
+                            .whenFinally(reading::cancel);
+                });
+            }
+
+            private Completable readRequests() {
+                // The next request is only read after the payload body of the previous request has been consumed, to
+                // avoid resubscribing to the NettyChannelPublisher before the previous subscriber has terminated.
+                return defer(() -> awaitCapacity().concat(requestSingle.flatMapCompletable(rawRequest -> {
+                    final SingleSubscriberProcessor requestCompletion = new SingleSubscriberProcessor();
+                    toSource(handleRequest(rawRequest, requestCompletion, false)).subscribe(newResponseSlot());
+                    return requestCompletion;
+                }))).repeat(val -> true).ignoreElements();
+            }
+
+            private Completable awaitCapacity() {
+                final Processor capacityAvailable;
+                synchronized (this) {
+                    if (inFlight < maxConcurrency) {
+                        return completed();
+                    }
+                    capacityAvailable = this.capacityAvailable = newCompletableProcessor();
                 }
+                return fromSource(capacityAvailable);
+            }
 
-                return responsePublisher.concat(requestCompletion);
-            });
-            return connection.write(handleMultipleRequests ? responseObjectPublisher.repeat(val -> true) :
-                    responseObjectPublisher);
+            private PipelinedResponse newResponseSlot() {
+                final PipelinedResponse slot = new PipelinedResponse(MAX_BUFFERED_PIPELINED_RESPONSE_BYTES);
+                final SingleSource.Processor<PipelinedResponse, PipelinedResponse> awaited;
+                synchronized (this) {
+                    ++inFlight;
+                    awaited = this.awaited;
+                    if (awaited == null) {
+                        dispatched.add(slot);
+                        return slot;
+                    }
+                    this.awaited = null;
+                }
+                awaited.onSuccess(slot);
+                return slot;
+            }
+
+            private Publisher<Object> nextResponse() {
+                final PipelinedResponse slot;
+                final SingleSource.Processor<PipelinedResponse, PipelinedResponse> awaited;
+                synchronized (this) {
+                    slot = dispatched.poll();
+                    if (slot == null) {
+                        if (readFailure != null) {
+                            return Publisher.failed(readFailure);
+                        }
+                        awaited = this.awaited = newSingleProcessor();
+                    } else {
+                        awaited = null;
+                    }
+                }
+                return (awaited == null ? writeResponse(slot) :
+                        fromSource(awaited).flatMapPublisher(this::writeResponse))
+                        .whenFinally(this::responseWritten);
+            }
+
+            private Publisher<Object> writeResponse(final PipelinedResponse response) {
+                if (response.isFullyBuffered()) {
+                    // The whole response is already available, write it with a single flush.
+                    splittingFlushStrategy.updateFlushStrategy(
+                            (prev, isOriginal) -> isOriginal ? flushOnEnd() : prev, 1);
+                }
+                return response;
+            }
+
+            private void responseWritten() {
+                final Processor capacityAvailable;
+                synchronized (this) {
+                    --inFlight;
+                    capacityAvailable = this.capacityAvailable;
+                    this.capacityAvailable = null;
+                }
+                if (capacityAvailable != null) {
+                    capacityAvailable.onComplete();
+                }
+            }
+
+            private void readFailed(final Throwable cause) {
+                final SingleSource.Processor<PipelinedResponse, PipelinedResponse> awaited;
+                synchronized (this) {
+                    readFailure = cause;
+                    awaited = this.awaited;
+                    this.awaited = null;
+                }
+                if (awaited != null) {
+                    awaited.onError(cause);
+                }
+            }
         }
 
         @Nonnull
@@ -371,6 +550,19 @@ final class NettyHttpServer {
             }
         }
 
+        /**
+         * {@link HttpFileRegion}s can only be written to the socket as-is for plain text HTTP/1.x connections.
+         * Encryption requires the content in user space and HTTP/2 streams frame the content.
+         */
+        private boolean isFileRegionSupported() {
+            return connection.sslSession() == null && !(connection.nettyChannel() instanceof Http2StreamChannel);
+        }
+
+        private Publisher<Object> readFileRegions(final Publisher<Object> flatResponse) {
+            return flatResponse.flatMapConcatIterable(item -> item instanceof HttpFileRegion ?
+                    ((HttpFileRegion) item).toBuffers(executionContext.bufferAllocator()) : singletonList(item));
+        }
+
         private StreamingHttpResponse newErrorResponse(final Throwable cause, final Executor executor,
                                                        final HttpProtocolVersion version,
                                                        final HttpKeepAlive keepAlive) {
@@ -446,6 +638,181 @@ final class NettyHttpServer {
         }
     }
 
+    /**
+     * A flattened response of a pipelined request which is subscribed to as soon as the request is dispatched, and
+     * written once all previous responses have been written. Until the writer subscribes, up to
+     * {@code maxBufferedBytes} of payload are buffered. Once the writer subscribes, buffered items are drained first
+     * and the writer's demand is then forwarded to the response.
+     */
+    private static final class PipelinedResponse extends SubscribablePublisher<Object> implements Subscriber<Object> {
+        private final Queue<Object> buffered = new ArrayDeque<>(4);
+        private final long maxBufferedBytes;
+        private long bufferedBytes;
+        @Nullable
+        private Subscription upstream;
+        // Items requested from upstream which have not been delivered yet.
+        private long upstreamPending;
+        @Nullable
+        private TerminalNotification upstreamTerminal;
+        @Nullable
+        private Subscriber<? super Object> downstream;
+        private long downstreamDemand;
+        private boolean downstreamTerminated;
+        private boolean emitting;
+
+        PipelinedResponse(final long maxBufferedBytes) {
+            this.maxBufferedBytes = maxBufferedBytes;
+        }
+
+        synchronized boolean isFullyBuffered() {
+            return upstreamTerminal != null;
+        }
+
+        @Override
+        public void onSubscribe(final Subscription subscription) {
+            synchronized (this) {
+                upstream = subscription;
+            }
+            drain();
+        }
+
+        @Override
+        public void onNext(final Object item) {
+            synchronized (this) {
+                --upstreamPending;
+                buffered.add(item);
+                bufferedBytes += sizeOf(item);
+            }
+            drain();
+        }
+
+        @Override
+        public void onError(final Throwable t) {
+            synchronized (this) {
+                upstreamTerminal = TerminalNotification.error(t);
+            }
+            drain();
+        }
+
+        @Override
+        public void onComplete() {
+            synchronized (this) {
+                upstreamTerminal = TerminalNotification.complete();
+            }
+            drain();
+        }
+
+        @Override
+        protected void handleSubscribe(final Subscriber<? super Object> subscriber) {
+            final Subscriber<? super Object> existing;
+            synchronized (this) {
+                existing = downstream;
+                if (existing == null) {
+                    downstream = subscriber;
+                }
+            }
+            if (existing != null) {
+                subscriber.onSubscribe(EMPTY_SUBSCRIPTION);
+                subscriber.onError(new DuplicateSubscribeException(existing, subscriber));
+                return;
+            }
+            subscriber.onSubscribe(new Subscription() {
+                @Override
+                public void request(final long n) {
+                    Subscription cancelUpstream = null;
+                    synchronized (PipelinedResponse.this) {
+                        if (!isRequestNValid(n)) {
+                            upstreamTerminal = TerminalNotification.error(newExceptionForInvalidRequestN(n));
+                            buffered.clear();
+                            cancelUpstream = upstream;
+                        } else {
+                            downstreamDemand = addWithOverflowProtection(downstreamDemand, n);
+                        }
+                    }
+                    if (cancelUpstream != null) {
+                        cancelUpstream.cancel();
+                    }
+                    drain();
+                }
+
+                @Override
+                public void cancel() {
+                    final Subscription upstream;
+                    synchronized (PipelinedResponse.this) {
+                        downstreamTerminated = true;
+                        buffered.clear();
+                        upstream = PipelinedResponse.this.upstream;
+                    }
+                    if (upstream != null) {
+                        upstream.cancel();
+                    }
+                }
+            });
+            drain();
+        }
+
+        private void drain() {
+            synchronized (this) {
+                if (emitting) {
+                    // The emitting thread re-evaluates the state before it stops emitting.
+                    return;
+                }
+                emitting = true;
+            }
+            for (;;) {
+                Object item = null;
+                TerminalNotification terminal = null;
+                Subscriber<? super Object> target;
+                Subscription requestFrom = null;
+                long toRequest = 0;
+                synchronized (this) {
+                    target = downstream;
+                    if (downstreamTerminated) {
+                        emitting = false;
+                        return;
+                    }
+                    if (target != null && downstreamDemand > 0 && !buffered.isEmpty()) {
+                        item = buffered.poll();
+                        bufferedBytes -= sizeOf(item);
+                        --downstreamDemand;
+                    } else if (target != null && buffered.isEmpty() && upstreamTerminal != null) {
+                        terminal = upstreamTerminal;
+                        downstreamTerminated = true;
+                    } else {
+                        if (upstream != null && upstreamTerminal == null) {
+                            if (target != null) {
+                                // Head of the line: forward the writer's demand.
+                                toRequest = downstreamDemand - buffered.size() - upstreamPending;
+                            } else if (upstreamPending == 0 && bufferedBytes < maxBufferedBytes) {
+                                // Not written yet: buffer one item at a time, up to the limit.
+                                toRequest = 1;
+                            }
+                            if (toRequest > 0) {
+                                upstreamPending += toRequest;
+                                requestFrom = upstream;
+                            }
+                        }
+                        emitting = false;
+                    }
+                }
+                if (item != null) {
+                    target.onNext(item);
+                } else if (terminal != null) {
+                    terminal.terminate(target);
+                } else {
+                    if (requestFrom != null) {
+                        requestFrom.request(toRequest);
+                    }
+                    return;
+                }
+            }
+        }
+
+        private static long sizeOf(final Object item) {
+            return item instanceof Buffer ? ((Buffer) item).readableBytes() : 0;
+        }
+    }
+
     /**
      * Equivalent of {@link Processors#newCompletableProcessor()} that doesn't handle multiple
      * {@link Subscriber#subscribe(Subscriber) subscribes}.
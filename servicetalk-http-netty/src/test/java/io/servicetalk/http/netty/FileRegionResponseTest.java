@@ -0,0 +1,169 @@
+/*
+ * Copyright © 2019 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.http.netty;
+
+import io.servicetalk.concurrent.internal.ServiceTalkTestTimeout;
+import io.servicetalk.http.api.BlockingHttpClient;
+import io.servicetalk.http.api.HttpResponse;
+import io.servicetalk.http.api.HttpServerBuilder;
+import io.servicetalk.http.api.SingleAddressHttpClientBuilder;
+import io.servicetalk.http.api.StreamingHttpResponse;
+import io.servicetalk.test.resources.DefaultTestCerts;
+import io.servicetalk.transport.api.HostAndPort;
+import io.servicetalk.transport.api.ServerContext;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.rules.Timeout;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static io.servicetalk.concurrent.api.Single.failed;
+import static io.servicetalk.concurrent.api.Single.succeeded;
+import static io.servicetalk.http.api.HttpHeaderNames.CONTENT_LENGTH;
+import static io.servicetalk.http.api.HttpHeaderNames.TRANSFER_ENCODING;
+import static io.servicetalk.http.api.HttpHeaderValues.CHUNKED;
+import static io.servicetalk.http.api.HttpResponseStatus.OK;
+import static io.servicetalk.http.netty.HttpProtocolConfigs.h1Default;
+import static io.servicetalk.http.netty.HttpProtocolConfigs.h2Default;
+import static io.servicetalk.transport.netty.internal.AddressUtils.localAddress;
+import static io.servicetalk.transport.netty.internal.AddressUtils.serverHostAndPort;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.util.Arrays.asList;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assume.assumeFalse;
+
+@RunWith(Parameterized.class)
+public class FileRegionResponseTest {
+    private static final int FILE_SIZE = 1024 * 1024 + 17;
+    private static final String CHUNKED_PATH = "/chunked";
+
+    @Rule
+    public final Timeout timeout = new ServiceTalkTestTimeout();
+    @Rule
+    public final TemporaryFolder tmp = new TemporaryFolder();
+
+    private final boolean sslEnabled;
+    private final boolean h2;
+    private byte[] content;
+    private File file;
+    private ServerContext serverContext;
+    private BlockingHttpClient client;
+
+    public FileRegionResponseTest(final boolean sslEnabled, final boolean h2) {
+        this.sslEnabled = sslEnabled;
+        this.h2 = h2;
+    }
+
+    @Parameterized.Parameters(name = "ssl={0}, h2={1}")
+    public static Iterable<Object[]> data() {
+        return asList(new Object[][]{{false, false}, {true, false}, {false, true}});
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        content = new byte[FILE_SIZE];
+        ThreadLocalRandom.current().nextBytes(content);
+        file = tmp.newFile();
+        Files.write(file.toPath(), content);
+
+        final HttpServerBuilder serverBuilder = HttpServers.forAddress(localAddress(0))
+                .protocols(h2 ? h2Default() : h1Default());
+        if (sslEnabled) {
+            serverBuilder.secure().commit(DefaultTestCerts::loadServerPem, DefaultTestCerts::loadServerKey);
+        }
+        serverContext = serverBuilder.listenStreamingAndAwait((ctx, request, responseFactory) -> {
+            final StreamingHttpResponse response = responseFactory.ok();
+            if (CHUNKED_PATH.equals(request.path())) {
+                response.setHeader(TRANSFER_ENCODING, CHUNKED);
+            }
+            try {
+                final FileChannel fileChannel = FileChannel.open(file.toPath(), READ);
+                return succeeded(response.payloadBody(fileChannel, 0, fileChannel.size()));
+            } catch (IOException e) {
+                return failed(e);
+            }
+        });
+        final SingleAddressHttpClientBuilder<HostAndPort, InetSocketAddress> clientBuilder =
+                HttpClients.forSingleAddress(serverHostAndPort(serverContext))
+                        .protocols(h2 ? h2Default() : h1Default());
+        if (sslEnabled) {
+            clientBuilder.secure().disableHostnameVerification()
+                    .trustManager(DefaultTestCerts::loadMutualAuthCaPem).commit();
+        }
+        client = clientBuilder.buildBlocking();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        try {
+            client.close();
+        } finally {
+            serverContext.close();
+        }
+    }
+
+    @Test
+    public void fileRegionWithContentLength() throws Exception {
+        final HttpResponse response = client.request(client.get("/"));
+        assertThat(response.status(), is(OK));
+        if (!h2) {
+            assertThat(response.headers().get(CONTENT_LENGTH), is(Integer.toString(FILE_SIZE)));
+        }
+        assertContent(response);
+    }
+
+    @Test
+    public void fileRegionChunked() throws Exception {
+        assumeFalse("transfer-encoding is not applicable to HTTP/2", h2);
+        final HttpResponse response = client.request(client.get(CHUNKED_PATH));
+        assertThat(response.status(), is(OK));
+        assertContent(response);
+    }
+
+    @Test
+    public void multipleFileRegionsOnSameConnection() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            assertContent(client.request(client.get("/")));
+        }
+    }
+
+    @Test
+    public void headRequestHasNoPayload() throws Exception {
+        assumeFalse("HEAD responses are only handled by the HTTP/1.x encoder", h2);
+        final HttpResponse response = client.request(client.head("/"));
+        assertThat(response.status(), is(OK));
+        assertThat(response.payloadBody().readableBytes(), is(0));
+    }
+
+    private void assertContent(final HttpResponse response) {
+        final byte[] received = new byte[response.payloadBody().readableBytes()];
+        response.payloadBody().readBytes(received);
+        assertArrayEquals(content, received);
+    }
+}
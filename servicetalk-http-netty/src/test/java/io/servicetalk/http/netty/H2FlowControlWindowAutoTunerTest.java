@@ -0,0 +1,113 @@
+/*
+ * Copyright © 2019 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.http.netty;
+
+import io.servicetalk.concurrent.internal.ServiceTalkTestTimeout;
+
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http2.DefaultHttp2DataFrame;
+import io.netty.handler.codec.http2.DefaultHttp2PingFrame;
+import io.netty.handler.codec.http2.Http2DataFrame;
+import io.netty.handler.codec.http2.Http2PingFrame;
+import io.netty.handler.codec.http2.Http2SettingsFrame;
+import io.netty.handler.codec.http2.Http2WindowUpdateFrame;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import static io.netty.buffer.Unpooled.wrappedBuffer;
+import static io.netty.handler.codec.http2.Http2CodecUtil.DEFAULT_WINDOW_SIZE;
+import static io.servicetalk.http.netty.H2FlowControlWindowAutoTuner.BDP_PING_CONTENT;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+public class H2FlowControlWindowAutoTunerTest {
+
+    private static final int MAX_WINDOW_SIZE = 4 * DEFAULT_WINDOW_SIZE;
+
+    @Rule
+    public final Timeout timeout = new ServiceTalkTestTimeout();
+
+    private final EmbeddedChannel channel = new EmbeddedChannel(new H2FlowControlWindowAutoTuner(MAX_WINDOW_SIZE));
+
+    @After
+    public void tearDown() {
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    public void windowsGrowWhenSampleFillsWindow() {
+        readData(DEFAULT_WINDOW_SIZE);
+        assertBdpPingWritten();
+
+        channel.writeInbound(new DefaultHttp2PingFrame(BDP_PING_CONTENT, true));
+        assertThat("BDP PING ACK should not be propagated.", channel.readInbound(), is(nullValue()));
+
+        Http2WindowUpdateFrame windowUpdate = channel.readOutbound();
+        assertThat(windowUpdate.stream(), is(nullValue()));
+        assertThat(windowUpdate.windowSizeIncrement(), is(DEFAULT_WINDOW_SIZE));
+        Http2SettingsFrame settings = channel.readOutbound();
+        assertThat(settings.settings().initialWindowSize(), is(2 * DEFAULT_WINDOW_SIZE));
+    }
+
+    @Test
+    public void windowsDoNotGrowWhenSampleIsSmall() {
+        readData(1024);
+        assertBdpPingWritten();
+
+        channel.writeInbound(new DefaultHttp2PingFrame(BDP_PING_CONTENT, true));
+        assertThat(channel.readOutbound(), is(nullValue()));
+    }
+
+    @Test
+    public void windowsDoNotGrowBeyondMax() {
+        for (int windowSize = DEFAULT_WINDOW_SIZE; windowSize < MAX_WINDOW_SIZE; windowSize *= 2) {
+            readData(windowSize);
+            assertBdpPingWritten();
+            channel.writeInbound(new DefaultHttp2PingFrame(BDP_PING_CONTENT, true));
+            assertThat(channel.readOutbound(), instanceOf(Http2WindowUpdateFrame.class));
+            Http2SettingsFrame settings = channel.readOutbound();
+            assertThat(settings.settings().initialWindowSize(), is(Math.min(MAX_WINDOW_SIZE, 2 * windowSize)));
+        }
+
+        readData(MAX_WINDOW_SIZE);
+        assertThat("No PING expected once the max window size is reached.", channel.readOutbound(),
+                is(nullValue()));
+    }
+
+    @Test
+    public void otherPingAcksArePropagated() {
+        channel.writeInbound(new DefaultHttp2PingFrame(1, true));
+        Http2PingFrame ping = channel.readInbound();
+        assertThat(ping.content(), is(1L));
+    }
+
+    private void readData(final int bytes) {
+        channel.writeInbound(new DefaultHttp2DataFrame(wrappedBuffer(new byte[bytes])));
+        Http2DataFrame data = channel.readInbound();
+        assertThat(data.initialFlowControlledBytes(), is(bytes));
+        data.release();
+    }
+
+    private void assertBdpPingWritten() {
+        Http2PingFrame ping = channel.readOutbound();
+        assertThat(ping.ack(), is(false));
+        assertThat(ping.content(), is(BDP_PING_CONTENT));
+    }
+}
@@ -20,6 +20,7 @@ import io.servicetalk.http.api.DefaultHttpHeadersFactory;
 import io.servicetalk.http.api.HttpHeaders;
 import io.servicetalk.http.api.HttpRequestMetaData;
 
+import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.embedded.EmbeddedChannel;
 import io.netty.handler.codec.DecoderException;
@@ -31,21 +32,25 @@ import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ThreadLocalRandom;
 
 import static io.netty.buffer.Unpooled.wrappedBuffer;
 import static io.netty.util.AsciiString.contentEquals;
+import static io.netty.util.AsciiString.contentEqualsIgnoreCase;
 import static io.servicetalk.buffer.netty.BufferAllocators.DEFAULT_ALLOCATOR;
 import static io.servicetalk.http.api.HttpHeaderNames.CONTENT_LENGTH;
 import static io.servicetalk.http.api.HttpHeaderNames.USER_AGENT;
 import static io.servicetalk.http.api.HttpHeaderValues.KEEP_ALIVE;
 import static io.servicetalk.http.api.HttpProtocolVersion.HTTP_1_1;
 import static io.servicetalk.http.api.HttpRequestMethod.GET;
+import static io.servicetalk.transport.netty.internal.CloseHandler.UNSUPPORTED_PROTOCOL_CLOSE_HANDLER;
 import static java.lang.Integer.toHexString;
 import static java.nio.charset.StandardCharsets.US_ASCII;
 import static org.hamcrest.core.IsInstanceOf.instanceOf;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 public class HttpRequestDecoderTest {
@@ -396,6 +401,55 @@ public class HttpRequestDecoderTest {
         }
     }
 
+    @Test
+    public void headersSplitAcrossReads() {
+        EmbeddedChannel channel = newEmbeddedChannel();
+        byte[] content = new byte[128];
+        ThreadLocalRandom.current().nextBytes(content);
+        ByteBuf headerBytes = wrappedBuffer(("GET /some/path?foo=bar&baz=yyy HTTP/1.1" + "\r\n" +
+                "Connection: keep-alive" + "\r\n" +
+                "User-Agent: unit-test" + "\r\n" +
+                "Content-Length: " + content.length + "\r\n" + "\r\n").getBytes(US_ASCII));
+        // Split in the middle of the User-Agent header, so the header block is sliced from two different buffers.
+        int splitIndex = headerBytes.indexOf(0, headerBytes.writerIndex(), (byte) 'A');
+        assertFalse(channel.writeInbound(headerBytes.readRetainedSlice(splitIndex)));
+        assertTrue(channel.writeInbound(headerBytes));
+        assertTrue(channel.writeInbound(wrappedBuffer(content)));
+
+        validateHttpRequest(channel, content.length);
+        assertFalse(channel.finishAndReleaseAll());
+    }
+
+    @Test
+    public void internKnownHeaderNames() {
+        HttpRequestDecoder decoder = new HttpRequestDecoder(new ArrayDeque<>(),
+                DefaultHttpHeadersFactory.INSTANCE, 8192, 8192, UNSUPPORTED_PROTOCOL_CLOSE_HANDLER, true);
+        decoder.setDiscardAfterReads(1);
+        EmbeddedChannel channel = new EmbeddedChannel(decoder);
+        byte[] beforeContentBytes = ("GET /some/path?foo=bar&baz=yyy HTTP/1.1" + "\r\n" +
+                "Connection: keep-alive" + "\r\n" +
+                "User-Agent: unit-test" + "\r\n" +
+                "X-Unknown-Header: value" + "\r\n" +
+                "CONTENT-LENGTH: 0" + "\r\n" + "\r\n").getBytes(US_ASCII);
+        assertTrue(channel.writeInbound(wrappedBuffer(beforeContentBytes)));
+        HttpRequestMetaData request = channel.readInbound();
+        assertStandardHeaders(request.headers());
+        assertSingleHeaderValue(request.headers(), CONTENT_LENGTH, "0");
+        assertSingleHeaderValue(request.headers(), "x-unknown-header", "value");
+        for (Map.Entry<CharSequence, CharSequence> header : request.headers()) {
+            if (contentEqualsIgnoreCase(header.getKey(), USER_AGENT)) {
+                assertSame(USER_AGENT, header.getKey());
+            } else if (contentEqualsIgnoreCase(header.getKey(), CONTENT_LENGTH)) {
+                assertSame(CONTENT_LENGTH, header.getKey());
+            } else if (contentEqualsIgnoreCase(header.getKey(), "x-unknown-header")) {
+                assertEquals("X-Unknown-Header", header.getKey().toString());
+            }
+        }
+        HttpHeaders trailers = channel.readInbound();
+        assertTrue(trailers.isEmpty());
+        assertFalse(channel.finishAndReleaseAll());
+    }
+
     @Test
     public void acceptShortRequestMethod() {
         EmbeddedChannel channel = newEmbeddedChannel();
@@ -15,6 +15,10 @@
  */
 package io.servicetalk.http.netty;
 
+import io.servicetalk.buffer.api.Buffer;
+import io.servicetalk.buffer.api.BufferAllocator;
+import io.servicetalk.concurrent.BlockingIterator;
+import io.servicetalk.concurrent.SingleSource;
 import io.servicetalk.concurrent.api.AsyncCloseables;
 import io.servicetalk.concurrent.api.CompositeCloseable;
 import io.servicetalk.concurrent.api.DefaultThreadFactory;
@@ -37,9 +41,13 @@ import java.util.concurrent.CyclicBarrier;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicReference;
 
+import static io.servicetalk.concurrent.api.Processors.newSingleProcessor;
+import static io.servicetalk.concurrent.api.Publisher.from;
 import static io.servicetalk.concurrent.api.Single.succeeded;
+import static io.servicetalk.concurrent.api.SourceAdapters.fromSource;
 import static io.servicetalk.http.api.CharSequences.newAsciiString;
 import static io.servicetalk.http.api.HttpExecutionStrategies.defaultStrategy;
 import static io.servicetalk.http.api.HttpResponseStatus.BAD_REQUEST;
@@ -49,7 +57,9 @@ import static io.servicetalk.transport.netty.internal.AddressUtils.localAddress;
 import static io.servicetalk.transport.netty.internal.AddressUtils.serverHostAndPort;
 import static io.servicetalk.transport.netty.internal.ExecutionContextRule.cached;
 import static java.lang.Thread.NORM_PRIORITY;
+import static java.nio.charset.StandardCharsets.US_ASCII;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
@@ -123,6 +133,93 @@ public class HttpServerMultipleRequestsTest {
         }
     }
 
+    @Test
+    public void concurrentPipelinedRequestsRespondInOrder() throws Exception {
+        SingleSource.Processor<StreamingHttpResponse, StreamingHttpResponse> firstResponse = newSingleProcessor();
+        StreamingHttpService service = (ctx, request, responseFactory) -> {
+            if ("/first".equals(request.path())) {
+                // Only completes after the second request has been processed, which requires concurrent processing.
+                return fromSource(firstResponse);
+            }
+            StreamingHttpResponse response = responseFactory.ok();
+            response.headers().set(REQUEST_ID_HEADER, "first");
+            firstResponse.onSuccess(response);
+            StreamingHttpResponse secondResponse = responseFactory.ok();
+            secondResponse.headers().set(REQUEST_ID_HEADER, "second");
+            return succeeded(secondResponse);
+        };
+        try (ServerContext ctx = HttpServers.forAddress(localAddress(0))
+                .protocols(h1().maxConcurrentPipelinedRequests(2).build())
+                .ioExecutor(serverExecution.ioExecutor())
+                .executionStrategy(defaultStrategy(serverExecution.executor()))
+                .listenStreamingAndAwait(service);
+             StreamingHttpClient client = HttpClients.forResolvedAddress(serverHostAndPort(ctx))
+                     .protocols(h1().maxPipelinedRequests(2).build())
+                     .ioExecutor(clientExecution.ioExecutor())
+                     .executionStrategy(defaultStrategy(clientExecution.executor()))
+                     .buildStreaming();
+             ReservedStreamingHttpConnection connection = client.reserveConnection(client.get("/"))
+                     .toFuture().get()) {
+            Future<StreamingHttpResponse> first = connection.request(connection.get("/first")).toFuture();
+            Future<StreamingHttpResponse> second = connection.request(connection.get("/second")).toFuture();
+
+            StreamingHttpResponse response = first.get();
+            assertEquals(OK, response.status());
+            assertTrue(response.headers().contains(REQUEST_ID_HEADER, "first"));
+            response.payloadBody().ignoreElements().toFuture().get();
+
+            response = second.get();
+            assertEquals(OK, response.status());
+            assertTrue(response.headers().contains(REQUEST_ID_HEADER, "second"));
+            response.payloadBody().ignoreElements().toFuture().get();
+        }
+    }
+
+    @Test
+    public void concurrentPipelinedRequestsStreamHeadOfLineResponse() throws Exception {
+        SingleSource.Processor<Buffer, Buffer> lastFirstChunk = newSingleProcessor();
+        StreamingHttpService service = (ctx, request, responseFactory) -> {
+            final BufferAllocator allocator = ctx.executionContext().bufferAllocator();
+            if ("/first".equals(request.path())) {
+                // The last chunk is only produced after the client has read the first chunk, which requires the head of
+                // line response to be streamed rather than aggregated.
+                return succeeded(responseFactory.ok().payloadBody(from(allocator.fromAscii("first-1"))
+                        .concat(fromSource(lastFirstChunk).toPublisher())));
+            }
+            return succeeded(responseFactory.ok().payloadBody(
+                    from(allocator.fromAscii("second-1"), allocator.fromAscii("second-2"))));
+        };
+        try (ServerContext ctx = HttpServers.forAddress(localAddress(0))
+                .protocols(h1().maxConcurrentPipelinedRequests(2).build())
+                .ioExecutor(serverExecution.ioExecutor())
+                .executionStrategy(defaultStrategy(serverExecution.executor()))
+                .listenStreamingAndAwait(service);
+             StreamingHttpClient client = HttpClients.forResolvedAddress(serverHostAndPort(ctx))
+                     .protocols(h1().maxPipelinedRequests(2).build())
+                     .ioExecutor(clientExecution.ioExecutor())
+                     .executionStrategy(defaultStrategy(clientExecution.executor()))
+                     .buildStreaming();
+             ReservedStreamingHttpConnection connection = client.reserveConnection(client.get("/"))
+                     .toFuture().get()) {
+            Future<StreamingHttpResponse> first = connection.request(connection.get("/first")).toFuture();
+            Future<StreamingHttpResponse> second = connection.request(connection.get("/second")).toFuture();
+
+            StreamingHttpResponse response = first.get();
+            assertEquals(OK, response.status());
+            BlockingIterator<Buffer> payload = response.payloadBody().toIterable().iterator();
+            assertEquals("first-1", payload.next().toString(US_ASCII));
+            lastFirstChunk.onSuccess(connection.executionContext().bufferAllocator().fromAscii("first-2"));
+            assertEquals("first-2", payload.next().toString(US_ASCII));
+            assertFalse(payload.hasNext());
+
+            response = second.get();
+            assertEquals(OK, response.status());
+            assertEquals("second-1second-2", response.payloadBody()
+                    .collect(StringBuilder::new, (sb, buffer) -> sb.append(buffer.toString(US_ASCII)))
+                    .toFuture().get().toString());
+        }
+    }
+
     private static void makeClientRequestWithId(StreamingHttpConnection connection, String requestId)
             throws ExecutionException, InterruptedException {
         StreamingHttpRequest request = connection.get("/");
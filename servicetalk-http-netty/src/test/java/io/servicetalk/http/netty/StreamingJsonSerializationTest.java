@@ -0,0 +1,178 @@
+/*
+ * Copyright © 2019 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.http.netty;
+
+import io.servicetalk.buffer.api.Buffer;
+import io.servicetalk.concurrent.BlockingIterable;
+import io.servicetalk.concurrent.api.Publisher;
+import io.servicetalk.concurrent.internal.BlockingIterables;
+import io.servicetalk.concurrent.internal.ServiceTalkTestTimeout;
+import io.servicetalk.data.jackson.JacksonSerializationProvider;
+import io.servicetalk.http.api.DefaultHttpHeadersFactory;
+import io.servicetalk.http.api.HttpHeaders;
+import io.servicetalk.http.api.HttpSerializationProvider;
+import io.servicetalk.serialization.api.SerializationException;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+import static io.servicetalk.buffer.netty.BufferAllocators.DEFAULT_ALLOCATOR;
+import static io.servicetalk.concurrent.api.Publisher.from;
+import static io.servicetalk.concurrent.api.Publisher.fromIterable;
+import static io.servicetalk.http.api.HttpHeaderNames.CONTENT_TYPE;
+import static io.servicetalk.http.api.HttpHeaderValues.APPLICATION_JSON;
+import static io.servicetalk.http.api.HttpHeaderValues.APPLICATION_X_NDJSON;
+import static io.servicetalk.http.api.HttpSerializationProviders.jsonArraySerializer;
+import static io.servicetalk.http.api.HttpSerializationProviders.jsonNewlineDelimitedSerializer;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.fail;
+
+public class StreamingJsonSerializationTest {
+
+    private static final List<String> VALUES = asList("a", "with,comma", "with]bracket", "with\"quote\\", "");
+
+    @Rule
+    public final Timeout timeout = new ServiceTalkTestTimeout();
+
+    private final HttpSerializationProvider arrayProvider = jsonArraySerializer(new JacksonSerializationProvider());
+    private final HttpSerializationProvider ndjsonProvider =
+            jsonNewlineDelimitedSerializer(new JacksonSerializationProvider());
+
+    @Test
+    public void serializePublisherAsArray() throws Exception {
+        HttpHeaders headers = DefaultHttpHeadersFactory.INSTANCE.newHeaders();
+        String json = toString(arrayProvider.serializerFor(String.class)
+                .serialize(headers, fromIterable(VALUES), DEFAULT_ALLOCATOR));
+        assertThat(json, is("[\"a\",\"with,comma\",\"with]bracket\",\"with\\\"quote\\\\\",\"\"]"));
+        assertThat(headers.get(CONTENT_TYPE), is(APPLICATION_JSON));
+    }
+
+    @Test
+    public void serializeEmptyPublisherAsArray() throws Exception {
+        HttpHeaders headers = DefaultHttpHeadersFactory.INSTANCE.newHeaders();
+        assertThat(toString(arrayProvider.serializerFor(String.class)
+                .serialize(headers, fromIterable(emptyList()), DEFAULT_ALLOCATOR)), is("[]"));
+    }
+
+    @Test
+    public void serializeBlockingIterableAsArray() {
+        HttpHeaders headers = DefaultHttpHeadersFactory.INSTANCE.newHeaders();
+        BlockingIterable<Buffer> buffers = arrayProvider.serializerFor(Integer.class)
+                .serialize(headers, BlockingIterables.from(asList(1, 2, 3)),
+                        DEFAULT_ALLOCATOR);
+        StringBuilder sb = new StringBuilder();
+        for (Buffer buffer : buffers) {
+            sb.append(buffer.toString(UTF_8));
+        }
+        assertThat(sb.toString(), is("[1,2,3]"));
+    }
+
+    @Test
+    public void serializePublisherAsNewlineDelimited() throws Exception {
+        HttpHeaders headers = DefaultHttpHeadersFactory.INSTANCE.newHeaders();
+        assertThat(toString(ndjsonProvider.serializerFor(Integer.class)
+                .serialize(headers, from(1, 2, 3), DEFAULT_ALLOCATOR)), is("1\n2\n3\n"));
+        assertThat(headers.get(CONTENT_TYPE), is(APPLICATION_X_NDJSON));
+    }
+
+    @Test
+    public void arrayRoundTripSplitAtEveryByte() throws Exception {
+        HttpHeaders headers = DefaultHttpHeadersFactory.INSTANCE.newHeaders();
+        String json = toString(arrayProvider.serializerFor(String.class)
+                .serialize(headers, fromIterable(VALUES), DEFAULT_ALLOCATOR));
+        assertThat(deserialize(arrayProvider, headers, json, String.class), contains(VALUES.toArray()));
+    }
+
+    @Test
+    public void deserializeArrayOfNumbers() throws Exception {
+        HttpHeaders headers = DefaultHttpHeadersFactory.INSTANCE.newHeaders().set(CONTENT_TYPE, APPLICATION_JSON);
+        assertThat(deserialize(arrayProvider, headers, " [ 1, 22 ,333 ] ", Integer.class), contains(1, 22, 333));
+    }
+
+    @Test
+    public void deserializeEmptyArray() throws Exception {
+        HttpHeaders headers = DefaultHttpHeadersFactory.INSTANCE.newHeaders().set(CONTENT_TYPE, APPLICATION_JSON);
+        assertThat(deserialize(arrayProvider, headers, "[]", Integer.class), is(empty()));
+    }
+
+    @Test
+    public void deserializeAggregatedArray() {
+        HttpHeaders headers = DefaultHttpHeadersFactory.INSTANCE.newHeaders().set(CONTENT_TYPE, APPLICATION_JSON);
+        assertThat(arrayProvider.deserializerFor(String.class).deserialize(headers,
+                DEFAULT_ALLOCATOR.fromUtf8("[\"value\"]")), is("value"));
+    }
+
+    @Test
+    public void deserializeIncompleteArrayFails() throws Exception {
+        HttpHeaders headers = DefaultHttpHeadersFactory.INSTANCE.newHeaders().set(CONTENT_TYPE, APPLICATION_JSON);
+        try {
+            deserialize(arrayProvider, headers, "[1, 2", Integer.class);
+            fail("Expected failure for an incomplete array");
+        } catch (ExecutionException e) {
+            assertThat(e.getCause(), instanceOf(SerializationException.class));
+        }
+    }
+
+    @Test
+    public void deserializeNonArrayFails() throws Exception {
+        HttpHeaders headers = DefaultHttpHeadersFactory.INSTANCE.newHeaders().set(CONTENT_TYPE, APPLICATION_JSON);
+        try {
+            deserialize(arrayProvider, headers, "{\"a\":1}", Integer.class);
+            fail("Expected failure for a non array value");
+        } catch (ExecutionException e) {
+            assertThat(e.getCause(), instanceOf(SerializationException.class));
+        }
+    }
+
+    @Test
+    public void newlineDelimitedRoundTripSplitAtEveryByte() throws Exception {
+        HttpHeaders headers = DefaultHttpHeadersFactory.INSTANCE.newHeaders();
+        String ndjson = toString(ndjsonProvider.serializerFor(String.class)
+                .serialize(headers, fromIterable(VALUES), DEFAULT_ALLOCATOR));
+        assertThat(deserialize(ndjsonProvider, headers, ndjson, String.class), contains(VALUES.toArray()));
+    }
+
+    private static <T> List<T> deserialize(HttpSerializationProvider provider, HttpHeaders headers, String json,
+                                           Class<T> type) throws Exception {
+        // Feed a byte at a time to verify framing and values are handled across Buffer boundaries.
+        List<Buffer> buffers = new ArrayList<>(json.length());
+        for (byte b : json.getBytes(UTF_8)) {
+            buffers.add(DEFAULT_ALLOCATOR.newBuffer(1).writeByte(b));
+        }
+        return provider.deserializerFor(type).deserialize(headers, fromIterable(buffers))
+                .collect(ArrayList<T>::new, (list, value) -> {
+                    list.add(value);
+                    return list;
+                }).toFuture().get();
+    }
+
+    private static String toString(Publisher<Buffer> buffers) throws Exception {
+        return buffers.collect(StringBuilder::new, (sb, buffer) -> sb.append(buffer.toString(UTF_8)))
+                .toFuture().get().toString();
+    }
+}
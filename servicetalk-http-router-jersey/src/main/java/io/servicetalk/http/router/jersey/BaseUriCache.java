@@ -0,0 +1,65 @@
+/*
+ * Copyright © 2019 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.http.router.jersey;
+
+import java.net.URI;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Caches the parsed base {@link URI}s of a router.
+ * <p>
+ * A router usually sees a handful of base URIs, one per host name the server is reachable with, so they are parsed
+ * only once. The base URI is usually derived from the {@code host} header, hence the number of cached entries is
+ * bounded and base URIs seen after the cache is full are parsed on every request.
+ */
+final class BaseUriCache {
+    static final int DEFAULT_MAX_ENTRIES = 64;
+
+    private final ConcurrentMap<String, URI> cache = new ConcurrentHashMap<>();
+    private final int maxEntries;
+
+    BaseUriCache() {
+        this(DEFAULT_MAX_ENTRIES);
+    }
+
+    BaseUriCache(final int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Returns the parsed {@link URI} of the passed base URI.
+     *
+     * @param baseUri the base URI to parse.
+     * @return the parsed {@link URI}.
+     * @throws IllegalArgumentException if the base URI is not a valid {@link URI}.
+     */
+    URI get(final String baseUri) {
+        URI uri = cache.get(baseUri);
+        if (uri == null) {
+            uri = URI.create(baseUri);
+            // The size check is racy, the cache may exceed maxEntries by the number of concurrent callers which is
+            // fine as it is only meant to prevent unbounded growth.
+            if (cache.size() < maxEntries) {
+                final URI prev = cache.putIfAbsent(baseUri, uri);
+                if (prev != null) {
+                    uri = prev;
+                }
+            }
+        }
+        return uri;
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright © 2019 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.http.router.jersey;
+
+import io.servicetalk.buffer.api.Buffer;
+import io.servicetalk.buffer.api.BufferAllocator;
+import io.servicetalk.concurrent.PublisherSource.Subscriber;
+import io.servicetalk.concurrent.api.Publisher;
+import io.servicetalk.concurrent.api.internal.ConnectablePayloadWriter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import javax.annotation.Nullable;
+
+import static java.lang.Math.min;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * An {@link OutputStream} for streaming responses of unknown length that copies Jersey's bytes straight into
+ * {@link Buffer}s drawn from the connection's {@link BufferAllocator}.
+ * <p>
+ * Jersey may reuse the {@code byte[]} it writes, so a single copy is required. Rather than copying into a fresh
+ * {@code byte[]} which then gets wrapped, bytes are written into a {@link Buffer} whose ownership is handed over to the
+ * connected {@link Publisher}. By default every write is handed over as is, so events written by a resource which
+ * does not flush are not delayed. When a {@code chunkSize} is configured, writes are coalesced into {@link Buffer}s of
+ * up to {@code chunkSize} bytes which are handed over when full, or when the stream is flushed or closed.
+ */
+final class ChunkedResponseOutputStream extends OutputStream {
+    private final ConnectablePayloadWriter<Buffer> payloadWriter = new ConnectablePayloadWriter<>();
+    private final BufferAllocator allocator;
+    private final int chunkSize;
+    @Nullable
+    private Buffer chunk;
+
+    ChunkedResponseOutputStream(final BufferAllocator allocator) {
+        this(allocator, 0);
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param allocator the {@link BufferAllocator} to use for allocating chunks.
+     * @param chunkSize the maximum size of a coalesced chunk in bytes, or {@code 0} to hand over every write as is.
+     */
+    ChunkedResponseOutputStream(final BufferAllocator allocator, final int chunkSize) {
+        if (chunkSize < 0) {
+            throw new IllegalArgumentException("chunkSize: " + chunkSize + " (expected >= 0)");
+        }
+        this.allocator = requireNonNull(allocator);
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+        if (chunkSize == 0) {
+            payloadWriter.write(allocator.newBuffer(1).writeByte(b));
+            return;
+        }
+        final Buffer buf = chunk(1);
+        buf.writeByte(b);
+        if (buf.readableBytes() >= chunkSize) {
+            emitChunk();
+        }
+    }
+
+    @Override
+    public void write(final byte[] b, int off, int len) throws IOException {
+        if (chunkSize == 0) {
+            if (len > 0) {
+                payloadWriter.write(allocator.newBuffer(len).writeBytes(b, off, len));
+            }
+            return;
+        }
+        while (len > 0) {
+            final Buffer buf = chunk(len);
+            final int n = min(len, chunkSize - buf.readableBytes());
+            buf.writeBytes(b, off, n);
+            off += n;
+            len -= n;
+            if (buf.readableBytes() >= chunkSize) {
+                emitChunk();
+            }
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        emitChunk();
+        payloadWriter.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        emitChunk();
+        payloadWriter.close();
+    }
+
+    /**
+     * Connects this {@link OutputStream} to the returned {@link Publisher} such that any data written to this
+     * {@link OutputStream} is eventually delivered to a {@link Subscriber} of the returned {@link Publisher}.
+     *
+     * @return {@link Publisher} that will emit all data written to this {@link OutputStream}.
+     */
+    Publisher<Buffer> connect() {
+        return payloadWriter.connect();
+    }
+
+    private Buffer chunk(final int sizeHint) {
+        Buffer buf = chunk;
+        if (buf == null) {
+            // Size the chunk for the pending write, it grows up to chunkSize if more writes are coalesced into it
+            buf = allocator.newBuffer(min(sizeHint, chunkSize));
+            chunk = buf;
+        }
+        return buf;
+    }
+
+    private void emitChunk() throws IOException {
+        final Buffer buf = chunk;
+        if (buf != null && buf.readableBytes() > 0) {
+            // Ownership of the chunk moves to the payload writer, start a new one on the next write
+            chunk = null;
+            payloadWriter.write(buf);
+        }
+    }
+}
@@ -19,7 +19,6 @@ import io.servicetalk.buffer.api.Buffer;
 import io.servicetalk.concurrent.Cancellable;
 import io.servicetalk.concurrent.SingleSource.Subscriber;
 import io.servicetalk.concurrent.api.Publisher;
-import io.servicetalk.concurrent.api.internal.ConnectableBufferOutputStream;
 import io.servicetalk.http.api.HttpExecutionStrategy;
 import io.servicetalk.http.api.HttpHeaders;
 import io.servicetalk.http.api.HttpProtocolVersion;
@@ -35,7 +34,6 @@ import org.glassfish.jersey.server.spi.ContainerResponseWriter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.IOException;
 import java.io.OutputStream;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
@@ -54,7 +52,6 @@ import static io.servicetalk.http.router.jersey.CharSequenceUtils.asCharSequence
 import static io.servicetalk.http.router.jersey.internal.RequestProperties.getRequestCancellable;
 import static io.servicetalk.http.router.jersey.internal.RequestProperties.getResponseBufferPublisher;
 import static io.servicetalk.http.router.jersey.internal.RequestProperties.getResponseExecutionStrategy;
-import static java.lang.System.arraycopy;
 import static java.util.Arrays.stream;
 import static java.util.Collections.unmodifiableMap;
 import static java.util.Objects.requireNonNull;
@@ -84,6 +81,7 @@ final class DefaultContainerResponseWriter implements ContainerResponseWriter {
     private final HttpServiceContext serviceCtx;
     private final StreamingHttpResponseFactory responseFactory;
     private final Subscriber<? super StreamingHttpResponse> responseSubscriber;
+    private final int responseChunkSize;
 
     @Nullable
     private volatile Cancellable suspendedTimerCancellable;
@@ -97,12 +95,14 @@ final class DefaultContainerResponseWriter implements ContainerResponseWriter {
                                    final HttpProtocolVersion protocolVersion,
                                    final HttpServiceContext serviceCtx,
                                    final StreamingHttpResponseFactory responseFactory,
-                                   final Subscriber<? super StreamingHttpResponse> responseSubscriber) {
+                                   final Subscriber<? super StreamingHttpResponse> responseSubscriber,
+                                   final int responseChunkSize) {
         this.request = requireNonNull(request);
         this.protocolVersion = requireNonNull(protocolVersion);
         this.serviceCtx = requireNonNull(serviceCtx);
         this.responseFactory = requireNonNull(responseFactory);
         this.responseSubscriber = requireNonNull(responseSubscriber);
+        this.responseChunkSize = responseChunkSize;
     }
 
     @Nullable
@@ -130,10 +130,10 @@ final class DefaultContainerResponseWriter implements ContainerResponseWriter {
         }
 
         // OIO adapted streaming response of unknown length
-        final ConnectableBufferOutputStream os = new ConnectableBufferOutputStream(
-                serviceCtx.executionContext().bufferAllocator());
+        final ChunkedResponseOutputStream os = new ChunkedResponseOutputStream(
+                serviceCtx.executionContext().bufferAllocator(), responseChunkSize);
         sendResponse(contentLength, os.connect(), responseContext);
-        return new CopyingOutputStream(os);
+        return os;
     }
 
     @Override
@@ -278,47 +278,4 @@ final class DefaultContainerResponseWriter implements ContainerResponseWriter {
     private boolean isHeadRequest() {
         return HEAD.equals(request.getMethod());
     }
-
-    /**
-     * This class will make sure all byte arrays are copying before writing to a delegate {@link OutputStream}.
-     * This is necessary for jersey as it attempts to share a common buffer and reuse it, but we may process this buffer
-     * asynchronously and observe the modified content.
-     * All other methods will just be a pass through to a delegate {@link OutputStream}.
-     */
-    private static final class CopyingOutputStream extends OutputStream {
-        private final OutputStream delegate;
-
-        CopyingOutputStream(OutputStream delegate) {
-            this.delegate = requireNonNull(delegate);
-        }
-
-        @Override
-        public void write(final int b) throws IOException {
-            delegate.write(b);
-        }
-
-        @Override
-        public void write(final byte[] b) throws IOException {
-            final byte[] result = new byte[b.length];
-            arraycopy(b, 0, result, 0, result.length);
-            delegate.write(result);
-        }
-
-        @Override
-        public void write(final byte[] b, final int off, final int len) throws IOException {
-            final byte[] result = new byte[len];
-            arraycopy(b, off, result, 0, result.length);
-            delegate.write(result);
-        }
-
-        @Override
-        public void flush() throws IOException {
-            delegate.flush();
-        }
-
-        @Override
-        public void close() throws IOException {
-            delegate.close();
-        }
-    }
 }
@@ -39,11 +39,13 @@ import org.glassfish.jersey.server.spi.Container;
 
 import java.net.URI;
 import java.security.Principal;
+import java.util.Map.Entry;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import javax.annotation.Nullable;
 import javax.ws.rs.core.Application;
 import javax.ws.rs.core.Configuration;
+import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.core.SecurityContext;
 
 import static io.servicetalk.concurrent.api.Completable.completed;
@@ -84,27 +86,32 @@ final class DefaultJerseyStreamingHttpRouter implements StreamingHttpService {
 
     private final ApplicationHandler applicationHandler;
     private final int publisherInputStreamQueueCapacity;
+    private final int responseChunkSize;
     private final BiFunction<ConnectionContext, HttpRequestMetaData, String> baseUriFunction;
     private final Container container;
+    private final BaseUriCache baseUris = new BaseUriCache();
 
     DefaultJerseyStreamingHttpRouter(final Application application,
                                      final int publisherInputStreamQueueCapacity,
+                                     final int responseChunkSize,
                                      final BiFunction<ConnectionContext, HttpRequestMetaData, String> baseUriFunction,
                                      final Function<String, HttpExecutionStrategy> routeStrategyFactory) {
-        this(new ApplicationHandler(application), publisherInputStreamQueueCapacity, baseUriFunction,
-                routeStrategyFactory);
+        this(new ApplicationHandler(application), publisherInputStreamQueueCapacity, responseChunkSize,
+                baseUriFunction, routeStrategyFactory);
     }
 
     DefaultJerseyStreamingHttpRouter(final Class<? extends Application> applicationClass,
                                      final int publisherInputStreamQueueCapacity,
+                                     final int responseChunkSize,
                                      final BiFunction<ConnectionContext, HttpRequestMetaData, String> baseUriFunction,
                                      final Function<String, HttpExecutionStrategy> routeStrategyFactory) {
-        this(new ApplicationHandler(applicationClass), publisherInputStreamQueueCapacity, baseUriFunction,
-                routeStrategyFactory);
+        this(new ApplicationHandler(applicationClass), publisherInputStreamQueueCapacity, responseChunkSize,
+                baseUriFunction, routeStrategyFactory);
     }
 
     private DefaultJerseyStreamingHttpRouter(final ApplicationHandler applicationHandler,
                                              final int publisherInputStreamQueueCapacity,
+                                             final int responseChunkSize,
                                              final BiFunction<ConnectionContext, HttpRequestMetaData,
                                                      String> baseUriFunction,
                                              final Function<String, HttpExecutionStrategy> routeStrategyFactory) {
@@ -119,6 +126,7 @@ final class DefaultJerseyStreamingHttpRouter implements StreamingHttpService {
 
         this.applicationHandler = applicationHandler;
         this.publisherInputStreamQueueCapacity = publisherInputStreamQueueCapacity;
+        this.responseChunkSize = responseChunkSize;
         this.baseUriFunction = requireNonNull(baseUriFunction);
 
         applicationHandler.getInjectionManager().register(new AbstractBinder() {
@@ -193,14 +201,16 @@ final class DefaultJerseyStreamingHttpRouter implements StreamingHttpService {
         }
 
         final ContainerRequest containerRequest = new ContainerRequest(
-                URI.create(baseUri.toString()),
+                baseUris.get(baseUri.toString()),
                 URI.create(requestUriBuilder.toString()),
                 req.method().name(),
                 UNAUTHENTICATED_SECURITY_CONTEXT,
                 new MapPropertiesDelegate());
 
-        req.headers().forEach(h ->
-                containerRequest.getHeaders().add(h.getKey().toString(), h.getValue().toString()));
+        final MultivaluedMap<String, String> headers = containerRequest.getHeaders();
+        for (Entry<CharSequence, CharSequence> header : req.headers()) {
+            headers.add(header.getKey().toString(), header.getValue().toString());
+        }
 
         final BufferPublisherInputStream entityStream = new BufferPublisherInputStream(req.payloadBody(),
                 publisherInputStreamQueueCapacity);
@@ -208,7 +218,7 @@ final class DefaultJerseyStreamingHttpRouter implements StreamingHttpService {
         initRequestProperties(entityStream, containerRequest);
 
         final DefaultContainerResponseWriter responseWriter = new DefaultContainerResponseWriter(containerRequest,
-                req.version(), serviceCtx, factory, subscriber);
+                req.version(), serviceCtx, factory, subscriber, responseChunkSize);
 
         containerRequest.setWriter(responseWriter);
 
@@ -113,13 +113,14 @@ final class EndpointEnhancingRequestFilter implements ContainerRequestFilter {
                      final Provider<Ref<ConnectionContext>> ctxRefProvider,
                      final Provider<RouteStrategiesConfig> routeStrategiesConfigProvider,
                      final UriRoutingContext urc) {
-            if (urc.getResourceMethod() == null) {
+            final Method method = urc.getResourceMethod();
+            if (method == null) {
                 return;
             }
-            EnhancedEndpoint enhanced = enhancements.get(urc.getResourceMethod());
+            EnhancedEndpoint enhanced = enhancements.get(method);
             if (enhanced == null) {
                 // attempt get(..) first to avoid creating a capturing lambda per request in steady state
-                enhanced = enhancements.computeIfAbsent(urc.getResourceMethod(),
+                enhanced = enhancements.computeIfAbsent(method,
                         resourceMethod -> defineEndpoint(urc.getEndpoint(), requestScope, ctxRefProvider,
                                 routeStrategiesConfigProvider, urc.getResourceClass(), resourceMethod));
             }
@@ -26,6 +26,7 @@ import io.servicetalk.http.api.StreamingHttpService;
 import io.servicetalk.transport.api.ConnectionContext;
 
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import javax.ws.rs.core.Application;
@@ -43,6 +44,7 @@ import static java.util.Objects.requireNonNull;
  */
 public final class HttpJerseyRouterBuilder {
     private int publisherInputStreamQueueCapacity = 16;
+    private int responseChunkSize;
     private BiFunction<ConnectionContext, HttpRequestMetaData, String> baseUriFunction =
             (ctx, req) -> getBaseRequestUri(ctx, req, false);
     private Function<String, HttpExecutionStrategy> routeStrategyFactory = __ -> null;
@@ -63,6 +65,25 @@ public final class HttpJerseyRouterBuilder {
         return this;
     }
 
+    /**
+     * Set the size of the chunks that writes to the {@link OutputStream} of streaming responses of unknown length,
+     * such as the ones of {@link javax.ws.rs.core.StreamingOutput}s, are coalesced into.
+     * <p>
+     * By default every write is sent as is. When a chunk size is set, a chunk is sent once it is full or when the
+     * resource flushes or closes the {@link OutputStream}, hence resources which stream events must flush them.
+     *
+     * @param responseChunkSize the maximum size of a chunk in bytes, or {@code 0} to send every write as is.
+     * @return this
+     */
+    public HttpJerseyRouterBuilder responseChunkSize(final int responseChunkSize) {
+        if (responseChunkSize < 0) {
+            throw new IllegalArgumentException("Invalid response chunk size: " + responseChunkSize
+                    + " (expected >= 0).");
+        }
+        this.responseChunkSize = responseChunkSize;
+        return this;
+    }
+
     /**
      * Set the function used to compute the base URI for the incoming HTTP request.
      * <b>The computed base URI must have {@code /} as path, and no query nor fragment.</b>
@@ -181,12 +202,12 @@ public final class HttpJerseyRouterBuilder {
 
     DefaultJerseyStreamingHttpRouter from(final Class<? extends Application> applicationClass) {
         return new DefaultJerseyStreamingHttpRouter(applicationClass, publisherInputStreamQueueCapacity,
-                baseUriFunction, routeStrategyFactory);
+                responseChunkSize, baseUriFunction, routeStrategyFactory);
     }
 
     DefaultJerseyStreamingHttpRouter from(final Application application) {
-        return new DefaultJerseyStreamingHttpRouter(application, publisherInputStreamQueueCapacity, baseUriFunction,
-                routeStrategyFactory);
+        return new DefaultJerseyStreamingHttpRouter(application, publisherInputStreamQueueCapacity,
+                responseChunkSize, baseUriFunction, routeStrategyFactory);
     }
 
     static HttpService toAggregated(DefaultJerseyStreamingHttpRouter router) {
@@ -0,0 +1,57 @@
+/*
+ * Copyright © 2019 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.http.router.jersey;
+
+import org.junit.Test;
+
+import java.net.URI;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class BaseUriCacheTest {
+
+    @Test
+    public void multipleBaseUrisAreCached() {
+        final BaseUriCache cache = new BaseUriCache(2);
+        final URI first = cache.get("http://first/");
+        final URI second = cache.get("http://second/");
+        assertEquals(URI.create("http://first/"), first);
+        assertEquals(URI.create("http://second/"), second);
+
+        // Alternating between base URIs must not evict them.
+        for (int i = 0; i < 3; ++i) {
+            assertSame(first, cache.get("http://first/"));
+            assertSame(second, cache.get("http://second/"));
+        }
+    }
+
+    @Test
+    public void baseUrisAreParsedWhenFull() {
+        final BaseUriCache cache = new BaseUriCache(1);
+        final URI first = cache.get("http://first/");
+        final URI second = cache.get("http://second/");
+        assertEquals(URI.create("http://second/"), second);
+        assertNotSame(second, cache.get("http://second/"));
+        assertSame(first, cache.get("http://first/"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidBaseUri() {
+        new BaseUriCache().get("http://in valid/");
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright © 2019 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.http.router.jersey;
+
+import io.servicetalk.buffer.api.Buffer;
+import io.servicetalk.concurrent.PublisherSource.Subscriber;
+import io.servicetalk.concurrent.PublisherSource.Subscription;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.servicetalk.buffer.netty.BufferAllocators.DEFAULT_ALLOCATOR;
+import static io.servicetalk.concurrent.api.SourceAdapters.toSource;
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ChunkedResponseOutputStreamTest {
+
+    private final List<String> chunks = new ArrayList<>();
+    private final List<Integer> capacities = new ArrayList<>();
+    private boolean completed;
+    private ChunkedResponseOutputStream os;
+
+    @Before
+    public void setUp() {
+        os = connect(new ChunkedResponseOutputStream(DEFAULT_ALLOCATOR, 4));
+    }
+
+    @Test
+    public void smallWritesAreCoalescedUntilFlush() throws IOException {
+        os.write('a');
+        os.write("bc".getBytes(US_ASCII));
+        assertTrue(chunks.isEmpty());
+        os.flush();
+        assertEquals(1, chunks.size());
+        assertEquals("abc", chunks.get(0));
+    }
+
+    @Test
+    public void largeWritesAreSplitIntoChunks() throws IOException {
+        os.write("abcdefghij".getBytes(US_ASCII));
+        assertEquals(2, chunks.size());
+        assertEquals("abcd", chunks.get(0));
+        assertEquals("efgh", chunks.get(1));
+        os.close();
+        assertEquals(3, chunks.size());
+        assertEquals("ij", chunks.get(2));
+        assertTrue(completed);
+    }
+
+    @Test
+    public void reusedArrayDoesNotModifyEmittedContent() throws IOException {
+        final byte[] data = "abcd".getBytes(US_ASCII);
+        os.write(data);
+        data[0] = 'z';
+        os.write(data, 0, 1);
+        os.close();
+        assertEquals("abcd", chunks.get(0));
+        assertEquals("z", chunks.get(1));
+    }
+
+    @Test
+    public void writesAreEmittedWithoutFlushByDefault() throws IOException {
+        final ChunkedResponseOutputStream stream = connect(new ChunkedResponseOutputStream(DEFAULT_ALLOCATOR));
+        final byte[] event = "data: 1\n\n".getBytes(US_ASCII);
+        stream.write(event);
+        assertEquals(singletonList("data: 1\n\n"), chunks);
+        event[6] = '2';
+        stream.write(event);
+        stream.write('!');
+        assertEquals(asList("data: 1\n\n", "data: 2\n\n", "!"), chunks);
+        assertFalse(completed);
+        stream.close();
+        assertTrue(completed);
+    }
+
+    @Test
+    public void firstChunkIsSizedFromFirstWrite() throws IOException {
+        final ChunkedResponseOutputStream stream = connect(new ChunkedResponseOutputStream(DEFAULT_ALLOCATOR, 8192));
+        stream.write("abc".getBytes(US_ASCII));
+        stream.flush();
+        assertEquals(singletonList("abc"), chunks);
+        assertTrue("Unexpected chunk capacity: " + capacities.get(0), capacities.get(0) < 8192);
+    }
+
+    @Test
+    public void chunkGrowsUpToChunkSize() throws IOException {
+        final ChunkedResponseOutputStream stream = connect(new ChunkedResponseOutputStream(DEFAULT_ALLOCATOR, 8));
+        stream.write("ab".getBytes(US_ASCII));
+        stream.write("cdefghij".getBytes(US_ASCII));
+        assertEquals(singletonList("abcdefgh"), chunks);
+        stream.close();
+        assertEquals(asList("abcdefgh", "ij"), chunks);
+    }
+
+    private ChunkedResponseOutputStream connect(final ChunkedResponseOutputStream stream) {
+        toSource(stream.connect()).subscribe(new Subscriber<Buffer>() {
+            @Override
+            public void onSubscribe(final Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(final Buffer buffer) {
+                capacities.add(buffer.capacity());
+                chunks.add(buffer.toString(US_ASCII));
+            }
+
+            @Override
+            public void onError(final Throwable t) {
+            }
+
+            @Override
+            public void onComplete() {
+                completed = true;
+            }
+        });
+        return stream;
+    }
+}
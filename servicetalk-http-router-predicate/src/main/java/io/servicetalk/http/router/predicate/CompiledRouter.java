@@ -0,0 +1,233 @@
+/*
+ * Copyright © 2019 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.http.router.predicate;
+
+import io.servicetalk.concurrent.api.AsyncCloseable;
+import io.servicetalk.concurrent.api.Completable;
+import io.servicetalk.concurrent.api.Single;
+import io.servicetalk.http.api.HttpRequestMethod;
+import io.servicetalk.http.api.HttpServiceContext;
+import io.servicetalk.http.api.StreamingHttpRequest;
+import io.servicetalk.http.api.StreamingHttpResponse;
+import io.servicetalk.http.api.StreamingHttpResponseFactory;
+import io.servicetalk.http.api.StreamingHttpService;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import static io.servicetalk.concurrent.api.AsyncCloseables.newCompositeCloseable;
+import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * An {@link StreamingHttpService} implementation which routes requests to a number of other
+ * {@link StreamingHttpService}s based on predicates, with the same semantics as {@link InOrderRouter}.
+ * <p>
+ * Routes which can only match a known set of paths, paths starting with a known prefix or a known set of methods are
+ * indexed by a hash table of paths, a trie of path prefixes and a hash table of methods. For each request only the
+ * routes which may match according to the index are evaluated, in the order they were specified, so the cost of
+ * routing depends on the number of candidate routes rather than on the total number of routes. Routes with a path
+ * template are indexed by the literal part of the template preceding its first parameter. Routes without any of
+ * these constraints are candidates for every request.
+ */
+final class CompiledRouter implements StreamingHttpService {
+
+    private static final int[] NO_ROUTES = new int[0];
+
+    private final StreamingHttpService fallbackService;
+    private final Route[] routes;
+    /**
+     * Candidates for each path that some route requires to be equal, including candidates from {@link #prefixTrie}.
+     */
+    private final Map<String, int[]> pathCandidates;
+    /**
+     * Candidates for paths that have no entry in {@link #pathCandidates}, including routes without path constraint.
+     */
+    private final PrefixTrieNode prefixTrie;
+    /**
+     * Routes without path constraint which require one of a set of methods.
+     */
+    private final Map<HttpRequestMethod, int[]> methodCandidates;
+    private final AsyncCloseable closeable;
+
+    /**
+     * Constructs a router service with the specified fallback service, and predicate-service pairs to evaluate.
+     * @param fallbackService the service to use to handle requests if no predicates match.
+     * @param routes the list of predicate-service pairs to use for handling requests.
+     */
+    CompiledRouter(final StreamingHttpService fallbackService, final List<Route> routes) {
+        this.fallbackService = requireNonNull(fallbackService);
+        this.routes = routes.toArray(new Route[0]);
+        this.closeable = newCompositeCloseable()
+                .mergeAll(fallbackService)
+                .mergeAll(routes.stream().map(Route::service).collect(toList()));
+
+        final PrefixTrieNode.Builder trieBuilder = new PrefixTrieNode.Builder();
+        final Map<String, TreeSet<Integer>> paths = new HashMap<>();
+        final Map<HttpRequestMethod, TreeSet<Integer>> methods = new HashMap<>();
+        for (int i = 0; i < this.routes.length; ++i) {
+            final Route route = this.routes[i];
+            final List<String> routePaths = route.paths();
+            final String routePathPrefix = route.pathPrefix();
+            final List<HttpRequestMethod> routeMethods = route.methods();
+            if (routePaths != null) {
+                for (String path : routePaths) {
+                    paths.computeIfAbsent(path, __ -> new TreeSet<>()).add(i);
+                }
+            } else if (routePathPrefix != null) {
+                trieBuilder.add(routePathPrefix, i);
+            } else if (routeMethods != null) {
+                for (HttpRequestMethod method : routeMethods) {
+                    methods.computeIfAbsent(method, __ -> new TreeSet<>()).add(i);
+                }
+            } else {
+                // Routes with no constraint we know of are candidates for every path.
+                trieBuilder.add("", i);
+            }
+        }
+        prefixTrie = trieBuilder.build();
+        pathCandidates = new HashMap<>(paths.size() * 2);
+        paths.forEach((path, indexes) -> {
+            for (int index : prefixTrie.find(path).candidates) {
+                indexes.add(index);
+            }
+            pathCandidates.put(path, toArray(indexes));
+        });
+        methodCandidates = new HashMap<>(methods.size() * 2);
+        methods.forEach((method, indexes) -> methodCandidates.put(method, toArray(indexes)));
+    }
+
+    @Override
+    public Single<StreamingHttpResponse> handle(final HttpServiceContext ctx,
+                                                final StreamingHttpRequest request,
+                                                final StreamingHttpResponseFactory factory) {
+        final String path = request.path();
+        int[] byPath = pathCandidates.get(path);
+        if (byPath == null) {
+            byPath = prefixTrie.find(path).candidates;
+        }
+        final int[] byMethod = methodCandidates.isEmpty() ? NO_ROUTES :
+                methodCandidates.getOrDefault(request.method(), NO_ROUTES);
+
+        // Both arrays are sorted, evaluate candidates in the order the routes were specified.
+        int p = 0;
+        int m = 0;
+        while (p < byPath.length || m < byMethod.length) {
+            final int index;
+            if (m == byMethod.length || (p < byPath.length && byPath[p] < byMethod[m])) {
+                index = byPath[p++];
+            } else {
+                index = byMethod[m++];
+            }
+            final Route route = routes[index];
+            if (route.predicate().test(ctx, request)) {
+                return route.handle(ctx, request, factory);
+            }
+        }
+        return fallbackService.handle(ctx, request, factory);
+    }
+
+    @Override
+    public Completable closeAsync() {
+        return closeable.closeAsync();
+    }
+
+    @Override
+    public Completable closeAsyncGracefully() {
+        return closeable.closeAsyncGracefully();
+    }
+
+    private static int[] toArray(final TreeSet<Integer> indexes) {
+        return indexes.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * A node of a character trie of path prefixes. Each node holds the sorted indexes of all routes whose path prefix
+     * is a prefix of the string leading to the node.
+     */
+    private static final class PrefixTrieNode {
+        private final char[] keys;
+        private final PrefixTrieNode[] children;
+        final int[] candidates;
+
+        private PrefixTrieNode(final char[] keys, final PrefixTrieNode[] children, final int[] candidates) {
+            this.keys = keys;
+            this.children = children;
+            this.candidates = candidates;
+        }
+
+        /**
+         * Finds the deepest node whose string is a prefix of {@code path}.
+         *
+         * @param path the path to look up.
+         * @return the deepest node whose string is a prefix of {@code path}.
+         */
+        PrefixTrieNode find(final String path) {
+            PrefixTrieNode node = this;
+            for (int i = 0; i < path.length(); ++i) {
+                final int keyIndex = Arrays.binarySearch(node.keys, path.charAt(i));
+                if (keyIndex < 0) {
+                    break;
+                }
+                node = node.children[keyIndex];
+            }
+            return node;
+        }
+
+        private static final class Builder {
+            private final TreeMap<Character, Builder> children = new TreeMap<>();
+            private final List<Integer> routes = new ArrayList<>(1);
+
+            void add(final String prefix, final int index) {
+                Builder node = this;
+                for (int i = 0; i < prefix.length(); ++i) {
+                    node = node.children.computeIfAbsent(prefix.charAt(i), __ -> new Builder());
+                }
+                node.routes.add(index);
+            }
+
+            PrefixTrieNode build() {
+                return build(NO_ROUTES);
+            }
+
+            private PrefixTrieNode build(final int[] parentCandidates) {
+                final int[] candidates;
+                if (routes.isEmpty()) {
+                    candidates = parentCandidates;
+                } else {
+                    final TreeSet<Integer> merged = new TreeSet<>(routes);
+                    for (int index : parentCandidates) {
+                        merged.add(index);
+                    }
+                    candidates = toArray(merged);
+                }
+                final char[] keys = new char[children.size()];
+                final PrefixTrieNode[] nodes = new PrefixTrieNode[children.size()];
+                int i = 0;
+                for (Map.Entry<Character, Builder> child : children.entrySet()) {
+                    keys[i] = child.getKey();
+                    nodes[i++] = child.getValue().build(candidates);
+                }
+                return new PrefixTrieNode(keys, nodes, candidates);
+            }
+        }
+    }
+}
@@ -50,6 +50,8 @@ import static io.servicetalk.http.router.predicate.Predicates.pathIsOneOf;
 import static io.servicetalk.http.router.predicate.Predicates.pathRegex;
 import static io.servicetalk.http.router.predicate.Predicates.pathStartsWith;
 import static io.servicetalk.http.router.predicate.Predicates.regex;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
 import static java.util.Objects.requireNonNull;
 
 /**
@@ -72,34 +74,58 @@ public final class HttpPredicateRouterBuilder implements RouteStarter {
     private final RouteContinuationImpl continuation = new RouteContinuationImpl();
     @Nullable
     private BiPredicate<ConnectionContext, StreamingHttpRequest> predicate;
+    // The first path and method constraints of the current route, used to index routes.
+    @Nullable
+    private List<String> paths;
+    @Nullable
+    private String pathPrefix;
+    @Nullable
+    private List<HttpRequestMethod> methods;
+    @Nullable
+    private PathTemplate pathTemplate;
 
     @Override
     public RouteContinuation whenMethod(final HttpRequestMethod method) {
         andPredicate(method(method));
+        if (methods == null) {
+            methods = singletonList(method);
+        }
         return continuation;
     }
 
     @Override
     public RouteContinuation whenMethodIsOneOf(final HttpRequestMethod... methods) {
         andPredicate(methodIsOneOf(methods));
+        if (this.methods == null && methods.length > 0) {
+            this.methods = asList(methods.clone());
+        }
         return continuation;
     }
 
     @Override
     public RouteContinuation whenPathEquals(final String path) {
         andPredicate(pathEquals(path));
+        if (paths == null) {
+            paths = singletonList(path);
+        }
         return continuation;
     }
 
     @Override
     public RouteContinuation whenPathIsOneOf(final String... paths) {
         andPredicate(pathIsOneOf(paths));
+        if (this.paths == null && paths.length > 0) {
+            this.paths = asList(paths.clone());
+        }
         return continuation;
     }
 
     @Override
     public RouteContinuation whenPathStartsWith(final String pathPrefix) {
         andPredicate(pathStartsWith(pathPrefix));
+        if (this.pathPrefix == null) {
+            this.pathPrefix = pathPrefix;
+        }
         return continuation;
     }
 
@@ -115,6 +141,23 @@ public final class HttpPredicateRouterBuilder implements RouteStarter {
         return continuation;
     }
 
+    @Override
+    public RouteContinuation whenPathTemplate(final String pathTemplate) {
+        final PathTemplate template = PathTemplate.parse(pathTemplate);
+        andPredicate((ctx, req) -> template.matches(req.path()));
+        if (this.pathTemplate == null) {
+            this.pathTemplate = template;
+        }
+        if (!template.hasParameters()) {
+            if (paths == null) {
+                paths = singletonList(template.literalPrefix());
+            }
+        } else if (this.pathPrefix == null) {
+            this.pathPrefix = template.literalPrefix();
+        }
+        return continuation;
+    }
+
     @Override
     public StringMultiValueMatcher whenQueryParam(final String name) {
         requireNonNull(name);
@@ -160,7 +203,7 @@ public final class HttpPredicateRouterBuilder implements RouteStarter {
 
     @Override
     public StreamingHttpService buildStreaming() {
-        return new InOrderRouter(DefaultFallbackServiceStreaming.instance(), routes);
+        return new CompiledRouter(DefaultFallbackServiceStreaming.instance(), routes);
     }
 
     private void andPredicate(final BiPredicate<ConnectionContext, StreamingHttpRequest> newPredicate) {
@@ -212,6 +255,11 @@ public final class HttpPredicateRouterBuilder implements RouteStarter {
             return whenPathMatches(pathRegex);
         }
 
+        @Override
+        public RouteContinuation andPathTemplate(final String pathTemplate) {
+            return whenPathTemplate(pathTemplate);
+        }
+
         @Override
         public StringMultiValueMatcher andQueryParam(final String name) {
             return whenQueryParam(name);
@@ -290,9 +338,13 @@ public final class HttpPredicateRouterBuilder implements RouteStarter {
         private RouteStarter thenRouteTo0(final StreamingHttpService route,
                                           @Nullable final HttpExecutionStrategy routeStrategy) {
             assert predicate != null;
-            routes.add(new Route(predicate, route, routeStrategy));
+            routes.add(new Route(predicate, route, routeStrategy, paths, pathPrefix, methods, pathTemplate));
             // Reset shared state since we have finished current route construction
             predicate = null;
+            paths = null;
+            pathPrefix = null;
+            methods = null;
+            pathTemplate = null;
             influencerChainBuilder = new StrategyInfluencerChainBuilder();
             strategy = null;
             return HttpPredicateRouterBuilder.this;
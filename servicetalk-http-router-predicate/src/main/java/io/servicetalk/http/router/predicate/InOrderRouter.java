@@ -18,7 +18,6 @@ package io.servicetalk.http.router.predicate;
 import io.servicetalk.concurrent.api.AsyncCloseable;
 import io.servicetalk.concurrent.api.Completable;
 import io.servicetalk.concurrent.api.Single;
-import io.servicetalk.http.api.HttpExecutionStrategy;
 import io.servicetalk.http.api.HttpServiceContext;
 import io.servicetalk.http.api.StreamingHttpRequest;
 import io.servicetalk.http.api.StreamingHttpResponse;
@@ -28,7 +27,6 @@ import io.servicetalk.http.api.StreamingHttpService;
 import java.util.List;
 
 import static io.servicetalk.concurrent.api.AsyncCloseables.newCompositeCloseable;
-import static io.servicetalk.http.api.HttpExecutionStrategies.difference;
 import static java.util.Objects.requireNonNull;
 import static java.util.stream.Collectors.toList;
 
@@ -65,16 +63,7 @@ final class InOrderRouter implements StreamingHttpService {
                                                 final StreamingHttpResponseFactory factory) {
         for (final Route pair : routes) {
             if (pair.predicate().test(ctx, request)) {
-                StreamingHttpService service = pair.service();
-                HttpExecutionStrategy strategy = pair.routeStrategy();
-                if (strategy != null) {
-                    strategy = difference(ctx.executionContext().executor(),
-                            ctx.executionContext().executionStrategy(), strategy);
-                    if (strategy != null) {
-                        service = strategy.offloadService(ctx.executionContext().executor(), service);
-                    }
-                }
-                return service.handle(ctx, request, factory);
+                return pair.handle(ctx, request, factory);
             }
         }
         return fallbackService.handle(ctx, request, factory);
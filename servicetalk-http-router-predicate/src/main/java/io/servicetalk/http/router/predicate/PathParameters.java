@@ -0,0 +1,67 @@
+/*
+ * Copyright © 2019 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.http.router.predicate;
+
+import io.servicetalk.concurrent.api.AsyncContext;
+import io.servicetalk.concurrent.api.AsyncContextMap.Key;
+import io.servicetalk.http.router.predicate.dsl.RouteStarter;
+
+import java.util.Map;
+import javax.annotation.Nullable;
+
+import static io.servicetalk.concurrent.api.AsyncContextMap.Key.newKey;
+import static java.util.Collections.emptyMap;
+
+/**
+ * Provides access to the values of path template parameters of the route which is handling the current request.
+ * <p>
+ * Values are stored in the {@link AsyncContext} when a route with a path template (see
+ * {@link RouteStarter#whenPathTemplate(String)}) is selected, before its service is invoked.
+ */
+public final class PathParameters {
+
+    /**
+     * {@link Key} of the path template parameters in the {@link AsyncContext}.
+     */
+    public static final Key<Map<String, String>> PATH_PARAMETERS_KEY = newKey("pathParameters");
+
+    private PathParameters() {
+        // no instances
+    }
+
+    /**
+     * Returns the values of the path template parameters of the route which is handling the current request.
+     *
+     * @return the values of the path template parameters by name, or an empty {@link Map} if the route has no path
+     * template.
+     */
+    public static Map<String, String> pathParameters() {
+        final Map<String, String> parameters = AsyncContext.get(PATH_PARAMETERS_KEY);
+        return parameters == null ? emptyMap() : parameters;
+    }
+
+    /**
+     * Returns the value of the path template parameter {@code name} of the route which is handling the current
+     * request.
+     *
+     * @param name the name of the parameter.
+     * @return the value of the parameter, or {@code null} if the route has no such parameter.
+     */
+    @Nullable
+    public static String pathParameter(final String name) {
+        return pathParameters().get(name);
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright © 2019 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.http.router.predicate;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.Nullable;
+
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.unmodifiableMap;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A path template such as {@code /users/{id}/orders/{orderId}}, compiled into its segments. Each segment is either a
+ * literal which must be equal to the corresponding path segment or a parameter which matches any non-empty segment.
+ * Paths are matched segment by segment without regular expressions or splitting the path.
+ */
+final class PathTemplate {
+
+    private final String template;
+    /**
+     * Segments of the template, without the leading {@code /}.
+     */
+    private final String[] segments;
+    /**
+     * Parameter name for each segment, {@code null} for literal segments.
+     */
+    private final String[] parameterNames;
+    private final String literalPrefix;
+    private final boolean hasParameters;
+
+    private PathTemplate(final String template, final String[] segments, final String[] parameterNames) {
+        this.template = template;
+        this.segments = segments;
+        this.parameterNames = parameterNames;
+        final StringBuilder prefix = new StringBuilder(template.length());
+        boolean hasParameters = false;
+        for (int i = 0; i < segments.length; ++i) {
+            prefix.append('/');
+            if (parameterNames[i] != null) {
+                hasParameters = true;
+                break;
+            }
+            prefix.append(segments[i]);
+        }
+        this.literalPrefix = prefix.toString();
+        this.hasParameters = hasParameters;
+    }
+
+    /**
+     * Parses a path template.
+     *
+     * @param template the template to parse.
+     * @return the parsed {@link PathTemplate}.
+     * @throws IllegalArgumentException if {@code template} is not a valid template.
+     */
+    static PathTemplate parse(final String template) {
+        requireNonNull(template);
+        if (template.isEmpty() || template.charAt(0) != '/') {
+            throw new IllegalArgumentException("pathTemplate: " + template + " (expected to start with '/')");
+        }
+        final String[] segments = template.substring(1).split("/", -1);
+        final String[] parameterNames = new String[segments.length];
+        final Set<String> names = new HashSet<>();
+        for (int i = 0; i < segments.length; ++i) {
+            final String segment = segments[i];
+            final int open = segment.indexOf('{');
+            final int close = segment.indexOf('}');
+            if (open < 0 && close < 0) {
+                continue;
+            }
+            if (open != 0 || close != segment.length() - 1 || segment.length() == 2 ||
+                    segment.indexOf('{', 1) >= 0) {
+                throw new IllegalArgumentException("pathTemplate: " + template + " (invalid segment '" + segment +
+                        "', parameters must span a whole segment and have a name)");
+            }
+            final String name = segment.substring(1, segment.length() - 1);
+            if (!names.add(name)) {
+                throw new IllegalArgumentException("pathTemplate: " + template + " (duplicate parameter '" + name +
+                        "')");
+            }
+            parameterNames[i] = name;
+        }
+        return new PathTemplate(template, segments, parameterNames);
+    }
+
+    /**
+     * Returns {@code true} if the template has at least one parameter.
+     *
+     * @return {@code true} if the template has at least one parameter.
+     */
+    boolean hasParameters() {
+        return hasParameters;
+    }
+
+    /**
+     * Returns the literal part of the template up to the first parameter, or the whole template if it has no
+     * parameters.
+     *
+     * @return the literal part of the template up to the first parameter.
+     */
+    String literalPrefix() {
+        return literalPrefix;
+    }
+
+    /**
+     * Returns {@code true} if {@code path} matches this template.
+     *
+     * @param path the path to match.
+     * @return {@code true} if {@code path} matches this template.
+     */
+    boolean matches(final String path) {
+        return match(path, null);
+    }
+
+    /**
+     * Returns the values of the parameters of this template in {@code path}.
+     *
+     * @param path a path that {@link #matches(String) matches} this template.
+     * @return the values of the parameters of this template in {@code path}.
+     */
+    Map<String, String> parameters(final String path) {
+        if (!hasParameters) {
+            return emptyMap();
+        }
+        final Map<String, String> parameters = new HashMap<>(parameterNames.length * 2);
+        if (!match(path, parameters)) {
+            throw new IllegalArgumentException("path: " + path + " (expected to match " + template + ")");
+        }
+        return unmodifiableMap(parameters);
+    }
+
+    private boolean match(final String path, @Nullable final Map<String, String> parameters) {
+        final int length = path.length();
+        int start = 0;
+        for (int i = 0; i < segments.length; ++i) {
+            if (start >= length || path.charAt(start) != '/') {
+                return false;
+            }
+            ++start;
+            int end = path.indexOf('/', start);
+            if (end < 0) {
+                end = length;
+            }
+            final String name = parameterNames[i];
+            if (name == null) {
+                final String literal = segments[i];
+                if (end - start != literal.length() || !path.regionMatches(start, literal, 0, literal.length())) {
+                    return false;
+                }
+            } else if (end == start) {
+                return false;
+            } else if (parameters != null) {
+                parameters.put(name, path.substring(start, end));
+            }
+            start = end;
+        }
+        return start == length;
+    }
+
+    @Override
+    public String toString() {
+        return template;
+    }
+}
@@ -15,14 +15,23 @@
  */
 package io.servicetalk.http.router.predicate;
 
+import io.servicetalk.concurrent.api.AsyncContext;
+import io.servicetalk.concurrent.api.Single;
 import io.servicetalk.http.api.HttpExecutionStrategy;
+import io.servicetalk.http.api.HttpRequestMethod;
+import io.servicetalk.http.api.HttpServiceContext;
 import io.servicetalk.http.api.StreamingHttpRequest;
+import io.servicetalk.http.api.StreamingHttpResponse;
+import io.servicetalk.http.api.StreamingHttpResponseFactory;
 import io.servicetalk.http.api.StreamingHttpService;
 import io.servicetalk.transport.api.ConnectionContext;
 
+import java.util.List;
 import java.util.function.BiPredicate;
 import javax.annotation.Nullable;
 
+import static io.servicetalk.http.api.HttpExecutionStrategies.difference;
+import static io.servicetalk.http.router.predicate.PathParameters.PATH_PARAMETERS_KEY;
 import static java.util.Objects.requireNonNull;
 
 final class Route {
@@ -31,12 +40,39 @@ final class Route {
     private final StreamingHttpService service;
     @Nullable
     private final HttpExecutionStrategy routeStrategy;
+    @Nullable
+    private final List<String> paths;
+    @Nullable
+    private final String pathPrefix;
+    @Nullable
+    private final List<HttpRequestMethod> methods;
+    @Nullable
+    private final PathTemplate pathTemplate;
 
+    /**
+     * Create a new instance.
+     *
+     * @param predicate the predicate a request must match to be routed to {@code service}.
+     * @param service the service to route requests to.
+     * @param strategy the {@link HttpExecutionStrategy} for this route, if any.
+     * @param paths if not {@code null}, {@code predicate} can only match requests with one of these paths.
+     * @param pathPrefix if not {@code null}, {@code predicate} can only match requests with a path starting with this
+     * prefix.
+     * @param methods if not {@code null}, {@code predicate} can only match requests with one of these methods.
+     * @param pathTemplate if not {@code null}, {@code predicate} can only match requests with a path matching this
+     * template, and its parameters are made available via {@link PathParameters}.
+     */
     Route(final BiPredicate<ConnectionContext, StreamingHttpRequest> predicate,
-          final StreamingHttpService service, @Nullable final HttpExecutionStrategy strategy) {
+          final StreamingHttpService service, @Nullable final HttpExecutionStrategy strategy,
+          @Nullable final List<String> paths, @Nullable final String pathPrefix,
+          @Nullable final List<HttpRequestMethod> methods, @Nullable final PathTemplate pathTemplate) {
         this.predicate = requireNonNull(predicate);
         this.service = requireNonNull(service);
         routeStrategy = strategy;
+        this.paths = paths;
+        this.pathPrefix = pathPrefix;
+        this.methods = methods;
+        this.pathTemplate = pathTemplate;
     }
 
     BiPredicate<ConnectionContext, StreamingHttpRequest> predicate() {
@@ -51,4 +87,36 @@ final class Route {
     HttpExecutionStrategy routeStrategy() {
         return routeStrategy;
     }
+
+    @Nullable
+    List<String> paths() {
+        return paths;
+    }
+
+    @Nullable
+    String pathPrefix() {
+        return pathPrefix;
+    }
+
+    @Nullable
+    List<HttpRequestMethod> methods() {
+        return methods;
+    }
+
+    Single<StreamingHttpResponse> handle(final HttpServiceContext ctx, final StreamingHttpRequest request,
+                                         final StreamingHttpResponseFactory factory) {
+        if (pathTemplate != null) {
+            AsyncContext.put(PATH_PARAMETERS_KEY, pathTemplate.parameters(request.path()));
+        }
+        StreamingHttpService service = this.service;
+        HttpExecutionStrategy strategy = routeStrategy;
+        if (strategy != null) {
+            strategy = difference(ctx.executionContext().executor(),
+                    ctx.executionContext().executionStrategy(), strategy);
+            if (strategy != null) {
+                service = strategy.offloadService(ctx.executionContext().executor(), service);
+            }
+        }
+        return service.handle(ctx, request, factory);
+    }
 }
@@ -91,6 +91,18 @@ public interface RouteContinuation {
      */
     RouteContinuation andPathMatches(Pattern pathRegex);
 
+    /**
+     * Extends the current route such that it matches requests where the path matches the template
+     * {@code pathTemplate}, eg. {@code /users/{id}/orders/{orderId}}. Each path segment of the template is either a
+     * literal or a {@code {name}} parameter which matches any non-empty segment. Values of the parameters of the
+     * matched route are available via {@link io.servicetalk.http.router.predicate.PathParameters} while the route's
+     * service handles the request.
+     *
+     * @param pathTemplate the template to match against the request path.
+     * @return {@link RouteContinuation} for the next steps of building a route.
+     */
+    RouteContinuation andPathTemplate(String pathTemplate);
+
     /**
      * Extends the current route with a {@link StringMultiValueMatcher} that matches against the value(s) of the
      * request parameter {@code name}.
@@ -26,7 +26,10 @@ import io.servicetalk.http.api.StreamingHttpService;
 import org.junit.Test;
 
 import java.net.SocketAddress;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.regex.Pattern;
 import javax.net.ssl.SSLSession;
 
@@ -149,6 +152,67 @@ public class HttpPredicateRouterBuilderTest extends BaseHttpPredicateRouterBuild
         assertSame(fallbackResponse, service.handle(ctx, request, reqRespFactory));
     }
 
+    @Test
+    public void testWhenPathTemplate() {
+        final AtomicReference<Map<String, String>> parameters = new AtomicReference<>();
+        final StreamingHttpService service = new HttpPredicateRouterBuilder()
+                .whenPathTemplate("/users/{id}/orders/{orderId}").thenRouteTo(
+                        (StreamingHttpService) (ctx, req, factory) -> {
+                            parameters.set(PathParameters.pathParameters());
+                            return responseA;
+                        })
+                .whenPathTemplate("/users/me").thenRouteTo(serviceB)
+                .when((ctx, req) -> true).thenRouteTo(fallbackService)
+                .buildStreaming();
+
+        when(request.path()).thenReturn("/users/1/orders/abc");
+        assertSame(responseA, service.handle(ctx, request, reqRespFactory));
+        final Map<String, String> expected = new HashMap<>();
+        expected.put("id", "1");
+        expected.put("orderId", "abc");
+        assertEquals(expected, parameters.get());
+
+        when(request.path()).thenReturn("/users/me");
+        assertSame(responseB, service.handle(ctx, request, reqRespFactory));
+
+        when(request.path()).thenReturn("/users/1/orders/");
+        assertSame(fallbackResponse, service.handle(ctx, request, reqRespFactory));
+
+        when(request.path()).thenReturn("/users/1/orders/abc/items");
+        assertSame(fallbackResponse, service.handle(ctx, request, reqRespFactory));
+    }
+
+    @Test
+    public void testFirstMatchAcrossIndexedRoutes() {
+        final StreamingHttpService service = new HttpPredicateRouterBuilder()
+                .whenPathStartsWith("/a").andMethod(POST).thenRouteTo(serviceA)
+                .whenMethod(GET).andPathEquals("/ab").thenRouteTo(serviceB)
+                .whenMethod(GET).thenRouteTo(serviceC)
+                .whenPathStartsWith("/ab").thenRouteTo(serviceD)
+                .when((ctx, req) -> req.path().endsWith("c")).thenRouteTo(serviceE)
+                .when((ctx, req) -> true).thenRouteTo(fallbackService)
+                .buildStreaming();
+
+        when(request.method()).thenReturn(POST);
+        when(request.path()).thenReturn("/ab");
+        assertSame(responseA, service.handle(ctx, request, reqRespFactory));
+
+        when(request.method()).thenReturn(GET);
+        assertSame(responseB, service.handle(ctx, request, reqRespFactory));
+
+        when(request.path()).thenReturn("/abc");
+        assertSame(responseC, service.handle(ctx, request, reqRespFactory));
+
+        when(request.method()).thenReturn(PUT);
+        assertSame(responseD, service.handle(ctx, request, reqRespFactory));
+
+        when(request.path()).thenReturn("/xc");
+        assertSame(responseE, service.handle(ctx, request, reqRespFactory));
+
+        when(request.path()).thenReturn("/x");
+        assertSame(fallbackResponse, service.handle(ctx, request, reqRespFactory));
+    }
+
     @Test
     public void testWhenPathMatches() {
         final StreamingHttpService service = new HttpPredicateRouterBuilder()
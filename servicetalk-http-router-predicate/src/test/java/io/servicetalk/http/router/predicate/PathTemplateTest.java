@@ -0,0 +1,94 @@
+/*
+ * Copyright © 2019 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.http.router.predicate;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonMap;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class PathTemplateTest {
+
+    @Test
+    public void literalTemplate() {
+        PathTemplate template = PathTemplate.parse("/a/b");
+        assertThat(template.hasParameters(), is(false));
+        assertThat(template.literalPrefix(), is("/a/b"));
+        assertThat(template.matches("/a/b"), is(true));
+        assertThat(template.matches("/a/b/"), is(false));
+        assertThat(template.matches("/a/bc"), is(false));
+        assertThat(template.matches("/a"), is(false));
+        assertThat(template.parameters("/a/b"), is(emptyMap()));
+    }
+
+    @Test
+    public void parameters() {
+        PathTemplate template = PathTemplate.parse("/users/{id}/orders/{orderId}");
+        assertThat(template.hasParameters(), is(true));
+        assertThat(template.literalPrefix(), is("/users/"));
+        assertThat(template.matches("/users/1/orders/2"), is(true));
+        assertThat(template.matches("/users//orders/2"), is(false));
+        assertThat(template.matches("/users/1/orders"), is(false));
+        assertThat(template.matches("/users/1/order/2"), is(false));
+        assertThat(template.matches("/users/1/orders/2/3"), is(false));
+
+        Map<String, String> expected = new HashMap<>();
+        expected.put("id", "1");
+        expected.put("orderId", "2");
+        assertThat(template.parameters("/users/1/orders/2"), is(expected));
+    }
+
+    @Test
+    public void rootParameter() {
+        PathTemplate template = PathTemplate.parse("/{name}");
+        assertThat(template.literalPrefix(), is("/"));
+        assertThat(template.matches("/x"), is(true));
+        assertThat(template.matches("/"), is(false));
+        assertThat(template.parameters("/x"), is(singletonMap("name", "x")));
+    }
+
+    @Test
+    public void trailingSlash() {
+        PathTemplate template = PathTemplate.parse("/a/{b}/");
+        assertThat(template.matches("/a/x/"), is(true));
+        assertThat(template.matches("/a/x"), is(false));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void relativeTemplate() {
+        PathTemplate.parse("a/{b}");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void partialSegmentParameter() {
+        PathTemplate.parse("/a/b{c}");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unnamedParameter() {
+        PathTemplate.parse("/a/{}");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void duplicateParameter() {
+        PathTemplate.parse("/{a}/{a}");
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright © 2019 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.http.utils;
+
+import io.servicetalk.buffer.api.Buffer;
+import io.servicetalk.buffer.api.BufferAllocator;
+import io.servicetalk.concurrent.api.Publisher;
+
+import javax.annotation.Nullable;
+
+import static io.servicetalk.concurrent.api.Completable.fromRunnable;
+import static io.servicetalk.concurrent.api.Publisher.defer;
+import static io.servicetalk.concurrent.api.Single.fromCallable;
+import static io.servicetalk.http.api.CharSequences.contentEqualsIgnoreCase;
+import static io.servicetalk.http.api.CharSequences.indexOf;
+import static io.servicetalk.http.api.HttpHeaderValues.DEFLATE;
+import static io.servicetalk.http.api.HttpHeaderValues.GZIP;
+
+/**
+ * HTTP content-codings supported by {@link ContentCodingHttpServiceFilter} and
+ * {@link ContentCodingHttpRequesterFilter}.
+ */
+enum ContentCoding {
+    Gzip(GZIP, true),
+    Deflate(DEFLATE, false);
+
+    private final CharSequence headerValue;
+    private final boolean gzip;
+
+    ContentCoding(final CharSequence headerValue, final boolean gzip) {
+        this.headerValue = headerValue;
+        this.gzip = gzip;
+    }
+
+    /**
+     * The value of this content-coding in the {@code content-encoding} and {@code accept-encoding} headers.
+     *
+     * @return The value of this content-coding in the {@code content-encoding} and {@code accept-encoding} headers.
+     */
+    CharSequence headerValue() {
+        return headerValue;
+    }
+
+    /**
+     * Compresses the passed payload incrementally.
+     *
+     * @param payload the payload to compress.
+     * @param allocator {@link BufferAllocator} for the compressed content.
+     * @return the compressed payload.
+     */
+    Publisher<Buffer> encode(final Publisher<Buffer> payload, final BufferAllocator allocator) {
+        return defer(() -> {
+            final StreamingDeflater deflater = new StreamingDeflater(gzip, allocator);
+            return payload.map(deflater::deflate)
+                    .concat(fromCallable(deflater::finish))
+                    .beforeFinally(deflater::end)
+                    .subscribeShareContext();
+        });
+    }
+
+    /**
+     * Decompresses the passed payload incrementally.
+     *
+     * @param payload the payload to decompress.
+     * @param allocator {@link BufferAllocator} for the decompressed content.
+     * @return the decompressed payload.
+     */
+    Publisher<Buffer> decode(final Publisher<Buffer> payload, final BufferAllocator allocator) {
+        return defer(() -> {
+            final StreamingInflater inflater = new StreamingInflater(gzip, allocator);
+            return payload.map(inflater::inflate)
+                    .concat(fromRunnable(inflater::finish))
+                    .beforeFinally(inflater::end)
+                    .subscribeShareContext();
+        });
+    }
+
+    /**
+     * Finds the {@link ContentCoding} for a {@code content-encoding} header value.
+     *
+     * @param contentEncoding the {@code content-encoding} header value.
+     * @return the {@link ContentCoding} or {@code null} if the content-coding is not supported.
+     */
+    @Nullable
+    static ContentCoding fromContentEncoding(@Nullable final CharSequence contentEncoding) {
+        if (contentEncoding == null) {
+            return null;
+        }
+        for (ContentCoding coding : values()) {
+            if (contentEqualsIgnoreCase(coding.headerValue, contentEncoding)) {
+                return coding;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Selects the preferred supported {@link ContentCoding} from an {@code accept-encoding} header value, taking
+     * quality values into account.
+     *
+     * @param acceptEncoding the {@code accept-encoding} header value.
+     * @return the preferred {@link ContentCoding} or {@code null} if none is acceptable.
+     */
+    @Nullable
+    static ContentCoding fromAcceptEncoding(@Nullable final CharSequence acceptEncoding) {
+        if (acceptEncoding == null) {
+            return null;
+        }
+        ContentCoding selected = null;
+        float selectedQuality = 0;
+        float wildcardQuality = -1;
+        boolean[] listed = new boolean[values().length];
+        int start = 0;
+        final int length = acceptEncoding.length();
+        while (start < length) {
+            int end = indexOf(acceptEncoding, ',', start);
+            if (end < 0) {
+                end = length;
+            }
+            int codingEnd = indexOf(acceptEncoding, ';', start);
+            if (codingEnd < 0 || codingEnd > end) {
+                codingEnd = end;
+            }
+            final CharSequence coding = trim(acceptEncoding.subSequence(start, codingEnd));
+            final float quality = codingEnd == end ? 1 :
+                    quality(trim(acceptEncoding.subSequence(codingEnd + 1, end)));
+            if (coding.length() == 1 && coding.charAt(0) == '*') {
+                wildcardQuality = quality;
+            } else {
+                final ContentCoding candidate = fromContentEncoding(coding);
+                if (candidate != null) {
+                    listed[candidate.ordinal()] = true;
+                    if (quality > selectedQuality) {
+                        selected = candidate;
+                        selectedQuality = quality;
+                    }
+                }
+            }
+            start = end + 1;
+        }
+        if (wildcardQuality > selectedQuality) {
+            for (ContentCoding coding : values()) {
+                if (!listed[coding.ordinal()]) {
+                    return coding;
+                }
+            }
+        }
+        return selected;
+    }
+
+    private static float quality(final CharSequence parameter) {
+        if (parameter.length() < 2 || (parameter.charAt(0) != 'q' && parameter.charAt(0) != 'Q') ||
+                parameter.charAt(1) != '=') {
+            return 1;
+        }
+        try {
+            return Float.parseFloat(parameter.subSequence(2, parameter.length()).toString());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static CharSequence trim(final CharSequence cs) {
+        int start = 0;
+        int end = cs.length();
+        while (start < end && cs.charAt(start) <= ' ') {
+            ++start;
+        }
+        while (end > start && cs.charAt(end - 1) <= ' ') {
+            --end;
+        }
+        return cs.subSequence(start, end);
+    }
+}
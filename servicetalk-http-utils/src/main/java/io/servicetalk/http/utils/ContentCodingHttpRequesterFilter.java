@@ -0,0 +1,103 @@
+/*
+ * Copyright © 2019 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.http.utils;
+
+import io.servicetalk.buffer.api.BufferAllocator;
+import io.servicetalk.concurrent.api.Single;
+import io.servicetalk.http.api.FilterableStreamingHttpClient;
+import io.servicetalk.http.api.FilterableStreamingHttpConnection;
+import io.servicetalk.http.api.HttpExecutionStrategy;
+import io.servicetalk.http.api.HttpExecutionStrategyInfluencer;
+import io.servicetalk.http.api.HttpHeaders;
+import io.servicetalk.http.api.StreamingHttpClientFilter;
+import io.servicetalk.http.api.StreamingHttpClientFilterFactory;
+import io.servicetalk.http.api.StreamingHttpConnectionFilter;
+import io.servicetalk.http.api.StreamingHttpConnectionFilterFactory;
+import io.servicetalk.http.api.StreamingHttpRequest;
+import io.servicetalk.http.api.StreamingHttpRequester;
+import io.servicetalk.http.api.StreamingHttpResponse;
+
+import static io.servicetalk.http.api.CharSequences.newAsciiString;
+import static io.servicetalk.http.api.HttpHeaderNames.ACCEPT_ENCODING;
+import static io.servicetalk.http.api.HttpHeaderNames.CONTENT_ENCODING;
+import static io.servicetalk.http.api.HttpHeaderNames.CONTENT_LENGTH;
+
+/**
+ * A filter that advertises the {@code gzip} and {@code deflate} content-codings in the {@code accept-encoding} header
+ * and transparently decompresses the response payloads.
+ * <p>
+ * Payloads are decompressed incrementally as they are read, without aggregation. Requests which already have an
+ * {@code accept-encoding} header are left untouched, the caller is then responsible for decoding the response.
+ */
+public final class ContentCodingHttpRequesterFilter implements StreamingHttpClientFilterFactory,
+                                                               StreamingHttpConnectionFilterFactory,
+                                                               HttpExecutionStrategyInfluencer {
+    private static final CharSequence ACCEPTED_ENCODINGS = newAsciiString(ContentCoding.Gzip.headerValue() + ", " +
+            ContentCoding.Deflate.headerValue());
+
+    private static Single<StreamingHttpResponse> request(final StreamingHttpRequester delegate,
+                                                         final HttpExecutionStrategy strategy,
+                                                         final StreamingHttpRequest request) {
+        final HttpHeaders headers = request.headers();
+        if (headers.contains(ACCEPT_ENCODING)) {
+            return delegate.request(strategy, request);
+        }
+        headers.set(ACCEPT_ENCODING, ACCEPTED_ENCODINGS);
+        final BufferAllocator allocator = delegate.executionContext().bufferAllocator();
+        return delegate.request(strategy, request).map(response -> decode(response, allocator));
+    }
+
+    private static StreamingHttpResponse decode(final StreamingHttpResponse response,
+                                                final BufferAllocator allocator) {
+        final HttpHeaders headers = response.headers();
+        final ContentCoding coding = ContentCoding.fromContentEncoding(headers.get(CONTENT_ENCODING));
+        if (coding == null) {
+            return response;
+        }
+        headers.remove(CONTENT_ENCODING);
+        headers.remove(CONTENT_LENGTH);
+        return response.transformPayloadBody(payload -> coding.decode(payload, allocator));
+    }
+
+    @Override
+    public StreamingHttpClientFilter create(final FilterableStreamingHttpClient client) {
+        return new StreamingHttpClientFilter(client) {
+            @Override
+            protected Single<StreamingHttpResponse> request(final StreamingHttpRequester delegate,
+                                                            final HttpExecutionStrategy strategy,
+                                                            final StreamingHttpRequest request) {
+                return ContentCodingHttpRequesterFilter.request(delegate, strategy, request);
+            }
+        };
+    }
+
+    @Override
+    public StreamingHttpConnectionFilter create(final FilterableStreamingHttpConnection connection) {
+        return new StreamingHttpConnectionFilter(connection) {
+            @Override
+            public Single<StreamingHttpResponse> request(final HttpExecutionStrategy strategy,
+                                                         final StreamingHttpRequest request) {
+                return ContentCodingHttpRequesterFilter.request(delegate(), strategy, request);
+            }
+        };
+    }
+
+    @Override
+    public HttpExecutionStrategy influenceStrategy(final HttpExecutionStrategy strategy) {
+        // No influence since we do not block.
+        return strategy;
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright © 2019 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.http.utils;
+
+import io.servicetalk.buffer.api.BufferAllocator;
+import io.servicetalk.concurrent.api.Single;
+import io.servicetalk.http.api.HttpExecutionStrategy;
+import io.servicetalk.http.api.HttpExecutionStrategyInfluencer;
+import io.servicetalk.http.api.HttpHeaders;
+import io.servicetalk.http.api.HttpServiceContext;
+import io.servicetalk.http.api.StreamingHttpRequest;
+import io.servicetalk.http.api.StreamingHttpResponse;
+import io.servicetalk.http.api.StreamingHttpResponseFactory;
+import io.servicetalk.http.api.StreamingHttpService;
+import io.servicetalk.http.api.StreamingHttpServiceFilter;
+import io.servicetalk.http.api.StreamingHttpServiceFilterFactory;
+
+import java.util.function.Predicate;
+
+import static io.servicetalk.http.api.CharSequences.contentEqualsIgnoreCase;
+import static io.servicetalk.http.api.CharSequences.indexOf;
+import static io.servicetalk.http.api.CharSequences.regionMatches;
+import static io.servicetalk.http.api.HttpHeaderNames.ACCEPT_ENCODING;
+import static io.servicetalk.http.api.HttpHeaderNames.CONTENT_ENCODING;
+import static io.servicetalk.http.api.HttpHeaderNames.CONTENT_LENGTH;
+import static io.servicetalk.http.api.HttpHeaderNames.CONTENT_TYPE;
+import static io.servicetalk.http.api.HttpHeaderNames.VARY;
+import static io.servicetalk.http.api.HttpHeaderValues.IDENTITY;
+import static io.servicetalk.http.api.HttpRequestMethod.HEAD;
+import static io.servicetalk.http.api.HttpResponseStatus.NOT_MODIFIED;
+import static io.servicetalk.http.api.HttpResponseStatus.NO_CONTENT;
+import static io.servicetalk.http.api.HttpResponseStatus.PARTIAL_CONTENT;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A filter that compresses response payloads with the {@code gzip} or {@code deflate} content-coding, as negotiated
+ * by the request's {@code accept-encoding} header.
+ * <p>
+ * Payloads are compressed incrementally as they are written, without aggregation. Responses are left untouched if they
+ * already have a {@code content-encoding}, have no body, declare a {@code content-length} smaller than the configured
+ * minimum or have a {@code content-type} which is not considered compressible.
+ */
+public final class ContentCodingHttpServiceFilter implements StreamingHttpServiceFilterFactory,
+                                                             HttpExecutionStrategyInfluencer {
+    private static final int DEFAULT_MIN_CONTENT_LENGTH = 1024;
+
+    private final int minContentLength;
+    private final Predicate<CharSequence> compressibleContentType;
+
+    /**
+     * Creates a new instance which compresses responses with a known length of at least 1KiB and a textual
+     * {@code content-type}.
+     */
+    public ContentCodingHttpServiceFilter() {
+        this(DEFAULT_MIN_CONTENT_LENGTH);
+    }
+
+    /**
+     * Creates a new instance which compresses responses with a textual {@code content-type}.
+     *
+     * @param minContentLength responses with a {@code content-length} smaller than this value are not compressed.
+     * Responses without a {@code content-length} are always considered.
+     */
+    public ContentCodingHttpServiceFilter(final int minContentLength) {
+        this(minContentLength, ContentCodingHttpServiceFilter::isTextContentType);
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param minContentLength responses with a {@code content-length} smaller than this value are not compressed.
+     * Responses without a {@code content-length} are always considered.
+     * @param compressibleContentType {@link Predicate} which returns {@code true} for the {@code content-type} header
+     * values of responses which should be compressed.
+     */
+    public ContentCodingHttpServiceFilter(final int minContentLength,
+                                          final Predicate<CharSequence> compressibleContentType) {
+        if (minContentLength < 0) {
+            throw new IllegalArgumentException("minContentLength: " + minContentLength + " (expected >=0)");
+        }
+        this.minContentLength = minContentLength;
+        this.compressibleContentType = requireNonNull(compressibleContentType);
+    }
+
+    @Override
+    public StreamingHttpServiceFilter create(final StreamingHttpService service) {
+        return new StreamingHttpServiceFilter(service) {
+            @Override
+            public Single<StreamingHttpResponse> handle(final HttpServiceContext ctx,
+                                                        final StreamingHttpRequest request,
+                                                        final StreamingHttpResponseFactory responseFactory) {
+                final ContentCoding coding = HEAD.equals(request.method()) ? null :
+                        ContentCoding.fromAcceptEncoding(request.headers().get(ACCEPT_ENCODING));
+                final Single<StreamingHttpResponse> response = delegate().handle(ctx, request, responseFactory);
+                if (coding == null) {
+                    return response;
+                }
+                final BufferAllocator allocator = ctx.executionContext().bufferAllocator();
+                return response.map(resp -> encode(resp, coding, allocator));
+            }
+        };
+    }
+
+    @Override
+    public HttpExecutionStrategy influenceStrategy(final HttpExecutionStrategy strategy) {
+        // No influence since we do not block.
+        return strategy;
+    }
+
+    private StreamingHttpResponse encode(final StreamingHttpResponse response, final ContentCoding coding,
+                                         final BufferAllocator allocator) {
+        if (!shouldEncode(response)) {
+            return response;
+        }
+        response.headers().set(CONTENT_ENCODING, coding.headerValue())
+                .add(VARY, ACCEPT_ENCODING)
+                .remove(CONTENT_LENGTH);
+        return response.transformPayloadBody(payload -> coding.encode(payload, allocator));
+    }
+
+    private boolean shouldEncode(final StreamingHttpResponse response) {
+        final int statusCode = response.status().code();
+        if (statusCode < 200 || statusCode == NO_CONTENT.code() || statusCode == PARTIAL_CONTENT.code() ||
+                statusCode == NOT_MODIFIED.code()) {
+            return false;
+        }
+        final HttpHeaders headers = response.headers();
+        final CharSequence contentEncoding = headers.get(CONTENT_ENCODING);
+        if (contentEncoding != null && !contentEqualsIgnoreCase(contentEncoding, IDENTITY)) {
+            return false;
+        }
+        final CharSequence contentType = headers.get(CONTENT_TYPE);
+        if (contentType == null || !compressibleContentType.test(contentType)) {
+            return false;
+        }
+        final long contentLength = contentLength(headers);
+        return contentLength < 0 || contentLength >= minContentLength;
+    }
+
+    private static long contentLength(final HttpHeaders headers) {
+        final CharSequence contentLength = headers.get(CONTENT_LENGTH);
+        if (contentLength == null) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(contentLength.toString());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Default compressible {@code content-type} {@link Predicate}, it accepts {@code text/*}, JSON, XML, JavaScript
+     * and form content.
+     *
+     * @param contentType the {@code content-type} header value.
+     * @return {@code true} if the {@code content-type} is textual.
+     */
+    private static boolean isTextContentType(final CharSequence contentType) {
+        int end = indexOf(contentType, ';', 0);
+        if (end < 0) {
+            end = contentType.length();
+        }
+        return startsWithIgnoreCase(contentType, "text/") ||
+                endsWithIgnoreCase(contentType, end, "/json") || endsWithIgnoreCase(contentType, end, "+json") ||
+                endsWithIgnoreCase(contentType, end, "/xml") || endsWithIgnoreCase(contentType, end, "+xml") ||
+                endsWithIgnoreCase(contentType, end, "/javascript") ||
+                endsWithIgnoreCase(contentType, end, "/x-www-form-urlencoded");
+    }
+
+    private static boolean startsWithIgnoreCase(final CharSequence cs, final String prefix) {
+        return cs.length() >= prefix.length() && regionMatches(cs, true, 0, prefix, 0, prefix.length());
+    }
+
+    private static boolean endsWithIgnoreCase(final CharSequence cs, final int end, final String suffix) {
+        final int start = end - suffix.length();
+        return start >= 0 && regionMatches(cs, true, start, suffix, 0, suffix.length());
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright © 2019 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.http.utils;
+
+import io.servicetalk.buffer.api.Buffer;
+import io.servicetalk.buffer.api.BufferAllocator;
+
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import javax.annotation.Nullable;
+
+import static java.util.zip.Deflater.DEFAULT_COMPRESSION;
+import static java.util.zip.Deflater.SYNC_FLUSH;
+
+/**
+ * Incrementally compresses a stream of {@link Buffer}s using the {@code gzip} or {@code deflate} content-coding.
+ * <p>
+ * Every chunk is flushed so that the peer can decode the content received so far, which makes it suitable for
+ * streaming payloads. Instances are not thread-safe and must be {@link #end() ended} to release native resources.
+ */
+final class StreamingDeflater {
+    private static final byte[] GZIP_HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+    private static final int CHUNK_SIZE = 4096;
+
+    private final BufferAllocator allocator;
+    private final Deflater deflater;
+    @Nullable
+    private final CRC32 crc;
+    private final byte[] out = new byte[CHUNK_SIZE];
+    private boolean headerWritten;
+
+    StreamingDeflater(final boolean gzip, final BufferAllocator allocator) {
+        this.allocator = allocator;
+        // gzip uses a raw deflate stream wrapped in the gzip header and trailer, deflate uses the zlib format.
+        deflater = new Deflater(DEFAULT_COMPRESSION, gzip);
+        crc = gzip ? new CRC32() : null;
+    }
+
+    /**
+     * Compresses the readable bytes of the passed {@link Buffer}.
+     *
+     * @param input {@link Buffer} to compress, its readable bytes are consumed.
+     * @return {@link Buffer} containing the compressed content.
+     */
+    Buffer deflate(final Buffer input) {
+        final int length = input.readableBytes();
+        final Buffer output = allocator.newBuffer(length + GZIP_HEADER.length);
+        writeHeader(output);
+        if (length == 0) {
+            return output;
+        }
+        final byte[] in;
+        final int offset;
+        if (input.hasArray()) {
+            in = input.array();
+            offset = input.arrayOffset() + input.readerIndex();
+            input.skipBytes(length);
+        } else {
+            in = new byte[length];
+            offset = 0;
+            input.readBytes(in);
+        }
+        if (crc != null) {
+            crc.update(in, offset, length);
+        }
+        deflater.setInput(in, offset, length);
+        int written;
+        do {
+            written = deflater.deflate(out, 0, out.length, SYNC_FLUSH);
+            output.writeBytes(out, 0, written);
+        } while (written == out.length);
+        return output;
+    }
+
+    /**
+     * Terminates the compressed stream.
+     *
+     * @return {@link Buffer} containing the remaining compressed content.
+     */
+    Buffer finish() {
+        final Buffer output = allocator.newBuffer(CHUNK_SIZE);
+        writeHeader(output);
+        deflater.finish();
+        while (!deflater.finished()) {
+            output.writeBytes(out, 0, deflater.deflate(out));
+        }
+        if (crc != null) {
+            output.writeIntLE((int) crc.getValue());
+            output.writeIntLE((int) deflater.getBytesRead());
+        }
+        return output;
+    }
+
+    /**
+     * Releases the native resources, this instance can not be used after this method is called.
+     */
+    void end() {
+        deflater.end();
+    }
+
+    private void writeHeader(final Buffer output) {
+        if (crc != null && !headerWritten) {
+            headerWritten = true;
+            output.writeBytes(GZIP_HEADER);
+        }
+    }
+}
@@ -0,0 +1,256 @@
+/*
+ * Copyright © 2019 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.http.utils;
+
+import io.servicetalk.buffer.api.Buffer;
+import io.servicetalk.buffer.api.BufferAllocator;
+
+import java.io.UncheckedIOException;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+import javax.annotation.Nullable;
+
+/**
+ * Incrementally decompresses a stream of {@link Buffer}s encoded with the {@code gzip} or {@code deflate}
+ * content-coding.
+ * <p>
+ * Malformed content is reported by throwing an {@link UncheckedIOException} wrapping a {@link ZipException}. Instances
+ * are not thread-safe and must be {@link #end() ended} to release native resources.
+ */
+final class StreamingInflater {
+    private static final int CHUNK_SIZE = 4096;
+    private static final int GZIP_FIXED_HEADER_LENGTH = 10;
+    private static final int GZIP_TRAILER_LENGTH = 8;
+    private static final int FHCRC = 0x02;
+    private static final int FEXTRA = 0x04;
+    private static final int FNAME = 0x08;
+    private static final int FCOMMENT = 0x10;
+    private static final int FRESERVED = 0xe0;
+
+    private enum State {
+        HEADER, BODY, TRAILER, DONE
+    }
+
+    private final BufferAllocator allocator;
+    private final Inflater inflater;
+    @Nullable
+    private final CRC32 crc;
+    private final byte[] out = new byte[CHUNK_SIZE];
+    private State state;
+    private boolean inputReceived;
+
+    // gzip header and trailer parsing state, the header and trailer can span multiple chunks.
+    private int fixedHeaderRead;
+    private int flags;
+    private int extraLengthRead;
+    private int extraRemaining;
+    private int headerCrcRead;
+    private int trailerRead;
+    private long trailerCrc;
+    private long trailerSize;
+
+    StreamingInflater(final boolean gzip, final BufferAllocator allocator) {
+        this.allocator = allocator;
+        inflater = new Inflater(gzip);
+        crc = gzip ? new CRC32() : null;
+        state = gzip ? State.HEADER : State.BODY;
+    }
+
+    /**
+     * Decompresses the readable bytes of the passed {@link Buffer}.
+     *
+     * @param input {@link Buffer} to decompress, its readable bytes are consumed.
+     * @return {@link Buffer} containing the decompressed content.
+     */
+    Buffer inflate(final Buffer input) {
+        final int length = input.readableBytes();
+        final Buffer output = allocator.newBuffer(length << 1);
+        if (length == 0) {
+            return output;
+        }
+        inputReceived = true;
+        final byte[] in;
+        int offset;
+        if (input.hasArray()) {
+            in = input.array();
+            offset = input.arrayOffset() + input.readerIndex();
+            input.skipBytes(length);
+        } else {
+            in = new byte[length];
+            offset = 0;
+            input.readBytes(in);
+        }
+        final int end = offset + length;
+        while (offset < end) {
+            switch (state) {
+                case HEADER:
+                    offset = readHeader(in, offset, end);
+                    break;
+                case BODY:
+                    offset = inflate(in, offset, end, output);
+                    break;
+                case TRAILER:
+                    offset = readTrailer(in, offset, end);
+                    break;
+                case DONE:
+                    // Ignore anything after the end of the compressed stream.
+                    return output;
+                default:
+                    throw new AssertionError("Unexpected state: " + state);
+            }
+        }
+        return output;
+    }
+
+    /**
+     * Verifies that the compressed stream was complete. An empty stream is considered complete, as for responses
+     * without a body.
+     */
+    void finish() {
+        if (inputReceived && state != State.DONE) {
+            throw decodingError("Compressed content is truncated");
+        }
+    }
+
+    /**
+     * Releases the native resources, this instance can not be used after this method is called.
+     */
+    void end() {
+        inflater.end();
+    }
+
+    private int readHeader(final byte[] in, int offset, final int end) {
+        while (offset < end) {
+            if (fixedHeaderRead < GZIP_FIXED_HEADER_LENGTH) {
+                final int b = in[offset++] & 0xff;
+                switch (fixedHeaderRead++) {
+                    case 0:
+                        if (b != 0x1f) {
+                            throw decodingError("Not in gzip format");
+                        }
+                        break;
+                    case 1:
+                        if (b != 0x8b) {
+                            throw decodingError("Not in gzip format");
+                        }
+                        break;
+                    case 2:
+                        if (b != Deflater.DEFLATED) {
+                            throw decodingError("Unsupported gzip compression method: " + b);
+                        }
+                        break;
+                    case 3:
+                        if ((b & FRESERVED) != 0) {
+                            throw decodingError("Reserved gzip flags are set: " + b);
+                        }
+                        flags = b;
+                        break;
+                    default:
+                        // MTIME, XFL and OS are ignored.
+                        break;
+                }
+            } else if ((flags & FEXTRA) != 0) {
+                if (extraLengthRead < 2) {
+                    extraRemaining |= (in[offset++] & 0xff) << (extraLengthRead++ << 3);
+                } else {
+                    final int skip = Math.min(extraRemaining, end - offset);
+                    offset += skip;
+                    extraRemaining -= skip;
+                    if (extraRemaining == 0) {
+                        flags &= ~FEXTRA;
+                    }
+                }
+            } else if ((flags & FNAME) != 0) {
+                if (in[offset++] == 0) {
+                    flags &= ~FNAME;
+                }
+            } else if ((flags & FCOMMENT) != 0) {
+                if (in[offset++] == 0) {
+                    flags &= ~FCOMMENT;
+                }
+            } else if ((flags & FHCRC) != 0) {
+                ++offset;
+                if (++headerCrcRead == 2) {
+                    flags &= ~FHCRC;
+                }
+            } else {
+                state = State.BODY;
+                return offset;
+            }
+        }
+        if (fixedHeaderRead == GZIP_FIXED_HEADER_LENGTH && (flags & (FEXTRA | FNAME | FCOMMENT | FHCRC)) == 0) {
+            state = State.BODY;
+        }
+        return offset;
+    }
+
+    private int inflate(final byte[] in, final int offset, final int end, final Buffer output) {
+        inflater.setInput(in, offset, end - offset);
+        try {
+            for (;;) {
+                final int inflated = inflater.inflate(out);
+                if (inflated > 0) {
+                    output.writeBytes(out, 0, inflated);
+                    if (crc != null) {
+                        crc.update(out, 0, inflated);
+                    }
+                }
+                if (inflater.finished()) {
+                    state = crc != null ? State.TRAILER : State.DONE;
+                    return end - inflater.getRemaining();
+                }
+                if (inflated == 0) {
+                    if (inflater.needsDictionary()) {
+                        throw decodingError("Compressed content requires a preset dictionary");
+                    }
+                    return end;
+                }
+            }
+        } catch (DataFormatException e) {
+            throw new UncheckedIOException(new ZipException(e.getMessage()));
+        }
+    }
+
+    private int readTrailer(final byte[] in, int offset, final int end) {
+        assert crc != null;
+        while (offset < end && trailerRead < GZIP_TRAILER_LENGTH) {
+            final long b = in[offset++] & 0xff;
+            if (trailerRead < 4) {
+                trailerCrc |= b << (trailerRead << 3);
+            } else {
+                trailerSize |= b << ((trailerRead - 4) << 3);
+            }
+            ++trailerRead;
+        }
+        if (trailerRead == GZIP_TRAILER_LENGTH) {
+            if (trailerCrc != crc.getValue()) {
+                throw decodingError("Corrupt gzip trailer, CRC mismatch");
+            }
+            if (trailerSize != (inflater.getBytesWritten() & 0xffffffffL)) {
+                throw decodingError("Corrupt gzip trailer, size mismatch");
+            }
+            state = State.DONE;
+        }
+        return offset;
+    }
+
+    private static UncheckedIOException decodingError(final String message) {
+        return new UncheckedIOException(new ZipException(message));
+    }
+}
@@ -28,6 +28,7 @@ import io.servicetalk.http.api.StreamingHttpConnectionFilterFactory;
 import io.servicetalk.http.api.StreamingHttpRequest;
 import io.servicetalk.http.api.StreamingHttpRequester;
 import io.servicetalk.http.api.StreamingHttpResponse;
+import io.servicetalk.transport.api.IoExecutor;
 
 import java.time.Duration;
 import javax.annotation.Nullable;
@@ -36,6 +37,11 @@ import static java.util.Objects.requireNonNull;
 
 /**
  * A filter to enable timeouts for HTTP requests.
+ * <p>
+ * When no timeout {@link Executor} is specified and this filter is applied to a connection, the timer is scheduled on
+ * the {@link IoExecutor} of the connection (if it supports scheduling) so that setting, firing and cancelling the timer
+ * all happen on the event loop which owns the connection. Otherwise the timer is scheduled on the {@link Executor} of
+ * the response {@link Single}.
  */
 public final class TimeoutHttpRequesterFilter implements StreamingHttpClientFilterFactory,
                                                          StreamingHttpConnectionFilterFactory,
@@ -46,6 +52,8 @@ public final class TimeoutHttpRequesterFilter implements StreamingHttpClientFilt
 
     /**
      * Creates a new instance.
+     * <p>
+     * When applied to a connection the timer is managed by the {@link IoExecutor} of the connection, if possible.
      *
      * @param duration the timeout {@link Duration}
      */
@@ -67,11 +75,20 @@ public final class TimeoutHttpRequesterFilter implements StreamingHttpClientFilt
 
     private Single<StreamingHttpResponse> request(final StreamingHttpRequester delegate,
                                                   final HttpExecutionStrategy strategy,
-                                                  final StreamingHttpRequest request) {
+                                                  final StreamingHttpRequest request,
+                                                  @Nullable final Executor timeoutExecutor) {
         return timeoutExecutor != null ? delegate.request(strategy, request).idleTimeout(duration, timeoutExecutor) :
                 delegate.request(strategy, request).idleTimeout(duration);
     }
 
+    @Nullable
+    private static Executor ioTimeoutExecutor(final FilterableStreamingHttpConnection connection) {
+        // The IoExecutor of a connection is bound to the event loop that owns the connection. The netty implementation
+        // also implements Executor which schedules on that event loop.
+        final IoExecutor ioExecutor = connection.connectionContext().executionContext().ioExecutor();
+        return ioExecutor instanceof Executor ? (Executor) ioExecutor : null;
+    }
+
     @Override
     public StreamingHttpClientFilter create(final FilterableStreamingHttpClient client) {
         return new StreamingHttpClientFilter(client) {
@@ -79,18 +96,21 @@ public final class TimeoutHttpRequesterFilter implements StreamingHttpClientFilt
             protected Single<StreamingHttpResponse> request(final StreamingHttpRequester delegate,
                                                             final HttpExecutionStrategy strategy,
                                                             final StreamingHttpRequest request) {
-                return TimeoutHttpRequesterFilter.this.request(delegate, strategy, request);
+                return TimeoutHttpRequesterFilter.this.request(delegate, strategy, request, timeoutExecutor);
             }
        };
     }
 
     @Override
     public StreamingHttpConnectionFilter create(final FilterableStreamingHttpConnection connection) {
+        final Executor connectionTimeoutExecutor = timeoutExecutor != null ? timeoutExecutor :
+                ioTimeoutExecutor(connection);
         return new StreamingHttpConnectionFilter(connection) {
             @Override
             public Single<StreamingHttpResponse> request(final HttpExecutionStrategy strategy,
                                                             final StreamingHttpRequest request) {
-                return TimeoutHttpRequesterFilter.this.request(delegate(), strategy, request);
+                return TimeoutHttpRequesterFilter.this.request(delegate(), strategy, request,
+                        connectionTimeoutExecutor);
             }
         };
     }
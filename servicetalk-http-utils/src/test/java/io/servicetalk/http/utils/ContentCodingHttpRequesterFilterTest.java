@@ -0,0 +1,173 @@
+/*
+ * Copyright © 2019 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.http.utils;
+
+import io.servicetalk.buffer.api.Buffer;
+import io.servicetalk.concurrent.api.Publisher;
+import io.servicetalk.concurrent.api.Single;
+import io.servicetalk.concurrent.internal.ServiceTalkTestTimeout;
+import io.servicetalk.http.api.DefaultHttpHeadersFactory;
+import io.servicetalk.http.api.DefaultStreamingHttpRequestResponseFactory;
+import io.servicetalk.http.api.FilterableStreamingHttpConnection;
+import io.servicetalk.http.api.HttpExecutionContext;
+import io.servicetalk.http.api.HttpExecutionStrategy;
+import io.servicetalk.http.api.StreamingHttpClient;
+import io.servicetalk.http.api.StreamingHttpClientFilter;
+import io.servicetalk.http.api.StreamingHttpRequest;
+import io.servicetalk.http.api.StreamingHttpRequestResponseFactory;
+import io.servicetalk.http.api.StreamingHttpRequester;
+import io.servicetalk.http.api.StreamingHttpResponse;
+import io.servicetalk.http.api.TestStreamingHttpClient;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+
+import static io.servicetalk.buffer.netty.BufferAllocators.DEFAULT_ALLOCATOR;
+import static io.servicetalk.concurrent.api.Publisher.from;
+import static io.servicetalk.concurrent.api.Single.succeeded;
+import static io.servicetalk.http.api.HttpExecutionStrategies.defaultStrategy;
+import static io.servicetalk.http.api.HttpHeaderNames.ACCEPT_ENCODING;
+import static io.servicetalk.http.api.HttpHeaderNames.CONTENT_ENCODING;
+import static io.servicetalk.http.api.HttpHeaderNames.CONTENT_LENGTH;
+import static io.servicetalk.http.api.HttpHeaderValues.GZIP;
+import static io.servicetalk.http.api.HttpProtocolVersion.HTTP_1_1;
+import static io.servicetalk.http.utils.ContentCoding.Deflate;
+import static io.servicetalk.http.utils.ContentCoding.Gzip;
+import static io.servicetalk.http.utils.ContentCodingTest.repeat;
+import static io.servicetalk.http.utils.ContentCodingTest.toBytes;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ContentCodingHttpRequesterFilterTest {
+    @Rule
+    public final Timeout timeout = new ServiceTalkTestTimeout();
+
+    private static final String CONTENT = repeat("Hello ServiceTalk! ", 512);
+    private static final StreamingHttpRequestResponseFactory reqRespFactory =
+            new DefaultStreamingHttpRequestResponseFactory(DEFAULT_ALLOCATOR, DefaultHttpHeadersFactory.INSTANCE,
+                    HTTP_1_1);
+
+    private final AtomicReference<StreamingHttpRequest> sentRequest = new AtomicReference<>();
+    private final HttpExecutionContext executionContext = mock(HttpExecutionContext.class);
+
+    public ContentCodingHttpRequesterFilterTest() {
+        when(executionContext.bufferAllocator()).thenReturn(DEFAULT_ALLOCATOR);
+    }
+
+    @Test
+    public void clientDecodesGzipResponse() throws Exception {
+        StreamingHttpResponse response = newClient(Gzip).request(reqRespFactory.get("/"))
+                .toFuture().get();
+        assertAcceptEncodingSent("gzip, deflate");
+        assertDecoded(response);
+    }
+
+    @Test
+    public void connectionDecodesDeflateResponse() throws Exception {
+        FilterableStreamingHttpConnection connection = mock(FilterableStreamingHttpConnection.class);
+        when(connection.executionContext()).thenReturn(executionContext);
+        when(connection.request(any(), any())).thenAnswer(invocation ->
+                respond(invocation.getArgument(1), encodedResponse(Deflate)));
+        StreamingHttpResponse response = new ContentCodingHttpRequesterFilter().create(connection)
+                .request(defaultStrategy(), reqRespFactory.get("/")).toFuture().get();
+        assertAcceptEncodingSent("gzip, deflate");
+        assertDecoded(response);
+    }
+
+    @Test
+    public void unknownContentEncodingIsNotDecoded() throws Exception {
+        StreamingHttpResponse response = newClient(resp -> resp.setHeader(CONTENT_ENCODING, "br"))
+                .request(reqRespFactory.get("/")).toFuture().get();
+        assertThat("Unexpected content-encoding.", response.headers().get(CONTENT_ENCODING).toString(), is("br"));
+        assertThat("Missing content-length.", response.headers().get(CONTENT_LENGTH), is(notNullValue()));
+        assertThat("Unexpected content.", contentOf(response.payloadBody()), is(CONTENT));
+    }
+
+    @Test
+    public void userAcceptEncodingIsNotOverriddenOrDecoded() throws Exception {
+        StreamingHttpResponse response = newClient(Gzip)
+                .request(reqRespFactory.get("/").setHeader(ACCEPT_ENCODING, GZIP)).toFuture().get();
+        assertAcceptEncodingSent("gzip");
+        assertThat("Unexpected content-encoding.", response.headers().get(CONTENT_ENCODING).toString(),
+                is("gzip"));
+        assertThat("Missing content-length.", response.headers().get(CONTENT_LENGTH), is(notNullValue()));
+        assertThat("Unexpected decoded content.", contentOf(Gzip.decode(response.payloadBody(), DEFAULT_ALLOCATOR)),
+                is(CONTENT));
+    }
+
+    private StreamingHttpClient newClient(final ContentCoding coding) {
+        return newClient(resp -> encodedResponse(coding));
+    }
+
+    private StreamingHttpClient newClient(final UnaryOperator<StreamingHttpResponse> responseCustomizer) {
+        return TestStreamingHttpClient.from(reqRespFactory, executionContext,
+                new ContentCodingHttpRequesterFilter().append(client -> new StreamingHttpClientFilter(client) {
+                    @Override
+                    protected Single<StreamingHttpResponse> request(final StreamingHttpRequester delegate,
+                                                                    final HttpExecutionStrategy strategy,
+                                                                    final StreamingHttpRequest request) {
+                        return respond(request, responseCustomizer.apply(textResponse()));
+                    }
+                }));
+    }
+
+    private Single<StreamingHttpResponse> respond(final StreamingHttpRequest request,
+                                                  final StreamingHttpResponse response) {
+        sentRequest.set(request);
+        return succeeded(response);
+    }
+
+    private void assertAcceptEncodingSent(final String expected) {
+        CharSequence acceptEncoding = sentRequest.get().headers().get(ACCEPT_ENCODING);
+        assertThat("Missing accept-encoding.", acceptEncoding, is(notNullValue()));
+        assertThat("Unexpected accept-encoding.", acceptEncoding.toString(), is(expected));
+    }
+
+    private static void assertDecoded(final StreamingHttpResponse response) throws Exception {
+        assertThat("Unexpected content-encoding.", response.headers().get(CONTENT_ENCODING), is(nullValue()));
+        assertThat("Unexpected content-length.", response.headers().get(CONTENT_LENGTH), is(nullValue()));
+        assertThat("Unexpected decoded content.", contentOf(response.payloadBody()), is(CONTENT));
+    }
+
+    private static StreamingHttpResponse textResponse() {
+        return reqRespFactory.ok().setHeader(CONTENT_LENGTH, Integer.toString(CONTENT.length()))
+                .payloadBody(from(DEFAULT_ALLOCATOR.fromAscii(CONTENT)));
+    }
+
+    private static StreamingHttpResponse encodedResponse(final ContentCoding coding) {
+        try {
+            byte[] encoded = toBytes(coding.encode(from(DEFAULT_ALLOCATOR.fromAscii(CONTENT)), DEFAULT_ALLOCATOR));
+            return reqRespFactory.ok().setHeader(CONTENT_ENCODING, coding.headerValue())
+                    .setHeader(CONTENT_LENGTH, Integer.toString(encoded.length))
+                    .payloadBody(from(DEFAULT_ALLOCATOR.wrap(encoded)));
+        } catch (Exception e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    private static String contentOf(final Publisher<Buffer> payload) throws Exception {
+        return ContentCodingTest.toString(payload);
+    }
+}
@@ -0,0 +1,239 @@
+/*
+ * Copyright © 2019 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.http.utils;
+
+import io.servicetalk.buffer.api.Buffer;
+import io.servicetalk.concurrent.api.Publisher;
+import io.servicetalk.concurrent.internal.ServiceTalkTestTimeout;
+import io.servicetalk.http.api.DefaultHttpHeadersFactory;
+import io.servicetalk.http.api.DefaultStreamingHttpRequestResponseFactory;
+import io.servicetalk.http.api.HttpExecutionContext;
+import io.servicetalk.http.api.HttpServiceContext;
+import io.servicetalk.http.api.StreamingHttpRequest;
+import io.servicetalk.http.api.StreamingHttpRequestResponseFactory;
+import io.servicetalk.http.api.StreamingHttpResponse;
+
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.servicetalk.buffer.netty.BufferAllocators.DEFAULT_ALLOCATOR;
+import static io.servicetalk.concurrent.api.Publisher.from;
+import static io.servicetalk.concurrent.api.Single.succeeded;
+import static io.servicetalk.http.api.HttpHeaderNames.ACCEPT_ENCODING;
+import static io.servicetalk.http.api.HttpHeaderNames.CONTENT_ENCODING;
+import static io.servicetalk.http.api.HttpHeaderNames.CONTENT_LENGTH;
+import static io.servicetalk.http.api.HttpHeaderNames.CONTENT_TYPE;
+import static io.servicetalk.http.api.HttpHeaderNames.VARY;
+import static io.servicetalk.http.api.HttpHeaderValues.APPLICATION_JSON;
+import static io.servicetalk.http.api.HttpHeaderValues.DEFLATE;
+import static io.servicetalk.http.api.HttpHeaderValues.GZIP;
+import static io.servicetalk.http.api.HttpHeaderValues.IDENTITY;
+import static io.servicetalk.http.api.HttpHeaderValues.TEXT_PLAIN;
+import static io.servicetalk.http.api.HttpProtocolVersion.HTTP_1_1;
+import static io.servicetalk.http.api.HttpRequestMethod.GET;
+import static io.servicetalk.http.api.HttpRequestMethod.HEAD;
+import static io.servicetalk.http.utils.ContentCoding.Deflate;
+import static io.servicetalk.http.utils.ContentCoding.Gzip;
+import static io.servicetalk.http.utils.ContentCodingTest.repeat;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ContentCodingHttpServiceFilterTest {
+    @Rule
+    public final Timeout timeout = new ServiceTalkTestTimeout();
+
+    private static final String CONTENT = repeat("Hello ServiceTalk! ", 512);
+    private static final HttpServiceContext CTX = mock(HttpServiceContext.class);
+    private static final StreamingHttpRequestResponseFactory reqRespFactory =
+            new DefaultStreamingHttpRequestResponseFactory(DEFAULT_ALLOCATOR, DefaultHttpHeadersFactory.INSTANCE,
+                    HTTP_1_1);
+
+    @BeforeClass
+    public static void beforeClass() {
+        HttpExecutionContext ec = mock(HttpExecutionContext.class);
+        when(ec.bufferAllocator()).thenReturn(DEFAULT_ALLOCATOR);
+        when(CTX.executionContext()).thenReturn(ec);
+    }
+
+    @Test
+    public void encodesCompressibleResponse() throws Exception {
+        StreamingHttpResponse response = handle(new ContentCodingHttpServiceFilter(), gzipRequest(),
+                textResponse(CONTENT));
+        assertEncoded(response, GZIP);
+        assertThat("Unexpected decoded content.",
+                contentOf(Gzip.decode(response.payloadBody(), DEFAULT_ALLOCATOR)), is(CONTENT));
+    }
+
+    @Test
+    public void encodesNegotiatedCoding() throws Exception {
+        StreamingHttpRequest request = reqRespFactory.get("/").setHeader(ACCEPT_ENCODING, "gzip;q=0.5, deflate");
+        StreamingHttpResponse response = handle(new ContentCodingHttpServiceFilter(), request, textResponse(CONTENT));
+        assertEncoded(response, DEFLATE);
+        assertThat("Unexpected decoded content.",
+                contentOf(Deflate.decode(response.payloadBody(), DEFAULT_ALLOCATOR)), is(CONTENT));
+    }
+
+    @Test
+    public void doesNotEncodeWithoutAcceptEncoding() throws Exception {
+        assertNotEncoded(handle(new ContentCodingHttpServiceFilter(), reqRespFactory.get("/"),
+                textResponse(CONTENT)));
+    }
+
+    @Test
+    public void doesNotEncodeBelowMinContentLength() throws Exception {
+        assertNotEncoded(handle(new ContentCodingHttpServiceFilter(), gzipRequest(), textResponse("Hello")));
+    }
+
+    @Test
+    public void encodesAtMinContentLength() throws Exception {
+        assertEncoded(handle(new ContentCodingHttpServiceFilter(5), gzipRequest(), textResponse("Hello")), GZIP);
+    }
+
+    @Test
+    public void encodesUnknownContentLength() throws Exception {
+        StreamingHttpResponse response = textResponse("Hello");
+        response.headers().remove(CONTENT_LENGTH);
+        assertEncoded(handle(new ContentCodingHttpServiceFilter(), gzipRequest(), response), GZIP);
+    }
+
+    @Test
+    public void encodesStructuredTextContentTypes() throws Exception {
+        StreamingHttpResponse response = textResponse(CONTENT).setHeader(CONTENT_TYPE, APPLICATION_JSON);
+        assertEncoded(handle(new ContentCodingHttpServiceFilter(), gzipRequest(), response), GZIP);
+        response = textResponse(CONTENT).setHeader(CONTENT_TYPE, "application/atom+xml; charset=UTF-8");
+        assertEncoded(handle(new ContentCodingHttpServiceFilter(), gzipRequest(), response), GZIP);
+    }
+
+    @Test
+    public void doesNotEncodeNonCompressibleContentType() throws Exception {
+        StreamingHttpResponse response = textResponse(CONTENT).setHeader(CONTENT_TYPE, "image/png");
+        assertNotEncoded(handle(new ContentCodingHttpServiceFilter(), gzipRequest(), response));
+    }
+
+    @Test
+    public void doesNotEncodeWithoutContentType() throws Exception {
+        StreamingHttpResponse response = textResponse(CONTENT);
+        response.headers().remove(CONTENT_TYPE);
+        assertNotEncoded(handle(new ContentCodingHttpServiceFilter(), gzipRequest(), response));
+    }
+
+    @Test
+    public void customCompressibleContentType() throws Exception {
+        ContentCodingHttpServiceFilter filter = new ContentCodingHttpServiceFilter(0,
+                contentType -> "image/svg".contentEquals(contentType));
+        assertEncoded(handle(filter, gzipRequest(), textResponse(CONTENT).setHeader(CONTENT_TYPE, "image/svg")),
+                GZIP);
+        assertNotEncoded(handle(filter, gzipRequest(), textResponse(CONTENT)));
+    }
+
+    @Test
+    public void doesNotEncodeHeadRequest() throws Exception {
+        StreamingHttpRequest request = reqRespFactory.newRequest(HEAD, "/").setHeader(ACCEPT_ENCODING, GZIP);
+        assertNotEncoded(handle(new ContentCodingHttpServiceFilter(), request, textResponse(CONTENT)));
+    }
+
+    @Test
+    public void doesNotEncodeNoContent() throws Exception {
+        StreamingHttpResponse response = reqRespFactory.noContent().setHeader(CONTENT_TYPE, TEXT_PLAIN);
+        assertNotEncoded(handle(new ContentCodingHttpServiceFilter(), gzipRequest(), response));
+    }
+
+    @Test
+    public void doesNotEncodeNotModified() throws Exception {
+        StreamingHttpResponse response = reqRespFactory.notModified().setHeader(CONTENT_TYPE, TEXT_PLAIN)
+                .setHeader(CONTENT_LENGTH, Integer.toString(CONTENT.length()));
+        assertNotEncoded(handle(new ContentCodingHttpServiceFilter(), gzipRequest(), response));
+    }
+
+    @Test
+    public void doesNotReEncodeEncodedResponse() throws Exception {
+        StreamingHttpResponse response = handle(new ContentCodingHttpServiceFilter(), gzipRequest(),
+                textResponse(CONTENT).setHeader(CONTENT_ENCODING, "br"));
+        assertThat("Unexpected content-encoding.", response.headers().get(CONTENT_ENCODING).toString(), is("br"));
+        assertThat("Unexpected vary.", response.headers().get(VARY), is(nullValue()));
+        assertThat("Unexpected content.", contentOf(response.payloadBody()), is(CONTENT));
+    }
+
+    @Test
+    public void encodesIdentityEncodedResponse() throws Exception {
+        StreamingHttpResponse response = textResponse(CONTENT).setHeader(CONTENT_ENCODING, IDENTITY);
+        assertEncoded(handle(new ContentCodingHttpServiceFilter(), gzipRequest(), response), GZIP);
+    }
+
+    @Test
+    public void varyIsAppended() throws Exception {
+        StreamingHttpResponse response = handle(new ContentCodingHttpServiceFilter(), gzipRequest(),
+                textResponse(CONTENT).setHeader(VARY, "origin"));
+        assertEncoded(response, GZIP);
+        assertThat("Unexpected vary.", valuesOf(response, VARY), contains("origin", ACCEPT_ENCODING.toString()));
+    }
+
+    private static StreamingHttpResponse handle(final ContentCodingHttpServiceFilter filter,
+                                                final StreamingHttpRequest request,
+                                                final StreamingHttpResponse response) throws Exception {
+        return filter.create((ctx, req, factory) -> succeeded(response))
+                .handle(CTX, request, reqRespFactory).toFuture().get();
+    }
+
+    private static StreamingHttpRequest gzipRequest() {
+        return reqRespFactory.newRequest(GET, "/").setHeader(ACCEPT_ENCODING, GZIP);
+    }
+
+    private static StreamingHttpResponse textResponse(final String content) {
+        return reqRespFactory.ok().setHeader(CONTENT_TYPE, TEXT_PLAIN)
+                .setHeader(CONTENT_LENGTH, Integer.toString(content.length()))
+                .payloadBody(from(DEFAULT_ALLOCATOR.fromAscii(content)));
+    }
+
+    private static void assertEncoded(final StreamingHttpResponse response, final CharSequence coding) {
+        assertThat("Unexpected content-encoding.", response.headers().get(CONTENT_ENCODING).toString(),
+                is(coding.toString()));
+        assertThat("Unexpected content-length.", response.headers().get(CONTENT_LENGTH), is(nullValue()));
+        assertThat("Unexpected vary.", valuesOf(response, VARY), contains(ACCEPT_ENCODING.toString()));
+    }
+
+    private static void assertNotEncoded(final StreamingHttpResponse response) throws Exception {
+        assertThat("Unexpected content-encoding.", response.headers().get(CONTENT_ENCODING), is(nullValue()));
+        assertThat("Unexpected vary.", response.headers().get(VARY), is(nullValue()));
+        String content = contentOf(response.payloadBody());
+        CharSequence contentLength = response.headers().get(CONTENT_LENGTH);
+        if (contentLength != null) {
+            assertThat("Unexpected content-length.", Integer.parseInt(contentLength.toString()),
+                    is(content.length()));
+        }
+    }
+
+    private static List<String> valuesOf(final StreamingHttpResponse response, final CharSequence name) {
+        List<String> values = new ArrayList<>();
+        for (CharSequence value : response.headers().values(name)) {
+            values.add(value.toString());
+        }
+        return values;
+    }
+
+    private static String contentOf(final Publisher<Buffer> payload) throws Exception {
+        return ContentCodingTest.toString(payload);
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright © 2019 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.http.utils;
+
+import io.servicetalk.buffer.api.Buffer;
+import io.servicetalk.concurrent.api.Publisher;
+import io.servicetalk.concurrent.internal.ServiceTalkTestTimeout;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import static io.servicetalk.buffer.netty.BufferAllocators.DEFAULT_ALLOCATOR;
+import static io.servicetalk.concurrent.api.Publisher.from;
+import static io.servicetalk.http.utils.ContentCoding.Deflate;
+import static io.servicetalk.http.utils.ContentCoding.Gzip;
+import static io.servicetalk.http.utils.ContentCoding.fromAcceptEncoding;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.nullValue;
+
+public class ContentCodingTest {
+    @Rule
+    public final Timeout timeout = new ServiceTalkTestTimeout();
+
+    private static final String CONTENT = repeat("Hello ServiceTalk! ", 512);
+
+    @Test
+    public void gzipRoundTrip() throws Exception {
+        assertRoundTrip(Gzip);
+    }
+
+    @Test
+    public void deflateRoundTrip() throws Exception {
+        assertRoundTrip(Deflate);
+    }
+
+    @Test
+    public void gzipIsReadableByJdk() throws Exception {
+        byte[] encoded = toBytes(Gzip.encode(chunks(CONTENT, 100), DEFAULT_ALLOCATOR));
+        assertThat("Unexpected decoded content.", readFully(new GZIPInputStream(new ByteArrayInputStream(encoded))),
+                is(CONTENT));
+    }
+
+    @Test
+    public void deflateIsReadableByJdk() throws Exception {
+        byte[] encoded = toBytes(Deflate.encode(chunks(CONTENT, 100), DEFAULT_ALLOCATOR));
+        assertThat("Unexpected decoded content.",
+                readFully(new InflaterInputStream(new ByteArrayInputStream(encoded))), is(CONTENT));
+    }
+
+    @Test
+    public void decodesJdkGzipSplitInSingleBytes() throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            gzip.write(CONTENT.getBytes(UTF_8));
+        }
+        String decoded = toString(Gzip.decode(chunks(bytes.toByteArray(), 1), DEFAULT_ALLOCATOR));
+        assertThat("Unexpected decoded content.", decoded, is(CONTENT));
+    }
+
+    @Test
+    public void truncatedContentFails() throws Exception {
+        byte[] encoded = toBytes(Gzip.encode(chunks(CONTENT, 100), DEFAULT_ALLOCATOR));
+        Buffer truncated = DEFAULT_ALLOCATOR.wrap(encoded, 0, encoded.length - 4);
+        try {
+            Gzip.decode(from(truncated), DEFAULT_ALLOCATOR).toFuture().get();
+        } catch (ExecutionException e) {
+            assertThat("Unexpected failure.", e.getCause(), instanceOf(UncheckedIOException.class));
+            return;
+        }
+        throw new AssertionError("Truncated content decoded.");
+    }
+
+    @Test
+    public void emptyContentIsNotDecoded() throws Exception {
+        assertThat("Unexpected decoded content.", toString(Gzip.decode(Publisher.empty(), DEFAULT_ALLOCATOR)),
+                is(""));
+    }
+
+    @Test
+    public void acceptEncodingNegotiation() {
+        assertThat(fromAcceptEncoding(null), is(nullValue()));
+        assertThat(fromAcceptEncoding("br"), is(nullValue()));
+        assertThat(fromAcceptEncoding("gzip, deflate"), is(Gzip));
+        assertThat(fromAcceptEncoding("DEFLATE"), is(Deflate));
+        assertThat(fromAcceptEncoding("gzip;q=0.5, deflate"), is(Deflate));
+        assertThat(fromAcceptEncoding("gzip;q=0, identity"), is(nullValue()));
+        assertThat(fromAcceptEncoding("gzip;q=0, *"), is(Deflate));
+        assertThat(fromAcceptEncoding("*;q=0"), is(nullValue()));
+    }
+
+    private static void assertRoundTrip(final ContentCoding coding) throws Exception {
+        byte[] encoded = toBytes(coding.encode(chunks(CONTENT, 1000), DEFAULT_ALLOCATOR));
+        assertThat("Content not compressed.", encoded.length, lessThan(CONTENT.length()));
+        String decoded = toString(coding.decode(chunks(encoded, 7), DEFAULT_ALLOCATOR));
+        assertThat("Unexpected decoded content.", decoded, is(CONTENT));
+    }
+
+    private static Publisher<Buffer> chunks(final String content, final int chunkSize) {
+        return chunks(content.getBytes(UTF_8), chunkSize);
+    }
+
+    private static Publisher<Buffer> chunks(final byte[] content, final int chunkSize) {
+        List<Buffer> chunks = new ArrayList<>();
+        for (int i = 0; i < content.length; i += chunkSize) {
+            chunks.add(DEFAULT_ALLOCATOR.wrap(content, i, Math.min(chunkSize, content.length - i)));
+        }
+        return Publisher.fromIterable(chunks);
+    }
+
+    static byte[] toBytes(final Publisher<Buffer> payload) throws Exception {
+        Collection<Buffer> buffers = payload.toFuture().get();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        for (Buffer buffer : buffers) {
+            byte[] chunk = new byte[buffer.readableBytes()];
+            buffer.readBytes(chunk);
+            bytes.write(chunk);
+        }
+        return bytes.toByteArray();
+    }
+
+    static String toString(final Publisher<Buffer> payload) throws Exception {
+        return new String(toBytes(payload), UTF_8);
+    }
+
+    private static String readFully(final InputStream in) throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        byte[] chunk = new byte[1024];
+        int read;
+        while ((read = in.read(chunk)) > 0) {
+            bytes.write(chunk, 0, read);
+        }
+        return new String(bytes.toByteArray(), UTF_8);
+    }
+
+    static String repeat(final String s, final int count) {
+        StringBuilder sb = new StringBuilder(s.length() * count);
+        for (int i = 0; i < count; ++i) {
+            sb.append(s);
+        }
+        return sb.toString();
+    }
+}
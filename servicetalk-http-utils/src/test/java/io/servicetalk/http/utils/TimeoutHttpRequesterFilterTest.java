@@ -0,0 +1,152 @@
+/*
+ * Copyright © 2019 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.http.utils;
+
+import io.servicetalk.concurrent.Cancellable;
+import io.servicetalk.concurrent.api.Completable;
+import io.servicetalk.concurrent.api.Executor;
+import io.servicetalk.concurrent.api.TestExecutor;
+import io.servicetalk.concurrent.api.TestSingle;
+import io.servicetalk.concurrent.internal.ServiceTalkTestTimeout;
+import io.servicetalk.http.api.DefaultHttpHeadersFactory;
+import io.servicetalk.http.api.DefaultStreamingHttpRequestResponseFactory;
+import io.servicetalk.http.api.FilterableStreamingHttpConnection;
+import io.servicetalk.http.api.StreamingHttpConnectionFilter;
+import io.servicetalk.http.api.StreamingHttpRequestResponseFactory;
+import io.servicetalk.http.api.StreamingHttpResponse;
+import io.servicetalk.transport.api.ConnectionContext;
+import io.servicetalk.transport.api.ExecutionContext;
+import io.servicetalk.transport.api.IoExecutor;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static io.servicetalk.buffer.netty.BufferAllocators.DEFAULT_ALLOCATOR;
+import static io.servicetalk.http.api.HttpExecutionStrategies.defaultStrategy;
+import static io.servicetalk.http.api.HttpProtocolVersion.HTTP_1_1;
+import static io.servicetalk.http.api.HttpResponseStatus.OK;
+import static java.time.Duration.ofSeconds;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class TimeoutHttpRequesterFilterTest {
+
+    private static final StreamingHttpRequestResponseFactory reqRespFactory =
+            new DefaultStreamingHttpRequestResponseFactory(DEFAULT_ALLOCATOR, DefaultHttpHeadersFactory.INSTANCE,
+                    HTTP_1_1);
+
+    @Rule
+    public final ServiceTalkTestTimeout timeout = new ServiceTalkTestTimeout();
+
+    private final TestExecutor ioExecutor = new TestExecutor();
+    private final TestSingle<StreamingHttpResponse> responseSingle = new TestSingle<>();
+    private final FilterableStreamingHttpConnection connection = mock(FilterableStreamingHttpConnection.class);
+
+    @Before
+    public void setUp() {
+        ConnectionContext connectionContext = mock(ConnectionContext.class);
+        ExecutionContext executionContext = mock(ExecutionContext.class);
+        when(connection.connectionContext()).thenReturn(connectionContext);
+        when(connectionContext.executionContext()).thenReturn(executionContext);
+        when(executionContext.ioExecutor()).thenReturn(new SchedulingIoExecutor(ioExecutor));
+        when(connection.request(any(), any())).thenReturn(responseSingle);
+    }
+
+    @Test
+    public void connectionTimeoutFiresOnIoExecutor() throws Exception {
+        Future<StreamingHttpResponse> response = request();
+        assertThat("Timer not scheduled on the IoExecutor.", ioExecutor.scheduledTasksPending(), is(1));
+        ioExecutor.advanceTimeBy(1, SECONDS);
+        try {
+            response.get();
+            fail("Expected timeout.");
+        } catch (ExecutionException e) {
+            assertThat(e.getCause(), instanceOf(TimeoutException.class));
+        }
+    }
+
+    @Test
+    public void responseCancelsTimerOnIoExecutor() throws Exception {
+        Future<StreamingHttpResponse> response = request();
+        StreamingHttpResponse expected = reqRespFactory.newResponse(OK);
+        responseSingle.onSuccess(expected);
+        assertThat(response.get(), is(expected));
+        assertThat("Timer not cancelled.", ioExecutor.scheduledTasksPending(), is(0));
+    }
+
+    private Future<StreamingHttpResponse> request() {
+        StreamingHttpConnectionFilter filter = new TimeoutHttpRequesterFilter(ofSeconds(1)).create(connection);
+        return filter.request(defaultStrategy(), reqRespFactory.get("/")).toFuture();
+    }
+
+    /**
+     * Mimics the netty {@link IoExecutor} of a connection which is also an {@link Executor}.
+     */
+    private static final class SchedulingIoExecutor implements IoExecutor, Executor {
+        private final Executor delegate;
+
+        SchedulingIoExecutor(final Executor delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public boolean isUnixDomainSocketSupported() {
+            return false;
+        }
+
+        @Override
+        public boolean isFileDescriptorSocketAddressSupported() {
+            return false;
+        }
+
+        @Override
+        public Cancellable execute(final Runnable task) {
+            return delegate.execute(task);
+        }
+
+        @Override
+        public Cancellable schedule(final Runnable task, final long delay, final TimeUnit unit) {
+            return delegate.schedule(task, delay, unit);
+        }
+
+        @Override
+        public Completable onClose() {
+            return delegate.onClose();
+        }
+
+        @Override
+        public Completable closeAsync() {
+            return delegate.closeAsync();
+        }
+
+        @Override
+        public Completable closeAsyncGracefully() {
+            return delegate.closeAsyncGracefully();
+        }
+    }
+}
@@ -0,0 +1,642 @@
+/*
+ * Copyright © 2019 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.loadbalancer;
+
+import io.servicetalk.client.api.AvailableConcurrencySupplier;
+import io.servicetalk.client.api.ConnectionFactory;
+import io.servicetalk.client.api.ConnectionRejectedException;
+import io.servicetalk.client.api.LoadBalancedConnection;
+import io.servicetalk.client.api.LoadBalancer;
+import io.servicetalk.client.api.NoAvailableHostException;
+import io.servicetalk.client.api.RequestOutcomeListener;
+import io.servicetalk.client.api.RequestOutcomeReporter;
+import io.servicetalk.client.api.ServiceDiscovererEvent;
+import io.servicetalk.concurrent.Cancellable;
+import io.servicetalk.concurrent.PublisherSource.Subscriber;
+import io.servicetalk.concurrent.PublisherSource.Subscription;
+import io.servicetalk.concurrent.api.AsyncCloseable;
+import io.servicetalk.concurrent.api.Completable;
+import io.servicetalk.concurrent.api.CompositeCloseable;
+import io.servicetalk.concurrent.api.ListenableAsyncCloseable;
+import io.servicetalk.concurrent.api.Publisher;
+import io.servicetalk.concurrent.api.Single;
+import io.servicetalk.concurrent.api.internal.SpScPublisherProcessor;
+import io.servicetalk.concurrent.internal.SequentialCancellable;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.function.Predicate;
+import javax.annotation.Nullable;
+
+import static io.servicetalk.client.api.LoadBalancerReadyEvent.LOAD_BALANCER_NOT_READY_EVENT;
+import static io.servicetalk.client.api.LoadBalancerReadyEvent.LOAD_BALANCER_READY_EVENT;
+import static io.servicetalk.concurrent.api.AsyncCloseables.newCompositeCloseable;
+import static io.servicetalk.concurrent.api.AsyncCloseables.toAsyncCloseable;
+import static io.servicetalk.concurrent.api.Completable.mergeAllDelayError;
+import static io.servicetalk.concurrent.api.Single.defer;
+import static io.servicetalk.concurrent.api.Single.failed;
+import static io.servicetalk.concurrent.api.Single.succeeded;
+import static io.servicetalk.concurrent.api.SourceAdapters.toSource;
+import static io.servicetalk.concurrent.internal.ThrowableUtil.unknownStackTrace;
+import static java.util.Collections.binarySearch;
+import static java.util.Collections.emptyList;
+import static java.util.Comparator.comparing;
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.atomic.AtomicReferenceFieldUpdater.newUpdater;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Base class for {@link LoadBalancer}s that first select a host amongst the addresses provided by the
+ * {@link ServiceDiscovererEvent}s and then select or create a connection to that host. It has the following
+ * behaviour:
+ * <ul>
+ * <li>Host selection is done by sub-classes via {@link #selectHost(List)}.</li>
+ * <li>Connections are created lazily, without any concurrency control on their creation.
+ * This can lead to over-provisioning connections when dealing with a requests surge.</li>
+ * <li>Existing connections are reused unless a selector passed to {@link #selectConnection(Predicate)} suggests
+ * otherwise.
+ * This can lead to situations where connections will be used to their maximum capacity (for example in the context of
+ * pipelining) before new connections are created.</li>
+ * <li>Connections which multiplex requests and implement {@link AvailableConcurrencySupplier} (e.g. HTTP/2) are filled
+ * in creation order, a new connection is only created when all existing connections to the host are saturated.</li>
+ * <li>Closed connections are automatically pruned.</li>
+ * <li>If a {@link HealthCheckConfig} is provided, hosts failing to establish connections, or failing requests reported
+ * by connections implementing {@link RequestOutcomeReporter}, are temporarily ejected from the selection and probed
+ * in the background until a connection succeeds. If all hosts are ejected, selection falls back to the host picked by
+ * {@link #selectHost(List)}.</li>
+ * </ul>
+ *
+ * @param <ResolvedAddress> The resolved address type.
+ * @param <C> The type of connection.
+ */
+abstract class AbstractLoadBalancer<ResolvedAddress, C extends LoadBalancedConnection> implements LoadBalancer<C> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AbstractLoadBalancer.class);
+    private static final IllegalStateException LB_CLOSED_SELECT_CNX_EXCEPTION =
+            unknownStackTrace(new IllegalStateException("LoadBalancer has closed"), AbstractLoadBalancer.class,
+                    "selectConnection0(...)");
+    private static final NoAvailableHostException NO_ACTIVE_HOSTS_SELECT_CNX_EXCEPTION =
+            unknownStackTrace(new NoAvailableHostException("No hosts are available to connect."),
+                    AbstractLoadBalancer.class, "selectConnection0(...)");
+
+    private static final AtomicReferenceFieldUpdater<AbstractLoadBalancer, List> activeHostsUpdater =
+            newUpdater(AbstractLoadBalancer.class, List.class, "activeHosts");
+
+    /**
+     * With a relatively small number of connections we can minimize connection creation under moderate concurrency by
+     * exhausting the full search space without sacrificing too much latency caused by the cost of a CAS operation per
+     * selection attempt.
+     */
+    private static final int MIN_SEARCH_SPACE = 64;
+
+    /**
+     * For larger search spaces, due to the cost of a CAS operation per selection attempt we see diminishing returns for
+     * trying to locate an available connection when most connections are in use. This increases tail latencies, thus
+     * after some number of failed attempts it appears to be more beneficial to open a new connection instead.
+     * <p>
+     * The current heuristics were chosen based on a set of benchmarks under various circumstances, low connection
+     * counts, larger connection counts, low connection churn, high connection churn.
+     */
+    private static final float SEARCH_FACTOR = 0.75f;
+
+    private volatile boolean closed;
+    private volatile List<Host<ResolvedAddress, C>> activeHosts = emptyList();
+
+    private final SpScPublisherProcessor<Object> eventStream = new SpScPublisherProcessor<>(32);
+    private final SequentialCancellable discoveryCancellable = new SequentialCancellable();
+    private final ConnectionFactory<ResolvedAddress, ? extends C> connectionFactory;
+    @Nullable
+    private final HealthCheckConfig healthCheckConfig;
+    private final ListenableAsyncCloseable asyncCloseable;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param eventPublisher    provides a stream of addresses to connect to.
+     * @param connectionFactory a function which creates new connections.
+     * @param comparator        used to compare addresses for lookup/iteration during the connection attempt phase.
+     * @param healthCheckConfig configuration for ejecting unhealthy hosts, or {@code null} to never eject hosts.
+     */
+    AbstractLoadBalancer(final Publisher<? extends ServiceDiscovererEvent<ResolvedAddress>> eventPublisher,
+                         final ConnectionFactory<ResolvedAddress, ? extends C> connectionFactory,
+                         final Comparator<ResolvedAddress> comparator,
+                         @Nullable final HealthCheckConfig healthCheckConfig) {
+        this.connectionFactory = requireNonNull(connectionFactory);
+        this.healthCheckConfig = healthCheckConfig;
+
+        final Comparator<Host<ResolvedAddress, C>> activeAddressComparator =
+                comparing(host -> host instanceof MutableAddressHost ?
+                        ((MutableAddressHost<ResolvedAddress, C>) host).mutableAddress : host.address, comparator);
+
+        toSource(eventPublisher).subscribe(new Subscriber<ServiceDiscovererEvent<ResolvedAddress>>() {
+
+            @Override
+            public void onSubscribe(final Subscription s) {
+                // We request max value here to make sure we do not access Subscription concurrently
+                // (requestN here and cancel from discoveryCancellable). If we request-1 in onNext we would have to wrap
+                // the Subscription in a ConcurrentSubscription which is costly.
+                // Since, we synchronously process onNexts we do not really care about flow control.
+                s.request(Long.MAX_VALUE);
+                discoveryCancellable.nextCancellable(s);
+            }
+
+            @SuppressWarnings("unchecked")
+            @Override
+            public void onNext(final ServiceDiscovererEvent<ResolvedAddress> event) {
+                LOGGER.debug("Load balancer {}, received new ServiceDiscoverer event {}.", AbstractLoadBalancer.this,
+                        event);
+                final List<Host<ResolvedAddress, C>> activeAddresses =
+                        activeHostsUpdater.updateAndGet(AbstractLoadBalancer.this, currentAddresses -> {
+                            final List<Host<ResolvedAddress, C>> refreshedAddresses = new ArrayList<>(currentAddresses);
+                            final MutableAddressHost<ResolvedAddress, C> searchHost = new MutableAddressHost();
+
+                            searchHost.mutableAddress = event.address();
+                            // Binary search because any insertion is performed at the index returned by the search,
+                            // which is consistent with the ordering defined by the comparator
+                            final int i = binarySearch(refreshedAddresses, searchHost, activeAddressComparator);
+
+                            if (event.isAvailable()) {
+                                if (i < 0) {
+                                    refreshedAddresses.add(-i - 1, new Host(event.address()));
+                                }
+                            } else if (i >= 0) {
+                                Host<ResolvedAddress, C> removed = refreshedAddresses.remove(i);
+                                if (removed != null) {
+                                    removed.markInactive();
+                                }
+                            }
+
+                            return refreshedAddresses;
+                        });
+
+                LOGGER.debug("Load balancer {} now using {} addresses: {}", AbstractLoadBalancer.this,
+                        activeAddresses.size(), activeAddresses);
+
+                if (event.isAvailable()) {
+                    if (activeAddresses.size() == 1) {
+                        eventStream.sendOnNext(LOAD_BALANCER_READY_EVENT);
+                    }
+                } else if (activeAddresses.isEmpty()) {
+                    eventStream.sendOnNext(LOAD_BALANCER_NOT_READY_EVENT);
+                }
+            }
+
+            @Override
+            public void onError(final Throwable t) {
+                List<Host<ResolvedAddress, C>> hosts = activeHosts;
+                eventStream.sendOnError(t);
+                LOGGER.error(
+                        "Load balancer {}. Service discoverer {} emitted an error. Last seen addresses (size {}) {}",
+                        AbstractLoadBalancer.this, eventPublisher, hosts.size(), hosts, t);
+            }
+
+            @Override
+            public void onComplete() {
+                List<Host<ResolvedAddress, C>> hosts = activeHosts;
+                eventStream.sendOnComplete();
+                LOGGER.error("Load balancer {}. Service discoverer {} completed. Last seen addresses (size {}) {}",
+                        AbstractLoadBalancer.this, eventPublisher, hosts.size(), hosts);
+            }
+        });
+        asyncCloseable = toAsyncCloseable(graceful -> {
+            closed = true;
+            discoveryCancellable.cancel();
+            eventStream.sendOnComplete();
+            @SuppressWarnings("unchecked")
+            List<Host<ResolvedAddress, C>> currentList = activeHostsUpdater
+                    .getAndSet(AbstractLoadBalancer.this, Collections.<Host<ResolvedAddress, C>>emptyList());
+            CompositeCloseable cc = newCompositeCloseable().appendAll(currentList).appendAll(connectionFactory);
+            return graceful ? cc.closeAsyncGracefully() : cc.closeAsync();
+        });
+    }
+
+    @Override
+    public Single<C> selectConnection(Predicate<C> selector) {
+        return defer(() -> selectConnection0(selector).subscribeShareContext());
+    }
+
+    @Override
+    public Publisher<Object> eventStream() {
+        return eventStream;
+    }
+
+    private Single<C> selectConnection0(Predicate<C> selector) {
+        if (closed) {
+            return failed(LB_CLOSED_SELECT_CNX_EXCEPTION);
+        }
+
+        final List<Host<ResolvedAddress, C>> activeHosts = this.activeHosts;
+        if (activeHosts.isEmpty()) {
+            // This is the case when SD has emitted some items but none of the hosts are active.
+            return failed(NO_ACTIVE_HOSTS_SELECT_CNX_EXCEPTION);
+        }
+
+        final Host<ResolvedAddress, C> selected = selectHost(activeHosts);
+        assert selected != null : "Host can't be null.";
+        final Host<ResolvedAddress, C> host = selected.isEjected() ?
+                selectHealthyHost(activeHosts, selected) : selected;
+        assert host.address != null : "Host address can't be null.";
+        final ThreadLocalRandom rnd = ThreadLocalRandom.current();
+
+        // Try first to see if an existing connection can be used
+        final List<C> connections = host.connections;
+        final int size = connections.size();
+        if (size > 0 && isMultiplexed(connections.get(0))) {
+            // Fill multiplexed connections in order, so a new connection is only created when all existing ones are
+            // saturated and connections created for a burst of requests can become idle again afterwards.
+            for (int i = 0; i < size; i++) {
+                final C connection = connections.get(i);
+                if (hasAvailableConcurrency(connection) && selector.test(connection)) {
+                    return succeeded(connection);
+                }
+            }
+            return newConnection(host, selector);
+        }
+        // With small enough search space, attempt all connections.
+        // Back off after exploring most of the search space, it gives diminishing returns.
+        final int attempts = size < MIN_SEARCH_SPACE ? size : (int) (size * SEARCH_FACTOR);
+        for (int i = 0; i < attempts; i++) {
+            final C connection = connections.get(rnd.nextInt(size));
+            if (selector.test(connection)) {
+                return succeeded(connection);
+            }
+        }
+
+        // No connection was selected: create a new one
+        return newConnection(host, selector);
+    }
+
+    private Single<C> newConnection(final Host<ResolvedAddress, C> host, final Predicate<C> selector) {
+        final List<C> connections = host.connections;
+        Single<? extends C> newConnection = connectionFactory.newConnection(host.address);
+        if (healthCheckConfig != null) {
+            newConnection = newConnection.beforeOnSuccess(newCnx -> {
+                // Connections reporting request outcomes reset the failures once a request succeeds, otherwise hosts
+                // accepting connections but failing requests would never reach the threshold.
+                if (!(newCnx instanceof RequestOutcomeReporter)) {
+                    host.resetFailures();
+                }
+            }).beforeOnError(__ -> onFailure(host));
+        }
+        return newConnection
+                .flatMap(newCnx -> {
+                    // Invoke the selector before adding the connection to the pool, otherwise, connection can be used
+                    // concurrently and hence a new connection can be rejected by the selector.
+                    if (!selector.test(newCnx)) {
+                        newCnx.closeAsync().subscribe();
+                        // Failure in selection could be temporary, hence add it to the queue and be consistent with the
+                        // fact that select failure does not close a connection.
+                        return failed(new ConnectionRejectedException("Newly created connection " + newCnx +
+                                " rejected by the selection filter."));
+                    }
+                    trackRequestOutcomes(host, newCnx);
+                    if (host.addConnection(newCnx)) {
+                        // If the LB has closed, we attempt to remove the connection, if the removal succeeds, close it.
+                        // If we can't remove it, it means it's been removed concurrently and we assume that whoever
+                        // removed it also closed it or that it has been removed as a consequence of closing.
+                        if (closed) {
+
+                            List<C> existing = connections;
+                            for (;;) {
+                                if (existing == Host.INACTIVE) {
+                                    break;
+                                }
+                                ArrayList<C> connectionRemoved = new ArrayList<>(existing);
+                                if (!connectionRemoved.remove(newCnx)) {
+                                    break;
+                                }
+                                if (Host.connectionsUpdater.compareAndSet(host, existing, connectionRemoved)) {
+                                    newCnx.closeAsync().subscribe();
+                                    break;
+                                }
+                                existing = connections;
+                            }
+
+                            return failed(LB_CLOSED_SELECT_CNX_EXCEPTION);
+                        }
+                        return succeeded(newCnx);
+                    }
+                    return failed(new ConnectionRejectedException("Failed to add newly created connection for host: " +
+                            host.address + ", host inactive? " + (host.connections == Host.INACTIVE)));
+                });
+    }
+
+    private static boolean isMultiplexed(final LoadBalancedConnection connection) {
+        return connection instanceof AvailableConcurrencySupplier &&
+                ((AvailableConcurrencySupplier) connection).availableConcurrency() >= 0;
+    }
+
+    private static boolean hasAvailableConcurrency(final LoadBalancedConnection connection) {
+        // Connections which do not multiplex requests are left to the selector.
+        return !(connection instanceof AvailableConcurrencySupplier) ||
+                ((AvailableConcurrencySupplier) connection).availableConcurrency() != 0;
+    }
+
+    private Host<ResolvedAddress, C> selectHealthyHost(final List<Host<ResolvedAddress, C>> activeHosts,
+                                                       final Host<ResolvedAddress, C> ejectedHost) {
+        for (int i = 1; i < activeHosts.size(); ++i) {
+            final Host<ResolvedAddress, C> host = selectHost(activeHosts);
+            if (!host.isEjected()) {
+                return host;
+            }
+        }
+        // All the attempted hosts are ejected, fallback to the original selection rather than failing the request.
+        return ejectedHost;
+    }
+
+    private void trackRequestOutcomes(final Host<ResolvedAddress, C> host, final C connection) {
+        if (healthCheckConfig == null || !(connection instanceof RequestOutcomeReporter)) {
+            return;
+        }
+        ((RequestOutcomeReporter) connection).requestOutcomeListener(new RequestOutcomeListener() {
+            @Override
+            public void onRequestSucceeded() {
+                host.resetFailures();
+            }
+
+            @Override
+            public void onRequestFailed() {
+                onFailure(host);
+            }
+        });
+    }
+
+    private void onFailure(final Host<ResolvedAddress, C> host) {
+        assert healthCheckConfig != null;
+        if (host.recordFailure() >= healthCheckConfig.failedConnectionsThreshold() && host.eject()) {
+            // Cancels a pending reset of the ejection multiplier, this ejection follows the previous one too closely.
+            host.cancelProbe();
+            final Duration ejectionDuration = host.nextEjectionDuration(healthCheckConfig.initialEjectionDuration(),
+                    healthCheckConfig.maxEjectionDuration());
+            LOGGER.info("Load balancer {}, ejecting host {} for {} after {} consecutive failures.", this, host,
+                    ejectionDuration, healthCheckConfig.failedConnectionsThreshold());
+            scheduleProbe(host, ejectionDuration);
+        }
+    }
+
+    private void scheduleProbe(final Host<ResolvedAddress, C> host, final Duration delay) {
+        assert healthCheckConfig != null;
+        host.probeCancellable = healthCheckConfig.executor().schedule(() -> probe(host, delay), delay);
+    }
+
+    private void probe(final Host<ResolvedAddress, C> host, final Duration lastDelay) {
+        assert healthCheckConfig != null;
+        assert host.address != null;
+        if (closed || host.connections == Host.INACTIVE) {
+            return;
+        }
+        // The connection attempt itself is not tracked, the outcome is discarded if the LB or host is closed by then.
+        connectionFactory.newConnection(host.address)
+                .beforeOnError(cause -> {
+                    final Duration maxDelay = healthCheckConfig.maxEjectionDuration();
+                    final Duration nextDelay = lastDelay.compareTo(maxDelay.dividedBy(2)) < 0 ?
+                            lastDelay.multipliedBy(2) : maxDelay;
+                    LOGGER.debug("Load balancer {}, health check for ejected host {} failed, next attempt in {}.",
+                            this, host, nextDelay, cause);
+                    if (!closed) {
+                        scheduleProbe(host, nextDelay);
+                    }
+                })
+                .subscribe(newCnx -> {
+                    if (closed) {
+                        newCnx.closeAsync().subscribe();
+                        return;
+                    }
+                    trackRequestOutcomes(host, newCnx);
+                    host.addConnection(newCnx);
+                    // Schedule the reset before restoring the host, so a following ejection is guaranteed to cancel it.
+                    host.probeCancellable = healthCheckConfig.executor().schedule(host::resetEjectionMultiplier,
+                            healthCheckConfig.maxEjectionDuration());
+                    host.restore();
+                    LOGGER.info("Load balancer {}, host {} is healthy again.", this, host);
+                });
+    }
+
+    @Override
+    public Completable onClose() {
+        return asyncCloseable.onClose();
+    }
+
+    @Override
+    public Completable closeAsync() {
+        return asyncCloseable.closeAsync();
+    }
+
+    @Override
+    public Completable closeAsyncGracefully() {
+        return asyncCloseable.closeAsyncGracefully();
+    }
+
+    /**
+     * Selects the {@link Host} to use for a connection selection attempt.
+     *
+     * @param activeHosts the currently active {@link Host}s, never empty.
+     * @return the {@link Host} to use for a connection selection attempt.
+     */
+    abstract Host<ResolvedAddress, C> selectHost(List<Host<ResolvedAddress, C>> activeHosts);
+
+    // Visible for testing
+    List<Entry<ResolvedAddress, List<C>>> activeAddresses() {
+        return activeHosts.stream().map(Host::asEntry).collect(toList());
+    }
+
+    static class Host<Addr, C extends ListenableAsyncCloseable> implements AsyncCloseable {
+        private static final AtomicReferenceFieldUpdater<Host, List> connectionsUpdater =
+                AtomicReferenceFieldUpdater.newUpdater(Host.class, List.class, "connections");
+        private static final AtomicIntegerFieldUpdater<Host> failuresUpdater =
+                AtomicIntegerFieldUpdater.newUpdater(Host.class, "failures");
+        private static final AtomicIntegerFieldUpdater<Host> ejectedUpdater =
+                AtomicIntegerFieldUpdater.newUpdater(Host.class, "ejected");
+
+        static final List INACTIVE = emptyList();
+        private static final List NO_CONNECTIONS = new ArrayList(0);
+
+        @Nullable
+        final Addr address;
+        @SuppressWarnings("unchecked")
+        volatile List<C> connections = NO_CONNECTIONS;
+        /**
+         * Either the pending health check of an ejected host, or the pending reset of the ejection multiplier of a
+         * restored host.
+         */
+        @Nullable
+        volatile Cancellable probeCancellable;
+        private volatile int failures;
+        private volatile int ejected;
+        private volatile int ejectionMultiplier = 1;
+
+        Host() {
+            address = null;
+        }
+
+        Host(Addr address) {
+            this.address = address;
+        }
+
+        void markInactive() {
+            @SuppressWarnings("unchecked")
+            List<C> toRemove = connectionsUpdater.getAndSet(this, INACTIVE);
+            cancelProbe();
+            for (C conn : toRemove) {
+                conn.closeAsync().subscribe();
+            }
+        }
+
+        boolean isEjected() {
+            return ejected != 0;
+        }
+
+        /**
+         * Records a failed connection attempt or request.
+         *
+         * @return the number of consecutive failed connection attempts or requests.
+         */
+        int recordFailure() {
+            return failuresUpdater.incrementAndGet(this);
+        }
+
+        void resetFailures() {
+            if (failures != 0) {
+                failures = 0;
+            }
+        }
+
+        /**
+         * Ejects this host from the selection.
+         *
+         * @return {@code true} if this call ejected the host, {@code false} if it was already ejected.
+         */
+        boolean eject() {
+            return ejectedUpdater.compareAndSet(this, 0, 1);
+        }
+
+        /**
+         * Computes the duration of an ejection that just started and doubles it for the next one, up to
+         * {@code maxEjectionDuration}. Must only be called by the caller which successfully {@link #eject() ejected}
+         * this host.
+         *
+         * @param initialEjectionDuration the duration of the first ejection.
+         * @param maxEjectionDuration the upper bound of the duration of any ejection.
+         * @return the duration of the ejection that just started.
+         */
+        Duration nextEjectionDuration(final Duration initialEjectionDuration, final Duration maxEjectionDuration) {
+            final int multiplier = ejectionMultiplier;
+            final Duration ejectionDuration = initialEjectionDuration.multipliedBy(multiplier);
+            if (ejectionDuration.compareTo(maxEjectionDuration) >= 0) {
+                return maxEjectionDuration;
+            }
+            ejectionMultiplier = multiplier << 1;
+            return ejectionDuration;
+        }
+
+        void resetEjectionMultiplier() {
+            if (!isEjected()) {
+                ejectionMultiplier = 1;
+            }
+        }
+
+        void restore() {
+            failures = 0;
+            ejected = 0;
+        }
+
+        void cancelProbe() {
+            final Cancellable probeCancellable = this.probeCancellable;
+            if (probeCancellable != null) {
+                probeCancellable.cancel();
+            }
+        }
+
+        boolean addConnection(C connection) {
+
+            for (;;) {
+                List<C> existing = this.connections;
+                if (existing == INACTIVE) {
+                    connection.closeAsync().subscribe();
+                    return false;
+                }
+                ArrayList<C> connectionAdded = new ArrayList<>(existing);
+                connectionAdded.add(connection);
+                if (connectionsUpdater.compareAndSet(this, existing, connectionAdded)) {
+                    break;
+                }
+            }
+
+            // Instrument the new connection so we prune it on close
+            connection.onClose().beforeFinally(() -> {
+                List<C> existing = connections;
+                for (;;) {
+                    if (existing == INACTIVE) {
+                        break;
+                    }
+                    ArrayList<C> connectionRemoved = new ArrayList<>(existing);
+                    if (!connectionRemoved.remove(connection) ||
+                            connectionsUpdater.compareAndSet(this, existing, connectionRemoved)) {
+                        break;
+                    }
+                    existing = connections;
+                }
+            }).subscribe();
+            return true;
+        }
+
+        // Used for testing only
+        Entry<Addr, List<C>> asEntry() {
+            assert address != null;
+            return new SimpleImmutableEntry<>(address, new ArrayList<>(connections));
+        }
+
+        @Override
+        public Completable closeAsync() {
+            cancelProbe();
+            return mergeAllDelayError(connections.stream()
+                    .map(AsyncCloseable::closeAsync)::iterator);
+        }
+
+        @Override
+        public Completable closeAsyncGracefully() {
+            cancelProbe();
+            return mergeAllDelayError(connections.stream()
+                    .map(AsyncCloseable::closeAsyncGracefully)::iterator);
+        }
+
+        @Override
+        public String toString() {
+            return "Host{" +
+                    "address=" + address +
+                    ", removed=" + (connections == INACTIVE) +
+                    ", ejected=" + isEjected() +
+                    ", ejectionMultiplier=" + ejectionMultiplier +
+                    '}';
+        }
+    }
+
+    private static final class MutableAddressHost<Addr, C extends ListenableAsyncCloseable> extends Host<Addr, C> {
+        @Nullable
+        Addr mutableAddress;
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright © 2019 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.loadbalancer;
+
+import io.servicetalk.concurrent.api.Executor;
+
+import java.time.Duration;
+
+import static java.time.Duration.ofSeconds;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Configuration for the passive health checking of hosts selected by a load balancer.
+ * <p>
+ * A host which fails {@link #failedConnectionsThreshold()} consecutive connection attempts or requests is ejected from
+ * the selection. Request failures are reported by connections implementing
+ * {@link io.servicetalk.client.api.RequestOutcomeReporter}. Once the ejection duration has elapsed, the load balancer
+ * tries to connect to the host in the background, doubling the delay between attempts up to
+ * {@link #maxEjectionDuration()}, and puts it back into rotation as soon as a connection succeeds.
+ * <p>
+ * The first ejection of a host lasts {@link #initialEjectionDuration()}, every following ejection lasts twice as long
+ * as the previous one, up to {@link #maxEjectionDuration()}. The ejection duration starts from
+ * {@link #initialEjectionDuration()} again once the host stayed in rotation for {@link #maxEjectionDuration()}.
+ */
+public final class HealthCheckConfig {
+
+    private final Executor executor;
+    private final int failedConnectionsThreshold;
+    private final Duration initialEjectionDuration;
+    private final Duration maxEjectionDuration;
+
+    private HealthCheckConfig(final Executor executor, final int failedConnectionsThreshold,
+                              final Duration initialEjectionDuration, final Duration maxEjectionDuration) {
+        this.executor = executor;
+        this.failedConnectionsThreshold = failedConnectionsThreshold;
+        this.initialEjectionDuration = initialEjectionDuration;
+        this.maxEjectionDuration = maxEjectionDuration;
+    }
+
+    /**
+     * {@link Executor} used to schedule the background connection attempts to ejected hosts.
+     *
+     * @return {@link Executor} used to schedule the background connection attempts to ejected hosts.
+     */
+    public Executor executor() {
+        return executor;
+    }
+
+    /**
+     * Number of consecutive failed connection attempts or requests after which a host is ejected.
+     *
+     * @return Number of consecutive failed connection attempts or requests after which a host is ejected.
+     */
+    public int failedConnectionsThreshold() {
+        return failedConnectionsThreshold;
+    }
+
+    /**
+     * Duration of the first ejection of a host, before the first background connection attempt to it.
+     *
+     * @return Duration of the first ejection of a host.
+     */
+    public Duration initialEjectionDuration() {
+        return initialEjectionDuration;
+    }
+
+    /**
+     * Upper bound of the ejection duration and of the delay between background connection attempts to an ejected host.
+     *
+     * @return Upper bound of the ejection duration and of the delay between background connection attempts.
+     */
+    public Duration maxEjectionDuration() {
+        return maxEjectionDuration;
+    }
+
+    @Override
+    public String toString() {
+        return "HealthCheckConfig{" +
+                "executor=" + executor +
+                ", failedConnectionsThreshold=" + failedConnectionsThreshold +
+                ", initialEjectionDuration=" + initialEjectionDuration +
+                ", maxEjectionDuration=" + maxEjectionDuration +
+                '}';
+    }
+
+    /**
+     * A builder for {@link HealthCheckConfig}.
+     */
+    public static final class Builder {
+        private final Executor executor;
+        private int failedConnectionsThreshold = 5;
+        private Duration initialEjectionDuration = ofSeconds(1);
+        private Duration maxEjectionDuration = ofSeconds(30);
+
+        /**
+         * Creates a new instance.
+         *
+         * @param executor {@link Executor} used to schedule the background connection attempts to ejected hosts.
+         */
+        public Builder(final Executor executor) {
+            this.executor = requireNonNull(executor);
+        }
+
+        /**
+         * Sets the number of consecutive failed connection attempts or requests after which a host is ejected.
+         *
+         * @param failedConnectionsThreshold Number of consecutive failed connection attempts or requests after which
+         * a host is ejected.
+         * @return {@code this}.
+         */
+        public Builder failedConnectionsThreshold(final int failedConnectionsThreshold) {
+            if (failedConnectionsThreshold <= 0) {
+                throw new IllegalArgumentException("failedConnectionsThreshold: " + failedConnectionsThreshold +
+                        " (expected >0)");
+            }
+            this.failedConnectionsThreshold = failedConnectionsThreshold;
+            return this;
+        }
+
+        /**
+         * Sets the duration of the first ejection of a host. The duration doubles for every following ejection of the
+         * same host.
+         *
+         * @param initialEjectionDuration Duration of the first ejection of a host.
+         * @return {@code this}.
+         */
+        public Builder initialEjectionDuration(final Duration initialEjectionDuration) {
+            if (initialEjectionDuration.isNegative() || initialEjectionDuration.isZero()) {
+                throw new IllegalArgumentException("initialEjectionDuration: " + initialEjectionDuration +
+                        " (expected >0)");
+            }
+            this.initialEjectionDuration = initialEjectionDuration;
+            return this;
+        }
+
+        /**
+         * Sets the upper bound of the ejection duration and of the delay between background connection attempts to an
+         * ejected host. A host staying in rotation for this duration has its ejection duration reset to the
+         * initial one.
+         *
+         * @param maxEjectionDuration Upper bound of the ejection duration and of the delay between background
+         * connection attempts.
+         * @return {@code this}.
+         */
+        public Builder maxEjectionDuration(final Duration maxEjectionDuration) {
+            if (maxEjectionDuration.isNegative() || maxEjectionDuration.isZero()) {
+                throw new IllegalArgumentException("maxEjectionDuration: " + maxEjectionDuration + " (expected >0)");
+            }
+            this.maxEjectionDuration = maxEjectionDuration;
+            return this;
+        }
+
+        /**
+         * Builds a new {@link HealthCheckConfig}.
+         *
+         * @return A new {@link HealthCheckConfig}.
+         */
+        public HealthCheckConfig build() {
+            if (maxEjectionDuration.compareTo(initialEjectionDuration) < 0) {
+                throw new IllegalArgumentException("maxEjectionDuration: " + maxEjectionDuration +
+                        " (expected >= initialEjectionDuration: " + initialEjectionDuration + ")");
+            }
+            return new HealthCheckConfig(executor, failedConnectionsThreshold, initialEjectionDuration,
+                    maxEjectionDuration);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright © 2019 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.loadbalancer;
+
+import io.servicetalk.client.api.ConnectionFactory;
+import io.servicetalk.client.api.LoadBalancedConnection;
+import io.servicetalk.client.api.LoadBalancer;
+import io.servicetalk.client.api.LoadBalancerFactory;
+import io.servicetalk.client.api.PendingRequestsSupplier;
+import io.servicetalk.client.api.ServiceDiscovererEvent;
+import io.servicetalk.concurrent.api.Publisher;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Predicate;
+import javax.annotation.Nullable;
+
+import static java.util.Comparator.comparingInt;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A {@link LoadBalancer} that uses the <a href="https://www.eecs.harvard.edu/~michaelm/postscripts/mythesis.pdf">
+ * power of two choices</a> strategy for selecting addresses. It has the following behaviour:
+ * <ul>
+ * <li>Two distinct addresses are picked at random and the one with fewer outstanding requests is selected. Outstanding
+ * requests of an address are the sum of {@link PendingRequestsSupplier#pendingRequests()} of its connections, other
+ * connections count as one outstanding request each.</li>
+ * <li>Connections are created lazily, without any concurrency control on their creation.
+ * This can lead to over-provisioning connections when dealing with a requests surge.</li>
+ * <li>Existing connections are reused unless a selector passed to {@link #selectConnection(Predicate)} suggests
+ * otherwise.
+ * This can lead to situations where connections will be used to their maximum capacity (for example in the context of
+ * pipelining) before new connections are created.</li>
+ * <li>Closed connections are automatically pruned.</li>
+ * <li>Hosts failing to establish connections are ejected if a {@link HealthCheckConfig} is provided.</li>
+ * </ul>
+ *
+ * @param <ResolvedAddress> The resolved address type.
+ * @param <C> The type of connection.
+ */
+public final class PowerOfTwoChoicesLoadBalancer<ResolvedAddress, C extends LoadBalancedConnection>
+        extends AbstractLoadBalancer<ResolvedAddress, C> {
+
+    /**
+     * Creates a new instance.
+     *
+     * @param eventPublisher    provides a stream of addresses to connect to.
+     * @param connectionFactory a function which creates new connections.
+     * @param comparator        used to compare addresses for lookup/iteration during the connection attempt phase.
+     */
+    public PowerOfTwoChoicesLoadBalancer(
+            final Publisher<? extends ServiceDiscovererEvent<ResolvedAddress>> eventPublisher,
+            final ConnectionFactory<ResolvedAddress, ? extends C> connectionFactory,
+            final Comparator<ResolvedAddress> comparator) {
+        this(eventPublisher, connectionFactory, comparator, null);
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param eventPublisher    provides a stream of addresses to connect to.
+     * @param connectionFactory a function which creates new connections.
+     * @param comparator        used to compare addresses for lookup/iteration during the connection attempt phase.
+     * @param healthCheckConfig configuration for ejecting unhealthy hosts, or {@code null} to never eject hosts.
+     */
+    public PowerOfTwoChoicesLoadBalancer(
+            final Publisher<? extends ServiceDiscovererEvent<ResolvedAddress>> eventPublisher,
+            final ConnectionFactory<ResolvedAddress, ? extends C> connectionFactory,
+            final Comparator<ResolvedAddress> comparator,
+            @Nullable final HealthCheckConfig healthCheckConfig) {
+        super(eventPublisher, connectionFactory, comparator, healthCheckConfig);
+    }
+
+    /**
+     * Create a {@link LoadBalancerFactory} that creates instances of {@link PowerOfTwoChoicesLoadBalancer}.
+     * @param <ResolvedAddress> The resolved address type.
+     * @param <C> The type of connection.
+     * @return a {@link LoadBalancerFactory} that creates instances of {@link PowerOfTwoChoicesLoadBalancer}.
+     */
+    public static <ResolvedAddress, C extends LoadBalancedConnection>
+    LoadBalancerFactory<ResolvedAddress, C> newPowerOfTwoChoicesFactory() {
+        return (eventPublisher, connectionFactory) -> new PowerOfTwoChoicesLoadBalancer<>(eventPublisher,
+                connectionFactory,
+                comparingInt(Object::hashCode));
+    }
+
+    /**
+     * Create a {@link LoadBalancerFactory} that creates instances of {@link PowerOfTwoChoicesLoadBalancer} which eject
+     * unhealthy hosts.
+     * @param healthCheckConfig configuration for ejecting unhealthy hosts.
+     * @param <ResolvedAddress> The resolved address type.
+     * @param <C> The type of connection.
+     * @return a {@link LoadBalancerFactory} that creates instances of {@link PowerOfTwoChoicesLoadBalancer}.
+     */
+    public static <ResolvedAddress, C extends LoadBalancedConnection>
+    LoadBalancerFactory<ResolvedAddress, C> newPowerOfTwoChoicesFactory(final HealthCheckConfig healthCheckConfig) {
+        requireNonNull(healthCheckConfig);
+        return (eventPublisher, connectionFactory) -> new PowerOfTwoChoicesLoadBalancer<>(eventPublisher,
+                connectionFactory,
+                comparingInt(Object::hashCode), healthCheckConfig);
+    }
+
+    @Override
+    Host<ResolvedAddress, C> selectHost(final List<Host<ResolvedAddress, C>> activeHosts) {
+        final int size = activeHosts.size();
+        if (size == 1) {
+            return activeHosts.get(0);
+        }
+        final ThreadLocalRandom rnd = ThreadLocalRandom.current();
+        final int firstIndex = rnd.nextInt(size);
+        // Pick from the remaining hosts so that the two choices are always distinct.
+        int secondIndex = rnd.nextInt(size - 1);
+        if (secondIndex >= firstIndex) {
+            ++secondIndex;
+        }
+        final Host<ResolvedAddress, C> first = activeHosts.get(firstIndex);
+        final Host<ResolvedAddress, C> second = activeHosts.get(secondIndex);
+        return pendingRequests(second) < pendingRequests(first) ? second : first;
+    }
+
+    private static int pendingRequests(final Host<?, ? extends LoadBalancedConnection> host) {
+        int pendingRequests = 0;
+        for (LoadBalancedConnection connection : host.connections) {
+            pendingRequests += connection instanceof PendingRequestsSupplier ?
+                    ((PendingRequestsSupplier) connection).pendingRequests() : 1;
+        }
+        return pendingRequests;
+    }
+}
@@ -0,0 +1,312 @@
+/*
+ * Copyright © 2019 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.loadbalancer;
+
+import io.servicetalk.client.api.ConnectionFactory;
+import io.servicetalk.client.api.DefaultServiceDiscovererEvent;
+import io.servicetalk.client.api.LoadBalancedConnection;
+import io.servicetalk.client.api.RequestOutcomeListener;
+import io.servicetalk.client.api.RequestOutcomeReporter;
+import io.servicetalk.client.api.ServiceDiscovererEvent;
+import io.servicetalk.concurrent.CompletableSource.Processor;
+import io.servicetalk.concurrent.api.Completable;
+import io.servicetalk.concurrent.api.Single;
+import io.servicetalk.concurrent.api.TestExecutor;
+import io.servicetalk.concurrent.api.TestPublisher;
+import io.servicetalk.concurrent.internal.ServiceTalkTestTimeout;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nullable;
+
+import static io.servicetalk.concurrent.api.BlockingTestUtils.awaitIndefinitely;
+import static io.servicetalk.concurrent.api.Processors.newCompletableProcessor;
+import static io.servicetalk.concurrent.api.Single.failed;
+import static io.servicetalk.concurrent.api.Single.succeeded;
+import static io.servicetalk.concurrent.api.SourceAdapters.fromSource;
+import static io.servicetalk.concurrent.internal.DeliberateException.DELIBERATE_EXCEPTION;
+import static java.time.Duration.ofSeconds;
+import static java.util.Arrays.asList;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public class HealthCheckTest {
+    private static final String HEALTHY = "address-1";
+    private static final String UNHEALTHY = "address-2";
+
+    @Rule
+    public final Timeout timeout = new ServiceTalkTestTimeout();
+
+    private final TestPublisher<ServiceDiscovererEvent<String>> serviceDiscoveryPublisher = new TestPublisher<>();
+    private final TestExecutor executor = new TestExecutor();
+    private final Set<String> failingAddresses = new CopyOnWriteArraySet<>();
+    private final Map<String, AtomicInteger> connectAttempts = new ConcurrentHashMap<>();
+    private final Set<TestLoadBalancedConnection> selectedConnections = new CopyOnWriteArraySet<>();
+
+    private RoundRobinLoadBalancer<String, TestLoadBalancedConnection> lb;
+
+    @Before
+    public void initialize() {
+        lb = new RoundRobinLoadBalancer<>(serviceDiscoveryPublisher, new TestConnectionFactory(), String::compareTo,
+                new HealthCheckConfig.Builder(executor)
+                        .failedConnectionsThreshold(2)
+                        .initialEjectionDuration(ofSeconds(1))
+                        .maxEjectionDuration(ofSeconds(2))
+                        .build());
+    }
+
+    @After
+    public void closeLoadBalancer() throws Exception {
+        awaitIndefinitely(lb.closeAsync());
+    }
+
+    @Test
+    public void hostIsEjectedAndRestored() throws Exception {
+        sendServiceDiscoveryEvents(upEvent(HEALTHY), upEvent(UNHEALTHY));
+        failingAddresses.add(UNHEALTHY);
+
+        for (int i = 0; i < 4; i++) {
+            selectNewConnection();
+        }
+        assertThat("Unexpected connect attempts.", connectAttempts(UNHEALTHY), is(2));
+        for (int i = 0; i < 4; i++) {
+            assertThat("Ejected host selected.", selectNewConnection(), is(HEALTHY));
+        }
+        assertThat("Unexpected connect attempts.", connectAttempts(UNHEALTHY), is(2));
+
+        // First health check fails, the next one is scheduled with a doubled delay.
+        executor.advanceTimeBy(1, SECONDS);
+        assertThat("Health check not attempted.", connectAttempts(UNHEALTHY), is(3));
+        executor.advanceTimeBy(1, SECONDS);
+        assertThat("Unexpected connect attempts.", connectAttempts(UNHEALTHY), is(3));
+        assertThat("Ejected host selected.", selectNewConnection(), is(HEALTHY));
+
+        failingAddresses.remove(UNHEALTHY);
+        executor.advanceTimeBy(1, SECONDS);
+        assertThat("Health check not attempted.", connectAttempts(UNHEALTHY), is(4));
+
+        // The connection created by the health check is reused after the host is restored.
+        assertThat("Restored host not selected.", lb.activeAddresses().stream()
+                .filter(entry -> entry.getKey().equals(UNHEALTHY))
+                .mapToInt(entry -> entry.getValue().size()).sum(), is(1));
+        assertThat("Restored host not selected.", asList(selectNewConnection(), selectNewConnection()),
+                hasItem(UNHEALTHY));
+        assertThat("Unexpected connect attempts.", connectAttempts(UNHEALTHY), is(4));
+    }
+
+    @Test
+    public void allHostsEjectedFallsBackToSelection() throws Exception {
+        sendServiceDiscoveryEvents(upEvent(UNHEALTHY));
+        failingAddresses.add(UNHEALTHY);
+
+        for (int i = 0; i < 4; i++) {
+            assertThat("Unexpected selection.", selectNewConnection(), is(nullValue()));
+        }
+        assertThat("Selection did not fall back to an ejected host.", connectAttempts(UNHEALTHY), is(4));
+    }
+
+    @Test
+    public void requestFailuresEjectHost() throws Exception {
+        sendServiceDiscoveryEvents(upEvent(HEALTHY), upEvent(UNHEALTHY));
+
+        failRequests(UNHEALTHY);
+        assertEjected();
+
+        executor.advanceTimeBy(1, SECONDS);
+        assertRestored();
+    }
+
+    @Test
+    public void requestSuccessResetsFailures() throws Exception {
+        sendServiceDiscoveryEvents(upEvent(HEALTHY), upEvent(UNHEALTHY));
+
+        TestLoadBalancedConnection connection = selectNewConnectionTo(UNHEALTHY);
+        connection.requestFailed();
+        connection.requestSucceeded();
+        connection.requestFailed();
+        assertRestored();
+    }
+
+    @Test
+    public void reEjectionDoublesEjectionDuration() throws Exception {
+        sendServiceDiscoveryEvents(upEvent(HEALTHY), upEvent(UNHEALTHY));
+
+        failRequests(UNHEALTHY);
+        executor.advanceTimeBy(1, SECONDS);
+        assertRestored();
+
+        // Ejected again before the multiplier is reset, the ejection lasts twice as long.
+        failRequests(UNHEALTHY);
+        executor.advanceTimeBy(1, SECONDS);
+        assertEjected();
+        executor.advanceTimeBy(1, SECONDS);
+        assertRestored();
+
+        // The ejection duration is capped by maxEjectionDuration.
+        failRequests(UNHEALTHY);
+        executor.advanceTimeBy(1, SECONDS);
+        assertEjected();
+        executor.advanceTimeBy(1, SECONDS);
+        assertRestored();
+
+        // Staying healthy for maxEjectionDuration resets the ejection duration.
+        executor.advanceTimeBy(2, SECONDS);
+        failRequests(UNHEALTHY);
+        assertEjected();
+        executor.advanceTimeBy(1, SECONDS);
+        assertRestored();
+    }
+
+    private void failRequests(final String address) throws Exception {
+        TestLoadBalancedConnection connection = selectNewConnectionTo(address);
+        connection.requestFailed();
+        connection.requestFailed();
+    }
+
+    private void assertEjected() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            assertThat("Ejected host selected.", selectNewConnection(), is(HEALTHY));
+        }
+    }
+
+    private void assertRestored() throws Exception {
+        assertThat("Restored host not selected.", asList(selectNewConnection(), selectNewConnection()),
+                hasItem(UNHEALTHY));
+    }
+
+    private TestLoadBalancedConnection selectNewConnectionTo(final String address) throws Exception {
+        for (;;) {
+            TestLoadBalancedConnection connection = awaitIndefinitely(lb.selectConnection(selectedConnections::add));
+            assert connection != null;
+            if (connection.address().equals(address)) {
+                return connection;
+            }
+        }
+    }
+
+    @Nullable
+    private String selectNewConnection() throws Exception {
+        try {
+            TestLoadBalancedConnection connection = awaitIndefinitely(lb.selectConnection(selectedConnections::add));
+            assert connection != null;
+            return connection.address();
+        } catch (ExecutionException e) {
+            if (e.getCause() != DELIBERATE_EXCEPTION) {
+                fail("Unexpected exception: " + e);
+            }
+            return null;
+        }
+    }
+
+    private int connectAttempts(final String address) {
+        AtomicInteger attempts = connectAttempts.get(address);
+        return attempts == null ? 0 : attempts.get();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void sendServiceDiscoveryEvents(final ServiceDiscovererEvent... events) {
+        serviceDiscoveryPublisher.onNext((ServiceDiscovererEvent<String>[]) events);
+    }
+
+    private static ServiceDiscovererEvent upEvent(final String address) {
+        return new DefaultServiceDiscovererEvent<>(address, true);
+    }
+
+    private static final class TestLoadBalancedConnection implements LoadBalancedConnection, RequestOutcomeReporter {
+        private final String address;
+        private final Processor closeCompletable = newCompletableProcessor();
+        @Nullable
+        private volatile RequestOutcomeListener outcomeListener;
+
+        TestLoadBalancedConnection(final String address) {
+            this.address = address;
+        }
+
+        String address() {
+            return address;
+        }
+
+        void requestSucceeded() {
+            final RequestOutcomeListener listener = outcomeListener;
+            assert listener != null;
+            listener.onRequestSucceeded();
+        }
+
+        void requestFailed() {
+            final RequestOutcomeListener listener = outcomeListener;
+            assert listener != null;
+            listener.onRequestFailed();
+        }
+
+        @Override
+        public void requestOutcomeListener(final RequestOutcomeListener listener) {
+            outcomeListener = listener;
+        }
+
+        @Override
+        public float score() {
+            return 1;
+        }
+
+        @Override
+        public Completable onClose() {
+            return fromSource(closeCompletable);
+        }
+
+        @Override
+        public Completable closeAsync() {
+            return Completable.completed().afterOnComplete(closeCompletable::onComplete);
+        }
+
+        @Override
+        public String toString() {
+            return address + '@' + hashCode();
+        }
+    }
+
+    private final class TestConnectionFactory implements ConnectionFactory<String, TestLoadBalancedConnection> {
+        @Override
+        public Single<TestLoadBalancedConnection> newConnection(final String address) {
+            connectAttempts.computeIfAbsent(address, __ -> new AtomicInteger()).incrementAndGet();
+            return failingAddresses.contains(address) ? failed(DELIBERATE_EXCEPTION) :
+                    succeeded(new TestLoadBalancedConnection(address));
+        }
+
+        @Override
+        public Completable onClose() {
+            return Completable.completed();
+        }
+
+        @Override
+        public Completable closeAsync() {
+            return Completable.completed();
+        }
+    }
+}
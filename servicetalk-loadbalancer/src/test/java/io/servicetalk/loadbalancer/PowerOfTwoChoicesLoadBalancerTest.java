@@ -0,0 +1,171 @@
+/*
+ * Copyright © 2019 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.loadbalancer;
+
+import io.servicetalk.client.api.ConnectionFactory;
+import io.servicetalk.client.api.DefaultServiceDiscovererEvent;
+import io.servicetalk.client.api.LoadBalancedConnection;
+import io.servicetalk.client.api.PendingRequestsSupplier;
+import io.servicetalk.client.api.ServiceDiscovererEvent;
+import io.servicetalk.concurrent.CompletableSource.Processor;
+import io.servicetalk.concurrent.api.Completable;
+import io.servicetalk.concurrent.api.Single;
+import io.servicetalk.concurrent.api.TestPublisher;
+import io.servicetalk.concurrent.internal.ServiceTalkTestTimeout;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.servicetalk.concurrent.api.BlockingTestUtils.awaitIndefinitely;
+import static io.servicetalk.concurrent.api.Processors.newCompletableProcessor;
+import static io.servicetalk.concurrent.api.Single.succeeded;
+import static io.servicetalk.concurrent.api.SourceAdapters.fromSource;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.assertThat;
+
+public class PowerOfTwoChoicesLoadBalancerTest {
+    @Rule
+    public final Timeout timeout = new ServiceTalkTestTimeout();
+
+    private final TestPublisher<ServiceDiscovererEvent<String>> serviceDiscoveryPublisher = new TestPublisher<>();
+    private final List<TestLoadBalancedConnection> connectionsCreated = new CopyOnWriteArrayList<>();
+
+    private PowerOfTwoChoicesLoadBalancer<String, TestLoadBalancedConnection> lb;
+
+    @Before
+    public void initialize() {
+        lb = new PowerOfTwoChoicesLoadBalancer<>(serviceDiscoveryPublisher, new TestConnectionFactory(),
+                String::compareTo);
+    }
+
+    @After
+    public void closeLoadBalancer() throws Exception {
+        awaitIndefinitely(lb.closeAsync());
+    }
+
+    @Test
+    public void singleHost() throws Exception {
+        sendServiceDiscoveryEvents(upEvent("address-1"));
+        for (int i = 0; i < 3; i++) {
+            TestLoadBalancedConnection connection = awaitIndefinitely(lb.selectConnection(__ -> true));
+            assert connection != null;
+            assertThat(connection.address(), is("address-1"));
+        }
+        assertThat(connectionsCreated, hasSize(1));
+    }
+
+    @Test
+    public void prefersHostWithFewerPendingRequests() throws Exception {
+        sendServiceDiscoveryEvents(upEvent("address-1"));
+        sendServiceDiscoveryEvents(upEvent("address-2"));
+
+        final TestLoadBalancedConnection busy = awaitIndefinitely(lb.selectConnection(__ -> true));
+        assert busy != null;
+        busy.pending.set(5);
+
+        final TestLoadBalancedConnection idle = awaitIndefinitely(lb.selectConnection(__ -> true));
+        assert idle != null;
+        assertThat("Busy host selected.", idle.address(), is(not(busy.address())));
+        idle.pending.set(1);
+
+        for (int i = 0; i < 3; i++) {
+            TestLoadBalancedConnection connection = awaitIndefinitely(lb.selectConnection(__ -> true));
+            assert connection != null;
+            assertThat("Busy host selected.", connection.address(), is(idle.address()));
+        }
+        assertThat(connectionsCreated, hasSize(2));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void sendServiceDiscoveryEvents(final ServiceDiscovererEvent... events) {
+        serviceDiscoveryPublisher.onNext((ServiceDiscovererEvent<String>[]) events);
+    }
+
+    private static ServiceDiscovererEvent upEvent(final String address) {
+        return new DefaultServiceDiscovererEvent<>(address, true);
+    }
+
+    private TestLoadBalancedConnection newConnection(final String address) {
+        final TestLoadBalancedConnection cnx = new TestLoadBalancedConnection(address);
+        connectionsCreated.add(cnx);
+        return cnx;
+    }
+
+    private static final class TestLoadBalancedConnection implements LoadBalancedConnection, PendingRequestsSupplier {
+        final AtomicInteger pending = new AtomicInteger();
+        private final String address;
+        private final Processor closeCompletable = newCompletableProcessor();
+
+        TestLoadBalancedConnection(final String address) {
+            this.address = address;
+        }
+
+        String address() {
+            return address;
+        }
+
+        @Override
+        public int pendingRequests() {
+            return pending.get();
+        }
+
+        @Override
+        public float score() {
+            return 1;
+        }
+
+        @Override
+        public Completable onClose() {
+            return fromSource(closeCompletable);
+        }
+
+        @Override
+        public Completable closeAsync() {
+            return Completable.completed().afterOnComplete(closeCompletable::onComplete);
+        }
+
+        @Override
+        public String toString() {
+            return address + '@' + hashCode();
+        }
+    }
+
+    private final class TestConnectionFactory implements ConnectionFactory<String, TestLoadBalancedConnection> {
+        @Override
+        public Single<TestLoadBalancedConnection> newConnection(final String address) {
+            return succeeded(PowerOfTwoChoicesLoadBalancerTest.this.newConnection(address));
+        }
+
+        @Override
+        public Completable onClose() {
+            return Completable.completed();
+        }
+
+        @Override
+        public Completable closeAsync() {
+            return Completable.completed();
+        }
+    }
+}
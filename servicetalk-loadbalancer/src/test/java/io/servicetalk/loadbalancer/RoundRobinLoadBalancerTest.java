@@ -15,6 +15,7 @@
  */
 package io.servicetalk.loadbalancer;
 
+import io.servicetalk.client.api.AvailableConcurrencySupplier;
 import io.servicetalk.client.api.ConnectionFactory;
 import io.servicetalk.client.api.DefaultServiceDiscovererEvent;
 import io.servicetalk.client.api.LoadBalancedConnection;
@@ -47,6 +48,7 @@ import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CopyOnWriteArraySet;
@@ -380,6 +382,47 @@ public class RoundRobinLoadBalancerTest {
         }
     }
 
+    @Test
+    public void multiplexedConnectionsAreFilledBeforeNewOnesAreCreated() throws Exception {
+        final int maxConcurrency = 3;
+        final Map<TestLoadBalancedConnection, AtomicInteger> activeRequests = new ConcurrentHashMap<>();
+        connectionFactory = new DelegatingConnectionFactory(address -> {
+            final AtomicInteger active = new AtomicInteger();
+            final TestMultiplexedConnection cnx = newConnection(address, TestMultiplexedConnection.class);
+            when(cnx.availableConcurrency()).thenAnswer(__ -> maxConcurrency - active.get());
+            activeRequests.put(cnx, active);
+            return succeeded(cnx);
+        });
+        lb = newTestLoadBalancer(connectionFactory);
+        final Predicate<TestLoadBalancedConnection> selector = c -> {
+            final AtomicInteger active = activeRequests.get(c);
+            for (;;) {
+                final int current = active.get();
+                if (current >= maxConcurrency) {
+                    return false;
+                }
+                if (active.compareAndSet(current, current + 1)) {
+                    return true;
+                }
+            }
+        };
+
+        sendServiceDiscoveryEvents(upEvent("address-1"));
+        for (int i = 0; i < 2 * maxConcurrency + 1; ++i) {
+            awaitIndefinitely(lb.selectConnection(selector));
+        }
+        assertThat(connectionsCreated, hasSize(3));
+        assertThat(activeRequests.get(connectionsCreated.get(0)).get(), is(maxConcurrency));
+        assertThat(activeRequests.get(connectionsCreated.get(1)).get(), is(maxConcurrency));
+        assertThat(activeRequests.get(connectionsCreated.get(2)).get(), is(1));
+
+        // Capacity freed on an existing connection is used before the newest connection.
+        activeRequests.get(connectionsCreated.get(0)).decrementAndGet();
+        TestLoadBalancedConnection selected = awaitIndefinitely(lb.selectConnection(selector));
+        assertThat(selected, is(connectionsCreated.get(0)));
+        assertThat(connectionsCreated, hasSize(3));
+    }
+
     @Test
     public void closeClosesConnectionFactory() throws Exception {
         awaitIndefinitely(lb.closeAsync());
@@ -414,9 +457,13 @@ public class RoundRobinLoadBalancerTest {
         return succeeded(newConnection(address));
     }
 
-    @SuppressWarnings("unchecked")
     private TestLoadBalancedConnection newConnection(final String address) {
-        final TestLoadBalancedConnection cnx = mock(TestLoadBalancedConnection.class);
+        return newConnection(address, TestLoadBalancedConnection.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends TestLoadBalancedConnection> T newConnection(final String address, final Class<T> type) {
+        final T cnx = mock(type);
         final Processor closeCompletable = newCompletableProcessor();
         when(cnx.closeAsync()).thenAnswer(__ -> {
             closeCompletable.onComplete();
@@ -448,6 +495,9 @@ public class RoundRobinLoadBalancerTest {
         String address();
     }
 
+    private interface TestMultiplexedConnection extends TestLoadBalancedConnection, AvailableConcurrencySupplier {
+    }
+
     private static class DelegatingConnectionFactory implements ConnectionFactory<String, TestLoadBalancedConnection> {
 
         private final Function<String, Single<TestLoadBalancedConnection>> connectionFactory;
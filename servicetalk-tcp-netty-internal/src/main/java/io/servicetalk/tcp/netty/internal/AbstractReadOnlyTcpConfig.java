@@ -40,6 +40,7 @@ abstract class AbstractReadOnlyTcpConfig<SecurityConfig, ReadOnlyView> {
     @SuppressWarnings("rawtypes")
     private final Map<ChannelOption, Object> options;
     private final long idleTimeoutMs;
+    private final int writeCoalescingThreshold;
     private final FlushStrategy flushStrategy;
     @Nullable
     private final WireLoggingInitializer wireLoggingInitializer;
@@ -49,6 +50,7 @@ abstract class AbstractReadOnlyTcpConfig<SecurityConfig, ReadOnlyView> {
                                         final boolean alpnConfigured) {
         options = from.options() == null ? emptyMap() : unmodifiableMap(new HashMap<>(from.options()));
         idleTimeoutMs = from.idleTimeoutMs();
+        writeCoalescingThreshold = from.writeCoalescingThreshold();
         flushStrategy = from.flushStrategy();
         final String wireLoggerName = from.wireLoggerName();
         wireLoggingInitializer = wireLoggerName != null ? new WireLoggingInitializer(wireLoggerName) : null;
@@ -74,6 +76,16 @@ abstract class AbstractReadOnlyTcpConfig<SecurityConfig, ReadOnlyView> {
         return idleTimeoutMs;
     }
 
+    /**
+     * Returns the write coalescing threshold as expressed via option
+     * {@link ServiceTalkSocketOptions#WRITE_COALESCING_THRESHOLD}.
+     *
+     * @return write coalescing threshold in bytes, {@code 0} if writes are not coalesced
+     */
+    public final int writeCoalescingThreshold() {
+        return writeCoalescingThreshold;
+    }
+
     /**
      * Returns the {@link FlushStrategy} for this client.
      *
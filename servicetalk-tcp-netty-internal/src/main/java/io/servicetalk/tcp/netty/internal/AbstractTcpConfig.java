@@ -43,6 +43,7 @@ abstract class AbstractTcpConfig<SecurityConfig, ReadOnlyView> {
     @SuppressWarnings("rawtypes")
     private Map<ChannelOption, Object> options;
     private long idleTimeoutMs;
+    private int writeCoalescingThreshold;
     private FlushStrategy flushStrategy = defaultFlushStrategy();
     @Nullable
     private String wireLoggerName;
@@ -55,6 +56,7 @@ abstract class AbstractTcpConfig<SecurityConfig, ReadOnlyView> {
     protected AbstractTcpConfig(final AbstractTcpConfig<SecurityConfig, ReadOnlyView> from) {
         options = from.options;
         idleTimeoutMs = from.idleTimeoutMs;
+        writeCoalescingThreshold = from.writeCoalescingThreshold;
         flushStrategy = from.flushStrategy;
         wireLoggerName = from.wireLoggerName;
         securityConfig = from.securityConfig;
@@ -70,6 +72,10 @@ abstract class AbstractTcpConfig<SecurityConfig, ReadOnlyView> {
         return idleTimeoutMs;
     }
 
+    final int writeCoalescingThreshold() {
+        return writeCoalescingThreshold;
+    }
+
     final FlushStrategy flushStrategy() {
         return flushStrategy;
     }
@@ -97,6 +103,12 @@ abstract class AbstractTcpConfig<SecurityConfig, ReadOnlyView> {
         requireNonNull(value);
         if (option == ServiceTalkSocketOptions.IDLE_TIMEOUT) {
             idleTimeoutMs = (Long) value;
+        } else if (option == ServiceTalkSocketOptions.WRITE_COALESCING_THRESHOLD) {
+            final int threshold = (Integer) value;
+            if (threshold <= 0) {
+                throw new IllegalArgumentException("WRITE_COALESCING_THRESHOLD: " + threshold + " (expected > 0)");
+            }
+            writeCoalescingThreshold = threshold;
         } else {
             if (options == null) {
                 options = new HashMap<>();
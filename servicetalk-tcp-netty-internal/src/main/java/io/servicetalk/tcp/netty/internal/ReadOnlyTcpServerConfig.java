@@ -38,6 +38,7 @@ public final class ReadOnlyTcpServerConfig
     @Nullable
     private final DomainNameMapping<SslContext> mappings;
     private final int backlog;
+    private final int listenSockets;
 
     /**
      * Copy constructor.
@@ -66,6 +67,7 @@ public final class ReadOnlyTcpServerConfig
             mappings = null;
         }
         backlog = from.backlog();
+        listenSockets = from.listenSockets();
     }
 
     @Nullable
@@ -92,4 +94,13 @@ public final class ReadOnlyTcpServerConfig
     public int backlog() {
         return backlog;
     }
+
+    /**
+     * Returns the number of listening sockets to bind to the same address using {@code SO_REUSEPORT}.
+     *
+     * @return the number of listening sockets
+     */
+    public int listenSockets() {
+        return listenSockets;
+    }
 }
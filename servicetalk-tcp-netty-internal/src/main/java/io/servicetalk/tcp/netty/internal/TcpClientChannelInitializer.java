@@ -20,6 +20,7 @@ import io.servicetalk.transport.netty.internal.DeferSslHandler;
 import io.servicetalk.transport.netty.internal.IdleTimeoutInitializer;
 import io.servicetalk.transport.netty.internal.SslClientChannelInitializer;
 import io.servicetalk.transport.netty.internal.WireLoggingInitializer;
+import io.servicetalk.transport.netty.internal.WriteCoalescingInitializer;
 
 import io.netty.channel.Channel;
 import io.netty.handler.ssl.SslContext;
@@ -67,6 +68,10 @@ public class TcpClientChannelInitializer implements ChannelInitializer {
 
         delegate = delegate.andThen(COPY_HANDLER_INITIALIZER);
 
+        if (config.writeCoalescingThreshold() > 0) {
+            delegate = delegate.andThen(new WriteCoalescingInitializer(config.writeCoalescingThreshold()));
+        }
+
         final WireLoggingInitializer wireLoggingInitializer = config.wireLoggingInitializer();
         if (wireLoggingInitializer != null) {
             delegate = delegate.andThen(wireLoggingInitializer);
@@ -17,6 +17,7 @@ package io.servicetalk.tcp.netty.internal;
 
 import io.servicetalk.buffer.api.BufferAllocator;
 import io.servicetalk.buffer.netty.BufferUtil;
+import io.servicetalk.concurrent.SingleSource.Subscriber;
 import io.servicetalk.concurrent.api.Single;
 import io.servicetalk.concurrent.api.internal.SubscribableSingle;
 import io.servicetalk.transport.api.ConnectionAcceptor;
@@ -33,6 +34,7 @@ import io.netty.bootstrap.ServerBootstrap;
 import io.netty.buffer.ByteBufAllocator;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
 import io.netty.channel.ChannelOption;
@@ -41,7 +43,11 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.net.SocketAddress;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import javax.annotation.Nullable;
@@ -93,15 +99,7 @@ public final class TcpServerBinder {
                 listenAddress.getClass());
 
         ChannelSet channelSet = new ChannelSet(executionContext.executor());
-        bs.handler(new ChannelInboundHandlerAdapter() {
-            @Override
-            public void channelRead(final ChannelHandlerContext ctx, final Object msg) {
-                if (msg instanceof Channel && !channelSet.addIfAbsent((Channel) msg)) {
-                    LOGGER.warn("Channel ({}) not added to ChannelSet", msg);
-                }
-                ctx.fireChannelRead(msg);
-            }
-        });
+        bs.handler(new ChannelSetHandler(channelSet));
         bs.childHandler(new io.netty.channel.ChannelInitializer<Channel>() {
             @Override
             protected void initChannel(Channel channel) {
@@ -125,6 +123,7 @@ public final class TcpServerBinder {
             }
         });
 
+        final int listenSockets = listenSockets(config, nettyIoExecutor.eventLoopGroup());
         ChannelFuture future = bs.bind(listenAddress);
         return new SubscribableSingle<ServerContext>() {
             @Override
@@ -133,18 +132,66 @@ public final class TcpServerBinder {
                 future.addListener((ChannelFuture f) -> {
                     Channel channel = f.channel();
                     Throwable cause = f.cause();
-                    if (cause == null) {
+                    if (cause != null) {
+                        channel.close();
+                        subscriber.onError(f.cause());
+                    } else if (listenSockets == 1) {
                         subscriber.onSuccess(NettyServerContext.wrap(channel, channelSet,
                                 connectionAcceptor, executionContext));
                     } else {
-                        channel.close();
-                        subscriber.onError(f.cause());
+                        // Bind to the resolved address of the first socket so an ephemeral port is shared by all.
+                        bindAdditional(bs, channel, listenSockets - 1, channelSet, connectionAcceptor,
+                                executionContext, subscriber);
                     }
                 });
             }
         };
     }
 
+    private static int listenSockets(ReadOnlyTcpServerConfig config, EventLoopGroup eventLoopGroup) {
+        final int listenSockets = config.listenSockets();
+        if (listenSockets > 1 && BuilderUtils.reusePortOption(eventLoopGroup) == null) {
+            LOGGER.debug("SO_REUSEPORT is not supported by {}, binding a single listen socket instead of {}.",
+                    eventLoopGroup, listenSockets);
+            return 1;
+        }
+        return listenSockets;
+    }
+
+    private static void bindAdditional(ServerBootstrap bs, Channel firstChannel, int count, ChannelSet channelSet,
+                                       @Nullable ConnectionAcceptor connectionAcceptor,
+                                       ExecutionContext executionContext,
+                                       Subscriber<? super ServerContext> subscriber) {
+        final SocketAddress boundAddress = firstChannel.localAddress();
+        final List<Channel> additionalChannels = new ArrayList<>(count);
+        final AtomicInteger pending = new AtomicInteger(count);
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        for (int i = 0; i < count; ++i) {
+            // Each bind registers a new listen channel on the next EventLoop of the group, spreading accepts.
+            bs.bind(boundAddress).addListener((ChannelFuture f) -> {
+                synchronized (additionalChannels) {
+                    additionalChannels.add(f.channel());
+                }
+                if (f.cause() != null) {
+                    failure.compareAndSet(null, f.cause());
+                }
+                if (pending.decrementAndGet() == 0) {
+                    final Throwable cause = failure.get();
+                    if (cause == null) {
+                        subscriber.onSuccess(NettyServerContext.wrap(firstChannel, additionalChannels,
+                                channelSet, connectionAcceptor, executionContext));
+                    } else {
+                        firstChannel.close();
+                        for (Channel channel : additionalChannels) {
+                            channel.close();
+                        }
+                        subscriber.onError(cause);
+                    }
+                }
+            });
+        }
+    }
+
     private static void configure(ReadOnlyTcpServerConfig config, boolean autoRead, BufferAllocator bufferAllocator,
                                   ServerBootstrap bs, @Nullable EventLoopGroup eventLoopGroup,
                                   Class<? extends SocketAddress> bindAddressClass) {
@@ -163,10 +210,33 @@ public final class TcpServerBinder {
         bs.childOption(ChannelOption.AUTO_READ, autoRead);
 
         bs.option(ChannelOption.SO_BACKLOG, config.backlog());
+        if (config.listenSockets() > 1) {
+            ChannelOption<Boolean> reusePortOption = BuilderUtils.reusePortOption(eventLoopGroup);
+            if (reusePortOption != null) {
+                bs.option(reusePortOption, true);
+            }
+        }
 
         // Set the correct ByteBufAllocator based on our BufferAllocator to minimize memory copies.
         ByteBufAllocator byteBufAllocator = BufferUtil.getByteBufAllocator(bufferAllocator);
         bs.option(ChannelOption.ALLOCATOR, byteBufAllocator);
         bs.childOption(ChannelOption.ALLOCATOR, byteBufAllocator);
     }
+
+    @ChannelHandler.Sharable
+    private static final class ChannelSetHandler extends ChannelInboundHandlerAdapter {
+        private final ChannelSet channelSet;
+
+        ChannelSetHandler(final ChannelSet channelSet) {
+            this.channelSet = channelSet;
+        }
+
+        @Override
+        public void channelRead(final ChannelHandlerContext ctx, final Object msg) {
+            if (msg instanceof Channel && !channelSet.addIfAbsent((Channel) msg)) {
+                LOGGER.warn("Channel ({}) not added to ChannelSet", msg);
+            }
+            ctx.fireChannelRead(msg);
+        }
+    }
 }
@@ -19,6 +19,7 @@ import io.servicetalk.transport.netty.internal.ChannelInitializer;
 import io.servicetalk.transport.netty.internal.IdleTimeoutInitializer;
 import io.servicetalk.transport.netty.internal.SslServerChannelInitializer;
 import io.servicetalk.transport.netty.internal.WireLoggingInitializer;
+import io.servicetalk.transport.netty.internal.WriteCoalescingInitializer;
 
 import io.netty.channel.Channel;
 
@@ -53,6 +54,10 @@ public class TcpServerChannelInitializer implements ChannelInitializer {
 
         delegate = delegate.andThen(COPY_HANDLER_INITIALIZER);
 
+        if (config.writeCoalescingThreshold() > 0) {
+            delegate = delegate.andThen(new WriteCoalescingInitializer(config.writeCoalescingThreshold()));
+        }
+
         final WireLoggingInitializer wireLoggingInitializer = config.wireLoggingInitializer();
         if (wireLoggingInitializer != null) {
             delegate = delegate.andThen(wireLoggingInitializer);
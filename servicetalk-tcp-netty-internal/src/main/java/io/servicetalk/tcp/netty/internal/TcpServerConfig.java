@@ -34,6 +34,7 @@ public final class TcpServerConfig extends AbstractTcpConfig<ReadOnlyServerSecur
     @Nullable
     private Map<String, ReadOnlyServerSecurityConfig> sniConfigs;
     private int backlog = NetUtil.SOMAXCONN;
+    private int listenSockets = 1;
 
     @Nullable
     Map<String, ReadOnlyServerSecurityConfig> sniConfigs() {
@@ -44,6 +45,10 @@ public final class TcpServerConfig extends AbstractTcpConfig<ReadOnlyServerSecur
         return backlog;
     }
 
+    int listenSockets() {
+        return listenSockets;
+    }
+
     /**
      * Add security related config.
      *
@@ -78,6 +83,25 @@ public final class TcpServerConfig extends AbstractTcpConfig<ReadOnlyServerSecur
         return this;
     }
 
+    /**
+     * Sets the number of listening sockets to bind to the same address using {@code SO_REUSEPORT}. Each socket is
+     * registered with a different IO thread, so the kernel can spread newly accepted connections across cores instead
+     * of funnelling them through a single acceptor.
+     * <p>
+     * This is only honored by transports that support {@code SO_REUSEPORT} load balancing (currently epoll), otherwise
+     * a single listening socket is bound.
+     *
+     * @param listenSockets the number of listening sockets to bind, typically the number of IO threads
+     * @return {@code this}
+     */
+    public TcpServerConfig listenSockets(final int listenSockets) {
+        if (listenSockets < 1) {
+            throw new IllegalArgumentException("listenSockets must be >= 1");
+        }
+        this.listenSockets = listenSockets;
+        return this;
+    }
+
     @Override
     public ReadOnlyTcpServerConfig asReadOnly(final List<String> supportedAlpnProtocols) {
         return new ReadOnlyTcpServerConfig(this, supportedAlpnProtocols);
@@ -0,0 +1,58 @@
+/*
+ * Copyright © 2019 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.tcp.netty.internal;
+
+import io.servicetalk.buffer.api.Buffer;
+import io.servicetalk.transport.netty.internal.NettyConnection;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public final class TcpServerReusePortTest extends AbstractTcpServerTest {
+
+    private static final int LISTEN_SOCKETS = 4;
+
+    @Override
+    TcpServerConfig getTcpServerConfig() {
+        return super.getTcpServerConfig().listenSockets(LISTEN_SOCKETS);
+    }
+
+    @Test
+    public void connectionsAreAcceptedOnAllSockets() throws Exception {
+        List<NettyConnection<Buffer, Buffer>> connections = new ArrayList<>();
+        for (int i = 0; i < LISTEN_SOCKETS * 4; ++i) {
+            connections.add(client.connectBlocking(CLIENT_CTX, serverAddress));
+        }
+        for (NettyConnection<Buffer, Buffer> connection : connections) {
+            connection.writeAndFlush(connection.executionContext().bufferAllocator().fromAscii("Hello")).toFuture()
+                    .get();
+            String response = connection.read().firstOrElse(() -> null)
+                    .map(buffer -> buffer.toString(US_ASCII)).toFuture().get();
+            assertThat("Unexpected response.", response, is("Hello"));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidListenSockets() {
+        new TcpServerConfig().listenSockets(0);
+    }
+}
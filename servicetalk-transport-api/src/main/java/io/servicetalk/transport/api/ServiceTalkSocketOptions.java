@@ -41,6 +41,13 @@ public final class ServiceTalkSocketOptions {
      */
     public static final SocketOption<Long> IDLE_TIMEOUT = new ServiceTalkSocketOption<>("IDLE_TIMEOUT", Long.class);
 
+    /**
+     * Outbound buffers with fewer readable bytes than this value are coalesced into a single buffer before they are
+     * written to the socket, larger buffers are written as-is. Coalescing is disabled if this option is not set.
+     */
+    public static final SocketOption<Integer> WRITE_COALESCING_THRESHOLD =
+            new ServiceTalkSocketOption<>("WRITE_COALESCING_THRESHOLD", Integer.class);
+
     private ServiceTalkSocketOptions() {
     }
 
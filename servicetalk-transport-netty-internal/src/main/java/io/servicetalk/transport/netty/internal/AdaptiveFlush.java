@@ -0,0 +1,61 @@
+/*
+ * Copyright © 2019 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.transport.netty.internal;
+
+final class AdaptiveFlush implements FlushStrategy {
+
+    private final int maxPendingWrites;
+
+    AdaptiveFlush(final int maxPendingWrites) {
+        if (maxPendingWrites <= 0) {
+            throw new IllegalArgumentException("maxPendingWrites: " + maxPendingWrites + " (expected > 0)");
+        }
+        this.maxPendingWrites = maxPendingWrites;
+    }
+
+    @Override
+    public WriteEventsListener apply(final FlushSender sender) {
+        return new AdaptiveFlushListener(maxPendingWrites, sender);
+    }
+
+    static final class AdaptiveFlushListener extends NoopWriteEventsListener {
+
+        private final int maxPendingWrites;
+        private final FlushSender sender;
+        private int writesSinceFlush;
+
+        AdaptiveFlushListener(final int maxPendingWrites, final FlushSender sender) {
+            this.maxPendingWrites = maxPendingWrites;
+            this.sender = sender;
+        }
+
+        @Override
+        public void itemWritten(final Object __) {
+            if (++writesSinceFlush == maxPendingWrites) {
+                writesSinceFlush = 0;
+                sender.flush();
+            } else {
+                sender.flushWhenIdle();
+            }
+        }
+
+        @Override
+        public void writeTerminated() {
+            // No more writes will follow, so there is nothing to gain from waiting for the event loop.
+            sender.flush();
+        }
+    }
+}
@@ -25,6 +25,7 @@ import io.netty.channel.EventLoop;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.ServerChannel;
 import io.netty.channel.WriteBufferWaterMark;
+import io.netty.channel.epoll.EpollChannelOption;
 import io.netty.channel.epoll.EpollDatagramChannel;
 import io.netty.channel.epoll.EpollDomainSocketChannel;
 import io.netty.channel.epoll.EpollEventLoopGroup;
@@ -89,6 +90,20 @@ public final class BuilderUtils {
                 ((EventLoop) group).parent() instanceof KQueueEventLoopGroup);
     }
 
+    /**
+     * Returns the {@link ChannelOption} which enables {@code SO_REUSEPORT} load balancing of accepted connections
+     * across multiple listening sockets bound to the same address, if supported by the given {@link EventLoopGroup}.
+     *
+     * @param group the {@link EventLoopGroup} for which the option is needed
+     * @return the {@code SO_REUSEPORT} {@link ChannelOption} or {@code null} if the transport doesn't distribute
+     * accepted connections across listening sockets
+     */
+    @Nullable
+    public static ChannelOption<Boolean> reusePortOption(EventLoopGroup group) {
+        // kqueue supports SO_REUSEPORT but doesn't balance accepts across sockets, so only epoll is considered.
+        return useEpoll(group) ? EpollChannelOption.SO_REUSEPORT : null;
+    }
+
     /**
      * Returns the correct {@link Class} to use with the given {@link EventLoopGroup}.
      *
@@ -18,9 +18,11 @@ package io.servicetalk.transport.netty.internal;
 import io.servicetalk.concurrent.PublisherSource.Subscriber;
 import io.servicetalk.concurrent.PublisherSource.Subscription;
 import io.servicetalk.concurrent.api.Publisher;
+import io.servicetalk.transport.netty.internal.FlushStrategy.FlushSender;
 import io.servicetalk.transport.netty.internal.FlushStrategy.WriteEventsListener;
 
 import io.netty.channel.Channel;
+import io.netty.channel.SingleThreadEventLoop;
 import io.netty.util.concurrent.EventExecutor;
 
 import static io.servicetalk.concurrent.internal.EmptySubscription.EMPTY_SUBSCRIPTION;
@@ -53,23 +55,61 @@ final class Flush {
     }
 
     private static final class FlushSubscriber<T> implements Subscriber<T> {
+        private final Channel channel;
         private final EventExecutor eventLoop;
         private final Subscriber<? super T> subscriber;
         private final WriteEventsListener writeEventsListener;
         private volatile boolean enqueueFlush;
+        /**
+         * Only accessed from the event loop.
+         */
+        private boolean idleFlushScheduled;
 
         FlushSubscriber(FlushStrategy flushStrategy, Subscriber<? super T> subscriber, Channel channel) {
+            this.channel = channel;
             this.eventLoop = requireNonNull(channel.eventLoop());
             this.subscriber = requireNonNull(subscriber);
-            this.writeEventsListener = flushStrategy.apply(() -> {
-                if (enqueueFlush) {
-                    eventLoop.execute(channel::flush);
-                } else {
-                    channel.flush();
+            this.writeEventsListener = flushStrategy.apply(new FlushSender() {
+                @Override
+                public void flush() {
+                    if (enqueueFlush) {
+                        eventLoop.execute(channel::flush);
+                    } else {
+                        channel.flush();
+                    }
+                }
+
+                @Override
+                public void flushWhenIdle() {
+                    if (enqueueFlush || !eventLoop.inEventLoop()) {
+                        // Writes are enqueued on the event loop, so the flush must be scheduled from a task that runs
+                        // after the write task to be sure it covers the write.
+                        eventLoop.execute(FlushSubscriber.this::scheduleIdleFlush);
+                    } else {
+                        scheduleIdleFlush();
+                    }
                 }
             });
         }
 
+        private void scheduleIdleFlush() {
+            assert eventLoop.inEventLoop();
+            if (idleFlushScheduled) {
+                return;
+            }
+            idleFlushScheduled = true;
+            final Runnable flushTask = () -> {
+                idleFlushScheduled = false;
+                channel.flush();
+            };
+            if (eventLoop instanceof SingleThreadEventLoop) {
+                // Tail tasks run after IO and all other tasks of the current event loop iteration have been processed.
+                ((SingleThreadEventLoop) eventLoop).executeAfterEventLoopIteration(flushTask);
+            } else {
+                eventLoop.execute(flushTask);
+            }
+        }
+
         @Override
         public void onSubscribe(Subscription subscription) {
             try {
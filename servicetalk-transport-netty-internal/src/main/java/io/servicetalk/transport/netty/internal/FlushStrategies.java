@@ -68,6 +68,21 @@ public final class FlushStrategies {
         return new BatchFlush(durationBoundaries, batchSize);
     }
 
+    /**
+     * Creates a {@link FlushStrategy} that will {@link FlushSender#flushWhenIdle() flush writes} once the connection's
+     * event loop has processed the work that is currently pending, so writes that are issued in quick succession are
+     * flushed together without delaying writes that are issued in isolation. A {@link FlushSender#flush() flush} is
+     * forced after every {@code maxPendingWrites} items and when
+     * {@link WriteEventsListener#writeTerminated()} is called.
+     *
+     * @param maxPendingWrites Maximum number of items written between forced flushes.
+     * @return A {@link FlushStrategy} that will {@link FlushSender#flushWhenIdle() flush writes} once the connection's
+     * event loop has processed the work that is currently pending.
+     */
+    public static FlushStrategy adaptiveFlush(int maxPendingWrites) {
+        return new AdaptiveFlush(maxPendingWrites);
+    }
+
     /**
      * Creates a {@link FlushStrategy} that will {@link FlushSender#flush() flush writes} when an item is emitted from
      * {@code flushBoundaries}.
@@ -56,6 +56,17 @@ public interface FlushStrategy {
          * {@link WriteEventsListener}.
          */
         void flush();
+
+        /**
+         * Sends a flush on the associated connection once the connection has processed the work that is currently
+         * pending on its event loop, so that writes issued in the meantime are flushed together. Multiple calls made
+         * before the flush is sent result in a single flush.
+         * <p>
+         * Implementations that can not defer flushes {@link #flush() flush} immediately.
+         */
+        default void flushWhenIdle() {
+            flush();
+        }
     }
 
     /**
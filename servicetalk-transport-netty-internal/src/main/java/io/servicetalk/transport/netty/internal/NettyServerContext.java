@@ -25,10 +25,12 @@ import io.servicetalk.transport.api.ServerContext;
 import io.netty.channel.Channel;
 
 import java.net.SocketAddress;
+import java.util.Collection;
 import javax.annotation.Nullable;
 
 import static io.servicetalk.concurrent.api.AsyncCloseables.newCompositeCloseable;
 import static io.servicetalk.concurrent.api.AsyncCloseables.toListenableAsyncCloseable;
+import static java.util.Collections.emptyList;
 
 /**
  * {@link ServerContext} implementation using a netty {@link Channel}.
@@ -70,11 +72,32 @@ public final class NettyServerContext implements ServerContext {
      */
     public static ServerContext wrap(Channel listenChannel, ListenableAsyncCloseable channelSetCloseable,
                                      @Nullable AsyncCloseable closeBefore, ExecutionContext executionContext) {
-        final NettyChannelListenableAsyncCloseable channelCloseable =
-                new NettyChannelListenableAsyncCloseable(listenChannel, executionContext.executor());
-        final CompositeCloseable closeAsync = closeBefore == null ?
-                newCompositeCloseable().appendAll(channelCloseable, channelSetCloseable) :
-                newCompositeCloseable().appendAll(closeBefore, channelCloseable, channelSetCloseable);
+        return wrap(listenChannel, emptyList(), channelSetCloseable, closeBefore, executionContext);
+    }
+
+    /**
+     * Wrap the passed listen {@link Channel}s which are all bound to the same address.
+     *
+     * @param listenChannel {@link Channel} to wrap, which determines the {@link #listenAddress()}.
+     * @param additionalListenChannels other {@link Channel}s bound to the same address as {@code listenChannel} which
+     * will be closed together with {@code listenChannel}.
+     * @param channelSetCloseable {@link ChannelSet} to wrap.
+     * @param closeBefore {@link Completable} which needs to closed first before the listen channels will be closed.
+     * @param executionContext {@link ExecutionContext} used by this server.
+     * @return A new {@link NettyServerContext} instance.
+     */
+    public static ServerContext wrap(Channel listenChannel, Collection<Channel> additionalListenChannels,
+                                     ListenableAsyncCloseable channelSetCloseable,
+                                     @Nullable AsyncCloseable closeBefore, ExecutionContext executionContext) {
+        final CompositeCloseable closeAsync = newCompositeCloseable();
+        if (closeBefore != null) {
+            closeAsync.append(closeBefore);
+        }
+        closeAsync.append(new NettyChannelListenableAsyncCloseable(listenChannel, executionContext.executor()));
+        for (Channel channel : additionalListenChannels) {
+            closeAsync.append(new NettyChannelListenableAsyncCloseable(channel, executionContext.executor()));
+        }
+        closeAsync.append(channelSetCloseable);
         return new NettyServerContext(listenChannel, toListenableAsyncCloseable(closeAsync), executionContext);
     }
 
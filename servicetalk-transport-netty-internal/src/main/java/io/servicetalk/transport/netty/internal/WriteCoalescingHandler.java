@@ -0,0 +1,145 @@
+/*
+ * Copyright © 2019 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.transport.netty.internal;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import io.netty.util.concurrent.PromiseNotifier;
+
+import java.nio.channels.ClosedChannelException;
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.Nullable;
+
+import static io.servicetalk.concurrent.internal.ThrowableUtil.unknownStackTrace;
+import static java.lang.Math.max;
+
+/**
+ * Copies consecutive small {@link ByteBuf} writes into a single buffer which is written when a larger or non
+ * {@link ByteBuf} message is written, when it is full or on flush. This reduces the number of entries the transport
+ * has to process per flush for protocols which write many small buffers.
+ * <p>
+ * A small buffer that is followed by a flush is written as-is, so isolated writes are never copied.
+ */
+final class WriteCoalescingHandler extends ChannelOutboundHandlerAdapter {
+
+    private static final ClosedChannelException CLOSED_CHANNEL_EXCEPTION = unknownStackTrace(
+            new ClosedChannelException(), WriteCoalescingHandler.class, "handlerRemoved(...)");
+    /**
+     * Minimum capacity of the buffer small writes are copied into.
+     */
+    private static final int MIN_AGGREGATE_CAPACITY = 16 * 1024;
+
+    private final int threshold;
+    private final int aggregateCapacity;
+    private final List<ChannelPromise> pendingPromises = new ArrayList<>(4);
+    @Nullable
+    private ByteBuf pending;
+    private boolean pendingIsAggregate;
+
+    /**
+     * Create a new instance.
+     *
+     * @param threshold {@link ByteBuf}s with fewer readable bytes than this value are coalesced, others are written
+     * as-is.
+     */
+    WriteCoalescingHandler(final int threshold) {
+        if (threshold <= 0) {
+            throw new IllegalArgumentException("threshold: " + threshold + " (expected > 0)");
+        }
+        this.threshold = threshold;
+        aggregateCapacity = max(threshold, MIN_AGGREGATE_CAPACITY);
+    }
+
+    @Override
+    public void write(final ChannelHandlerContext ctx, final Object msg, final ChannelPromise promise) {
+        if (!(msg instanceof ByteBuf) || ((ByteBuf) msg).readableBytes() >= threshold) {
+            writePending(ctx);
+            ctx.write(msg, promise);
+            return;
+        }
+
+        final ByteBuf buf = (ByteBuf) msg;
+        if (pending == null) {
+            pending = buf;
+        } else {
+            if (pending.readableBytes() + buf.readableBytes() > aggregateCapacity) {
+                writePending(ctx);
+                pending = buf;
+            } else {
+                if (!pendingIsAggregate) {
+                    final ByteBuf aggregate = ctx.alloc().ioBuffer(aggregateCapacity);
+                    aggregate.writeBytes(pending);
+                    pending.release();
+                    pending = aggregate;
+                    pendingIsAggregate = true;
+                }
+                pending.writeBytes(buf);
+                buf.release();
+            }
+        }
+        if (!promise.isVoid()) {
+            pendingPromises.add(promise);
+        }
+    }
+
+    @Override
+    public void flush(final ChannelHandlerContext ctx) {
+        writePending(ctx);
+        ctx.flush();
+    }
+
+    @Override
+    public void close(final ChannelHandlerContext ctx, final ChannelPromise promise) {
+        // Hand pending writes to the transport so they are completed like any other write that was not flushed.
+        writePending(ctx);
+        ctx.close(promise);
+    }
+
+    @Override
+    public void handlerRemoved(final ChannelHandlerContext ctx) {
+        if (pending != null) {
+            pending.release();
+            pending = null;
+            for (ChannelPromise promise : pendingPromises) {
+                promise.tryFailure(CLOSED_CHANNEL_EXCEPTION);
+            }
+            pendingPromises.clear();
+        }
+    }
+
+    private void writePending(final ChannelHandlerContext ctx) {
+        final ByteBuf buf = pending;
+        if (buf == null) {
+            return;
+        }
+        pending = null;
+        pendingIsAggregate = false;
+        final int promises = pendingPromises.size();
+        if (promises == 0) {
+            ctx.write(buf, ctx.voidPromise());
+        } else if (promises == 1) {
+            ctx.write(buf, pendingPromises.get(0));
+        } else {
+            ctx.write(buf).addListener(
+                    new PromiseNotifier<Void, ChannelFuture>(pendingPromises.toArray(new ChannelPromise[promises])));
+        }
+        pendingPromises.clear();
+    }
+}
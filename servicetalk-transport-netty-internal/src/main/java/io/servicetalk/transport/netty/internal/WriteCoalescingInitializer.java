@@ -0,0 +1,44 @@
+/*
+ * Copyright © 2019 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.transport.netty.internal;
+
+import io.netty.channel.Channel;
+
+/**
+ * A {@link ChannelInitializer} that coalesces consecutive small outbound buffers into a single buffer before they
+ * reach the transport.
+ */
+public class WriteCoalescingInitializer implements ChannelInitializer {
+
+    private final int threshold;
+
+    /**
+     * Create a new instance.
+     *
+     * @param threshold Buffers with fewer readable bytes than this value are coalesced, others are written as-is.
+     */
+    public WriteCoalescingInitializer(final int threshold) {
+        if (threshold <= 0) {
+            throw new IllegalArgumentException("threshold: " + threshold + " (expected > 0)");
+        }
+        this.threshold = threshold;
+    }
+
+    @Override
+    public void init(final Channel channel) {
+        channel.pipeline().addLast(new WriteCoalescingHandler(threshold));
+    }
+}
@@ -25,11 +25,14 @@ import org.junit.Test;
 import org.mockito.Mockito;
 
 import static io.servicetalk.concurrent.internal.DeliberateException.DELIBERATE_EXCEPTION;
+import static io.servicetalk.transport.netty.internal.FlushStrategies.adaptiveFlush;
 import static io.servicetalk.transport.netty.internal.FlushStrategies.flushOnEach;
 import static io.servicetalk.transport.netty.internal.FlushStrategies.flushOnEnd;
 import static io.servicetalk.transport.netty.internal.FlushStrategies.flushWith;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyZeroInteractions;
 
@@ -164,6 +167,28 @@ public class FlushStrategiesTest {
         assertTrue(subscription.isCancelled());
     }
 
+    @Test
+    public void testAdaptiveFlushDefersToIdle() {
+        setupFor(adaptiveFlush(3));
+        listener.itemWritten(1);
+        listener.itemWritten(2);
+        verify(flushSender, times(2)).flushWhenIdle();
+        verify(flushSender, never()).flush();
+        listener.itemWritten(3);
+        verify(flushSender).flush();
+        listener.itemWritten(4);
+        verify(flushSender, times(3)).flushWhenIdle();
+    }
+
+    @Test
+    public void testAdaptiveFlushOnEnd() {
+        setupFor(adaptiveFlush(3));
+        listener.itemWritten(1);
+        verify(flushSender, never()).flush();
+        listener.writeTerminated();
+        verify(flushSender).flush();
+    }
+
     private void setupFor(FlushStrategy strategy) {
         listener = strategy.apply(flushSender);
         listener.writeStarted();
@@ -22,6 +22,7 @@ import io.servicetalk.transport.netty.internal.FlushStrategy.FlushSender;
 
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 
 import static io.servicetalk.concurrent.api.SourceAdapters.toSource;
 import static io.servicetalk.concurrent.internal.DeliberateException.DELIBERATE_EXCEPTION;
@@ -33,6 +34,10 @@ import static org.hamcrest.Matchers.nullValue;
 import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentCaptor.forClass;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.verifyZeroInteractions;
@@ -80,6 +85,26 @@ public class FlushTest extends AbstractFlushTest {
         verifyNoMoreInteractions(channel);
     }
 
+    @Test
+    public void testFlushWhenIdle() {
+        subscriber.request(2);
+        source.onNext("Hello1");
+        flushSender.flushWhenIdle();
+        source.onNext("Hello2");
+        flushSender.flushWhenIdle();
+
+        ArgumentCaptor<Runnable> flushTask = forClass(Runnable.class);
+        verify(eventLoop).execute(flushTask.capture());
+        verifyWrite("Hello1", "Hello2");
+        verify(channel, never()).flush();
+
+        flushTask.getValue().run();
+        verifyFlush();
+
+        flushSender.flushWhenIdle();
+        verify(eventLoop, times(2)).execute(any(Runnable.class));
+    }
+
     @Test
     public void testCancel() {
         final TestSubscription subscription = new TestSubscription();
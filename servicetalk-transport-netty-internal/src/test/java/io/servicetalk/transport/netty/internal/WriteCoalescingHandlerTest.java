@@ -0,0 +1,119 @@
+/*
+ * Copyright © 2019 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.transport.netty.internal;
+
+import io.servicetalk.concurrent.internal.ServiceTalkTestTimeout;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import static io.netty.buffer.Unpooled.copiedBuffer;
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+public class WriteCoalescingHandlerTest {
+
+    private static final int THRESHOLD = 8;
+
+    @Rule
+    public final Timeout timeout = new ServiceTalkTestTimeout();
+
+    private final EmbeddedChannel channel = new EmbeddedChannel(new WriteCoalescingHandler(THRESHOLD));
+
+    @After
+    public void tearDown() {
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    public void smallWritesAreCoalescedOnFlush() {
+        ChannelFuture f1 = channel.write(buffer("a"));
+        ChannelFuture f2 = channel.write(buffer("bc"));
+        ChannelFuture f3 = channel.write(buffer("def"));
+        assertThat(channel.outboundMessages().size(), is(0));
+
+        channel.flush();
+        assertNextWrite("abcdef");
+        assertThat(channel.readOutbound(), is(nullValue()));
+        assertThat(f1.isSuccess(), is(true));
+        assertThat(f2.isSuccess(), is(true));
+        assertThat(f3.isSuccess(), is(true));
+    }
+
+    @Test
+    public void singleSmallWriteIsNotCopied() {
+        ByteBuf buf = buffer("a");
+        channel.writeAndFlush(buf);
+        assertThat(channel.readOutbound(), is(sameInstance(buf)));
+        buf.release();
+    }
+
+    @Test
+    public void largeWritesAreWrittenAsIsAndPreserveOrder() {
+        channel.write(buffer("a"));
+        channel.write(buffer("b"));
+        ByteBuf large = buffer("0123456789");
+        channel.write(large);
+        channel.write(buffer("c"));
+        channel.flush();
+
+        assertNextWrite("ab");
+        assertThat(channel.readOutbound(), is(sameInstance(large)));
+        large.release();
+        assertNextWrite("c");
+        assertThat(channel.readOutbound(), is(nullValue()));
+    }
+
+    @Test
+    public void nonBufferWritesPreserveOrder() {
+        channel.write(buffer("a"));
+        channel.write("message");
+        channel.flush();
+
+        assertNextWrite("a");
+        assertThat(channel.readOutbound(), is("message"));
+    }
+
+    @Test
+    public void pendingWritesFailWhenChannelCloses() {
+        ChannelFuture f1 = channel.write(buffer("a"));
+        ChannelFuture f2 = channel.write(buffer("b"));
+        channel.close();
+
+        assertThat(f1.cause(), is(notNullValue()));
+        assertThat(f2.cause(), is(notNullValue()));
+        assertThat(channel.readOutbound(), is(nullValue()));
+    }
+
+    private static ByteBuf buffer(String content) {
+        return copiedBuffer(content, US_ASCII);
+    }
+
+    private void assertNextWrite(String expected) {
+        ByteBuf buf = channel.readOutbound();
+        assertThat(buf.toString(US_ASCII), is(expected));
+        buf.release();
+    }
+}